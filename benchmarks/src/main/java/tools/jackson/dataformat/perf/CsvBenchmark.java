@@ -0,0 +1,41 @@
+package tools.jackson.dataformat.perf;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.*;
+
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Benchmarks for reading and writing CSV content with header line,
+ * for differently shaped datasets (see {@link DataSets.CsvShape}).
+ */
+public class CsvBenchmark extends TextFormatBenchmarkBase
+{
+    @Param({ "NARROW", "WIDE", "QUOTED", "NUMERIC" })
+    public DataSets.CsvShape shape;
+
+    @Setup
+    public void setup()
+    {
+        final CsvMapper mapper = new CsvMapper();
+        final CsvSchema schema = CsvSchema.builder()
+                .addColumns(DataSets.csvColumnNames(shape), CsvSchema.ColumnType.STRING)
+                .build()
+                .withHeader();
+        _setup(mapper.readerFor(Map.class).with(schema),
+                mapper.writer(schema),
+                DataSets.csvRows(shape));
+    }
+
+    // Content is a sequence of rows, not a single value
+    @Override
+    protected Object _readValue()
+    {
+        try (MappingIterator<Object> it = source.readValues(_reader, _doc)) {
+            return it.readAll();
+        }
+    }
+}
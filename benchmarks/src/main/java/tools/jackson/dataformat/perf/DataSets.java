@@ -0,0 +1,247 @@
+package tools.jackson.dataformat.perf;
+
+import java.util.*;
+
+/**
+ * Generators for datasets used by benchmarks: all datasets are generated using
+ * fixed random seeds so that results are reproducible across runs (and
+ * versions), and consist only of {@link Map}s, {@link List}s and scalar
+ * values so that they can be written with any format.
+ */
+public final class DataSets
+{
+    private final static String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "xe", "zu",
+        "ba", "de", "fi", "go", "hu", "je", "pa", "qui", "wy", "ost"
+    };
+
+    private DataSets() { }
+
+    /*
+    /**********************************************************************
+    /* CSV
+    /**********************************************************************
+     */
+
+    public enum CsvShape {
+        /**
+         * Few columns, short unquoted values
+         */
+        NARROW(20_000, 5),
+
+        /**
+         * Lots of columns, mix of textual and numeric values
+         */
+        WIDE(2_000, 60),
+
+        /**
+         * Values with separators, quotes and linefeeds, that all need quoting
+         */
+        QUOTED(10_000, 6),
+
+        /**
+         * Integral and floating-point values only
+         */
+        NUMERIC(10_000, 12);
+
+        public final int rows;
+
+        public final int columns;
+
+        private CsvShape(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+        }
+    }
+
+    public static List<String> csvColumnNames(CsvShape shape)
+    {
+        List<String> names = new ArrayList<>(shape.columns);
+        for (int i = 0; i < shape.columns; ++i) {
+            names.add("col"+i);
+        }
+        return names;
+    }
+
+    public static List<Map<String,Object>> csvRows(CsvShape shape)
+    {
+        final Random rnd = new Random(shape.ordinal() + 1);
+        final List<String> names = csvColumnNames(shape);
+        final List<Map<String,Object>> rows = new ArrayList<>(shape.rows);
+        for (int r = 0; r < shape.rows; ++r) {
+            Map<String,Object> row = new LinkedHashMap<>();
+            for (int c = 0; c < shape.columns; ++c) {
+                row.put(names.get(c), _csvValue(shape, rnd, r, c));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Object _csvValue(CsvShape shape, Random rnd, int row, int col)
+    {
+        switch (shape) {
+        case NARROW:
+            switch (col) {
+            case 0: return row;
+            case 1: return Boolean.valueOf(rnd.nextBoolean());
+            default: return _word(rnd, 1 + rnd.nextInt(3));
+            }
+        case WIDE:
+            switch (col % 3) {
+            case 0: return _word(rnd, 1 + rnd.nextInt(4));
+            case 1: return rnd.nextInt(100_000);
+            default: return Math.round(rnd.nextDouble() * 10_000.0) / 100.0;
+            }
+        case QUOTED:
+            switch (col % 3) {
+            case 0: return _words(rnd, 2 + rnd.nextInt(4), ", ");
+            case 1: return "\""+_word(rnd, 2)+"\" said "+_word(rnd, 3);
+            default: return _words(rnd, 2, "\n")+",";
+            }
+        case NUMERIC:
+        default:
+            switch (col % 3) {
+            case 0: return rnd.nextInt();
+            case 1: return rnd.nextLong();
+            default: return rnd.nextDouble() * 1_000_000.0;
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* YAML
+    /**********************************************************************
+     */
+
+    public enum YAMLSize {
+        /**
+         * Smallish nested configuration document
+         */
+        CONFIG,
+
+        /**
+         * Large document with long sequence of records
+         */
+        LARGE;
+    }
+
+    public static Map<String,Object> yamlDocument(YAMLSize size)
+    {
+        if (size == YAMLSize.CONFIG) {
+            return configDocument(new Random(11), 4, 8, true);
+        }
+        final Random rnd = new Random(12);
+        final List<Object> records = new ArrayList<>();
+        for (int i = 0; i < 5_000; ++i) {
+            records.add(_record(rnd, i, true));
+        }
+        Map<String,Object> doc = new LinkedHashMap<>();
+        doc.put("version", 3);
+        doc.put("generated", "2025-01-01T00:00:00Z");
+        doc.put("records", records);
+        return doc;
+    }
+
+    /*
+    /**********************************************************************
+    /* TOML, Java Properties
+    /**********************************************************************
+     */
+
+    /**
+     * @return Document with tables of key/value pairs, sub-tables and
+     *   arrays of scalars
+     */
+    public static Map<String,Object> tomlDocument() {
+        return configDocument(new Random(21), 60, 12, true);
+    }
+
+    /**
+     * @return Document with nested keys (no arrays), flattened into
+     *   dotted keys when written as properties
+     */
+    public static Map<String,Object> propertiesDocument() {
+        return configDocument(new Random(31), 150, 12, false);
+    }
+
+    /**
+     * Method for generating configuration-like document: sections with
+     * scalar entries, and (optionally) nested sections and lists.
+     */
+    public static Map<String,Object> configDocument(Random rnd, int sections,
+            int entriesPerSection, boolean nested)
+    {
+        Map<String,Object> doc = new LinkedHashMap<>();
+        for (int s = 0; s < sections; ++s) {
+            Map<String,Object> section = new LinkedHashMap<>();
+            for (int e = 0; e < entriesPerSection; ++e) {
+                section.put(_word(rnd, 2)+e, _scalar(rnd));
+            }
+            if (nested) {
+                section.put("hosts", Arrays.asList(_word(rnd, 3)+".example.com",
+                        _word(rnd, 3)+".example.com"));
+                section.put("limits", _record(rnd, s, false));
+            }
+            doc.put("section"+s, section);
+        }
+        return doc;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private static Map<String,Object> _record(Random rnd, int id, boolean withList)
+    {
+        Map<String,Object> record = new LinkedHashMap<>();
+        record.put("id", id);
+        record.put("name", _words(rnd, 2, " "));
+        record.put("active", Boolean.valueOf(rnd.nextBoolean()));
+        record.put("score", Math.round(rnd.nextDouble() * 100_000.0) / 100.0);
+        record.put("count", rnd.nextInt(10_000));
+        record.put("description", _words(rnd, 3 + rnd.nextInt(8), " "));
+        if (withList) {
+            List<Object> tags = new ArrayList<>();
+            for (int i = 0, len = rnd.nextInt(4); i < len; ++i) {
+                tags.add(_word(rnd, 2));
+            }
+            record.put("tags", tags);
+        }
+        return record;
+    }
+
+    private static Object _scalar(Random rnd)
+    {
+        switch (rnd.nextInt(4)) {
+        case 0: return rnd.nextInt(100_000);
+        case 1: return Boolean.valueOf(rnd.nextBoolean());
+        case 2: return Math.round(rnd.nextDouble() * 1_000.0) / 10.0;
+        default: return _words(rnd, 1 + rnd.nextInt(3), " ");
+        }
+    }
+
+    private static String _words(Random rnd, int count, String sep)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) {
+                sb.append(sep);
+            }
+            sb.append(_word(rnd, 1 + rnd.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+    private static String _word(Random rnd, int syllables)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; ++i) {
+            sb.append(SYLLABLES[rnd.nextInt(SYLLABLES.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package tools.jackson.dataformat.perf;
+
+import org.openjdk.jmh.annotations.*;
+
+import tools.jackson.dataformat.javaprop.JavaPropsMapper;
+
+/**
+ * Benchmarks for reading and writing Java Properties content, with
+ * dotted keys mapped to nested structure.
+ */
+public class JavaPropsBenchmark extends TextFormatBenchmarkBase
+{
+    @Setup
+    public void setup()
+    {
+        final JavaPropsMapper mapper = new JavaPropsMapper();
+        _setup(mapper.readerFor(Object.class), mapper.writer(),
+                DataSets.propertiesDocument());
+    }
+}
@@ -0,0 +1,160 @@
+package tools.jackson.dataformat.perf;
+
+import java.io.*;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Kinds of input sources (and matching output targets) benchmarks are run
+ * with: {@code byte[]} (written as {@code byte[]} too),
+ * {@link InputStream} ({@link OutputStream}) and
+ * {@link Reader} ({@link Writer}).
+ */
+public enum Source
+{
+    BYTE_ARRAY {
+        @Override
+        public JsonParser parser(ObjectReader r, Document doc) {
+            return r.createParser(doc.bytes());
+        }
+
+        @Override
+        public <T> T read(ObjectReader r, Document doc) {
+            return r.readValue(doc.bytes());
+        }
+
+        @Override
+        public <T> MappingIterator<T> readValues(ObjectReader r, Document doc) {
+            return r.readValues(doc.bytes());
+        }
+
+        @Override
+        public JsonGenerator generator(ObjectWriter w, Sink sink) {
+            return w.createGenerator(sink.bytes());
+        }
+
+        @Override
+        public Object write(ObjectWriter w, Object value, Sink sink) {
+            return w.writeValueAsBytes(value);
+        }
+    },
+
+    INPUT_STREAM {
+        @Override
+        public JsonParser parser(ObjectReader r, Document doc) {
+            return r.createParser(new ByteArrayInputStream(doc.bytes()));
+        }
+
+        @Override
+        public <T> T read(ObjectReader r, Document doc) {
+            return r.readValue(new ByteArrayInputStream(doc.bytes()));
+        }
+
+        @Override
+        public <T> MappingIterator<T> readValues(ObjectReader r, Document doc) {
+            return r.readValues(new ByteArrayInputStream(doc.bytes()));
+        }
+
+        @Override
+        public JsonGenerator generator(ObjectWriter w, Sink sink) {
+            return w.createGenerator(sink.bytes());
+        }
+
+        @Override
+        public Object write(ObjectWriter w, Object value, Sink sink) {
+            w.writeValue(sink.bytes(), value);
+            return sink;
+        }
+    },
+
+    READER {
+        @Override
+        public JsonParser parser(ObjectReader r, Document doc) {
+            return r.createParser(new StringReader(doc.text()));
+        }
+
+        @Override
+        public <T> T read(ObjectReader r, Document doc) {
+            return r.readValue(new StringReader(doc.text()));
+        }
+
+        @Override
+        public <T> MappingIterator<T> readValues(ObjectReader r, Document doc) {
+            return r.readValues(new StringReader(doc.text()));
+        }
+
+        @Override
+        public JsonGenerator generator(ObjectWriter w, Sink sink) {
+            return w.createGenerator(sink.chars());
+        }
+
+        @Override
+        public Object write(ObjectWriter w, Object value, Sink sink) {
+            w.writeValue(sink.chars(), value);
+            return sink;
+        }
+    };
+
+    public abstract JsonParser parser(ObjectReader r, Document doc);
+
+    public abstract <T> T read(ObjectReader r, Document doc);
+
+    public abstract <T> MappingIterator<T> readValues(ObjectReader r, Document doc);
+
+    /**
+     * Method for constructing generator for streaming output:
+     * for {@link #BYTE_ARRAY} content is written to {@link OutputStream}
+     * same as with {@link #INPUT_STREAM}.
+     */
+    public abstract JsonGenerator generator(ObjectWriter w, Sink sink);
+
+    /**
+     * @return Result of writing, to be consumed by benchmark
+     */
+    public abstract Object write(ObjectWriter w, Object value, Sink sink);
+
+    /**
+     * Encoded test document, as bytes (UTF-8) and as {@link String}
+     */
+    public record Document(byte[] bytes, String text) { }
+
+    /**
+     * Output targets that discard content written, to avoid measuring
+     * buffer management of in-memory targets.
+     */
+    public static final class Sink
+    {
+        private final OutputStream _bytes = new OutputStream() {
+            @Override
+            public void write(int b) { }
+
+            @Override
+            public void write(byte[] b, int off, int len) { }
+        };
+
+        private final Writer _chars = new Writer() {
+            @Override
+            public void write(int c) { }
+
+            @Override
+            public void write(char[] cbuf, int off, int len) { }
+
+            @Override
+            public void write(String str, int off, int len) { }
+
+            @Override
+            public void flush() { }
+
+            @Override
+            public void close() { }
+        };
+
+        public OutputStream bytes() { return _bytes; }
+
+        public Writer chars() { return _chars; }
+    }
+}
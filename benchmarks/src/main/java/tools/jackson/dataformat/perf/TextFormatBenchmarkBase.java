@@ -0,0 +1,164 @@
+package tools.jackson.dataformat.perf;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Base class for per-format benchmark suites: sub-classes construct readers
+ * and writers (with schema, if format needs one) and generated dataset to
+ * use, and this class runs reading, writing and round-trip benchmarks
+ * for them, using both streaming API and databinding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public abstract class TextFormatBenchmarkBase
+{
+    @Param({ "BYTE_ARRAY", "INPUT_STREAM", "READER" })
+    public Source source;
+
+    protected ObjectReader _reader;
+
+    protected ObjectWriter _writer;
+
+    protected Object _value;
+
+    protected Source.Document _doc;
+
+    protected final Source.Sink _sink = new Source.Sink();
+
+    /**
+     * Method sub-classes call from their setup method, once dataset has been
+     * generated.
+     */
+    protected void _setup(ObjectReader r, ObjectWriter w, Object value)
+    {
+        _reader = r;
+        _writer = w;
+        _value = value;
+        final byte[] bytes = w.writeValueAsBytes(value);
+        _doc = new Source.Document(bytes, new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /*
+    /**********************************************************************
+    /* Benchmarks
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public void readStreaming(Blackhole bh)
+    {
+        try (JsonParser p = source.parser(_reader, _doc)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t.isScalarValue()) {
+                    bh.consume(p.getString());
+                } else if (t == JsonToken.PROPERTY_NAME) {
+                    bh.consume(p.currentName());
+                } else {
+                    bh.consume(t);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object readDatabind() {
+        return _readValue();
+    }
+
+    @Benchmark
+    public Object writeStreaming()
+    {
+        try (JsonGenerator g = source.generator(_writer, _sink)) {
+            _writeStreaming(g, _value);
+        }
+        return _sink;
+    }
+
+    @Benchmark
+    public Object writeDatabind() {
+        return source.write(_writer, _value, _sink);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return source.write(_writer, _readValue(), _sink);
+    }
+
+    /*
+    /**********************************************************************
+    /* Overridable methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading test document using databinding: default
+     * implementation reads a single value.
+     */
+    protected Object _readValue() {
+        return source.read(_reader, _doc);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for writing generated datasets (consisting of {@link Map}s,
+     * {@link List}s and scalar values) using streaming API, without databinding
+     */
+    protected static void _writeStreaming(JsonGenerator g, Object value)
+    {
+        if (value instanceof Map<?,?>) {
+            g.writeStartObject();
+            for (Map.Entry<?,?> entry : ((Map<?,?>) value).entrySet()) {
+                g.writeName((String) entry.getKey());
+                _writeStreaming(g, entry.getValue());
+            }
+            g.writeEndObject();
+        } else if (value instanceof List<?>) {
+            g.writeStartArray();
+            for (Object v : (List<?>) value) {
+                _writeStreaming(g, v);
+            }
+            g.writeEndArray();
+        } else if (value instanceof String) {
+            g.writeString((String) value);
+        } else if (value instanceof Integer) {
+            g.writeNumber(((Integer) value).intValue());
+        } else if (value instanceof Long) {
+            g.writeNumber(((Long) value).longValue());
+        } else if (value instanceof Double) {
+            g.writeNumber(((Double) value).doubleValue());
+        } else if (value instanceof BigInteger) {
+            g.writeNumber((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            g.writeNumber((BigDecimal) value);
+        } else if (value instanceof Boolean) {
+            g.writeBoolean(((Boolean) value).booleanValue());
+        } else if (value == null) {
+            g.writeNull();
+        } else {
+            throw new IllegalArgumentException("Unsupported value type: "+value.getClass().getName());
+        }
+    }
+}
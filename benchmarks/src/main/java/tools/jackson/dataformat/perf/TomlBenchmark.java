@@ -0,0 +1,19 @@
+package tools.jackson.dataformat.perf;
+
+import org.openjdk.jmh.annotations.*;
+
+import tools.jackson.dataformat.toml.TomlMapper;
+
+/**
+ * Benchmarks for reading and writing a configuration-style TOML document.
+ */
+public class TomlBenchmark extends TextFormatBenchmarkBase
+{
+    @Setup
+    public void setup()
+    {
+        final TomlMapper mapper = new TomlMapper();
+        _setup(mapper.readerFor(Object.class), mapper.writer(),
+                DataSets.tomlDocument());
+    }
+}
@@ -0,0 +1,36 @@
+package tools.jackson.dataformat.perf;
+
+import org.openjdk.jmh.annotations.*;
+
+import tools.jackson.dataformat.yaml.YAMLMapper;
+import tools.jackson.dataformat.yaml.YAMLReadFeature;
+import tools.jackson.dataformat.yaml.YAMLWriteFeature;
+
+/**
+ * Benchmarks for reading and writing YAML documents of different sizes
+ * (see {@link DataSets.YAMLSize}), with and without
+ * {@link YAMLReadFeature#USE_NATIVE_TOKENIZER} and
+ * {@link YAMLWriteFeature#USE_NATIVE_EMITTER}.
+ */
+public class YAMLBenchmark extends TextFormatBenchmarkBase
+{
+    @Param({ "CONFIG", "LARGE" })
+    public DataSets.YAMLSize size;
+
+    @Param({ "false", "true" })
+    public boolean nativeTokenizer;
+
+    @Param({ "false", "true" })
+    public boolean nativeEmitter;
+
+    @Setup
+    public void setup()
+    {
+        final YAMLMapper mapper = YAMLMapper.builder()
+                .configure(YAMLReadFeature.USE_NATIVE_TOKENIZER, nativeTokenizer)
+                .configure(YAMLWriteFeature.USE_NATIVE_EMITTER, nativeEmitter)
+                .build();
+        _setup(mapper.readerFor(Object.class), mapper.writer(),
+                DataSets.yamlDocument(size));
+    }
+}
@@ -1,12 +1,21 @@
 package tools.jackson.dataformat.csv;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 
 import tools.jackson.core.*;
+import tools.jackson.core.async.ByteArrayFeeder;
 import tools.jackson.core.base.TextualTSFactory;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.core.io.ContentReference;
 import tools.jackson.core.io.IOContext;
 
+import tools.jackson.dataformat.csv.impl.ByteChannelOutputStream;
+import tools.jackson.dataformat.csv.impl.CsvHeaderCache;
 import tools.jackson.dataformat.csv.impl.CsvParserBootstrapper;
+import tools.jackson.dataformat.csv.impl.MappedFileInputStream;
 import tools.jackson.dataformat.csv.impl.UTF8Writer;
 
 public class CsvFactory
@@ -46,6 +55,13 @@ public class CsvFactory
 
     protected final CsvCharacterEscapes _characterEscapes;
 
+    /**
+     * Cache of schemas built from header lines (for schemas that
+     * {@link CsvSchema#usesHeader()}), shared by all parsers
+     * constructed by this factory.
+     */
+    protected final transient CsvHeaderCache _headerCache;
+
     /*
     /**********************************************************************
     /* Factory construction, configuration
@@ -68,12 +84,14 @@ public class CsvFactory
                 DEFAULT_CSV_PARSER_FEATURE_FLAGS,
                 DEFAULT_CSV_GENERATOR_FEATURE_FLAGS);
         _characterEscapes = null; // derive from flags
+        _headerCache = new CsvHeaderCache();
     }
 
     protected CsvFactory(CsvFactory src)
     {
         super(src);
         _characterEscapes = src._characterEscapes;
+        _headerCache = new CsvHeaderCache();
     }
 
     /**
@@ -85,6 +103,7 @@ public class CsvFactory
     {
         super(b);
         _characterEscapes = b.characterEscapes();
+        _headerCache = new CsvHeaderCache();
     }
 
     @Override
@@ -151,8 +170,8 @@ public class CsvFactory
 
     @Override
     public boolean canParseAsync() {
-        // 30-Sep-2017, tatu: No async parsing yet
-        return false;
+        // UTF-8 only, see NonBlockingCsvParser
+        return true;
     }
 
     /*
@@ -201,6 +220,128 @@ public class CsvFactory
         return (_formatWriteFeatures & f.getMask()) != 0;
     }
 
+    /*
+    /**********************************************************************
+    /* Extended parser factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing a parser for reading contents of given file
+     * using memory-mapping (see {@link MappedFileInputStream}) instead of
+     * regular reads: this avoids copying content from kernel space and
+     * allows sharing of the OS page cache for files read concurrently by
+     * multiple parsers. Files larger than 2 gigabytes are supported.
+     * File is closed when the parser is closed.
+     */
+    public CsvParser createMappedParser(ObjectReadContext readCtxt, Path file)
+        throws JacksonException
+    {
+        final MappedFileInputStream in;
+        try {
+            in = MappedFileInputStream.open(file);
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        }
+        return _createParser(readCtxt, _createContext(_createContentReference(file), true), in);
+    }
+
+    /**
+     * Method for constructing a parser for reading contents of given file
+     * channel using memory-mapping; similar to {@link #createMappedParser(ObjectReadContext, Path)}
+     * except that channel is not closed when the parser is closed, and
+     * position of the channel is neither used nor modified.
+     */
+    public CsvParser createMappedParser(ObjectReadContext readCtxt, FileChannel channel)
+        throws JacksonException
+    {
+        final MappedFileInputStream in;
+        try {
+            in = new MappedFileInputStream(channel, false);
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        }
+        return _createParser(readCtxt, _createContext(_createContentReference(channel), false), in);
+    }
+
+    @Override
+    protected ContentReference _createContentReference(Object contentRef) {
+        // Memory-mapped content is reported as coming from the file (or channel)
+        if (contentRef instanceof MappedFileInputStream) {
+            contentRef = ((MappedFileInputStream) contentRef).getSource();
+        }
+        return super._createContentReference(contentRef);
+    }
+
+    /**
+     * Method for constructing a non-blocking parser, to which content is fed
+     * (as UTF-8 encoded bytes) using {@link tools.jackson.core.async.ByteArrayFeeder}
+     * methods.
+     */
+    @Override
+    public <P extends JsonParser & ByteArrayFeeder> P createNonBlockingByteArrayParser(ObjectReadContext readCtxt)
+        throws JacksonException
+    {
+        return _createNonBlockingParser(readCtxt);
+    }
+
+    /**
+     * Method for constructing a non-blocking parser, to which content is fed
+     * (as UTF-8 encoded bytes) using {@link tools.jackson.core.async.ByteBufferFeeder}
+     * methods.
+     */
+    @Override
+    public <P extends JsonParser & ByteArrayFeeder> P createNonBlockingByteBufferParser(ObjectReadContext readCtxt)
+        throws JacksonException
+    {
+        return _createNonBlockingParser(readCtxt);
+    }
+
+    /**
+     * Helper method for constructing {@link NonBlockingCsvParser}s: needs to
+     * use an unchecked cast since parser type is determined by caller.
+     */
+    @SuppressWarnings("unchecked")
+    protected <P extends JsonParser & ByteArrayFeeder> P _createNonBlockingParser(ObjectReadContext readCtxt)
+    {
+        NonBlockingCsvParser p = new NonBlockingCsvParser(readCtxt, _createContext(ContentReference.unknown(), false),
+                readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
+                _getSchema(readCtxt));
+        p.setHeaderCache(_headerCache);
+        return (P) p;
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended generator factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing a generator that writes UTF-8 encoded content
+     * to given channel (like {@link FileChannel} or
+     * {@link java.nio.channels.SocketChannel}): content is encoded directly
+     * into bytes (as with {@link CsvWriteFeature#USE_UTF8_BYTE_ENCODER}), and
+     * written using pooled direct buffers (see {@link ByteChannelOutputStream}).
+     * Channel is handled like an {@link OutputStream} target: it is closed
+     * when generator is closed only if
+     * {@link StreamWriteFeature#AUTO_CLOSE_TARGET} is enabled.
+     */
+    public CsvGenerator createGenerator(ObjectWriteContext writeCtxt, WritableByteChannel channel)
+        throws JacksonException
+    {
+        // Stream is always closed along with generator, to release its buffers;
+        // channel itself only if AUTO_CLOSE_TARGET is enabled
+        final IOContext ioCtxt = _createContext(_createContentReference(channel), true);
+        final int streamFeatures = writeCtxt.getStreamWriteFeatures(_streamWriteFeatures);
+        return new CsvGenerator(writeCtxt, ioCtxt, streamFeatures,
+                writeCtxt.getFormatWriteFeatures(_formatWriteFeatures),
+                new ByteChannelOutputStream(channel,
+                        StreamWriteFeature.AUTO_CLOSE_TARGET.enabledIn(streamFeatures)),
+                _getSchema(writeCtxt), _characterEscapes);
+    }
+
     /*
     /**********************************************************************
     /* Factory methods: parsers
@@ -218,7 +359,8 @@ public class CsvFactory
             .constructParser(readCtxt,
                     readCtxt.getStreamReadFeatures(_streamReadFeatures),
                     readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                    _getSchema(readCtxt));
+                    _getSchema(readCtxt))
+            .setHeaderCache(_headerCache);
     }
 
     @Override
@@ -229,7 +371,8 @@ public class CsvFactory
                .constructParser(readCtxt,
                        readCtxt.getStreamReadFeatures(_streamReadFeatures),
                        readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                       _getSchema(readCtxt));
+                       _getSchema(readCtxt))
+               .setHeaderCache(_headerCache);
     }
 
     /**
@@ -243,7 +386,8 @@ public class CsvFactory
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
                 readCtxt.getFormatReadFeatures(_formatReadFeatures),
                 _getSchema(readCtxt),
-                r);
+                r)
+            .setHeaderCache(_headerCache);
     }
 
     @Override
@@ -255,7 +399,8 @@ public class CsvFactory
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
                 readCtxt.getFormatReadFeatures(_formatReadFeatures),
                 _getSchema(readCtxt),
-                new CharArrayReader(data, offset, len));
+                new CharArrayReader(data, offset, len))
+            .setHeaderCache(_headerCache);
     }
 
     @Override
@@ -294,9 +439,17 @@ public class CsvFactory
     protected CsvGenerator _createUTF8Generator(ObjectWriteContext writeCtxt,
             IOContext ioCtxt, OutputStream out)
     {
+        final int formatWriteFeatures = writeCtxt.getFormatWriteFeatures(_formatWriteFeatures);
+        if (CsvWriteFeature.USE_UTF8_BYTE_ENCODER.enabledIn(formatWriteFeatures)) {
+            return new CsvGenerator(writeCtxt, ioCtxt,
+                    writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
+                    formatWriteFeatures,
+                    out, _getSchema(writeCtxt),
+                    _characterEscapes);
+        }
         return new CsvGenerator(writeCtxt, ioCtxt,
                 writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
-                writeCtxt.getFormatWriteFeatures(_formatWriteFeatures),
+                formatWriteFeatures,
                 new UTF8Writer(ioCtxt, out), _getSchema(writeCtxt),
                 _characterEscapes);
     }
@@ -12,6 +12,8 @@ import tools.jackson.core.io.CharacterEscapes;
 import tools.jackson.core.json.DupDetector;
 import tools.jackson.core.util.SimpleStreamWriteContext;
 import tools.jackson.dataformat.csv.impl.CsvEncoder;
+import tools.jackson.dataformat.csv.impl.CsvWritePlan;
+import tools.jackson.dataformat.csv.impl.UTF8CsvEncoder;
 import tools.jackson.core.io.IOContext;
 import tools.jackson.core.util.JacksonFeatureSet;
 
@@ -40,6 +42,12 @@ public class CsvGenerator extends GeneratorBase
      */
     protected final CsvSchema _schema;
 
+    /**
+     * Per-column settings (value decorators, array element separators)
+     * pre-computed for {@link #_schema}.
+     */
+    protected final CsvWritePlan _writePlan;
+
     // note: can not be final since we may need to re-create it for new schema
     protected CsvEncoder _writer;
 
@@ -121,6 +129,7 @@ public class CsvGenerator extends GeneratorBase
                 ? DupDetector.rootDetector(this) : null;
         _streamWriteContext = SimpleStreamWriteContext.createRootContext(dups);
         _schema = schema;
+        _writePlan = schema.writePlan(csvFeatures);
         if (characterEscapes == null) {
             characterEscapes = CsvCharacterEscapes.fromCsvFeatures(csvFeatures);
         }
@@ -129,6 +138,29 @@ public class CsvGenerator extends GeneratorBase
                 useFastDoubleWriter);
     }
 
+    /**
+     * Constructor used when {@link CsvWriteFeature#USE_UTF8_BYTE_ENCODER} is enabled:
+     * output is encoded as UTF-8 directly into given {@link OutputStream}.
+     */
+    public CsvGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
+            int streamWriteFeatures, int csvFeatures,
+            OutputStream out, CsvSchema schema, CsvCharacterEscapes characterEscapes)
+    {
+        super(writeCtxt, ioCtxt, streamWriteFeatures);
+        _formatFeatures = csvFeatures;
+        final DupDetector dups = StreamWriteFeature.STRICT_DUPLICATE_DETECTION.enabledIn(streamWriteFeatures)
+                ? DupDetector.rootDetector(this) : null;
+        _streamWriteContext = SimpleStreamWriteContext.createRootContext(dups);
+        _schema = schema;
+        _writePlan = schema.writePlan(csvFeatures);
+        if (characterEscapes == null) {
+            characterEscapes = CsvCharacterEscapes.fromCsvFeatures(csvFeatures);
+        }
+        boolean useFastDoubleWriter = isEnabled(StreamWriteFeature.USE_FAST_DOUBLE_WRITER);
+        _writer = new UTF8CsvEncoder(ioCtxt, csvFeatures, out, schema, characterEscapes,
+                useFastDoubleWriter);
+    }
+
     public CsvGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
             int streamWriteFeatures, int csvFeatures,
             CsvEncoder csvWriter)
@@ -139,6 +171,7 @@ public class CsvGenerator extends GeneratorBase
                 ? DupDetector.rootDetector(this) : null;
         _streamWriteContext = SimpleStreamWriteContext.createRootContext(dups);
         _schema = EMPTY_SCHEMA;
+        _writePlan = EMPTY_SCHEMA.writePlan(csvFeatures);
         _writer = csvWriter;
     }
 
@@ -239,7 +272,7 @@ public class CsvGenerator extends GeneratorBase
         if (!_streamWriteContext.writeName(name)) {
             _reportError("Cannot write a property name, expecting a value");
         }
-        _writeFieldName(name);
+        _writeFieldName(name, null);
         return this;
     }
 
@@ -256,11 +289,16 @@ public class CsvGenerator extends GeneratorBase
         if (!_streamWriteContext.writeName(name.getValue())) {
             _reportError("Cannot write a property name, expecting a value");
         }
-        _writeFieldName(name.getValue());
+        _writeFieldName(name.getValue(), name);
         return this;
     }
 
-    private final void _writeFieldName(String name) throws JacksonException
+    /**
+     * @param name Name of the column to write value for
+     * @param sstr Pre-encoded name, if one was passed; {@code null} if not
+     */
+    private final void _writeFieldName(String name, SerializableString sstr)
+        throws JacksonException
     {
         // just find the matching index -- must have schema for that
         if (_schema == null) {
@@ -274,7 +312,8 @@ public class CsvGenerator extends GeneratorBase
             return;
         }
         // note: we are likely to get next column name, so pass it as hint
-        CsvSchema.Column col = _schema.column(name, _nextColumnByName+1);
+        CsvSchema.Column col = (sstr == null) ? _schema.column(name, _nextColumnByName+1)
+                : _schema.column(sstr, _nextColumnByName+1);
         if (col == null) {
             _nextColumnByName = -1;
             _nextColumnDecorator = null;
@@ -287,8 +326,9 @@ public class CsvGenerator extends GeneratorBase
         }
         _skipValue = false;
         // and all we do is just note index to use for following value write
-        _nextColumnByName = col.getIndex();
-        _nextColumnDecorator = col.getValueDecorator();
+        final int index = col.getIndex();
+        _nextColumnByName = index;
+        _nextColumnDecorator = _writePlan.decorator(index);
     }
 
     /*
@@ -356,13 +396,7 @@ public class CsvGenerator extends GeneratorBase
                 _skipWithin = _streamWriteContext;
             } else if (!_skipValue) {
                 // First: column may have its own separator
-                String sep;
-                if (_nextColumnByName >= 0) {
-                    CsvSchema.Column col = _schema.column(_nextColumnByName);
-                    sep = col.isArray() ? col.getArrayElementSeparator() : CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR;
-                } else {
-                    sep = CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR;
-                }
+                String sep = _writePlan.arrayElementSeparator(_nextColumnByName);
                 if (sep.isEmpty()) {
                     if (!_schema.hasArrayElementSeparator()) {
                         _reportError("CSV generator does not support Array values for properties without setting 'arrayElementSeparator' in schema");
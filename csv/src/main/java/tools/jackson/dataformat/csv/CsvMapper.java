@@ -1,8 +1,30 @@
 package tools.jackson.dataformat.csv;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
-
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.StreamReadFeature;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.exc.JacksonIOException;
 import tools.jackson.core.type.TypeReference;
 
 import tools.jackson.databind.*;
@@ -13,6 +35,10 @@ import tools.jackson.databind.introspect.BeanPropertyDefinition;
 import tools.jackson.databind.util.NameTransformer;
 import tools.jackson.databind.util.SimpleLookupCache;
 import tools.jackson.databind.util.ViewMatcher;
+import tools.jackson.dataformat.csv.impl.ByteChannelOutputStream;
+import tools.jackson.dataformat.csv.impl.CsvRecordSplitter;
+import tools.jackson.dataformat.csv.impl.FileChannelInputStream;
+import tools.jackson.dataformat.csv.impl.MappedFileInputStream;
 
 /**
  * Specialized {@link ObjectMapper}, with extended functionality to
@@ -22,6 +48,19 @@ public class CsvMapper extends ObjectMapper
 {
     private static final long serialVersionUID = 1;
 
+    /**
+     * Default size of byte ranges (chunks) content is split into when
+     * using {@link #readValuesInParallel}: ranges are extended to the
+     * next record boundary so actual sizes are slightly bigger.
+     */
+    public final static long DEFAULT_PARALLEL_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * Default number of values (rows) per batch when using
+     * {@link #writeValuesInParallel}.
+     */
+    public final static int DEFAULT_PARALLEL_BATCH_SIZE = 10_000;
+
     /**
      * Base implementation for "Vanilla" {@link ObjectMapper}, used with
      * CSV backend.
@@ -279,6 +318,198 @@ public class CsvMapper extends ObjectMapper
         return readerFor(type).with(typedSchemaFor(type));
     }
 
+    /*
+    /**********************************************************************
+    /* Extended read methods, memory-mapped files
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading contents of given file as a sequence of values
+     * using given reader (which should be constructed by this mapper, and have
+     * value type and schema to use), so that file is memory-mapped (see
+     * {@link MappedFileInputStream}) instead of being read using regular
+     * read calls. Parser is constructed by the reader, same as for
+     * {@link ObjectReader#readValues(java.io.InputStream)}.
+     * File is closed when all content has been read, or when the returned
+     * iterator is closed.
+     */
+    public <T> MappingIterator<T> readValuesMapped(ObjectReader reader, Path file)
+        throws JacksonException
+    {
+        final MappedFileInputStream in;
+        try {
+            in = MappedFileInputStream.open(file);
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        }
+        // we opened the file so it must be closed regardless of reader settings
+        return _readValuesMapped(reader.with(StreamReadFeature.AUTO_CLOSE_SOURCE), in);
+    }
+
+    /**
+     * Method similar to {@link #readValuesMapped(ObjectReader, Path)}, but
+     * reading contents of given file channel: channel is not closed
+     * by the returned iterator, and its position is neither used nor modified.
+     */
+    public <T> MappingIterator<T> readValuesMapped(ObjectReader reader, FileChannel channel)
+        throws JacksonException
+    {
+        final MappedFileInputStream in;
+        try {
+            in = new MappedFileInputStream(channel, false);
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        }
+        return _readValuesMapped(reader, in);
+    }
+
+    protected <T> MappingIterator<T> _readValuesMapped(ObjectReader reader,
+            MappedFileInputStream in)
+        throws JacksonException
+    {
+        try {
+            return reader.readValues(in);
+        } catch (JacksonException e) {
+            try {
+                in.close();
+            } catch (IOException e2) {
+                e.addSuppressed(e2);
+            }
+            throw e;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Parallel reading of files
+    /**********************************************************************
+     */
+
+    /**
+     * Convenience method that opens given file and calls
+     *<pre>
+     *  readValuesInParallel(readerFor(valueType), schema, channel, DEFAULT_PARALLEL_CHUNK_SIZE, ordered);
+     *</pre>
+     * File is closed when the returned {@link Stream} is closed, so caller
+     * should use try-with-resources (or explicitly close the stream).
+     */
+    public <T> Stream<T> readValuesInParallel(Class<T> valueType, CsvSchema schema,
+            Path file, boolean ordered)
+        throws JacksonException
+    {
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        }
+        try {
+            Stream<T> stream = readValuesInParallel(readerFor(valueType), schema, channel,
+                    DEFAULT_PARALLEL_CHUNK_SIZE, ordered);
+            return stream.onClose(() -> _closeChannel(channel));
+        } catch (RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException e2) {
+                e.addSuppressed(e2);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Method for reading contents of given file channel as a sequence of values,
+     * so that content is split into byte ranges (of approximately
+     * {@code chunkSize} bytes) starting at record boundaries, and each
+     * range is parsed and bound separately, in parallel.
+     * Splitting requires a single pass over content to find record
+     * boundaries; this only considers quote, escape, separator and linefeed
+     * characters (handling values that span multiple lines) and is much cheaper
+     * than full decoding and data-binding. Header line, if schema
+     * {@link CsvSchema#usesHeader() uses one}, is read before splitting,
+     * and the resulting schema used for all ranges.
+     *<p>
+     * Returned {@link Stream} is parallel, and ranges are processed using
+     * the {@link java.util.concurrent.ForkJoinPool} terminal operation is
+     * executed in (usually the common pool).
+     * If {@code ordered} is {@code true}, stream retains order of values
+     * in content (for operations that respect encounter order, like
+     * {@link Stream#forEachOrdered} and {@link Stream#toList()});
+     * if {@code false}, stream is {@link Stream#unordered()} which may be more
+     * efficient when order does not matter.
+     *<p>
+     * Content must use an ASCII-compatible encoding (UTF-8 or ISO-8859-1)
+     * without separate encoding detection per range: UTF-16 and UTF-32 are
+     * not supported. Channel is not closed by this method or the returned
+     * stream, and must not be closed before stream has been fully consumed.
+     *
+     * @param reader Reader to use for data-binding: needs to have value type
+     *    to bind to (and may have other configuration)
+     * @param schema Schema to use for reading
+     * @param channel File channel to read: only positional reads are used,
+     *    so the position of channel is not modified
+     * @param chunkSize Approximate size of ranges to split content into
+     * @param ordered Whether returned stream retains order of values or not
+     *
+     * @return Parallel stream of values read
+     */
+    public <T> Stream<T> readValuesInParallel(ObjectReader reader, CsvSchema schema,
+            FileChannel channel, long chunkSize, boolean ordered)
+        throws JacksonException
+    {
+        if (chunkSize <= 0L) {
+            throw new IllegalArgumentException("Chunk size must be positive, was: "+chunkSize);
+        }
+        final ObjectReader r = reader.with(schema);
+        final long[] boundaries;
+        final CsvSchema restSchema;
+        try {
+            // First things first: need to read header, if any; and find settings that
+            // affect splitting
+            try (CsvParser p = (CsvParser) r.createParser(
+                    new FileChannelInputStream(channel, 0L, channel.size()))) {
+                if (schema.usesHeader()) {
+                    p.nextToken();
+                }
+                // Only the first range contains header or first data row to skip
+                restSchema = p.getSchema()
+                        .withoutHeader()
+                        .withSkipFirstDataRow(false);
+                final int leadingRecords = (schema.usesHeader() ? 1 : 0)
+                        + (schema.skipsFirstDataRow() ? 1 : 0);
+                boundaries = new CsvRecordSplitter(schema,
+                        p.isEnabled(CsvReadFeature.TRIM_SPACES),
+                        p.isEnabled(CsvReadFeature.ALLOW_COMMENTS),
+                        p.isEnabled(CsvReadFeature.SKIP_EMPTY_LINES),
+                        leadingRecords)
+                    .findBoundaries(channel, chunkSize);
+            }
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        }
+        final ObjectReader restReader = r.with(restSchema);
+        Stream<T> stream = IntStream.range(0, boundaries.length - 1)
+                .parallel()
+                .boxed()
+                .flatMap(ix -> {
+                    MappingIterator<T> it = ((ix == 0) ? r : restReader).readValues(
+                            new FileChannelInputStream(channel, boundaries[ix], boundaries[ix+1]));
+                    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it,
+                            Spliterator.ORDERED), false)
+                            .onClose(it::close);
+                });
+        return ordered ? stream : stream.unordered();
+    }
+
+    private static void _closeChannel(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        }
+    }
+
     /*
     /**********************************************************************
     /* Additional ObjectWriter factory methods
@@ -329,6 +560,171 @@ public class CsvMapper extends ObjectMapper
         return writerFor(type).with(typedSchemaFor(type));
     }
 
+    /*
+    /**********************************************************************
+    /* Extended write methods, channels
+    /**********************************************************************
+     */
+
+    /**
+     * Method for writing a sequence of values to given channel, using given
+     * writer (which should be constructed by this mapper, and have schema
+     * to use): content is encoded directly into UTF-8 bytes (as with
+     * {@link CsvWriteFeature#USE_UTF8_BYTE_ENCODER}) and written using pooled
+     * direct buffers (see {@link ByteChannelOutputStream}), instead of
+     * going through an intermediate {@link java.io.Writer}.
+     * Channel is handled like an {@link OutputStream} target: it is closed
+     * when the returned {@link SequenceWriter} is closed only if
+     * {@link tools.jackson.core.StreamWriteFeature#AUTO_CLOSE_TARGET} is enabled.
+     */
+    public SequenceWriter writeValues(ObjectWriter writer, WritableByteChannel channel)
+        throws JacksonException
+    {
+        // Stream is always closed along with generator, to release its buffers;
+        // channel itself only if AUTO_CLOSE_TARGET is enabled
+        final boolean closeChannel = writer.getConfig().isEnabled(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        return writer.with(CsvWriteFeature.USE_UTF8_BYTE_ENCODER)
+                .with(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .writeValues(new ByteChannelOutputStream(channel, closeChannel));
+    }
+
+    /*
+    /**********************************************************************
+    /* Parallel writing
+    /**********************************************************************
+     */
+
+    /**
+     * Convenience method that calls
+     *<pre>
+     *  writeValuesInParallel(writer, schema, out, values.spliterator(), DEFAULT_PARALLEL_BATCH_SIZE);
+     *</pre>
+     */
+    public void writeValuesInParallel(ObjectWriter writer, CsvSchema schema,
+            OutputStream out, Collection<?> values)
+        throws JacksonException
+    {
+        writeValuesInParallel(writer, schema, out, values.spliterator(),
+                DEFAULT_PARALLEL_BATCH_SIZE);
+    }
+
+    /**
+     * Convenience method that calls
+     *<pre>
+     *  writeValuesInParallel(writer, schema, out, values.spliterator(), batchSize);
+     *</pre>
+     * Stream is consumed (but not closed) by this method.
+     */
+    public void writeValuesInParallel(ObjectWriter writer, CsvSchema schema,
+            OutputStream out, Stream<?> values, int batchSize)
+        throws JacksonException
+    {
+        writeValuesInParallel(writer, schema, out, values.spliterator(), batchSize);
+    }
+
+    /**
+     * Method for writing given values as CSV rows, so that values are split
+     * into batches of {@code batchSize} values, each batch is serialized
+     * separately (using its own generator and output buffer) in parallel,
+     * and resulting chunks are written to given output stream in order.
+     * Output is identical to that of writing all values sequentially using
+     * a {@link SequenceWriter} constructed with {@code writer.with(schema)}:
+     * header line, if schema {@link CsvSchema#usesHeader() uses one}, is only
+     * written once, before the first row.
+     *<p>
+     * Values are pulled from the {@link Spliterator} by the calling thread,
+     * and batches serialized using the common {@link ForkJoinPool}; the number
+     * of batches serialized (or waiting to be written) at any given time is
+     * limited to twice the parallelism of the pool, so memory usage is bounded
+     * regardless of the number of values written.
+     * Output stream is neither closed nor flushed by this method.
+     *
+     * @param writer Writer to use for serialization (may have other configuration,
+     *    like {@link CsvWriteFeature}s, enabled)
+     * @param schema Schema to use for writing
+     * @param out Output stream to write content to
+     * @param values Values to write
+     * @param batchSize Number of values to serialize per batch
+     */
+    public void writeValuesInParallel(ObjectWriter writer, CsvSchema schema,
+            OutputStream out, Spliterator<?> values, int batchSize)
+        throws JacksonException
+    {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, was: "+batchSize);
+        }
+        final ObjectWriter firstWriter = writer.with(schema);
+        final ObjectWriter restWriter = firstWriter.with(schema.withoutHeader());
+        final int maxPending = Math.max(2, 2 * ForkJoinPool.getCommonPoolParallelism());
+        final ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>(maxPending);
+
+        try {
+            List<Object> batch = new ArrayList<>();
+            boolean more = values.tryAdvance(batch::add);
+            boolean first = true;
+            do {
+                while (more && (batch.size() < batchSize)) {
+                    more = values.tryAdvance(batch::add);
+                }
+                // Need to know if this is the last batch; if not, start the next one
+                List<Object> next = new ArrayList<>();
+                if (more) {
+                    more = values.tryAdvance(next::add);
+                }
+                ObjectWriter w = first ? firstWriter : restWriter;
+                // All chunks but the last one must end with a linefeed
+                if (more) {
+                    w = w.with(CsvWriteFeature.WRITE_LINEFEED_AFTER_LAST_ROW);
+                }
+                final ObjectWriter batchWriter = w;
+                final List<Object> batchValues = batch;
+                if (pending.size() >= maxPending) {
+                    out.write(_join(pending.removeFirst()));
+                }
+                pending.addLast(CompletableFuture.supplyAsync(
+                        () -> _writeBatch(batchWriter, batchValues)));
+                batch = next;
+                first = false;
+            } while (more);
+            while (!pending.isEmpty()) {
+                out.write(_join(pending.removeFirst()));
+            }
+        } catch (IOException e) {
+            throw JacksonIOException.construct(e);
+        } finally {
+            for (CompletableFuture<byte[]> f : pending) {
+                f.cancel(false);
+            }
+        }
+    }
+
+    private static byte[] _writeBatch(ObjectWriter writer, List<Object> values)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(256, values.size() * 64));
+        try (SequenceWriter sw = writer.writeValues(bytes)) {
+            for (Object value : values) {
+                sw.write(value);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] _join(CompletableFuture<byte[]> f)
+    {
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            Throwable t = e.getCause();
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw e;
+        }
+    }
+
     /*
     /**********************************************************************
     /* CsvSchema construction; overrides, new methods
@@ -1,10 +1,12 @@
 package tools.jackson.dataformat.csv;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -13,12 +15,18 @@ import tools.jackson.core.base.ParserMinimalBase;
 import tools.jackson.core.exc.StreamReadException;
 import tools.jackson.core.io.IOContext;
 import tools.jackson.core.json.DupDetector;
+import tools.jackson.core.sym.PropertyNameMatcher;
 import tools.jackson.core.util.ByteArrayBuilder;
 import tools.jackson.core.util.JacksonFeatureSet;
 import tools.jackson.core.util.SimpleStreamReadContext;
 import tools.jackson.core.util.TextBuffer;
 
 import tools.jackson.dataformat.csv.impl.CsvDecoder;
+import tools.jackson.dataformat.csv.impl.CsvHeaderCache;
+import tools.jackson.dataformat.csv.impl.CsvValueCanonicalizer;
+import tools.jackson.dataformat.csv.impl.MappedFileInputStream;
+import tools.jackson.dataformat.csv.impl.MappedUTF8CsvDecoder;
+import tools.jackson.dataformat.csv.impl.UTF8CsvDecoder;
 
 /**
  * {@link JsonParser} implementation used to expose CSV documents
@@ -127,6 +135,12 @@ public class CsvParser
      */
     protected final static int STATE_DOC_END = 9;
 
+    /**
+     * Marker used in {@link #_columnMatches} for columns whose names have
+     * not yet been matched (same as used by {@link CsvSchema#columnMatches}).
+     */
+    protected final static int COLUMN_MATCH_UNRESOLVED = Integer.MIN_VALUE;
+
     /*
     /**********************************************************************
     /* Configuration
@@ -145,6 +159,40 @@ public class CsvParser
      */
     protected int _columnCount = 0;
 
+    /**
+     * Flags for columns not included in column projection of the schema
+     * (see {@link CsvSchema#withColumnProjection}), values of which are
+     * skipped; {@code null} if all columns are exposed.
+     */
+    protected boolean[] _skippedColumns;
+
+    /**
+     * Per-column caches used for canonicalizing String values, if
+     * {@link CsvReadFeature#CANONICALIZE_VALUES} is enabled; created
+     * lazily.
+     */
+    protected CsvValueCanonicalizer[] _valueCanonicalizers;
+
+    /**
+     * Matcher for which {@link #_columnMatches} have been resolved, if any.
+     */
+    protected PropertyNameMatcher _columnMatcher;
+
+    /**
+     * Results of matching column names using {@link #_columnMatcher}, by
+     * column index: since column names are fixed by schema, each only needs
+     * to be matched once (instead of for every row); results are shared
+     * with other parsers using same schema (see {@link CsvSchema#columnMatches}).
+     * {@link #COLUMN_MATCH_UNRESOLVED} for columns not yet matched.
+     */
+    protected int[] _columnMatches;
+
+    /**
+     * Cache of schemas built from header lines, if any (passed by
+     * {@link CsvFactory}).
+     */
+    protected CsvHeaderCache _headerCache;
+
     protected boolean _cfgEmptyStringAsNull;
 
     /**
@@ -176,6 +224,14 @@ public class CsvParser
      */
     protected String _currentValue;
 
+    /**
+     * Token for the current column value, if determined based on column type
+     * (see {@link CsvReadFeature#USE_COLUMN_TYPES}); {@code null} if value is
+     * to be exposed as {@link JsonToken#VALUE_STRING} (or null). For typed values
+     * {@link #_currentValue} is only constructed if accessed.
+     */
+    protected JsonToken _currentValueToken;
+
     /**
      * Index of the column we are exposing
      */
@@ -254,6 +310,39 @@ public class CsvParser
         _cfgEmptyUnquotedStringAsNull = CsvReadFeature.EMPTY_UNQUOTED_STRING_AS_NULL.enabledIn(csvFeatures);
     }
 
+    /**
+     * Constructor used for tokenizing UTF-8 encoded content directly from bytes,
+     * as enabled by {@link CsvReadFeature#USE_UTF8_BYTE_DECODER}.
+     *
+     * @param in Input stream to read more content from, if any; {@code null}
+     *    if all content is contained in {@code inputBuffer}
+     * @param bufferRecyclable Whether {@code inputBuffer} was allocated from
+     *    {@link IOContext} and is to be released when parser is closed
+     */
+    public CsvParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int stdFeatures, int csvFeatures, CsvSchema schema,
+            InputStream in, byte[] inputBuffer, int start, int end,
+            boolean bufferRecyclable)
+    {
+        super(readCtxt, ioCtxt, stdFeatures);
+        _formatFeatures = csvFeatures;
+        DupDetector dups = StreamReadFeature.STRICT_DUPLICATE_DETECTION.enabledIn(stdFeatures)
+                ? DupDetector.rootDetector(this) : null;
+        _streamReadContext = SimpleStreamReadContext.createRootContext(dups);
+        _textBuffer = ioCtxt.constructReadConstrainedTextBuffer();
+        if (in instanceof MappedFileInputStream) {
+            _reader = new MappedUTF8CsvDecoder(ioCtxt, this, (MappedFileInputStream) in,
+                    inputBuffer, start, end, bufferRecyclable, schema, _textBuffer,
+                    stdFeatures, csvFeatures);
+        } else {
+            _reader = new UTF8CsvDecoder(ioCtxt, this, in, inputBuffer, start, end,
+                    bufferRecyclable, schema, _textBuffer, stdFeatures, csvFeatures);
+        }
+        _setSchema(schema);
+        _cfgEmptyStringAsNull = CsvReadFeature.EMPTY_STRING_AS_NULL.enabledIn(csvFeatures);
+        _cfgEmptyUnquotedStringAsNull = CsvReadFeature.EMPTY_UNQUOTED_STRING_AS_NULL.enabledIn(csvFeatures);
+    }
+
     /*
     /**********************************************************************
     /* Versioned                                                                             
@@ -371,6 +460,15 @@ public class CsvParser
         return _schema;
     }
 
+    /**
+     * Method called (by {@link CsvFactory}) to specify cache of schemas built
+     * from header lines to use, if any.
+     */
+    public CsvParser setHeaderCache(CsvHeaderCache cache) {
+        _headerCache = cache;
+        return this;
+    }
+
     /*
     /**********************************************************************
     /* Location info
@@ -522,6 +620,39 @@ public class CsvParser
         return (nextToken() == JsonToken.PROPERTY_NAME) && str.getValue().equals(currentName());
     }
 
+    /**
+     * Overridden to resolve property (usually, bean property index) for each
+     * column just once, for all rows: name matching is only done for the
+     * first row.
+     */
+    @Override
+    public int nextNameMatch(PropertyNameMatcher matcher) throws JacksonException
+    {
+        // Optimize for expected case of getting PROPERTY_NAME:
+        if (_state == STATE_NEXT_ENTRY) {
+            _binaryValue = null;
+            final JsonToken t = _updateToken(_handleNextEntry());
+            if (t == JsonToken.PROPERTY_NAME) {
+                return _matchColumnName(matcher);
+            }
+            return (t == JsonToken.END_OBJECT) ? PropertyNameMatcher.MATCH_END_OBJECT
+                    : PropertyNameMatcher.MATCH_ODD_TOKEN;
+        }
+        nextToken();
+        return currentNameMatch(matcher);
+    }
+
+    @Override
+    public int currentNameMatch(PropertyNameMatcher matcher) {
+        if (_currToken == JsonToken.PROPERTY_NAME) {
+            return _matchColumnName(matcher);
+        }
+        if (_currToken == JsonToken.END_OBJECT) {
+            return PropertyNameMatcher.MATCH_END_OBJECT;
+        }
+        return PropertyNameMatcher.MATCH_ODD_TOKEN;
+    }
+
     @Override
     public String nextName() throws JacksonException
     {
@@ -546,12 +677,12 @@ public class CsvParser
         if (_state == STATE_NAMED_VALUE) {
             t = _updateToken(_handleNamedValue());
             if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
+                return getString();
             }
         } else if (_state == STATE_UNNAMED_VALUE) {
             t = _updateToken(_handleUnnamedValue());
             if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
+                return getString();
             }
         } else {
             t = nextToken();
@@ -619,8 +750,7 @@ public class CsvParser
 
         // either the schema is empty or reorder columns flag is set
         String name;
-        CsvSchema.Builder builder = _schema.rebuild().clearColumns();
-        int count = 0;
+        ArrayList<String> names = new ArrayList<>();
 
         final boolean trimHeaderNames = CsvReadFeature.TRIM_HEADER_SPACES.enabledIn(_formatFeatures);
         while ((name = _reader.nextString()) != null) {
@@ -629,25 +759,37 @@ public class CsvParser
             if (trimHeaderNames) {
                 name = name.trim();
             }
-            // See if "old" schema defined type; if so, use that type...
-            CsvSchema.Column prev = _schema.column(name);
-            if (prev != null) {
-                builder.addColumn(name, prev.getType());
-            } else {
-                builder.addColumn(name);
-            }
-            if (++count > MAX_COLUMNS) {
+            names.add(name);
+            if (names.size() > MAX_COLUMNS) {
                 _reportError("Internal error: reached maximum of "+MAX_COLUMNS+" header columns");
             }
         }
-
         // [dataformats-text#204]: Drop trailing empty name if so instructed
-        if (CsvReadFeature.ALLOW_TRAILING_COMMA.enabledIn(_formatFeatures)) {
-            builder.dropLastColumnIfEmpty();
+        final boolean dropTrailingEmpty = CsvReadFeature.ALLOW_TRAILING_COMMA.enabledIn(_formatFeatures);
+        final String[] nameArray = names.toArray(new String[0]);
+
+        // Same header seen before? If so, can reuse schema built then
+        CsvSchema newSchema = (_headerCache == null) ? null
+                : _headerCache.findSchema(_schema, nameArray, dropTrailingEmpty);
+        final boolean cached = (newSchema != null);
+        if (!cached) {
+            CsvSchema.Builder builder = _schema.rebuild().clearColumns();
+            for (String n : nameArray) {
+                // See if "old" schema defined type; if so, use that type...
+                CsvSchema.Column prev = _schema.column(n);
+                if (prev != null) {
+                    builder.addColumn(n, prev.getType());
+                } else {
+                    builder.addColumn(n);
+                }
+            }
+            if (dropTrailingEmpty) {
+                builder.dropLastColumnIfEmpty();
+            }
+            newSchema = builder.build();
         }
 
         // Ok: did we get any  columns?
-        CsvSchema newSchema = builder.build();
         int newColumnCount = newSchema.size();
         if (newColumnCount < 2) { // 1 just because we may get 'empty' header name
             String first = (newColumnCount == 0) ? "" : newSchema.columnName(0).trim();
@@ -667,7 +809,10 @@ public class CsvParser
         }
 
         // otherwise we will use what we got
-        _setSchema(builder.build());
+        if (!cached && (_headerCache != null)) {
+            _headerCache.addSchema(_schema, nameArray, dropTrailingEmpty, newSchema);
+        }
+        _setSchema(newSchema);
     }
 
     /**
@@ -731,8 +876,19 @@ public class CsvParser
         // NOTE: only called when we do have real Schema
         String next;
 
+        _currentValueToken = null;
         try {
-            next = _reader.nextString();
+            // Values of columns not included in projection are skipped, not decoded
+            if ((_skippedColumns != null) && !_skipColumnValues()) {
+                next = null;
+            } else if (CsvReadFeature.USE_COLUMN_TYPES.enabledIn(_formatFeatures)
+                    && (_columnIndex < _columnCount)) {
+                next = _nextTypedValue(_schema.column(_columnIndex));
+            } else if (_columnIndex < _columnCount) {
+                next = _nextColumnString(_schema.column(_columnIndex));
+            } else {
+                next = _reader.nextString();
+            }
         } catch (RuntimeException e) {
             // 12-Oct-2015, tatu: Need to resync here as well...
             _state = STATE_SKIP_EXTRA_COLUMNS;
@@ -755,7 +911,9 @@ public class CsvParser
         _currentName = column.getName();
         // 25-Aug-2024, tatu: [dataformats-text#442] May have value decorator
         CsvValueDecorator dec = column.getValueDecorator();
-        if (dec == null) {
+        if (_currentValueToken != null) { // typed value; String constructed lazily, if at all
+            _currentValue = null;
+        } else if (dec == null) {
             _currentValue = next;
         } else {
             _currentValue = dec.undecorateValue(this, next);
@@ -763,6 +921,172 @@ public class CsvParser
         return JsonToken.PROPERTY_NAME;
     }
 
+    /**
+     * Helper method for matching name of the current column using given
+     * matcher, using (and populating) results cached by column index
+     * when possible.
+     */
+    protected int _matchColumnName(PropertyNameMatcher matcher)
+    {
+        final int ix = _columnIndex;
+        // Only schema columns have fixed names: "any property" name of extra
+        // columns, for example, is matched as is
+        if ((ix >= _columnCount) || (_currentName != _schema.columnName(ix))) {
+            return matcher.matchName(_currentName);
+        }
+        int[] matches = _columnMatches;
+        if ((matches == null) || (matcher != _columnMatcher)) {
+            _columnMatcher = matcher;
+            _columnMatches = matches = _schema.columnMatches(matcher);
+        }
+        int match = matches[ix];
+        if (match == COLUMN_MATCH_UNRESOLVED) {
+            matches[ix] = match = matcher.matchName(_currentName);
+        }
+        return match;
+    }
+
+    /**
+     * Helper method for skipping values of columns not included in column
+     * projection, starting from the current column.
+     *
+     * @return True if there is a value for the next projected (or extra)
+     *    column to read; false if end of record was reached
+     */
+    protected boolean _skipColumnValues() throws JacksonException
+    {
+        while ((_columnIndex < _columnCount) && _skippedColumns[_columnIndex]) {
+            if (!_reader.skipValue()) {
+                return false;
+            }
+            ++_columnIndex;
+        }
+        return true;
+    }
+
+    /**
+     * Helper method for reading the value of a column, using its type to
+     * determine how value is to be exposed.
+     *
+     * @return Value as String, if exposed as {@link JsonToken#VALUE_STRING}; empty
+     *    String if exposed as some other token (see {@link #_currentValueToken}),
+     *    or {@code null} if end of record was reached
+     */
+    protected String _nextTypedValue(CsvSchema.Column column) throws JacksonException
+    {
+        // Decorated values need to be handled as Strings
+        if (column.getValueDecorator() != null) {
+            return _reader.nextString();
+        }
+        final JsonToken t;
+        switch (column.getType()) {
+        case NUMBER:
+            t = _reader.nextNumber();
+            break;
+        case NUMBER_OR_STRING:
+            t = _reader.nextNumberOrString();
+            break;
+        case BOOLEAN:
+        case STRING_OR_LITERAL:
+            t = _reader.nextStringOrLiteral();
+            break;
+        default:
+            return _nextColumnString(column);
+        }
+        if (t == null) {
+            return null;
+        }
+        if (t == JsonToken.VALUE_STRING) {
+            String str = _reader.getText();
+            // Empty value is considered null for booleans (as well as numbers)
+            if (str.isEmpty() && (column.getType() == CsvSchema.ColumnType.BOOLEAN)) {
+                _currentValueToken = JsonToken.VALUE_NULL;
+            }
+            return str;
+        }
+        // Also need to consider explicit null value, if any
+        if ((_nullValue != null) && _nullValue.equals(_reader.getText())) {
+            _currentValueToken = JsonToken.VALUE_NULL;
+        } else {
+            _currentValueToken = t;
+        }
+        return "";
+    }
+
+    /**
+     * Helper method for reading the String value of a schema column, as
+     * configured (canonicalized, deferred or regular).
+     *
+     * @return Value as String, or empty String if exposed as
+     *    {@link #_currentValueToken}; {@code null} if end of record was reached
+     */
+    protected String _nextColumnString(CsvSchema.Column column) throws JacksonException
+    {
+        if (CsvReadFeature.CANONICALIZE_VALUES.enabledIn(_formatFeatures)) {
+            return _nextCanonicalString(_columnIndex);
+        }
+        if (CsvReadFeature.DEFER_STRING_VALUES.enabledIn(_formatFeatures)
+                && _canDeferString(column)) {
+            return _nextDeferredString();
+        }
+        return _reader.nextString();
+    }
+
+    /**
+     * Helper method for reading a String value using canonicalizer of the
+     * column: repeated values are returned as shared instances, without
+     * constructing new Strings (see {@link CsvReadFeature#CANONICALIZE_VALUES}).
+     *
+     * @return Canonical value, or {@code null} if end of record was reached
+     */
+    protected String _nextCanonicalString(int index) throws JacksonException
+    {
+        if (!_reader.nextStringInBuffer()) {
+            return null;
+        }
+        CsvValueCanonicalizer[] canonicalizers = _valueCanonicalizers;
+        if (canonicalizers == null) {
+            _valueCanonicalizers = canonicalizers = new CsvValueCanonicalizer[_columnCount];
+        }
+        CsvValueCanonicalizer canonicalizer = canonicalizers[index];
+        if (canonicalizer == null) {
+            canonicalizers[index] = canonicalizer = new CsvValueCanonicalizer();
+        }
+        // Value may have had to be constructed already (escapes, buffer boundary)
+        if (_textBuffer.hasTextAsCharacters()) {
+            return canonicalizer.canonicalize(_textBuffer.getTextBuffer(),
+                    _textBuffer.getTextOffset(), _textBuffer.size());
+        }
+        return canonicalizer.canonicalize(_reader.getText());
+    }
+
+    /**
+     * Helper method for reading a String value without constructing a
+     * {@link String}: value is only accessible from the text buffer,
+     * and exposed using {@link #_currentValueToken}
+     * (see {@link CsvReadFeature#DEFER_STRING_VALUES}).
+     *
+     * @return Empty String if a value was read, or {@code null} if end
+     *    of record was reached
+     */
+    protected String _nextDeferredString() throws JacksonException
+    {
+        if (!_reader.nextStringInBuffer()) {
+            return null;
+        }
+        _currentValueToken = _isNullText() ? JsonToken.VALUE_NULL : JsonToken.VALUE_STRING;
+        return "";
+    }
+
+    /**
+     * Helper method for checking whether construction of String value of
+     * given column may be deferred: not possible for values that need to
+     * be post-processed (arrays, decorated values).
+     */
+    protected boolean _canDeferString(CsvSchema.Column column) {
+        return (column.getValueDecorator() == null) && !column.isArray();
+    }
+
     protected JsonToken _handleNamedValue() throws JacksonException
     {
         // 06-Oct-2015, tatu: During recovery, may get past all regular columns,
@@ -776,6 +1100,9 @@ public class CsvParser
             }
         }
         _state = STATE_NEXT_ENTRY;
+        if (_currentValueToken != null) {
+            return _currentValueToken;
+        }
         if (_isNullValue(_currentValue)) {
             return JsonToken.VALUE_NULL;
         }
@@ -784,10 +1111,12 @@ public class CsvParser
 
     protected JsonToken _handleUnnamedValue() throws JacksonException
     {
-        String next = _reader.nextString();
+        _currentValueToken = null;
+        String next = CsvReadFeature.DEFER_STRING_VALUES.enabledIn(_formatFeatures)
+                ? _nextDeferredString() : _reader.nextString();
         if (next == null) { // end of record or input...
             _streamReadContext = _streamReadContext.clearAndGetParent();
-            if (!_reader.startNewLine()) { // end of whole thing...
+            if (!_startNewLine()) { // end of whole thing...
                 _state = STATE_DOC_END;
             } else {
                 // no, just end of record
@@ -796,8 +1125,12 @@ public class CsvParser
             return JsonToken.END_ARRAY;
         }
         // state remains the same
-        _currentValue = next;
         ++_columnIndex;
+        if (_currentValueToken != null) { // String constructed lazily, if at all
+            _currentValue = null;
+            return _currentValueToken;
+        }
+        _currentValue = next;
         if (_isNullValue(next)) {
             return JsonToken.VALUE_NULL;
         }
@@ -911,6 +1244,10 @@ public class CsvParser
                     _columnCount, _columnIndex);
         }
         if (CsvReadFeature.INSERT_NULLS_FOR_MISSING_COLUMNS.enabledIn(_formatFeatures)) {
+            _columnIndex = _nextProjectedColumn(_columnIndex);
+            if (_columnIndex >= _columnCount) {
+                return _handleObjectRowEnd();
+            }
             _state = STATE_MISSING_VALUE;
             _currentName = _schema.columnName(_columnIndex);
             _currentValue = null;
@@ -921,7 +1258,8 @@ public class CsvParser
 
     protected JsonToken _handleMissingName() throws JacksonException
     {
-        if (++_columnIndex < _columnCount) {
+        _columnIndex = _nextProjectedColumn(_columnIndex + 1);
+        if (_columnIndex < _columnCount) {
             _state = STATE_MISSING_VALUE;
             _currentName = _schema.columnName(_columnIndex);
             // _currentValue already set to null earlier
@@ -930,6 +1268,15 @@ public class CsvParser
         return _handleObjectRowEnd();
     }
 
+    private int _nextProjectedColumn(int index) {
+        if (_skippedColumns != null) {
+            while ((index < _columnCount) && _skippedColumns[index]) {
+                ++index;
+            }
+        }
+        return index;
+    }
+
     protected JsonToken _handleMissingValue() throws JacksonException
     {
         _state = STATE_MISSING_NAME;
@@ -942,6 +1289,17 @@ public class CsvParser
     /**********************************************************************
      */
 
+    /**
+     * Method called at the end of a logical record, to move on to the next
+     * record, if any.
+     *
+     * @return True if there is another record; false if end of input
+     *    has been reached
+     */
+    protected boolean _startNewLine() throws JacksonException {
+        return _reader.startNewLine();
+    }
+
     /**
      * Helper method called to handle details of state update when end of logical
      * record occurs.
@@ -949,7 +1307,7 @@ public class CsvParser
     protected final JsonToken _handleObjectRowEnd() throws JacksonException
     {
         _streamReadContext = _streamReadContext.clearAndGetParent();
-        if (!_reader.startNewLine()) {
+        if (!_startNewLine()) {
             _state = STATE_DOC_END;
         } else {
             _state = STATE_RECORD_START;
@@ -965,7 +1323,7 @@ public class CsvParser
         // NOTE: seems like we should always be within Object, but let's be conservative
         // and check just in case
         _streamReadContext = _streamReadContext.clearAndGetParent();
-        _state = _reader.startNewLine() ? STATE_RECORD_START : STATE_DOC_END;
+        _state = _startNewLine() ? STATE_RECORD_START : STATE_DOC_END;
         return _updateToken(_streamReadContext.inArray()
                 ? JsonToken.END_ARRAY : JsonToken.END_OBJECT);
     }
@@ -975,9 +1333,7 @@ public class CsvParser
     /* String value handling
     /**********************************************************************
      */
-    
-    
-    // For now we do not store char[] representation...
+
     @Override
     public boolean hasStringCharacters() {
         if (_currToken == JsonToken.PROPERTY_NAME) {
@@ -993,6 +1349,11 @@ public class CsvParser
         }
         // 08-Sep-2020, tatu: Used to check for empty String wrt EMPTY_STRING_AS_NULL
         //    here, but now demoted to actual "nextToken()" handling
+        if ((_currentValue == null) && (_currentValueToken != null)
+                && (_currToken == _currentValueToken)) {
+            // typed value, textual representation only constructed when needed
+            _currentValue = _reader.getText();
+        }
         return _currentValue;
     }
 
@@ -1001,7 +1362,8 @@ public class CsvParser
         if (_currToken == JsonToken.PROPERTY_NAME) {
             return _currentName.toCharArray();
         }
-        return _textBuffer.contentsAsArray();
+        // Note: may be a view into the input buffer, so offset need not be 0
+        return _textBuffer.getTextBuffer();
     }
 
     @Override
@@ -1014,13 +1376,15 @@ public class CsvParser
 
     @Override
     public int getStringOffset() throws JacksonException {
-        return 0;
+        if (_currToken == JsonToken.PROPERTY_NAME) {
+            return 0;
+        }
+        return _textBuffer.getTextOffset();
     }
 
     @Override
     public int getString(Writer w) throws JacksonException {
-        String value = (_currToken == JsonToken.PROPERTY_NAME) ?
-                _currentName : _currentValue;
+        String value = getString();
         if (value == null) {
             return 0;
         }
@@ -1053,7 +1417,7 @@ public class CsvParser
                 _reportError("Current token (%s) not VALUE_STRING, can not access as binary", _currToken);
             }
             ByteArrayBuilder builder = _getByteArrayBuilder();
-            _decodeBase64(_currentValue, builder, variant);
+            _decodeBase64(getString(), builder, variant);
             _binaryValue = builder.toByteArray();
         }
         return _binaryValue;
@@ -1174,6 +1538,20 @@ public class CsvParser
             _nullValue = _schema.getNullValueString();
         }
         _columnCount = _schema.size();            
+        _skippedColumns = null;
+        _valueCanonicalizers = null;
+        _columnMatcher = null;
+        _columnMatches = null;
+        if (_schema.hasColumnProjection()) {
+            for (int i = 0; i < _columnCount; ++i) {
+                if (!_schema.isProjectedColumn(_schema.columnName(i))) {
+                    if (_skippedColumns == null) {
+                        _skippedColumns = new boolean[_columnCount];
+                    }
+                    _skippedColumns[i] = true;
+                }
+            }
+        }
         _reader.setSchema(_schema);
     }
 
@@ -1219,4 +1597,28 @@ public class CsvParser
         }
         return _cfgEmptyUnquotedStringAsNull && value.isEmpty() && !_reader.isCurrentTokenQuoted();
     }
+
+    /**
+     * Variant of {@link #_isNullValue(String)} that checks the current contents
+     * of the text buffer, without constructing a String.
+     */
+    protected boolean _isNullText() throws JacksonException {
+        final int len = _textBuffer.size();
+        if ((_nullValue != null) && (_nullValue.length() == len)) {
+            final char[] buf = _textBuffer.getTextBuffer();
+            final int offset = _textBuffer.getTextOffset();
+            int i = 0;
+            while ((i < len) && (buf[offset+i] == _nullValue.charAt(i))) {
+                ++i;
+            }
+            if (i == len) {
+                return true;
+            }
+        }
+        if (len > 0) {
+            return false;
+        }
+        return _cfgEmptyStringAsNull
+                || (_cfgEmptyUnquotedStringAsNull && !_reader.isCurrentTokenQuoted());
+    }
 }
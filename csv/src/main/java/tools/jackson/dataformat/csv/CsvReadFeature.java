@@ -142,6 +142,76 @@ public enum CsvReadFeature
      * Feature is disabled by default for backwards compatibility.
      */
     EMPTY_UNQUOTED_STRING_AS_NULL(false),
+
+    /**
+     * Feature that determines whether UTF-8 encoded content read from an
+     * {@link java.io.InputStream} or {@code byte[]} is tokenized directly
+     * from bytes (enabled), or first decoded into characters using a
+     * {@link java.io.Reader} (disabled).
+     * Direct tokenization avoids a separate decoding pass over all content;
+     * but locations (offsets, columns) are then reported in bytes instead of
+     * characters.
+     *<p>
+     * Feature only has effect if column separator, quote and escape characters
+     * of the schema are all 7-bit ASCII characters.
+     *<p>
+     * Feature is disabled by default.
+     */
+    USE_UTF8_BYTE_DECODER(false),
+
+    /**
+     * Feature that determines whether types of schema columns are used to
+     * expose values as typed tokens: if enabled, values of
+     * {@link CsvSchema.ColumnType#NUMBER} and {@link CsvSchema.ColumnType#NUMBER_OR_STRING}
+     * columns are exposed as {@link tools.jackson.core.JsonToken#VALUE_NUMBER_INT}
+     * or {@link tools.jackson.core.JsonToken#VALUE_NUMBER_FLOAT} (when valid numbers),
+     * and literals {@code null}, {@code true} and {@code false} as matching tokens
+     * for these as well as {@link CsvSchema.ColumnType#BOOLEAN} and
+     * {@link CsvSchema.ColumnType#STRING_OR_LITERAL} columns.
+     * Numbers are parsed directly from input, without constructing intermediate
+     * {@link String}s.
+     * If disabled, all values are exposed as {@link tools.jackson.core.JsonToken#VALUE_STRING}s
+     * (or {@link tools.jackson.core.JsonToken#VALUE_NULL}s), regardless of column type.
+     *<p>
+     * Note that unquoted values of these typed columns are always trimmed of
+     * leading and trailing spaces (regardless of {@link #TRIM_SPACES}), also
+     * when they end up exposed as {@link tools.jackson.core.JsonToken#VALUE_STRING}s.
+     *<p>
+     * Feature is disabled by default for backwards compatibility.
+     */
+    USE_COLUMN_TYPES(false),
+
+    /**
+     * Feature that determines whether construction of {@link String}s for
+     * textual values is deferred until {@link tools.jackson.core.JsonParser#getString()}
+     * is called: if enabled, values are only decoded into the parser's text buffer,
+     * and accessing them using {@link tools.jackson.core.JsonParser#getStringCharacters()}
+     * (along with {@code getStringOffset()} and {@code getStringLength()}) allocates
+     * nothing. Further, values that do not span input buffer boundaries and contain no
+     * escapes or doubled quotes are exposed directly from the input buffer,
+     * without copying (unless {@link #USE_UTF8_BYTE_DECODER} is enabled).
+     * Values of array columns and columns with value decorators are always
+     * decoded as {@link String}s.
+     *<p>
+     * Feature is disabled by default.
+     */
+    DEFER_STRING_VALUES(false),
+
+    /**
+     * Feature that determines whether textual values of schema columns are
+     * canonicalized: if enabled, each column keeps a bounded cache of distinct
+     * values seen, and a single shared {@link String} instance is returned for
+     * repeated values, instead of constructing a new String for every cell.
+     * This is useful for low-cardinality columns (like codes or status values).
+     * For columns with more distinct values than cache can hold, caching is
+     * automatically disabled.
+     *<p>
+     * If enabled, has precedence over {@link #DEFER_STRING_VALUES} for
+     * schema columns.
+     *<p>
+     * Feature is disabled by default.
+     */
+    CANONICALIZE_VALUES(false),
     ;
 
     private final boolean _defaultState;
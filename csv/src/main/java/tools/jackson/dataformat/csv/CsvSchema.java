@@ -5,6 +5,10 @@ import java.util.*;
 import java.util.function.UnaryOperator;
 
 import tools.jackson.core.FormatSchema;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.sym.PropertyNameMatcher;
+import tools.jackson.dataformat.csv.impl.ColumnNameTable;
+import tools.jackson.dataformat.csv.impl.CsvWritePlan;
 
 /**
  * Simple {@link FormatSchema} sub-type that defines properties of
@@ -452,6 +456,8 @@ public class CsvSchema
          */
         protected char[] _nullValue = DEFAULT_NULL_VALUE;
 
+        protected Set<String> _projectedColumns;
+
         public Builder() { }
 
         /**
@@ -471,6 +477,7 @@ public class CsvSchema
             _lineSeparator = src._lineSeparator;
             _nullValue = src._nullValue;
             _anyPropertyName = src._anyPropertyName;
+            _projectedColumns = src._projectedColumns;
         }
 
         /**
@@ -847,13 +854,23 @@ public class CsvSchema
             return this;
         }
 
+        /**
+         * Method for specifying names of the columns to expose when reading
+         * (see {@link CsvSchema#withColumnProjection}); {@code null} to expose
+         * all columns.
+         */
+        public Builder setColumnProjection(Collection<String> columnNames) {
+            _projectedColumns = _projection(columnNames);
+            return this;
+        }
+
         public CsvSchema build()
         {
             Column[] cols = _columns.toArray(new Column[_columns.size()]);
             return new CsvSchema(cols, _encodingFeatures,
                     _columnSeparator, _quoteChar, _escapeChar,
                     _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _anyPropertyName);
+                    _nullValue, _anyPropertyName, _projectedColumns);
         }
 
         protected void _checkIndex(int index) {
@@ -877,6 +894,12 @@ public class CsvSchema
     
     protected final Map<String,Column> _columnsByName;
 
+    /**
+     * Hash table used for finding columns by name: built along with
+     * {@link #_columnsByName}, but optimized for faster lookups.
+     */
+    protected final ColumnNameTable _columnTable;
+
     /**
      * Bitflag for general-purpose on/off features.
      * 
@@ -901,6 +924,19 @@ public class CsvSchema
 
     protected transient String _nullValueAsString;
 
+    /**
+     * Write plan last constructed for this schema (for some set of
+     * {@link CsvWriteFeature}s), if any.
+     */
+    protected transient volatile CsvWritePlan _writePlan;
+
+    /**
+     * Results of matching column names of this schema to properties using
+     * the property name matcher last used with this schema, if any; shared
+     * by all parsers that use this schema.
+     */
+    protected transient volatile ColumnMatches _columnMatches;
+
     /**
      * If "any properties" (properties for 'extra' columns; ones
      * not specified in schema) are enabled, they are mapped to
@@ -914,6 +950,13 @@ public class CsvSchema
      */
     protected final String _anyPropertyName;
 
+    /**
+     * Names of the columns to expose when reading, if only some of columns
+     * are to be read: values of other columns are skipped without decoding.
+     * {@code null} if all columns are exposed.
+     */
+    protected final Set<String> _projectedColumns;
+
     /**
      * @since 2.7
      */
@@ -921,6 +964,15 @@ public class CsvSchema
             char columnSeparator, int quoteChar, int escapeChar,
             char[] lineSeparator, String arrayElementSeparator,
             char[] nullValue, String anyPropertyName)
+    {
+        this(columns, features, columnSeparator, quoteChar, escapeChar,
+                lineSeparator, arrayElementSeparator, nullValue, anyPropertyName, null);
+    }
+
+    public CsvSchema(Column[] columns, int features,
+            char columnSeparator, int quoteChar, int escapeChar,
+            char[] lineSeparator, String arrayElementSeparator,
+            char[] nullValue, String anyPropertyName, Set<String> projectedColumns)
     {
         if (columns == null) {
             columns = NO_COLUMNS;
@@ -936,6 +988,7 @@ public class CsvSchema
         _lineSeparator = lineSeparator;
         _nullValue = nullValue;
         _anyPropertyName = anyPropertyName;
+        _projectedColumns = projectedColumns;
 
         // and then we may need to create a mapping
         if (_columns.length == 0) {
@@ -946,6 +999,7 @@ public class CsvSchema
                 _columnsByName.put(c.getName(), c);
             }
         }
+        _columnTable = ColumnNameTable.construct(_columns);
     }
 
     /**
@@ -956,7 +1010,8 @@ public class CsvSchema
             char columnSeparator, int quoteChar, int escapeChar,
             char[] lineSeparator, String arrayElementSeparator,
             char[] nullValue,
-            Map<String,Column> columnsByName, String anyPropertyName)
+            Map<String,Column> columnsByName, String anyPropertyName,
+            Set<String> projectedColumns)
     {
         _columns = columns;
         _features = features;
@@ -967,7 +1022,9 @@ public class CsvSchema
         _arrayElementSeparator = arrayElementSeparator;
         _nullValue = nullValue;
         _columnsByName = columnsByName;
+        _columnTable = ColumnNameTable.construct(columns);
         _anyPropertyName = anyPropertyName;
+        _projectedColumns = projectedColumns;
     }    
 
     /**
@@ -985,6 +1042,7 @@ public class CsvSchema
         _arrayElementSeparator = base._arrayElementSeparator;
         _nullValue = base._nullValue;
         _anyPropertyName = base._anyPropertyName;
+        _projectedColumns = base._projectedColumns;
 
         // and then we may need to create a mapping
         if (_columns.length == 0) {
@@ -995,6 +1053,7 @@ public class CsvSchema
                 _columnsByName.put(c.getName(), c);
             }
         }
+        _columnTable = ColumnNameTable.construct(_columns);
     }
     
     /**
@@ -1012,7 +1071,9 @@ public class CsvSchema
         _arrayElementSeparator = base._arrayElementSeparator;
         _nullValue = base._nullValue;
         _anyPropertyName = base._anyPropertyName;
+        _projectedColumns = base._projectedColumns;
         _columnsByName = base._columnsByName;
+        _columnTable = base._columnTable;
     }
 
     /**
@@ -1161,35 +1222,35 @@ public class CsvSchema
         return (_columnSeparator == sep) ? this :
             new CsvSchema(_columns, _features,
                     sep, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     public CsvSchema withQuoteChar(char c) {
         return (_quoteChar == c) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, c, _escapeChar, _lineSeparator,_arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     public CsvSchema withoutQuoteChar() {
         return (_quoteChar == -1) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, -1, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     public CsvSchema withEscapeChar(char c) {
         return (_escapeChar == c) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, c, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     public CsvSchema withoutEscapeChar() {
         return (_escapeChar == -1) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, -1, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     /**
@@ -1199,7 +1260,7 @@ public class CsvSchema
         String sep = separator == null ? "" : separator;
         return (_arrayElementSeparator.equals(sep)) ? this : new CsvSchema(_columns, _features,
             _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, separator,
-            _nullValue, _columnsByName, _anyPropertyName);
+            _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
 
@@ -1210,13 +1271,13 @@ public class CsvSchema
         return (_arrayElementSeparator.isEmpty()) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, "",
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
     
     public CsvSchema withLineSeparator(String sep) {
         return new CsvSchema(_columns, _features,
                 _columnSeparator, _quoteChar, _escapeChar, sep.toCharArray(),
-                _arrayElementSeparator, _nullValue, _columnsByName, _anyPropertyName);
+                _arrayElementSeparator, _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     /**
@@ -1227,13 +1288,13 @@ public class CsvSchema
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator,
                 _arrayElementSeparator,
                 (nvl == null) ? null : nvl.toCharArray(),
-                _columnsByName, _anyPropertyName);
+                _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     public CsvSchema withoutColumns() {
         return new CsvSchema(NO_COLUMNS, _features,
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                _nullValue, _columnsByName, _anyPropertyName);
+                _nullValue, _columnsByName, _anyPropertyName, _projectedColumns);
     }
 
     /**
@@ -1343,7 +1404,36 @@ public class CsvSchema
     public CsvSchema withAnyPropertyName(String name) {
         return new CsvSchema(_columns, _features,
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                _nullValue, _columnsByName, name);
+                _nullValue, _columnsByName, name, _projectedColumns);
+    }
+
+    /**
+     * Mutant factory method for constructing a schema that only exposes
+     * columns with given names when reading: values of other columns are
+     * skipped without decoding them (or constructing {@link String}s), and
+     * no properties are exposed for them. This is useful when binding
+     * only some of the columns of wide content, especially when columns are
+     * defined by the header line.
+     *<p>
+     * Note that projection only affects reading; and that columns still
+     * need to be defined by the schema (or header line), as column names
+     * are not used to find values.
+     *
+     * @param columnNames Names of columns to expose; {@code null} to expose
+     *    all columns
+     */
+    public CsvSchema withColumnProjection(Collection<String> columnNames) {
+        return new CsvSchema(_columns, _features,
+                _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
+                _nullValue, _columnsByName, _anyPropertyName, _projection(columnNames));
+    }
+
+    public CsvSchema withColumnProjection(String... columnNames) {
+        return withColumnProjection(Arrays.asList(columnNames));
+    }
+
+    public CsvSchema withoutColumnProjection() {
+        return (_projectedColumns == null) ? this : withColumnProjection((Collection<String>) null);
     }
     
     /**
@@ -1456,6 +1546,39 @@ public class CsvSchema
         return str;
     }
 
+    /**
+     * Accessor for per-column write settings for this schema and given set of
+     * {@link CsvWriteFeature}s, pre-computed once and cached (as long as
+     * features are the same as when last accessed).
+     *
+     * @param csvFeatures Bitflags of enabled {@link CsvWriteFeature}s
+     */
+    public CsvWritePlan writePlan(int csvFeatures) {
+        CsvWritePlan plan = _writePlan;
+        if ((plan == null) || (plan.getFeatures() != csvFeatures)) {
+            plan = CsvWritePlan.construct(this, csvFeatures);
+            _writePlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Accessor for results of matching column names of this schema using given
+     * property name matcher, populated lazily by parsers (see
+     * {@link CsvParser#nextNameMatch}): entries for columns not yet matched
+     * are {@link Integer#MIN_VALUE}. Results are retained for the most recently
+     * used matcher, so that parsers reading content using same schema (and
+     * same deserializer) only need to match each column name once.
+     */
+    public int[] columnMatches(PropertyNameMatcher matcher) {
+        ColumnMatches matches = _columnMatches;
+        if ((matches == null) || (matches.matcher != matcher)) {
+            matches = new ColumnMatches(matcher, _columns.length);
+            _columnMatches = matches;
+        }
+        return matches.matches;
+    }
+
     public boolean usesQuoteChar() { return _quoteChar >= 0; }
     public boolean usesEscapeChar() { return _escapeChar >= 0; }
 
@@ -1469,6 +1592,23 @@ public class CsvSchema
      */
     public String getAnyPropertyName() { return _anyPropertyName; }
 
+    /**
+     * @return Names of columns to expose when reading, if projection is used
+     *    (see {@link #withColumnProjection}); {@code null} if all columns are exposed
+     */
+    public Set<String> getColumnProjection() { return _projectedColumns; }
+
+    public boolean hasColumnProjection() { return _projectedColumns != null; }
+
+    /**
+     * Accessor for checking whether column with given name is to be exposed
+     * when reading: this is true for all columns unless column projection
+     * is used, in which case only for columns included in the projection.
+     */
+    public boolean isProjectedColumn(String name) {
+        return (_projectedColumns == null) || _projectedColumns.contains(name);
+    }
+
     /*
     /**********************************************************************
     /* Public API, extended; column access
@@ -1518,7 +1658,7 @@ public class CsvSchema
     }
     
     public Column column(String name) {
-        return _columnsByName.get(name);
+        return _columnTable.find(name);
     }
 
     /**
@@ -1534,7 +1674,17 @@ public class CsvSchema
                 return col;
             }
         }
-        return _columnsByName.get(name);
+        return _columnTable.find(name);
+    }
+
+    /**
+     * Variant of {@link #column(String, int)} for pre-encoded names, as passed
+     * to {@link CsvGenerator#writeName(SerializableString)}: since same
+     * {@link String} instance is returned for every call, lookups can usually
+     * be done using identity comparison only.
+     */
+    public Column column(SerializableString name, int probableIndex) {
+        return column(name.getValue(), probableIndex);
     }
 
     /**
@@ -1609,6 +1759,9 @@ public class CsvSchema
         sb.append(", header? ").append(usesHeader());
         sb.append(", skipFirst? ").append(skipsFirstDataRow());
         sb.append(", comments? ").append(allowsComments());
+        if (_projectedColumns != null) {
+            sb.append(", projection=").append(_projectedColumns);
+        }
         sb.append(", any-properties? ");
         String anyProp = getAnyPropertyName();
         if (anyProp == null) {
@@ -1627,10 +1780,34 @@ public class CsvSchema
     /**********************************************************************
      */
 
+    protected static Set<String> _projection(Collection<String> columnNames) {
+        if (columnNames == null) {
+            return null;
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(columnNames));
+    }
+
     protected static String _validArrayElementSeparator(String sep) {
         if (sep == null || sep.isEmpty()) {
             return NO_ARRAY_ELEMENT_SEPARATOR;
         }
         return sep;
     }
+
+    /**
+     * Container for results of matching column names with a specific
+     * property name matcher (see {@link #columnMatches}).
+     */
+    protected final static class ColumnMatches
+    {
+        final PropertyNameMatcher matcher;
+
+        final int[] matches;
+
+        ColumnMatches(PropertyNameMatcher matcher, int columnCount) {
+            this.matcher = matcher;
+            matches = new int[columnCount];
+            Arrays.fill(matches, Integer.MIN_VALUE);
+        }
+    }
 }
@@ -94,7 +94,19 @@ public enum CsvWriteFeature
      * Default value is {@code true} so all rows, including the last, are terminated by
      * a line feed.
      */
-    WRITE_LINEFEED_AFTER_LAST_ROW(true)
+    WRITE_LINEFEED_AFTER_LAST_ROW(true),
+
+    /**
+     * Feature that determines whether output written to an {@link java.io.OutputStream}
+     * is encoded as UTF-8 directly into bytes (enabled), or first buffered as
+     * characters and then encoded using a {@link java.io.Writer} (disabled).
+     * Direct encoding avoids a separate encoding pass over all content.
+     *<p>
+     * Feature has no effect when output is written to a {@link java.io.Writer}.
+     *<p>
+     * Feature is disabled by default.
+     */
+    USE_UTF8_BYTE_ENCODER(false)
     ;
 
     private final boolean _defaultState;
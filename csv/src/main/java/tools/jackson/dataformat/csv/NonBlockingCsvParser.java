@@ -0,0 +1,212 @@
+package tools.jackson.dataformat.csv;
+
+import java.nio.ByteBuffer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.StreamReadConstraints;
+import tools.jackson.core.async.ByteArrayFeeder;
+import tools.jackson.core.async.ByteBufferFeeder;
+import tools.jackson.core.async.NonBlockingInputFeeder;
+import tools.jackson.core.io.IOContext;
+import tools.jackson.core.sym.PropertyNameMatcher;
+import tools.jackson.dataformat.csv.impl.CsvFeedInputStream;
+import tools.jackson.dataformat.csv.impl.CsvRecordScanner;
+
+/**
+ * Non-blocking {@link CsvParser} variant: content (UTF-8 encoded) is fed
+ * using {@link ByteArrayFeeder} or {@link ByteBufferFeeder} methods, and
+ * {@link JsonToken#NOT_AVAILABLE} is returned if more content is needed
+ * to return the next token.
+ *<p>
+ * Fed content is buffered and scanned for value and record boundaries
+ * (column separators and linefeeds outside quoted values), and values are
+ * only decoded once complete: otherwise parser works exactly like its blocking
+ * counterpart, including handling of schema and columns. Some things do require
+ * the rest of the record to be available, however: skipping values of columns
+ * not included in column projection, and handling of extra columns.
+ * Since content is buffered, more content may be fed at any point, not just when
+ * {@link #needMoreInput()} returns {@code true}; but content of a single incomplete
+ * value may not exceed maximum String length of {@link StreamReadConstraints}
+ * (in bytes).
+ *<p>
+ * Note that column separator, quote and escape characters must be 7-bit ASCII
+ * characters.
+ */
+public class NonBlockingCsvParser
+    extends CsvParser
+    implements ByteArrayFeeder, ByteBufferFeeder
+{
+    /**
+     * Initial size of the buffer for fed content, which is extended
+     * as necessary to contain incomplete records.
+     */
+    protected final static int INITIAL_FEED_BUFFER_SIZE = 4000;
+
+    protected final CsvFeedInputStream _input;
+
+    /**
+     * Flag set when the current record has been completed, but the decoder
+     * has not yet been moved to the next one (as that may require more
+     * content).
+     */
+    protected boolean _pendingNewLine;
+
+    public NonBlockingCsvParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int stdFeatures, int csvFeatures, CsvSchema schema)
+    {
+        this(readCtxt, ioCtxt, stdFeatures, csvFeatures, schema,
+                new CsvFeedInputStream(new CsvRecordScanner(
+                        (schema == null) ? CsvSchema.emptySchema() : schema,
+                        CsvReadFeature.TRIM_SPACES.enabledIn(csvFeatures),
+                        CsvReadFeature.ALLOW_COMMENTS.enabledIn(csvFeatures),
+                        CsvReadFeature.SKIP_EMPTY_LINES.enabledIn(csvFeatures)),
+                        ioCtxt.streamReadConstraints(), INITIAL_FEED_BUFFER_SIZE));
+    }
+
+    protected NonBlockingCsvParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int stdFeatures, int csvFeatures, CsvSchema schema,
+            CsvFeedInputStream input)
+    {
+        super(readCtxt, ioCtxt, stdFeatures, csvFeatures, schema,
+                input, ioCtxt.allocReadIOBuffer(), 0, 0, true);
+        _input = input;
+    }
+
+    /*
+    /**********************************************************************
+    /* Feeding content
+    /**********************************************************************
+     */
+
+    @Override
+    public NonBlockingInputFeeder nonBlockingInputFeeder() {
+        return this;
+    }
+
+    @Override
+    public boolean needMoreInput() {
+        return !_input.isEndOfInput() && !_canDecodeNext();
+    }
+
+    @Override
+    public void feedInput(byte[] buf, int start, int end) throws JacksonException
+    {
+        if (end < start) {
+            _reportError(String.format("Input end (%d) may not be before start (%d)", end, start));
+        }
+        if (_input.isEndOfInput()) {
+            _reportError("Already closed, can not feed more input");
+        }
+        _input.append(buf, start, end - start);
+    }
+
+    @Override
+    public void feedInput(ByteBuffer buffer) throws JacksonException
+    {
+        if (_input.isEndOfInput()) {
+            _reportError("Already closed, can not feed more input");
+        }
+        _input.append(buffer);
+    }
+
+    @Override
+    public void endOfInput() {
+        _input.endOfInput();
+    }
+
+    /*
+    /**********************************************************************
+    /* Parsing
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws JacksonException
+    {
+        if (!_canDecodeNext()) {
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        if (_pendingNewLine && (_state == STATE_RECORD_START)) {
+            _pendingNewLine = false;
+            if (!_reader.startNewLine()) {
+                _state = STATE_DOC_END;
+            }
+        }
+        return super.nextToken();
+    }
+
+    // Optimized methods of blocking parser bypass nextToken(), so need to
+    // use regular handling to check availability of content
+
+    @Override
+    public boolean nextName(SerializableString str) throws JacksonException {
+        return (nextToken() == JsonToken.PROPERTY_NAME) && str.getValue().equals(currentName());
+    }
+
+    @Override
+    public int nextNameMatch(PropertyNameMatcher matcher) throws JacksonException {
+        nextToken();
+        return currentNameMatch(matcher);
+    }
+
+    @Override
+    public String nextName() throws JacksonException {
+        return (nextToken() == JsonToken.PROPERTY_NAME) ? currentName() : null;
+    }
+
+    @Override
+    public String nextStringValue() throws JacksonException {
+        return (nextToken() == JsonToken.VALUE_STRING) ? getString() : null;
+    }
+
+    /**
+     * Method for checking whether enough content has been fed to decode
+     * the next token, given the current state.
+     */
+    protected boolean _canDecodeNext()
+    {
+        final long offset = _reader.getInputOffset();
+        switch (_state) {
+        case STATE_DOC_START:
+            // Need header and skippable rows, as well as the first data value (or
+            // end-of-input) to know whether there is any content
+            return _input.hasLeadingRecords(_leadingRecords());
+        case STATE_RECORD_START:
+            return !_pendingNewLine || _input.hasValueAt(offset);
+        case STATE_NEXT_ENTRY:
+        case STATE_UNNAMED_VALUE:
+        case STATE_SKIP_EXTRA_COLUMNS:
+            // Handling of linefeed that ended record may need to check for CR+LF
+            if (_reader.atRecordEnd()) {
+                return _input.hasRecordEndAt(offset);
+            }
+            // May need to read more than one value: just require the whole record
+            if ((_state == STATE_SKIP_EXTRA_COLUMNS)
+                    || ((_state == STATE_NEXT_ENTRY)
+                            && ((_skippedColumns != null) || (_columnIndex >= _columnCount)))) {
+                return _input.hasRecordAt(offset);
+            }
+            return _input.hasValueAt(offset);
+        default: // nothing to decode in other states
+            return true;
+        }
+    }
+
+    /**
+     * Moving to the next record is deferred until {@link #nextToken} is called,
+     * and the whole record is available.
+     */
+    @Override
+    protected boolean _startNewLine() {
+        _pendingNewLine = true;
+        return true;
+    }
+
+    protected int _leadingRecords() {
+        return (_schema.usesHeader() ? 1 : 0)
+                + (_schema.skipsFirstDataRow() ? 1 : 0);
+    }
+}
@@ -0,0 +1,151 @@
+package tools.jackson.dataformat.csv.impl;
+
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Open-addressed hash table for finding {@link CsvSchema.Column}s by name,
+ * constructed once per set of columns of a {@link CsvSchema}.
+ * Table size is chosen so that no two column names share a slot, if that is
+ * possible within reasonable size (which is the case for almost all schemas):
+ * if so, lookups only need to check a single slot; otherwise linear probing
+ * is used.
+ *<p>
+ * Names are first compared by identity: since column and property names are
+ * usually {@code String.intern()}ed (and {@link tools.jackson.core.SerializableString}s
+ * return same {@link String} instance for every call), this avoids
+ * {@link String#equals} calls in common case. Hash codes of {@link String}s are
+ * cached by JDK so calculating them is cheap as well.
+ */
+public final class ColumnNameTable
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum number of times table size is doubled (from the minimum size)
+     * when trying to find a size without collisions
+     */
+    private final static int MAX_SIZE_DOUBLINGS = 3;
+
+    private final static ColumnNameTable EMPTY = new ColumnNameTable(new String[1],
+            new CsvSchema.Column[1], true);
+
+    private final String[] _names;
+
+    private final CsvSchema.Column[] _columns;
+
+    private final int _mask;
+
+    /**
+     * Whether there are no collisions, that is, every name is in its primary slot
+     */
+    private final boolean _collisionFree;
+
+    private ColumnNameTable(String[] names, CsvSchema.Column[] columns,
+            boolean collisionFree)
+    {
+        _names = names;
+        _columns = columns;
+        _mask = names.length - 1;
+        _collisionFree = collisionFree;
+    }
+
+    public static ColumnNameTable construct(CsvSchema.Column[] columns)
+    {
+        final int count = columns.length;
+        if (count == 0) {
+            return EMPTY;
+        }
+        // start with load factor of at most 50%
+        int minSize = 4;
+        while (minSize < (count + count)) {
+            minSize += minSize;
+        }
+        for (int size = minSize, i = 0; i <= MAX_SIZE_DOUBLINGS; size += size, ++i) {
+            ColumnNameTable table = _construct(columns, size, false);
+            if (table != null) {
+                return table;
+            }
+        }
+        return _construct(columns, minSize, true);
+    }
+
+    private static ColumnNameTable _construct(CsvSchema.Column[] columns, int size,
+            boolean allowCollisions)
+    {
+        final String[] names = new String[size];
+        final CsvSchema.Column[] cols = new CsvSchema.Column[size];
+        final int mask = size - 1;
+        boolean collisionFree = true;
+
+        for (CsvSchema.Column col : columns) {
+            final String name = col.getName();
+            int ix = _hash(name) & mask;
+            while (true) {
+                final String existing = names[ix];
+                if (existing == null) {
+                    break;
+                }
+                // same as with Maps, last column with given name is used
+                if (existing.equals(name)) {
+                    break;
+                }
+                if (!allowCollisions) {
+                    return null;
+                }
+                collisionFree = false;
+                ix = (ix + 1) & mask;
+            }
+            names[ix] = name;
+            cols[ix] = col;
+        }
+        return new ColumnNameTable(names, cols, collisionFree);
+    }
+
+    /**
+     * @return Column with given name, if any; {@code null} if none (or if
+     *    name is {@code null})
+     */
+    public CsvSchema.Column find(String name)
+    {
+        if (name == null) {
+            return null;
+        }
+        int ix = _hash(name) & _mask;
+        String n = _names[ix];
+        if (n == name) {
+            return _columns[ix];
+        }
+        if (n == null) {
+            return null;
+        }
+        if (n.equals(name)) {
+            return _columns[ix];
+        }
+        if (_collisionFree) {
+            return null;
+        }
+        while (true) {
+            ix = (ix + 1) & _mask;
+            n = _names[ix];
+            if (n == null) {
+                return null;
+            }
+            if ((n == name) || n.equals(name)) {
+                return _columns[ix];
+            }
+        }
+    }
+
+    /**
+     * @return Whether all names could be placed in their primary slots
+     */
+    public boolean isCollisionFree() {
+        return _collisionFree;
+    }
+
+    private final static int _hash(String name) {
+        final int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
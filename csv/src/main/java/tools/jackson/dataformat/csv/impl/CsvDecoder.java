@@ -87,6 +87,20 @@ public class CsvDecoder
 
     protected int _escapeChar;
 
+    /**
+     * Lookup table for characters (up to {@link #_maxSpecialChar}) that terminate
+     * a run of "regular" characters within an unquoted value: column separator,
+     * linefeeds and escape character (if any).
+     */
+    protected boolean[] _unquotedSpecials;
+
+    /**
+     * Lookup table for characters (up to {@link #_maxSpecialChar}) that terminate
+     * a run of "regular" characters within a quoted value: quote character,
+     * linefeeds and escape character (if any).
+     */
+    protected boolean[] _quotedSpecials;
+
     /*
     /**********************************************************************
     /* Input handling, state
@@ -281,6 +295,13 @@ public class CsvDecoder
      */
     protected String _numberString;
 
+    /**
+     * Flag set when the current value has been recognized as a floating-point
+     * number by typed value parsing (see {@link #nextNumber()}), so that
+     * its value can be parsed lazily without re-checking the type.
+     */
+    protected boolean _numberIsFloat;
+
     /*
     /**********************************************************************
     /* Life-cycle
@@ -290,6 +311,18 @@ public class CsvDecoder
     public CsvDecoder(IOContext ctxt, CsvParser owner, Reader r,
                       CsvSchema schema, TextBuffer textBuffer,
                       int stdFeatures, int csvFeatures)
+    {
+        this(ctxt, owner, r, ctxt.allocTokenBuffer(), schema, textBuffer,
+                stdFeatures, csvFeatures);
+    }
+
+    /**
+     * Constructor for sub-classes that handle input buffering differently;
+     * {@code inputBuffer} may be {@code null} if no character buffer is needed.
+     */
+    protected CsvDecoder(IOContext ctxt, CsvParser owner, Reader r,
+                      char[] inputBuffer, CsvSchema schema, TextBuffer textBuffer,
+                      int stdFeatures, int csvFeatures)
     {
         _owner = owner;
         _ioContext = ctxt;
@@ -300,7 +333,7 @@ public class CsvDecoder
         _trimSpaces = CsvReadFeature.TRIM_SPACES.enabledIn(csvFeatures);
         _skipBlankLines = CsvReadFeature.SKIP_EMPTY_LINES.enabledIn(csvFeatures);
         _trimSpaces = CsvReadFeature.TRIM_SPACES.enabledIn(csvFeatures);
-        _inputBuffer = ctxt.allocTokenBuffer();
+        _inputBuffer = inputBuffer;
         _bufferRecyclable = true; // since we allocated it
         _tokenInputRow = -1;
         _tokenInputCol = -1;
@@ -319,6 +352,22 @@ public class CsvDecoder
         max = Math.max(max, '\r');
         max = Math.max(max, '\n');
         _maxSpecialChar = max;
+
+        // Tables allow checking for all special characters with a single lookup
+        final boolean[] unquoted = new boolean[max+1];
+        final boolean[] quoted = new boolean[max+1];
+        unquoted['\r'] = unquoted['\n'] = true;
+        quoted['\r'] = quoted['\n'] = true;
+        unquoted[_separatorChar] = true;
+        if (_quoteChar >= 0) {
+            quoted[_quoteChar] = true;
+        }
+        if (_escapeChar >= 0) {
+            unquoted[_escapeChar] = true;
+            quoted[_escapeChar] = true;
+        }
+        _unquotedSpecials = unquoted;
+        _quotedSpecials = quoted;
     }
 
     /*
@@ -398,6 +447,22 @@ public class CsvDecoder
         return ptr - _currInputRowStart + 1; // 1-based
     }
 
+    /**
+     * Accessor for the offset (relative to start of content) of the next
+     * input unit (byte or character) to process.
+     */
+    public final long getInputOffset() {
+        return _currInputProcessed + _inputPtr;
+    }
+
+    /**
+     * Accessor for checking whether the current record has ended, but the
+     * linefeed that ended it has not yet been handled.
+     */
+    public final boolean atRecordEnd() {
+        return _pendingLF > 1; // 1 is used as marker for end-of-input
+    }
+
     /**
      * Tell if the current token has been quoted or not.
      * @return True if the current token has been quoted, false otherwise
@@ -455,7 +520,7 @@ public class CsvDecoder
         }
     }
 
-    protected final boolean loadMore() throws JacksonException {
+    protected boolean loadMore() throws JacksonException {
         _currInputProcessed += _inputEnd;
         _currInputRowStart -= _inputEnd;
 
@@ -622,11 +687,9 @@ public class CsvDecoder
      */
     public String nextString() throws JacksonException {
         _numTypesValid = NR_UNKNOWN;
+        _numberIsFloat = false;
 
-        if (_pendingLF > 0) { // either pendingLF, or closed
-            if (_inputReader != null) { // if closed, we just need to return null
-                _handleLF();
-            }
+        if (_checkRecordEnd()) {
             return null; // end of line without new value
         }
         int i;
@@ -636,6 +699,14 @@ public class CsvDecoder
         } else {
             i = _nextChar();
         }
+        return _nextString(i);
+    }
+
+    /**
+     * Method called to parse the rest of a String value, after its first
+     * character (or end-of-input marker) has been read.
+     */
+    protected String _nextString(int i) throws JacksonException {
         // First, need to ensure we know the starting location of token
         _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
         _tokenInputRow = _currInputRow;
@@ -686,60 +757,469 @@ public class CsvDecoder
 
         // handle unquoted case locally if it can be handled without
         // crossing buffer boundary...
-        char[] inputBuffer = _inputBuffer;
+        final char[] inputBuffer = _inputBuffer;
 
-        while (ptr < end) {
-            char c = inputBuffer[ptr++];
-            if (c <= _maxSpecialChar) {
-                if (c == _separatorChar) { // end of value, yay!
-                    _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
-                }
-                if (c == '\r' || c == '\n') {
-                    _pendingLF = c;
-                    _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
-                }
-                if (c == _escapeChar) {
-                    --ptr;
-                    break;
-                }
+        // First locate the end of run of regular characters; copy those in bulk
+        final int stop = _findSpecialChar(inputBuffer, ptr, end, _unquotedSpecials);
+        final int count = stop - ptr;
+        System.arraycopy(inputBuffer, ptr, outBuf, outPtr, count);
+        outPtr += count;
+        ptr = stop;
+
+        if (ptr < end) {
+            char c = inputBuffer[ptr];
+            if (c == _separatorChar) { // end of value, yay!
+                _inputPtr = ptr+1;
+                return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
             }
-            outBuf[outPtr++] = c;
+            if (c == '\r' || c == '\n') {
+                _pendingLF = c;
+                _inputPtr = ptr+1;
+                return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+            }
+            // otherwise must be escape character: leave for the slower method
         }
         // ok, either input or output across buffer boundary, offline
         _inputPtr = ptr;
         return _nextUnquotedString(outBuf, outPtr);
     }
 
-    public JsonToken nextStringOrLiteral() throws JacksonException {
+    /**
+     * Method called to skip the next value of the current record without
+     * decoding it: value is only scanned for its end (separator, linefeed or
+     * closing quote), without copying characters or constructing a String.
+     *
+     * @return True if a value was skipped; false to indicate end of line
+     * of input
+     */
+    public boolean skipValue() throws JacksonException {
         _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
-            return null;
+        _numberIsFloat = false;
+
+        if (_checkRecordEnd()) {
+            return false;
+        }
+        final int i = _trimSpaces ? _skipLeadingSpace() : _nextChar();
+        if (i < 0) { // EOF at this point signifies empty value
+            return true;
         }
-        return JsonToken.VALUE_STRING;
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+        } else if (i == _quoteChar) {
+            _skipQuotedValue();
+        } else if (i != _separatorChar) {
+            if (i == _escapeChar) {
+                _unescape();
+            }
+            _skipUnquotedValue();
+        }
+        return true;
     }
 
-    public JsonToken nextNumber() throws JacksonException {
+    /**
+     * Method similar to {@link #nextString()}, except that no {@link String}
+     * is constructed: value is only left in the text buffer, from which it
+     * may be accessed as characters, or as String using {@link #getText()}.
+     * For the common case of a value contained within the input buffer,
+     * without escapes or doubled quotes, the text buffer simply shares
+     * the input buffer, and nothing is copied; such content is only valid
+     * until the next value is read.
+     *
+     * @return True if a value was read; false to indicate end of line
+     * of input
+     */
+    public boolean nextStringInBuffer() throws JacksonException {
         _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
-            return null;
+        _numberIsFloat = false;
+
+        if (_checkRecordEnd()) {
+            return false;
+        }
+        final int i = _trimSpaces ? _skipLeadingSpace() : _nextChar();
+        if ((i < 0) || !_tryStringInBuffer(i)) {
+            _nextString(i);
+        }
+        return true;
+    }
+
+    /**
+     * Helper method for handling the common case of a value that is fully
+     * contained within the input buffer (including separator or linefeed
+     * that ends it), and contains no escapes or doubled quotes.
+     * If so, text buffer is made to share the input buffer; if not,
+     * nothing is consumed, and value needs to be decoded by {@link #_nextString}.
+     *
+     * @param ch First character of the value (already read)
+     *
+     * @return True if value was handled; false if not
+     */
+    protected boolean _tryStringInBuffer(final int ch) throws JacksonException
+    {
+        final char[] buf = _inputBuffer;
+        final int end = _inputEnd;
+        final boolean quoted = (ch == _quoteChar);
+        int ptr = _inputPtr;
+        final int start;
+        int len;
+
+        if (quoted) {
+            start = ptr;
+            ptr = _findSpecialChar(buf, ptr, end, _quotedSpecials);
+            if ((ptr >= end) || (buf[ptr] != _quoteChar)) {
+                return false;
+            }
+            len = ptr - start;
+            // Closing quote may only be followed by space, then separator or linefeed
+            // (doubled quote or anything else handled by regular decoding)
+            while (true) {
+                if (++ptr >= end) {
+                    return false;
+                }
+                final char c = buf[ptr];
+                if ((c == _separatorChar) || (c == '\r') || (c == '\n')) {
+                    break;
+                }
+                if (c > INT_SPACE) {
+                    return false;
+                }
+            }
+        } else {
+            if ((ch == _separatorChar) || (ch == _escapeChar)
+                    || (ch == INT_CR) || (ch == INT_LF)) {
+                return false;
+            }
+            start = ptr - 1;
+            ptr = _findSpecialChar(buf, ptr, end, _unquotedSpecials);
+            if ((ptr >= end) || (buf[ptr] == _escapeChar)) {
+                return false;
+            }
+            len = ptr - start;
+            if (_trimSpaces) {
+                while ((len > 0) && (buf[start + len - 1] <= INT_SPACE)) {
+                    --len;
+                }
+            }
+        }
+        _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+        _tokenInputRow = _currInputRow;
+        _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+        _currInputQuoted = quoted;
+
+        final char c = buf[ptr];
+        if ((c == '\r') || (c == '\n')) {
+            _pendingLF = c;
         }
-        return JsonToken.VALUE_STRING;
+        _inputPtr = ptr+1;
+        _textBuffer.resetWithShared(buf, start, len);
+        return true;
     }
 
+    /**
+     * Method called to parse the next value of a column that may contain
+     * literals {@code null}, {@code true} and {@code false} (reported as
+     * matching tokens), in addition to Strings. Values are trimmed.
+     *
+     * @return Token for the value if more found; null to indicate end of line
+     * of input
+     */
+    public JsonToken nextStringOrLiteral() throws JacksonException {
+        return _nextTypedValue(false, false);
+    }
+
+    /**
+     * Method called to parse the next value of a column expected to contain
+     * numbers: in addition to numbers, literals {@code null}, {@code true} and
+     * {@code false} are recognized, and empty value is reported as
+     * {@link JsonToken#VALUE_NULL}. Other values are reported as
+     * {@link JsonToken#VALUE_STRING}. Values are trimmed.
+     *<p>
+     * Common case of an unquoted number is parsed directly from the input
+     * buffer, without constructing a {@link String}.
+     *
+     * @return Token for the value if more found; null to indicate end of line
+     * of input
+     */
+    public JsonToken nextNumber() throws JacksonException {
+        return _nextTypedValue(true, true);
+    }
+
+    /**
+     * Method similar to {@link #nextNumber()}, except that empty value is
+     * reported as an empty String.
+     *
+     * @return Token for the value if more found; null to indicate end of line
+     * of input
+     */
     public JsonToken nextNumberOrString() throws JacksonException {
+        return _nextTypedValue(true, false);
+    }
+
+    protected JsonToken _nextTypedValue(boolean numbers, boolean emptyAsNull)
+        throws JacksonException
+    {
         _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        _numberIsFloat = false;
+
+        if (_checkRecordEnd()) {
             return null;
         }
-        return JsonToken.VALUE_STRING;
+        // Typed values are always trimmed, even if exposed as Strings
+        // (see `CsvReadFeature.USE_COLUMN_TYPES`)
+        final int i = _skipLeadingSpace();
+        // Let's see if we can parse value directly from the input buffer
+        if (_mayStartTypedValue(i)) {
+            _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+            _tokenInputRow = _currInputRow;
+            _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+            final int start = _inputPtr;
+            JsonToken t = _tryParseTypedValue(i, numbers);
+            if (t != null) {
+                return t;
+            }
+            // if not, need to go the long way; first undo whatever we did
+            _inputPtr = start;
+        }
+        String value = _nextString(i);
+        // Leading white space was skipped, trailing not necessarily trimmed
+        if (!_trimSpaces && !_currInputQuoted && !value.isEmpty()
+                && value.charAt(value.length() - 1) <= INT_SPACE) {
+            value = value.trim();
+            _textBuffer.resetWithString(value);
+        }
+        if (value.isEmpty()) {
+            return emptyAsNull ? JsonToken.VALUE_NULL : JsonToken.VALUE_STRING;
+        }
+        final char[] ch = _textBuffer.contentsAsArray();
+        JsonToken t = _classifyTypedValue(ch, 0, ch.length, numbers);
+        return (t == null) ? JsonToken.VALUE_STRING : t;
+    }
+
+    /**
+     * Method called to check for the end of current record before reading
+     * the next value; if so, also handles the pending linefeed (if any).
+     *
+     * @return True if end of record (or input) has been reached; false if there
+     *   is a value to read
+     */
+    protected boolean _checkRecordEnd() throws JacksonException {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (_inputReader != null) { // if closed, we just need to return null
+                _handleLF();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Helper method for quickly checking whether an unquoted value starting with
+     * given character may be a number or literal, to avoid trying to parse other
+     * values directly from the input buffer.
+     */
+    protected final static boolean _mayStartTypedValue(int ch) {
+        if (ch <= INT_9) {
+            return (ch >= INT_0) || (ch == INT_MINUS) || (ch == INT_PLUS)
+                    || (ch == INT_DECIMAL_POINT);
+        }
+        return (ch == 't') || (ch == 'f') || (ch == 'n');
+    }
+
+    /**
+     * Method called to try to parse an unquoted number or literal directly from
+     * the input buffer, without copying. This is possible in the common case
+     * of the whole value, as well as the separator or linefeed following it,
+     * being contained in the current input buffer.
+     *
+     * @param ch First (non-white-space) character of the value, already read
+     * @param numbers Whether numbers are to be recognized, or only literals
+     *
+     * @return Token for the value if parsed; {@code null} if the value needs
+     *   to be handled by the general String decoding (in which case input
+     *   pointer is to be restored by caller)
+     */
+    protected JsonToken _tryParseTypedValue(int ch, final boolean numbers)
+        throws JacksonException
+    {
+        final char[] buf = _inputBuffer;
+        final int end = _inputEnd;
+        final int start = _inputPtr - 1;
+        int ptr = _inputPtr;
+
+        // Find the end of value; anything other than a number or literal
+        // (including escapes) is left for classification to reject
+        while (true) {
+            if (ptr >= end) {
+                return null;
+            }
+            ch = buf[ptr];
+            if ((ch == _separatorChar) || (ch == '\r') || (ch == '\n')) {
+                break;
+            }
+            ++ptr;
+        }
+        int valueEnd = ptr;
+        while (buf[valueEnd-1] <= INT_SPACE) { // first char is not white space
+            --valueEnd;
+        }
+        _textBuffer.resetWithShared(buf, start, valueEnd - start);
+        final JsonToken t = _classifyTypedValue(buf, start, valueEnd, numbers);
+        if (t != null) {
+            if (ch != _separatorChar) {
+                _pendingLF = ch;
+            }
+            _inputPtr = ptr+1;
+        }
+        return t;
+    }
+
+    /**
+     * Helper method for classifying the (trimmed) text of a value of a typed
+     * column, contained in {@code buf[start..end)}: used for values parsed both
+     * directly from the input buffer (by char and byte based decoders alike)
+     * and the long way, so that all of these accept exactly the same values.
+     * Integral numbers are also decoded; floating-point ones only lazily.
+     *<p>
+     * Text buffer is expected to contain the same text, in case an integral
+     * number is too big for {@code long}.
+     *
+     * @param numbers Whether numbers are to be recognized, or only literals
+     *
+     * @return Token for the value if it is a literal or (if {@code numbers})
+     *   a number; {@code null} otherwise
+     */
+    protected final JsonToken _classifyTypedValue(char[] buf, final int start, final int end,
+            final boolean numbers)
+        throws JacksonException
+    {
+        final int len = end - start;
+        if (len == 0) {
+            return null;
+        }
+        int ch = buf[start];
+        if (ch >= 'f') {
+            if (len == 4) {
+                if (_matches(buf, start, "true")) {
+                    return JsonToken.VALUE_TRUE;
+                }
+                if (_matches(buf, start, "null")) {
+                    return JsonToken.VALUE_NULL;
+                }
+            } else if ((len == 5) && _matches(buf, start, "false")) {
+                return JsonToken.VALUE_FALSE;
+            }
+            return null;
+        }
+        if (!numbers) {
+            return null;
+        }
+        final boolean neg = (ch == INT_MINUS);
+        int ptr = (neg || (ch == INT_PLUS)) ? (start+1) : start;
+        // Integral part: value is accumulated as long as it is guaranteed to fit
+        final int intStart = ptr;
+        long l = 0L;
+        for (; ptr < end; ++ptr) {
+            ch = buf[ptr];
+            if (ch > INT_9 || ch < INT_0) {
+                break;
+            }
+            l = (l * 10) + (ch - INT_0);
+        }
+        final int intLen = ptr - intStart;
+        if (ptr == end) {
+            if (intLen == 0) {
+                return null;
+            }
+            _setIntValue(buf, intStart, intLen, neg, l);
+            return JsonToken.VALUE_NUMBER_INT;
+        }
+        if (_looksLikeFloat(buf, start, end)) {
+            _numberIsFloat = true; // to be parsed lazily
+            return JsonToken.VALUE_NUMBER_FLOAT;
+        }
+        return null;
+    }
+
+    private final static boolean _matches(char[] buf, int ptr, String lit) {
+        for (int i = 0, len = lit.length(); i < len; ++i) {
+            if (buf[ptr+i] != lit.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method for setting value of an integer number parsed from the
+     * input, given its digits and, if it has at most 18 digits, its value
+     * (without sign).
+     */
+    protected final void _setIntValue(char[] buf, int offset, int len, boolean neg,
+            long value)
+        throws JacksonException
+    {
+        if (len <= 9) { // definitely fits in int
+            _numberInt = (int) (neg ? -value : value);
+            _numTypesValid = NR_INT;
+            return;
+        }
+        if (len <= 18) { // definitely fits in long; may still fit in int
+            if (neg) {
+                value = -value;
+            }
+            if (len == 10 && (value >= MIN_INT_L) && (value <= MAX_INT_L)) {
+                _numberInt = (int) value;
+                _numTypesValid = NR_INT;
+                return;
+            }
+            _numberLong = value;
+            _numTypesValid = NR_LONG;
+            return;
+        }
+        _parseSlowIntValue(buf, offset, len, neg);
+    }
+
+    /**
+     * Helper method for checking whether given text is a floating-point number:
+     * optional sign, digits with optional fraction and/or exponent.
+     */
+    protected final static boolean _looksLikeFloat(char[] ch, int ptr, final int end)
+    {
+        if ((ptr < end) && (ch[ptr] == '-' || ch[ptr] == '+')) {
+            ++ptr;
+        }
+        int digits = 0;
+        while ((ptr < end) && (ch[ptr] >= '0') && (ch[ptr] <= '9')) {
+            ++ptr;
+            ++digits;
+        }
+        boolean isFloat = false;
+        if ((ptr < end) && (ch[ptr] == '.')) {
+            isFloat = true;
+            ++ptr;
+            while ((ptr < end) && (ch[ptr] >= '0') && (ch[ptr] <= '9')) {
+                ++ptr;
+                ++digits;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if ((ptr < end) && (ch[ptr] == 'e' || ch[ptr] == 'E')) {
+            isFloat = true;
+            ++ptr;
+            if ((ptr < end) && (ch[ptr] == '-' || ch[ptr] == '+')) {
+                ++ptr;
+            }
+            int expDigits = 0;
+            while ((ptr < end) && (ch[ptr] >= '0') && (ch[ptr] <= '9')) {
+                ++ptr;
+                ++expDigits;
+            }
+            if (expDigits == 0) {
+                return false;
+            }
+        }
+        return isFloat && (ptr == end);
     }
     
     /*
@@ -767,26 +1247,27 @@ public class CsvDecoder
                 outPtr = 0;
             }
             final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
-            while (ptr < max) {
+            final int stop = _findSpecialChar(inputBuffer, ptr, max, _unquotedSpecials);
+            final int count = stop - ptr;
+            System.arraycopy(inputBuffer, ptr, outBuf, outPtr, count);
+            outPtr += count;
+            ptr = stop;
+            if (ptr < max) {
                 c = inputBuffer[ptr++];
-                if (c <= _maxSpecialChar) {
-                    if (c == _separatorChar) { // end of value, yay!
-                        _inputPtr = ptr;
-                        break main_loop;
-                    }
-                    if (c == '\r' || c == '\n') { // end of line is end of value as well
-                        _inputPtr = ptr;
-                        _pendingLF = c;
-                        break main_loop;
-                    }
-                    if (c == _escapeChar) {
-                        _inputPtr = ptr;
-                        outBuf[outPtr++] = _unescape();
-                        // May have passed input boundary, need to re-set
-                        continue main_loop;
-                    }
+                if (c == _separatorChar) { // end of value, yay!
+                    _inputPtr = ptr;
+                    break main_loop;
+                }
+                if (c == '\r' || c == '\n') { // end of line is end of value as well
+                    _inputPtr = ptr;
+                    _pendingLF = c;
+                    break main_loop;
                 }
-                outBuf[outPtr++] = (char) c;
+                // only escape character remains
+                _inputPtr = ptr;
+                outBuf[outPtr++] = _unescape();
+                // May have passed input boundary, need to re-set
+                continue main_loop;
             }
             _inputPtr = ptr;
         }
@@ -828,42 +1309,48 @@ public class CsvDecoder
             }
             final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
 
-            inner_loop:
             while (true) {
+                // Copy run of regular characters in bulk, if any
+                final int stop = _findSpecialChar(inputBuffer, ptr, max, _quotedSpecials);
+                final int count = stop - ptr;
+                System.arraycopy(inputBuffer, ptr, outBuf, outPtr, count);
+                outPtr += count;
+                ptr = stop;
+                if (ptr >= max) {
+                    _inputPtr = ptr;
+                    continue main_loop;
+                }
                 char c = inputBuffer[ptr++];
-                if (c <= _maxSpecialChar) {
-                    if (c == _quoteChar) {
-                        _inputPtr = ptr;
-                        break;
-                    }
-                    // Embedded linefeeds are fine
-                    if (c == '\r') {
-                        // bit crappy check but has to do:
-                        if (ptr >= max) {
-                            checkLF = true; // will need to be checked in beginning of next loop
-                            ++_currInputRow;
-                            _currInputRowStart = ptr;
-                        } else if (inputBuffer[ptr] != '\n') {
-                            ++_currInputRow;
-                            _currInputRowStart = ptr;
-                        }
-                    } else if (c == '\n') {
+                if (c == _quoteChar) {
+                    _inputPtr = ptr;
+                    break;
+                }
+                // Embedded linefeeds are fine
+                if (c == '\r') {
+                    // bit crappy check but has to do:
+                    if (ptr >= max) {
+                        checkLF = true; // will need to be checked in beginning of next loop
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    } else if (inputBuffer[ptr] != '\n') {
                         ++_currInputRow;
                         _currInputRowStart = ptr;
-                    } else if (c == _escapeChar) {
-                        _inputPtr = ptr;
-                        c = _unescape();
-                        outBuf[outPtr++] = c;
-                        // May have passed input boundary, need to re-set
-                        continue main_loop;
                     }
+                } else if (c == '\n') {
+                    ++_currInputRow;
+                    _currInputRowStart = ptr;
+                } else { // only escape character remains
+                    _inputPtr = ptr;
+                    c = _unescape();
+                    outBuf[outPtr++] = c;
+                    // May have passed input boundary, need to re-set
+                    continue main_loop;
                 }
                 outBuf[outPtr++] = c;
                 if (ptr >= max) {
                     _inputPtr = ptr;
                     continue main_loop;
                 }
-                continue inner_loop;
             }
             // We get here if we hit a quote: check if it's doubled up, or end of value:
             if (_inputPtr < _inputEnd || loadMore()) {
@@ -879,8 +1366,16 @@ public class CsvDecoder
         }
         // note: do NOT trim from within quoted Strings
         String result = _textBuffer.finishAndReturn(outPtr, false);
-        // good, but we also need to locate and skip trailing space, separator
-        // (note: space outside quotes never included, but must be skipped)
+        _skipQuotedValueEnd();
+        return result;
+    }
+
+    /**
+     * Helper method called after closing quote of a value, to locate and skip
+     * trailing space and separator (space outside quotes never included in
+     * value, but must be skipped).
+     */
+    protected void _skipQuotedValueEnd() throws JacksonException {
         while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
             int ch = _inputBuffer[_inputPtr++];
             if (ch == _separatorChar) { // common case, separator between columns
@@ -896,10 +1391,110 @@ public class CsvDecoder
             _owner._reportUnexpectedCsvChar(ch, String.format(
                     "Expected column separator character (%s) or end-of-line", _getCharDesc(_separatorChar)));
         }
-        return result;
     }
 
-    protected final void _handleLF() throws JacksonException
+    /**
+     * Helper method for skipping the rest of an unquoted value, after its
+     * first character.
+     */
+    protected void _skipUnquotedValue() throws JacksonException {
+        while (_inputPtr < _inputEnd || loadMore()) { // ok to have end-of-input
+            final int ptr = _findSpecialChar(_inputBuffer, _inputPtr, _inputEnd, _unquotedSpecials);
+            if (ptr >= _inputEnd) {
+                _inputPtr = ptr;
+                continue;
+            }
+            final char c = _inputBuffer[ptr];
+            _inputPtr = ptr + 1;
+            if (c == _separatorChar) {
+                return;
+            }
+            if (c == '\r' || c == '\n') {
+                _pendingLF = c;
+                return;
+            }
+            // only escape character remains
+            _unescape();
+        }
+    }
+
+    /**
+     * Helper method for skipping the rest of a quoted value, after the opening
+     * quote, as well as trailing space and separator following it.
+     */
+    protected void _skipQuotedValue() throws JacksonException {
+        boolean checkLF = false; // marker for split CR+LF
+
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    _owner._reportError("Missing closing quote for value");
+                }
+                if (checkLF) {
+                    checkLF = false;
+                    if (_inputBuffer[_inputPtr] == '\n') {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
+                }
+            }
+            final int ptr = _findSpecialChar(_inputBuffer, _inputPtr, _inputEnd, _quotedSpecials);
+            if (ptr >= _inputEnd) {
+                _inputPtr = ptr;
+                continue;
+            }
+            final char c = _inputBuffer[ptr];
+            _inputPtr = ptr + 1;
+            if (c == _quoteChar) {
+                // doubled-up quote is part of value, otherwise end of value
+                if ((_inputPtr < _inputEnd || loadMore())
+                        && (_inputBuffer[_inputPtr] == _quoteChar)) {
+                    ++_inputPtr;
+                    continue;
+                }
+                break;
+            }
+            if (c == '\r') {
+                if (_inputPtr >= _inputEnd) {
+                    checkLF = true;
+                    ++_currInputRow;
+                    _currInputRowStart = _inputPtr;
+                } else if (_inputBuffer[_inputPtr] != '\n') {
+                    ++_currInputRow;
+                    _currInputRowStart = _inputPtr;
+                }
+            } else if (c == '\n') {
+                ++_currInputRow;
+                _currInputRowStart = _inputPtr;
+            } else { // only escape character remains
+                _unescape();
+            }
+        }
+        _skipQuotedValueEnd();
+    }
+
+    /**
+     * Helper method for locating the first "special" character (as indicated by
+     * given lookup table) within given input range. Scanning is kept separate from
+     * copying so that the common case of a longer run of regular characters
+     * can be copied with a single {@code System.arraycopy()}.
+     *
+     * @return Index of the first special character, if any found; {@code end} if none
+     */
+    protected final static int _findSpecialChar(final char[] buf, int ptr, final int end,
+            final boolean[] specials)
+    {
+        final int maxSpecial = specials.length;
+        for (; ptr < end; ++ptr) {
+            final char c = buf[ptr];
+            if ((c < maxSpecial) && specials[c]) {
+                break;
+            }
+        }
+        return ptr;
+    }
+
+    protected void _handleLF() throws JacksonException
     {
         // already skipped past first part; but may get \r\n so skip the other char too?
         if (_pendingLF == INT_CR) {
@@ -936,7 +1531,7 @@ public class CsvDecoder
         return c;
     }
 
-    protected final int _nextChar() throws JacksonException {
+    protected int _nextChar() throws JacksonException {
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
                 return -1;
@@ -945,7 +1540,7 @@ public class CsvDecoder
         return _inputBuffer[_inputPtr++];
     }
 
-    protected final int _skipLeadingSpace() throws JacksonException {
+    protected int _skipLeadingSpace() throws JacksonException {
         final int sep = _separatorChar;
         while (true) {
             if (_inputPtr >= _inputEnd) {
@@ -1157,8 +1752,8 @@ public class CsvDecoder
     protected void _parseNumericValue(boolean exactNumber)
         throws JacksonException
     {
-        // Int or float?
-        if (looksLikeInt()) {
+        // Int or float? (may already know)
+        if (!_numberIsFloat && looksLikeInt()) {
             _parseIntValue();
             return;
         }
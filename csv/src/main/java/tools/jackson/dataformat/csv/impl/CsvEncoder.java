@@ -4,7 +4,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Arrays;
+import java.nio.CharBuffer;
 
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.exc.JacksonIOException;
@@ -40,8 +40,19 @@ public class CsvEncoder
      * values; longer ones will always be quoted.
      */
     protected final static int MAX_QUOTE_CHECK = 24;
-    
-    protected final BufferedValue[] NO_BUFFERED = new BufferedValue[0];
+
+    /**
+     * Flag returned by strict quoting scan to indicate that value
+     * contains a character that requires value to be quoted.
+     */
+    protected final static int SCAN_QUOTE = 1;
+
+    /**
+     * Flag returned by strict quoting scan to indicate that value
+     * contains a character that needs to be doubled up or escaped,
+     * if value is quoted.
+     */
+    protected final static int SCAN_ESCAPE = 2;
 
     private final static char[] TRUE_CHARS = "true".toCharArray();
     private final static char[] FALSE_CHARS = "false".toCharArray();
@@ -85,20 +96,24 @@ public class CsvEncoder
      */
     protected final int _cfgMinSafeChar;
 
-    protected int _csvFeatures;
+    /**
+     * Lookup table for strict quoting checks of 7-bit ASCII characters:
+     * contains {@link #SCAN_QUOTE} and/or {@link #SCAN_ESCAPE} flags for
+     * each character, based on schema settings and output escapes.
+     */
+    protected byte[] _quotingScanTable;
 
     /**
-     * Marker flag used to determine if to do optimal (aka "strict") quoting
-     * checks or not (looser conservative check)
+     * Flag that indicates whether any of characters that may need quoting or
+     * escaping are outside 7-bit ASCII range: if not, strict quoting scan need
+     * not check non-ASCII characters.
      */
-    protected boolean _cfgOptimalQuoting;
+    protected boolean _cfgNonAsciiSpecials;
 
-    protected final boolean _cfgAllowsComments;
+    protected int _csvFeatures;
 
     protected boolean _cfgIncludeMissingTail;
 
-    protected boolean _cfgAlwaysQuoteStrings;
-
     protected boolean _cfgAlwaysQuoteEmptyStrings;
 
     // @since 2.16
@@ -124,6 +139,12 @@ public class CsvEncoder
      */
 
     protected int _columnCount;
+
+    /**
+     * Per-column settings (quoting strategy) pre-computed for the schema
+     * and features in use.
+     */
+    protected final CsvWritePlan _writePlan;
     
     /**
      * Index of column we expect to write next
@@ -132,9 +153,9 @@ public class CsvEncoder
 
     /**
      * And if output comes in shuffled order we will need to do 
-     * bit of ordering.
+     * bit of ordering: lazily allocated when needed.
      */
-    protected BufferedValue[] _buffered = NO_BUFFERED;
+    protected CsvRowBuffer _buffered;
 
     /**
      * Index of the last buffered value
@@ -170,7 +191,7 @@ public class CsvEncoder
      * Offset to index after the last valid index in {@link #_outputBuffer}.
      * Typically same as length of the buffer.
      */
-    protected final int _outputEnd;
+    protected int _outputEnd;
     
     /**
      * Let's keep track of how many bytes have been output, may prove useful
@@ -188,21 +209,31 @@ public class CsvEncoder
 
     public CsvEncoder(IOContext ctxt, int csvFeatures, Writer out, CsvSchema schema,
             CharacterEscapes esc, boolean useFastDoubleWriter)
+    {
+        this(ctxt, csvFeatures, out, ctxt.allocConcatBuffer(), schema, esc, useFastDoubleWriter);
+    }
+
+    /**
+     * Constructor used by sub-classes that do not output characters via
+     * a {@link Writer}: if so, both {@code out} and {@code outputBuffer}
+     * are passed as {@code null}, and sub-class is responsible for
+     * setting up its own output buffer (and {@link #_outputEnd}).
+     */
+    protected CsvEncoder(IOContext ctxt, int csvFeatures, Writer out, char[] outputBuffer,
+            CsvSchema schema, CharacterEscapes esc, boolean useFastDoubleWriter)
     {
         _ioContext = ctxt;
         _csvFeatures = csvFeatures;
         _cfgUseFastDoubleWriter = useFastDoubleWriter;
-        _cfgOptimalQuoting = CsvWriteFeature.STRICT_CHECK_FOR_QUOTING.enabledIn(csvFeatures);
         _cfgIncludeMissingTail = !CsvWriteFeature.OMIT_MISSING_TAIL_COLUMNS.enabledIn(_csvFeatures);
-        _cfgAlwaysQuoteStrings = CsvWriteFeature.ALWAYS_QUOTE_STRINGS.enabledIn(csvFeatures);
         _cfgAlwaysQuoteEmptyStrings = CsvWriteFeature.ALWAYS_QUOTE_EMPTY_STRINGS.enabledIn(csvFeatures);
         _cfgAlwaysQuoteNumbers = CsvWriteFeature.ALWAYS_QUOTE_NUMBERS.enabledIn(csvFeatures);
         _cfgEscapeQuoteCharWithEscapeChar = CsvWriteFeature.ESCAPE_QUOTE_CHAR_WITH_ESCAPE_CHAR.enabledIn(csvFeatures);
         _cfgEscapeControlCharWithEscapeChar = CsvWriteFeature.ESCAPE_CONTROL_CHARS_WITH_ESCAPE_CHAR.enabledIn(csvFeatures);
 
-        _outputBuffer = ctxt.allocConcatBuffer();
-        _bufferRecyclable = true;
-        _outputEnd = _outputBuffer.length;
+        _outputBuffer = outputBuffer;
+        _bufferRecyclable = (outputBuffer != null);
+        _outputEnd = (outputBuffer == null) ? 0 : outputBuffer.length;
         _out = out;
 
         _cfgColumnSeparator = schema.getColumnSeparator();
@@ -211,12 +242,13 @@ public class CsvEncoder
         _cfgLineSeparator = schema.getLineSeparator();
         _cfgLineSeparatorLength = (_cfgLineSeparator == null) ? 0 : _cfgLineSeparator.length;
         _cfgNullValue = schema.getNullValueOrEmpty();
-        _cfgAllowsComments = schema.allowsComments();
 
         _columnCount = schema.size();
+        _writePlan = schema.writePlan(csvFeatures);
         _outputEscapes = (esc == null) ? sOutputEscapes : esc.getEscapeCodesForAscii();
 
         _cfgMinSafeChar = _calcSafeChar();
+        _buildQuotingScanTable();
 
         _cfgMaxQuoteCheckChars = MAX_QUOTE_CHECK;
 
@@ -236,9 +268,7 @@ public class CsvEncoder
         _ioContext = base._ioContext;
         _csvFeatures = base._csvFeatures;
         _cfgUseFastDoubleWriter = base._cfgUseFastDoubleWriter;
-        _cfgOptimalQuoting = base._cfgOptimalQuoting;
         _cfgIncludeMissingTail = base._cfgIncludeMissingTail;
-        _cfgAlwaysQuoteStrings = base._cfgAlwaysQuoteStrings;
         _cfgAlwaysQuoteEmptyStrings = base._cfgAlwaysQuoteEmptyStrings;
         _cfgAlwaysQuoteNumbers = base._cfgAlwaysQuoteNumbers;
 
@@ -258,9 +288,10 @@ public class CsvEncoder
         _cfgLineSeparator = newSchema.getLineSeparator();
         _cfgLineSeparatorLength = _cfgLineSeparator.length;
         _cfgNullValue = newSchema.getNullValueOrEmpty();
-        _cfgAllowsComments = newSchema.allowsComments();
         _cfgMinSafeChar = _calcSafeChar();
+        _buildQuotingScanTable();
         _columnCount = newSchema.size();
+        _writePlan = newSchema.writePlan(_csvFeatures);
         _cfgQuoteCharEscapeChar = _getQuoteCharEscapeChar(
                 base._cfgEscapeQuoteCharWithEscapeChar,
                 newSchema.getQuoteChar(),
@@ -320,6 +351,24 @@ public class CsvEncoder
         return min+1;
     }
 
+    /**
+     * Method called to (re)build lookup table used for strict quoting checks;
+     * needs to be called whenever output escapes change.
+     */
+    protected void _buildQuotingScanTable()
+    {
+        final byte[] table = new byte[128];
+        for (int c = 0; c < table.length; ++c) {
+            table[c] = (byte) _scanFlags(c);
+        }
+        _quotingScanTable = table;
+        _cfgNonAsciiSpecials = (_cfgColumnSeparator >= 0x80)
+                || (_cfgQuoteCharacter >= 0x80)
+                || (_cfgEscapeCharacter >= 0x80)
+                || ((_cfgLineSeparatorLength > 0) && (_cfgLineSeparator[0] >= 0x80))
+                || (_outputEscapes.length > 0x80);
+    }
+
     public CsvEncoder withSchema(CsvSchema schema) {
         return new CsvEncoder(this, schema);
     }
@@ -328,9 +377,7 @@ public class CsvEncoder
     public CsvEncoder overrideFormatFeatures(int feat) {
         if (feat != _csvFeatures) {
             _csvFeatures = feat;
-            _cfgOptimalQuoting = CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING.enabledIn(feat);
             _cfgIncludeMissingTail = !CsvGenerator.Feature.OMIT_MISSING_TAIL_COLUMNS.enabledIn(feat);
-            _cfgAlwaysQuoteStrings = CsvGenerator.Feature.ALWAYS_QUOTE_STRINGS.enabledIn(feat);
             _cfgAlwaysQuoteEmptyStrings = CsvGenerator.Feature.ALWAYS_QUOTE_EMPTY_STRINGS.enabledIn(feat);
             _cfgAlwaysQuoteNumbers = CsvGenerator.Feature.ALWAYS_QUOTE_NUMBERS.enabledIn(feat);
             _cfgEscapeQuoteCharWithEscapeChar = CsvGenerator.Feature.ESCAPE_QUOTE_CHAR_WITH_ESCAPE_CHAR.enabledIn(feat);
@@ -342,6 +389,7 @@ public class CsvEncoder
 
     public CsvEncoder setOutputEscapes(int[] esc) {
         _outputEscapes = (esc != null) ? esc : sOutputEscapes;
+        _buildQuotingScanTable();
         return this;
     }
 
@@ -385,29 +433,25 @@ public class CsvEncoder
             if (_nextColumnToWrite > 0) {
                 appendColumnSeparator();
             }
-            final int len = value.length();
-            if (_cfgAlwaysQuoteStrings || _mayNeedQuotes(value, len, columnIndex)) {
-                if (_cfgEscapeCharacter > 0) {
-                    _writeQuotedAndEscaped(value, (char) _cfgEscapeCharacter);
-                } else {
-                    _writeQuoted(value);
-                }
-            } else {
-                writeRaw(value);
-            }
+            _writeString(value, columnIndex);
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).setString(columnIndex, value);
     }
 
     public final void write(int columnIndex, char[] ch, int offset, int len) throws JacksonException
     {
-        // !!! TODO: optimize
-        write(columnIndex, new String(ch, offset, len));
+        // easy case: all in order
+        if (columnIndex == _nextColumnToWrite) {
+            appendValue(ch, offset, len);
+            ++_nextColumnToWrite;
+            return;
+        }
+        _buffer(columnIndex).setChars(columnIndex, ch, offset, len);
     }
 
-    public final void write(int columnIndex, int value) throws JacksonException
+    public void write(int columnIndex, int value) throws JacksonException
     {
         // easy case: all in order
         if (columnIndex == _nextColumnToWrite) {
@@ -429,10 +473,10 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).setInt(columnIndex, value);
     }
 
-    public final void write(int columnIndex, long value) throws JacksonException
+    public void write(int columnIndex, long value) throws JacksonException
     {
         // easy case: all in order
         if (columnIndex == _nextColumnToWrite) {
@@ -454,7 +498,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).setLong(columnIndex, value);
     }
 
     public final void write(int columnIndex, BigInteger value) throws JacksonException
@@ -466,7 +510,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedNumber(numStr));
+        _buffer(columnIndex).setNumber(columnIndex, numStr);
     }
     
     public final void write(int columnIndex, float value) throws JacksonException
@@ -477,7 +521,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).setFloat(columnIndex, value);
     }
 
     public final void write(int columnIndex, double value) throws JacksonException
@@ -488,7 +532,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).setDouble(columnIndex, value);
     }
 
     public final void write(int columnIndex, BigDecimal value, boolean plain) throws JacksonException
@@ -501,7 +545,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedNumber(numStr));
+        _buffer(columnIndex).setNumber(columnIndex, numStr);
     }
 
     public final void write(int columnIndex, boolean value) throws JacksonException
@@ -512,7 +556,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).setBoolean(columnIndex, value);
     }
 
     public final void writeNonEscaped(int columnIndex, String rawValue) throws JacksonException
@@ -522,7 +566,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedRaw(rawValue));
+        _buffer(columnIndex).setRaw(columnIndex, rawValue);
     }
         
     public final void writeNull(int columnIndex) throws JacksonException
@@ -532,7 +576,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedNull());
+        _buffer(columnIndex).setNull(columnIndex);
     }
 
     public final void writeColumnName(String name) throws JacksonException
@@ -547,17 +591,16 @@ public class CsvEncoder
         if (_lastBuffered >= 0) {
             final int last = _lastBuffered;
             _lastBuffered = -1;
+            final CsvRowBuffer buffered = _buffered;
             for (; _nextColumnToWrite <= last; ++_nextColumnToWrite) {
-                BufferedValue value = _buffered[_nextColumnToWrite];
-                if (value != null) {
-                    _buffered[_nextColumnToWrite] = null;
-                    value.write(this);
-                } else if (_nextColumnToWrite > 0) { // ) {
+                if (!buffered.write(_nextColumnToWrite, this)
+                        && (_nextColumnToWrite > 0)) {
                     // note: write method triggers prepending of separator; but for missing
                     // values we need to do it explicitly.
                     appendColumnSeparator();
                 } 
             }
+            buffered.reset();
         } else if (_nextColumnToWrite <= 0) { // empty line; do nothing
             return;
         }
@@ -571,6 +614,11 @@ public class CsvEncoder
         }
         // write line separator
         _nextColumnToWrite = 0;
+        _appendLineSeparator();
+    }
+
+    protected void _appendLineSeparator() throws JacksonException
+    {
         if ((_outputTail + _cfgLineSeparatorLength) > _outputEnd) {
             _flushBuffer();
         }
@@ -592,20 +640,103 @@ public class CsvEncoder
         if (_nextColumnToWrite > 0) {
             appendColumnSeparator();
         }
-        // First: determine if we need quotes; simple heuristics;
-        // only check for short Strings, stop if something found
-        final int len = value.length();
-        if (_cfgAlwaysQuoteStrings || _mayNeedQuotes(value, len, _nextColumnToWrite)) {
-            if (_cfgEscapeCharacter > 0) {
-                _writeQuotedAndEscaped(value, (char) _cfgEscapeCharacter);
-            } else {
-                _writeQuoted(value);
+        _writeString(value, _nextColumnToWrite);
+    }
+
+    protected void appendValue(char[] value, int offset, int len) throws JacksonException
+    {
+        if (_outputTail >= _outputEnd) {
+            _flushBuffer();
+        }
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        _writeString(value, offset, len, _nextColumnToWrite);
+    }
+
+    /**
+     * Helper method for writing textual value of given column, quoted
+     * (and escaped) if necessary.
+     */
+    protected final void _writeString(String value, int columnIndex) throws JacksonException
+    {
+        switch (_writePlan.quoting(columnIndex)) {
+        case CsvWritePlan.QUOTING_STRICT_WITH_COMMENTS:
+        case CsvWritePlan.QUOTING_STRICT:
+            // Single scan to find out both whether quoting is needed and
+            // whether contents need escaping: if not, can copy as is
+            {
+                int flags = _scanForQuoting(value);
+                if ((flags & SCAN_QUOTE) == 0) {
+                    // 31-Dec-2014, tatu: Comment lines start with # so quote if starts with #
+                    if (!_startsComment(value.isEmpty() ? 0 : value.charAt(0), columnIndex)) {
+                        writeRaw(value);
+                        return;
+                    }
+                }
+                if ((flags & SCAN_ESCAPE) == 0) {
+                    _writeQuotedRaw(value);
+                    return;
+                }
+            }
+            break;
+        default:
+            // First: determine if we need quotes; simple heuristics;
+            // only check for short Strings, stop if something found
+            if (!_mayNeedQuotes(value, 0, value.length(), columnIndex)) {
+                writeRaw(value);
+                return;
+            }
+        }
+        if (_cfgEscapeCharacter > 0) {
+            _writeQuotedAndEscaped(value, (char) _cfgEscapeCharacter);
+        } else {
+            _writeQuoted(value);
+        }
+    }
+
+    /**
+     * Variant of {@link #_writeString(String, int)} for values given as
+     * character array segments.
+     */
+    protected final void _writeString(char[] value, int offset, int len, int columnIndex)
+        throws JacksonException
+    {
+        switch (_writePlan.quoting(columnIndex)) {
+        case CsvWritePlan.QUOTING_STRICT_WITH_COMMENTS:
+        case CsvWritePlan.QUOTING_STRICT:
+            {
+                int flags = _scanForQuoting(value, offset, offset+len);
+                if ((flags & SCAN_QUOTE) == 0) {
+                    if (!_startsComment((len == 0) ? 0 : value[offset], columnIndex)) {
+                        writeRaw(value, offset, len);
+                        return;
+                    }
+                }
+                if ((flags & SCAN_ESCAPE) == 0) {
+                    _writeQuotedRaw(value, offset, len);
+                    return;
+                }
+            }
+            break;
+        default:
+            if (!_mayNeedQuotes(CharBuffer.wrap(value), offset, len, columnIndex)) {
+                writeRaw(value, offset, len);
+                return;
             }
+        }
+        if (_cfgEscapeCharacter > 0) {
+            _writeQuotedAndEscaped(CharBuffer.wrap(value), offset, len, (char) _cfgEscapeCharacter);
         } else {
-            writeRaw(value);
+            _writeQuoted(CharBuffer.wrap(value), offset, len);
         }
     }
 
+    private boolean _startsComment(char first, int columnIndex) {
+        return (first == '#')
+                && (_writePlan.quoting(columnIndex) == CsvWritePlan.QUOTING_STRICT_WITH_COMMENTS);
+    }
+
     protected void appendRawValue(String value) throws JacksonException
     {
         if (_outputTail >= _outputEnd) {
@@ -841,7 +972,36 @@ public class CsvEncoder
     /**********************************************************************
      */
 
-    public void _writeQuoted(String text) throws JacksonException
+    /**
+     * Method for writing quoted value that is known not to contain any
+     * characters that would need to be doubled up or escaped.
+     */
+    protected void _writeQuotedRaw(String text) throws JacksonException
+    {
+        // NOTE: caller should guarantee quote char is valid (not -1) at this point:
+        final char q = (char) _cfgQuoteCharacter;
+        writeRaw(q);
+        writeRaw(text);
+        writeRaw(q);
+    }
+
+    protected void _writeQuotedRaw(char[] text, int offset, int len) throws JacksonException
+    {
+        final char q = (char) _cfgQuoteCharacter;
+        writeRaw(q);
+        writeRaw(text, offset, len);
+        writeRaw(q);
+    }
+
+    public void _writeQuoted(String text) throws JacksonException {
+        _writeQuoted(text, 0, text.length());
+    }
+
+    /**
+     * Method for writing given segment of text as a quoted value, with quote
+     * characters doubled up, and other characters escaped as configured.
+     */
+    protected void _writeQuoted(CharSequence text, int offset, int len) throws JacksonException
     {
         final int[] escCodes = _outputEscapes;
         final int escLen = escCodes.length;
@@ -853,9 +1013,8 @@ public class CsvEncoder
         final char q = (char) _cfgQuoteCharacter;
         _outputBuffer[_outputTail++] = q;
         // simple case: if we have enough room, no need for boundary checks
-        final int len = text.length();
         if ((_outputTail + len + len) >= _outputEnd) {
-            _writeLongQuoted(text, q);
+            _writeLongQuoted(text, offset, offset+len, q);
             return;
         }
         // 22-Jan-2015, tatu: Common case is that of no quoting needed, so let's
@@ -865,7 +1024,7 @@ public class CsvEncoder
         final char[] buf = _outputBuffer;
         int ptr = _outputTail;
 
-        text.getChars(0, len, buf, ptr);
+        _getChars(text, offset, offset+len, buf, ptr);
 
         final int end = ptr+len;
 
@@ -882,19 +1041,25 @@ public class CsvEncoder
             _outputBuffer[ptr] = q;
             _outputTail = ptr+1;
         } else { // doh. do need quoting
-            _writeQuoted(text, q, ptr - _outputTail);
+            final int i = offset + (ptr - _outputTail);
+            _outputTail = ptr;
+            _writeQuoted(text, q, i, offset+len);
         }
     }
 
-    protected void _writeQuoted(String text, char q, int i) throws JacksonException
+    /**
+     * Method called to quote the rest of a value, starting with the first
+     * character that needs to be doubled up or escaped (preceding characters
+     * having been copied as is).
+     */
+    protected void _writeQuoted(CharSequence text, char q, int i, final int end)
+        throws JacksonException
     {
         final int[] escCodes = _outputEscapes;
         final int escLen = escCodes.length;
 
         final char[] buf = _outputBuffer;
-        _outputTail += i;
-        final int len = text.length();
-        for (; i < len; ++i) {
+        for (; i < end; ++i) {
             char c = text.charAt(i);
             if (c < escLen) {
                 int escCode = escCodes[c];
@@ -922,13 +1087,13 @@ public class CsvEncoder
         buf[_outputTail++] = q;
     }
 
-    private final void _writeLongQuoted(String text, char q) throws JacksonException
+    private final void _writeLongQuoted(CharSequence text, int i, final int end, char q)
+        throws JacksonException
     {
         final int[] escCodes = _outputEscapes;
         final int escLen = escCodes.length;
 
-        final int len = text.length();
-        for (int i = 0; i < len; ++i) {
+        for (; i < end; ++i) {
             if (_outputTail >= _outputEnd) {
                 _flushBuffer();
             }
@@ -955,7 +1120,16 @@ public class CsvEncoder
         _outputBuffer[_outputTail++] = q;
     }
 
-    public void _writeQuotedAndEscaped(String text, char esc) throws JacksonException
+    public void _writeQuotedAndEscaped(String text, char esc) throws JacksonException {
+        _writeQuotedAndEscaped(text, 0, text.length(), esc);
+    }
+
+    /**
+     * Variant of {@link #_writeQuoted(CharSequence, int, int)} used when an
+     * escape character is configured: it is doubled up as well.
+     */
+    protected void _writeQuotedAndEscaped(CharSequence text, int offset, int len, char esc)
+        throws JacksonException
     {
         final int[] escCodes = _outputEscapes;
         final int escLen = escCodes.length;
@@ -966,15 +1140,14 @@ public class CsvEncoder
         // NOTE: caller should guarantee quote char is valid (not -1) at this point:
         final char q = (char) _cfgQuoteCharacter;
         _outputBuffer[_outputTail++] = q;
-        final int len = text.length();
         if ((_outputTail + len + len) >= _outputEnd) {
-            _writeLongQuotedAndEscaped(text, esc);
+            _writeLongQuotedAndEscaped(text, offset, offset+len, esc);
             return;
         }
         final char[] buf = _outputBuffer;
         int ptr = _outputTail;
 
-        text.getChars(0, len, buf, ptr);
+        _getChars(text, offset, offset+len, buf, ptr);
 
         final int end = ptr+len;
         for (; ptr < end; ++ptr) {
@@ -988,19 +1161,20 @@ public class CsvEncoder
             _outputBuffer[ptr] = q;
             _outputTail = ptr+1;
         } else { // quoting AND escaping
-            _writeQuotedAndEscaped(text, q, esc, ptr - _outputTail);
+            final int i = offset + (ptr - _outputTail);
+            _outputTail = ptr;
+            _writeQuotedAndEscaped(text, q, esc, i, offset+len);
         }
     }
 
-    protected void _writeQuotedAndEscaped(String text, char q, char esc, int i) throws JacksonException
+    protected void _writeQuotedAndEscaped(CharSequence text, char q, char esc, int i, final int end)
+        throws JacksonException
     {
         final int[] escCodes = _outputEscapes;
         final int escLen = escCodes.length;
 
         final char[] buf = _outputBuffer;
-        _outputTail += i;
-        final int len = text.length();
-        for (; i < len; ++i) {
+        for (; i < end; ++i) {
             char c = text.charAt(i);
             if (c < escLen) {
                 int escCode = escCodes[c];
@@ -1035,17 +1209,17 @@ public class CsvEncoder
         buf[_outputTail++] = q;
     }
     
-    private final void _writeLongQuotedAndEscaped(String text, char esc) throws JacksonException
+    private final void _writeLongQuotedAndEscaped(CharSequence text, int i, final int end, char esc)
+        throws JacksonException
     {
         final int[] escCodes = _outputEscapes;
         final int escLen = escCodes.length;
 
-        final int len = text.length();
         // NOTE: caller should guarantee quote char is valid (not -1) at this point:
         final char q = (char) _cfgQuoteCharacter;
         // 23-Sep-2020, tatu: Why was this defined but not used? Commented out in 2.11.3
 //        final char quoteEscape = _cfgEscapeQuoteCharWithEscapeChar ? esc : q;
-        for (int i = 0; i < len; ++i) {
+        for (; i < end; ++i) {
             if (_outputTail >= _outputEnd) {
                 _flushBuffer();
             }
@@ -1078,6 +1252,27 @@ public class CsvEncoder
         _outputBuffer[_outputTail++] = q;
     }
 
+    /**
+     * Helper method for copying given segment of text into given buffer;
+     * uses bulk copy for the common types of text (Strings, and wrapped
+     * character arrays).
+     */
+    protected static void _getChars(CharSequence text, int start, int end,
+            char[] dst, int dstOffset)
+    {
+        if (text instanceof String) {
+            ((String) text).getChars(start, end, dst, dstOffset);
+        } else if ((text instanceof CharBuffer) && ((CharBuffer) text).hasArray()) {
+            final CharBuffer cb = (CharBuffer) text;
+            System.arraycopy(cb.array(), cb.arrayOffset() + cb.position() + start,
+                    dst, dstOffset, end - start);
+        } else {
+            for (int i = start; i < end; ++i) {
+                dst[dstOffset++] = text.charAt(i);
+            }
+        }
+    }
+
     /*
     /**********************************************************************
     /* Writer API, state changes
@@ -1126,49 +1321,51 @@ public class CsvEncoder
      */
 
     /**
-     * Helper method that determines whether given String is likely
+     * Helper method that determines whether given segment of text is likely
      * to require quoting; check tries to optimize for speed.
      */
-    protected boolean _mayNeedQuotes(String value, int length, int columnIndex)
+    protected boolean _mayNeedQuotes(CharSequence value, int offset, int length, int columnIndex)
     {
-        // 21-Mar-2014, tatu: If quoting disabled, don't quote
-        if (_cfgQuoteCharacter < 0) {
+        final int end = offset + length;
+        switch (_writePlan.quoting(columnIndex)) {
+        case CsvWritePlan.QUOTING_ALWAYS:
+            return true;
+        case CsvWritePlan.QUOTING_NONE:
             return false;
-        }
-        // may skip checks unless we want exact checking
-        if (_cfgOptimalQuoting) {
+        case CsvWritePlan.QUOTING_STRICT_WITH_COMMENTS:
+        case CsvWritePlan.QUOTING_STRICT:
             // 31-Dec-2014, tatu: Comment lines start with # so quote if starts with #
-            // 28-May-2021, tatu: As per [dataformats-text#270] only check if first column
-            if (_cfgAllowsComments && (columnIndex == 0)
-                && (length > 0) && (value.charAt(0) == '#')) {
+            if (_startsComment((length > 0) ? value.charAt(offset) : 0, columnIndex)) {
                 return true;
             }
             if (_cfgEscapeCharacter > 0) {
-                return _needsQuotingStrict(value, _cfgEscapeCharacter);
+                return _needsQuotingStrict(value, offset, end, _cfgEscapeCharacter);
             }
-            return _needsQuotingStrict(value);
+            return _needsQuotingStrict(value, offset, end);
+        default: // QUOTING_LOOSE
+            break;
         }
         if (length > _cfgMaxQuoteCheckChars) {
             return true;
         }
         if (_cfgEscapeCharacter > 0) {
-            return _needsQuotingLoose(value, _cfgEscapeCharacter);
+            return _needsQuotingLoose(value, offset, end, _cfgEscapeCharacter);
         }
         if (_cfgAlwaysQuoteEmptyStrings && length == 0) {
             return true;
         }
-        return _needsQuotingLoose(value);
+        return _needsQuotingLoose(value, offset, end);
     }
 
     /**
      * @since 2.4
      */
-    protected final boolean _needsQuotingLoose(String value)
+    protected final boolean _needsQuotingLoose(CharSequence value, int i, final int end)
     {
         char esc1 = _cfgQuoteCharEscapeChar;
         char esc2 = _cfgControlCharEscapeChar;
 
-        for (int i = 0, len = value.length(); i < len; ++i) {
+        for (; i < end; ++i) {
             char c = value.charAt(i);
             if ((c < _cfgMinSafeChar)
                     || (c == esc1)
@@ -1179,9 +1376,9 @@ public class CsvEncoder
         return false;
     }
 
-    protected final boolean _needsQuotingLoose(String value, int esc)
+    protected final boolean _needsQuotingLoose(CharSequence value, int i, final int end, int esc)
     {
-        for (int i = 0, len = value.length(); i < len; ++i) {
+        for (; i < end; ++i) {
             int ch = value.charAt(i);
             if ((ch < _cfgMinSafeChar) || (ch == esc)) {
                 return true;
@@ -1190,7 +1387,7 @@ public class CsvEncoder
         return false;
     }
 
-    protected boolean _needsQuotingStrict(String value)
+    protected boolean _needsQuotingStrict(CharSequence value, int i, final int end)
     {
         final int minSafe = _cfgMinSafeChar;
 
@@ -1200,7 +1397,7 @@ public class CsvEncoder
         //   leads to quoting
         final int lfFirst = (_cfgLineSeparatorLength == 0) ? 0 : _cfgLineSeparator[0];
 
-        for (int i = 0, len = value.length(); i < len; ++i) {
+        for (; i < end; ++i) {
             int c = value.charAt(i);
             if (c < minSafe) {
                 if (c == _cfgColumnSeparator || c == _cfgQuoteCharacter
@@ -1213,7 +1410,7 @@ public class CsvEncoder
         return false;
     }
 
-    protected boolean _needsQuotingStrict(String value, int esc)
+    protected boolean _needsQuotingStrict(CharSequence value, int i, final int end, int esc)
     {
         final int minSafe = _cfgMinSafeChar;
         final int[] escCodes = _outputEscapes;
@@ -1222,7 +1419,7 @@ public class CsvEncoder
         //   leads to quoting
         final int lfFirst = (_cfgLineSeparatorLength == 0) ? 0 : _cfgLineSeparator[0];
 
-        for (int i = 0, len = value.length(); i < len; ++i) {
+        for (; i < end; ++i) {
             int c = value.charAt(i);
             if (c < minSafe) {
                 if (c == _cfgColumnSeparator || c == _cfgQuoteCharacter
@@ -1236,14 +1433,104 @@ public class CsvEncoder
         }
         return false;
     }
-    
-    protected void _buffer(int index, BufferedValue v)
+
+    /**
+     * Method for checking, in a single pass, whether given value needs to be
+     * quoted, and if so, whether its contents also need escaping, using same
+     * rules as {@link #_needsQuotingStrict(CharSequence, int, int, int)}.
+     *
+     * @return Combination of {@link #SCAN_QUOTE} and {@link #SCAN_ESCAPE} flags
+     */
+    protected int _scanForQuoting(String value)
+    {
+        final byte[] table = _quotingScanTable;
+        int flags = 0;
+        for (int i = 0, len = value.length(); i < len; ++i) {
+            final char c = value.charAt(i);
+            final int f;
+            if (c < 0x80) {
+                f = table[c];
+            } else if (_cfgNonAsciiSpecials) {
+                f = _scanFlags(c);
+            } else {
+                continue;
+            }
+            if (f != 0) {
+                flags |= f;
+                if (flags == (SCAN_QUOTE | SCAN_ESCAPE)) {
+                    break;
+                }
+            }
+        }
+        return flags;
+    }
+
+    protected int _scanForQuoting(char[] value, int i, int end)
+    {
+        final byte[] table = _quotingScanTable;
+        int flags = 0;
+        for (; i < end; ++i) {
+            final char c = value[i];
+            final int f;
+            if (c < 0x80) {
+                f = table[c];
+            } else if (_cfgNonAsciiSpecials) {
+                f = _scanFlags(c);
+            } else {
+                continue;
+            }
+            if (f != 0) {
+                flags |= f;
+                if (flags == (SCAN_QUOTE | SCAN_ESCAPE)) {
+                    break;
+                }
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Helper method for determining strict quoting scan flags for given
+     * character; used for building {@link #_quotingScanTable}, as well as
+     * for non-ASCII characters.
+     */
+    protected int _scanFlags(int c)
+    {
+        final int[] escCodes = _outputEscapes;
+        final boolean escaped = (c < escCodes.length) && (escCodes[c] != 0);
+        final boolean isEsc = (_cfgEscapeCharacter > 0) && (c == _cfgEscapeCharacter);
+        int flags = 0;
+        if (c < _cfgMinSafeChar) {
+            // 23-Sep-2020, tatu: [dataformats-text#217] Must also ensure line separator
+            //   leads to quoting
+            final int lfFirst = (_cfgLineSeparatorLength == 0) ? 0 : _cfgLineSeparator[0];
+            if (c == _cfgColumnSeparator || c == _cfgQuoteCharacter
+                    || escaped || (c == lfFirst)) {
+                flags = SCAN_QUOTE;
+            }
+        } else if (isEsc) {
+            flags = SCAN_QUOTE;
+        }
+        if (escaped || isEsc || (c == _cfgQuoteCharacter)) {
+            flags |= SCAN_ESCAPE;
+        }
+        return flags;
+    }
+
+    /**
+     * Method called to access row buffer for storing value of given column,
+     * that is written out of order; buffer is allocated on first call.
+     */
+    protected CsvRowBuffer _buffer(int index)
     {
         _lastBuffered = Math.max(_lastBuffered, index);
-        if (index >= _buffered.length) {
-            _buffered = Arrays.copyOf(_buffered, Math.max(index+1, _columnCount));
+        CsvRowBuffer buffered = _buffered;
+        if (buffered == null) {
+            _buffered = buffered = new CsvRowBuffer(Math.max(index+1, _columnCount));
+        } else {
+            buffered.ensureCapacity(index+1);
         }
-        _buffered[index] = v;
+        return buffered;
     }
 
     protected void _flushBuffer() throws JacksonException
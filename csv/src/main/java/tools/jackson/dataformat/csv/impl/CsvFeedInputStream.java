@@ -0,0 +1,272 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import tools.jackson.core.StreamReadConstraints;
+
+/**
+ * {@link InputStream} implementation used by non-blocking parser: content
+ * is fed (appended) by caller and buffered, and scanned (using
+ * {@link CsvRecordScanner}) to keep track of how far complete values and
+ * records extend. This allows parser to only decode complete values, using
+ * regular blocking decoder that never needs to wait for more content.
+ *<p>
+ * Offsets used are relative to the start of content (after possible BOM),
+ * same as offsets of the decoder, so parser can compare its position with
+ * value and record ends.
+ *<p>
+ * Reads return {@code 0} if no content is available but end of input has not
+ * yet been indicated; this should never occur if decoding is limited
+ * to complete values.
+ */
+public class CsvFeedInputStream extends InputStream
+{
+    private final static byte[] UTF8_BOM = new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    protected final CsvRecordScanner _scanner;
+
+    /**
+     * Constraints used for limiting the amount of content buffered for
+     * a single incomplete value
+     */
+    protected final StreamReadConstraints _constraints;
+
+    protected byte[] _buffer;
+
+    /**
+     * Offset of the first byte of {@link #_buffer} (relative to start of
+     * content); negative if buffer starts with a BOM
+     */
+    protected long _bufferOffset;
+
+    /**
+     * Pointer to the next byte to read
+     */
+    protected int _ptr;
+
+    /**
+     * Pointer to the first byte not yet scanned for record ends
+     */
+    protected int _scanPtr;
+
+    protected int _end;
+
+    /**
+     * Number of complete records scanned (not including comment or blank
+     * lines that decoder skips)
+     */
+    protected int _records;
+
+    /**
+     * Offset right after the end of the last complete value
+     */
+    protected long _valueEnd;
+
+    /**
+     * Offset right after the end of the last complete record (not including
+     * comment or blank lines that decoder skips)
+     */
+    protected long _recordEnd;
+
+    /**
+     * Pointer to the first byte after the last value, record, comment or blank
+     * line end: content after it belongs to a single incomplete value (or line)
+     */
+    protected int _boundaryPtr;
+
+    /**
+     * Number of leading bytes matched against UTF-8 BOM so far, or
+     * {@code -1} once check is complete
+     */
+    protected int _bomMatched;
+
+    protected boolean _endOfInput;
+
+    public CsvFeedInputStream(CsvRecordScanner scanner, StreamReadConstraints constraints,
+            int initialSize)
+    {
+        _scanner = scanner;
+        _constraints = constraints;
+        _buffer = new byte[initialSize];
+    }
+
+    /*
+    /**********************************************************************
+    /* Feeding content
+    /**********************************************************************
+     */
+
+    public void append(byte[] data, int offset, int len)
+    {
+        _ensureRoom(len);
+        System.arraycopy(data, offset, _buffer, _end, len);
+        _end += len;
+        _scan();
+    }
+
+    public void append(ByteBuffer data)
+    {
+        final int len = data.remaining();
+        _ensureRoom(len);
+        data.get(_buffer, _end, len);
+        _end += len;
+        _scan();
+    }
+
+    public void endOfInput() {
+        _endOfInput = true;
+        _bomMatched = -1;
+    }
+
+    public boolean isEndOfInput() {
+        return _endOfInput;
+    }
+
+    /*
+    /**********************************************************************
+    /* Value and record accounting
+    /**********************************************************************
+     */
+
+    /**
+     * Method for checking whether given number of leading records (header, skipped
+     * first data row), as well as the first value after them, are available for
+     * decoding.
+     * Like all availability checks, always true after end of input, since decoder
+     * can then handle whatever content remains.
+     */
+    public boolean hasLeadingRecords(int count) {
+        return _endOfInput || (_records > count)
+                || ((_records == count) && (_valueEnd > _recordEnd));
+    }
+
+    /**
+     * Method for checking whether the value starting at given offset is complete,
+     * including character that ends it.
+     */
+    public boolean hasValueAt(long offset) {
+        return _endOfInput || (_valueEnd > offset);
+    }
+
+    /**
+     * Method for checking whether the rest of the record, continuing at given
+     * offset, is complete (including possible LF following CR that ends it).
+     */
+    public boolean hasRecordAt(long offset) {
+        return _endOfInput || (_recordEnd > offset);
+    }
+
+    /**
+     * Method for checking whether end of the record that ended right before given
+     * offset is complete: that is, whether it is known if CR that ended it is
+     * followed by LF.
+     */
+    public boolean hasRecordEndAt(long offset) {
+        return _endOfInput || (_recordEnd >= offset);
+    }
+
+    /*
+    /**********************************************************************
+    /* InputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public int available() {
+        return _end - _ptr;
+    }
+
+    @Override
+    public int read() {
+        if (_ptr >= _end) {
+            return -1;
+        }
+        return _buffer[_ptr++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len)
+    {
+        final int avail = _end - _ptr;
+        if (avail <= 0) {
+            return _endOfInput ? -1 : 0;
+        }
+        final int count = Math.min(len, avail);
+        System.arraycopy(_buffer, _ptr, b, offset, count);
+        _ptr += count;
+        return count;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected void _ensureRoom(int len)
+    {
+        if (_end + len <= _buffer.length) {
+            return;
+        }
+        // First, move unread content to the beginning, if need be
+        if (_ptr > 0) {
+            System.arraycopy(_buffer, _ptr, _buffer, 0, _end - _ptr);
+            _bufferOffset += _ptr;
+            _end -= _ptr;
+            _scanPtr -= _ptr;
+            _boundaryPtr = Math.max(0, _boundaryPtr - _ptr);
+            _ptr = 0;
+        }
+        final int needed = _end + len;
+        if (needed > _buffer.length) {
+            byte[] buf = new byte[Math.max(needed, _buffer.length + (_buffer.length >> 1))];
+            System.arraycopy(_buffer, 0, buf, 0, _end);
+            _buffer = buf;
+        }
+    }
+
+    protected void _scan()
+    {
+        // BOM can only occur at the start, before anything has been read
+        if (_bomMatched >= 0) {
+            while (_bomMatched < UTF8_BOM.length) {
+                if (_scanPtr + _bomMatched >= _end) { // need more content to know
+                    return;
+                }
+                if (_buffer[_scanPtr + _bomMatched] != UTF8_BOM[_bomMatched]) {
+                    break;
+                }
+                ++_bomMatched;
+            }
+            if (_bomMatched == UTF8_BOM.length) {
+                _ptr = _scanPtr = _boundaryPtr = UTF8_BOM.length;
+                _bufferOffset = -UTF8_BOM.length;
+            }
+            _bomMatched = -1;
+        }
+        int ptr;
+        while ((ptr = _scanner.findRecordEnd(_buffer, _scanPtr, _end)) >= 0) {
+            _scanPtr = _boundaryPtr = ptr;
+            _valueEnded();
+            if (!_scanner.lastRecordSkipped()) {
+                ++_records;
+                _recordEnd = _bufferOffset + ptr;
+            }
+        }
+        _valueEnded();
+        _scanPtr = _end;
+        // Content of an incomplete value needs to be buffered until it is complete:
+        // limit its size (in bytes, as it is not yet decoded) as per constraints
+        _constraints.validateStringLength(_end - _boundaryPtr);
+    }
+
+    private void _valueEnded()
+    {
+        final int ptr = _scanner.lastValueEnd();
+        if (ptr >= 0) {
+            _valueEnd = _bufferOffset + ptr;
+            _boundaryPtr = Math.max(_boundaryPtr, ptr);
+        }
+    }
+}
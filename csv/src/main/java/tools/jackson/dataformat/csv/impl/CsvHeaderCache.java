@@ -0,0 +1,123 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import tools.jackson.databind.util.SimpleLookupCache;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Bounded, thread-safe cache of {@link CsvSchema}s built from header lines:
+ * used so that content with a header line that has already been seen (with
+ * same base schema) can reuse already built schema, instead of building a new
+ * one for every parser. Besides avoiding construction of columns and name
+ * lookup tables, this allows reuse of per-schema state (like results of
+ * matching column names to properties) across parsers.
+ *<p>
+ * Entries are keyed by header column names and the base schema used for
+ * reading: base schemas without columns are considered equal if all their
+ * settings are equal, so that schemas constructed separately (like
+ * {@code CsvSchema.emptySchema().withHeader()} for every read) share entries;
+ * other base schemas only by identity.
+ * Instances are owned by {@link tools.jackson.dataformat.csv.CsvFactory}.
+ */
+public final class CsvHeaderCache
+{
+    public final static int DEFAULT_MAX_ENTRIES = 100;
+
+    private final SimpleLookupCache<HeaderKey, CsvSchema> _schemas;
+
+    public CsvHeaderCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public CsvHeaderCache(int maxEntries) {
+        _schemas = new SimpleLookupCache<>(Math.min(16, maxEntries), maxEntries);
+    }
+
+    /**
+     * @param base Schema used for reading content (one header line was read with)
+     * @param names Names of header columns (trimmed, if trimming is enabled)
+     * @param dropTrailingEmpty Whether trailing empty column name is to be dropped
+     *
+     * @return Schema built for given header, if cached; {@code null} if not
+     */
+    public CsvSchema findSchema(CsvSchema base, String[] names, boolean dropTrailingEmpty) {
+        return _schemas.get(new HeaderKey(base, names, dropTrailingEmpty));
+    }
+
+    public void addSchema(CsvSchema base, String[] names, boolean dropTrailingEmpty,
+            CsvSchema schema) {
+        _schemas.put(new HeaderKey(base, names, dropTrailingEmpty), schema);
+    }
+
+    public int size() {
+        return _schemas.size();
+    }
+
+    public void clear() {
+        _schemas.clear();
+    }
+
+    private final static class HeaderKey
+    {
+        private final CsvSchema _base;
+
+        private final String[] _names;
+
+        private final boolean _dropTrailingEmpty;
+
+        private final int _hashCode;
+
+        HeaderKey(CsvSchema base, String[] names, boolean dropTrailingEmpty)
+        {
+            _base = base;
+            _names = names;
+            _dropTrailingEmpty = dropTrailingEmpty;
+            // NOTE: only use settings that are compared for all base schemas
+            int h = Arrays.hashCode(names);
+            h = (h * 31) + base.getColumnSeparator();
+            h = (h * 31) + base.getQuoteChar();
+            h = (h * 31) + base.size();
+            _hashCode = dropTrailingEmpty ? ~h : h;
+        }
+
+        @Override
+        public int hashCode() { return _hashCode; }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (o == this) return true;
+            if (!(o instanceof HeaderKey)) return false;
+            HeaderKey other = (HeaderKey) o;
+            return (_hashCode == other._hashCode)
+                    && (_dropTrailingEmpty == other._dropTrailingEmpty)
+                    && Arrays.equals(_names, other._names)
+                    && _sameBase(_base, other._base);
+        }
+
+        private static boolean _sameBase(CsvSchema a, CsvSchema b)
+        {
+            if (a == b) {
+                return true;
+            }
+            // Columns of base schema are used for building new schema, so only
+            // settings-equality of schemas without columns is considered
+            return (a.size() == 0) && (b.size() == 0)
+                    && (a.getColumnSeparator() == b.getColumnSeparator())
+                    && (a.getQuoteChar() == b.getQuoteChar())
+                    && (a.getEscapeChar() == b.getEscapeChar())
+                    && (a.usesHeader() == b.usesHeader())
+                    && (a.skipsFirstDataRow() == b.skipsFirstDataRow())
+                    && (a.allowsComments() == b.allowsComments())
+                    && (a.reordersColumns() == b.reordersColumns())
+                    && (a.strictHeaders() == b.strictHeaders())
+                    && Arrays.equals(a.getLineSeparator(), b.getLineSeparator())
+                    && Arrays.equals(a.getNullValue(), b.getNullValue())
+                    && Objects.equals(a.getArrayElementSeparator(), b.getArrayElementSeparator())
+                    && Objects.equals(a.getAnyPropertyName(), b.getAnyPropertyName())
+                    && Objects.equals(a.getColumnProjection(), b.getColumnProjection());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import tools.jackson.core.io.MergedStream;
 import tools.jackson.core.io.UTF32Reader;
 
 import tools.jackson.dataformat.csv.CsvParser;
+import tools.jackson.dataformat.csv.CsvReadFeature;
 import tools.jackson.dataformat.csv.CsvSchema;
 
 /**
@@ -156,6 +157,15 @@ public final class CsvParserBootstrapper
             throw new RuntimeException("Internal error"); // should never get here
         }
         _context.setEncoding(enc);
+        // Optionally tokenize UTF-8 directly, without decoding into chars first
+        if ((enc == JsonEncoding.UTF8)
+                && CsvReadFeature.USE_UTF8_BYTE_DECODER.enabledIn(csvFeatures)
+                && UTF8CsvDecoder.canDecode(schema)) {
+            // Important: buffer only recyclable if we allocated it, not if we got byte[]
+            return new CsvParser(readCtxt, _context,
+                    parserFeatures, csvFeatures, schema,
+                    _in, _inputBuffer, _inputPtr, _inputEnd, (_in != null));
+        }
         final boolean autoClose = _context.isResourceManaged()
             || StreamReadFeature.AUTO_CLOSE_SOURCE.enabledIn(parserFeatures);
         return new CsvParser(readCtxt, _context,
@@ -323,8 +333,12 @@ public final class CsvParserBootstrapper
             if (_in == null) { // block source
                 count = -1;
             } else {
+                // Memory-mapped content may be decoded directly from the mapping:
+                // if so, only bytes needed to detect encoding should be copied
+                final int max = (_in instanceof MappedFileInputStream)
+                        ? (minimum - gotten) : (_inputBuffer.length - _inputEnd);
                 try {
-                    count = _in.read(_inputBuffer, _inputEnd, _inputBuffer.length - _inputEnd);
+                    count = _in.read(_inputBuffer, _inputEnd, max);
                 } catch (IOException e) {
                     throw _wrapIOFailure(e);
                 }
@@ -0,0 +1,224 @@
+package tools.jackson.dataformat.csv.impl;
+
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Helper class for locating ends of records (lines, except for linefeeds
+ * within quoted values) in CSV content, without decoding values.
+ * Only quote, escape, separator and linefeed characters are considered,
+ * as well as comment lines and leading white space, to determine whether
+ * linefeeds are within quoted values, matching handling by {@link CsvDecoder}.
+ * Content is assumed to use an ASCII-compatible encoding (like UTF-8).
+ *<p>
+ * Scanning is incremental: content may be passed in multiple chunks,
+ * and state is retained between calls.
+ */
+public class CsvRecordScanner
+{
+    protected final static int STATE_RECORD_START = 0;
+    protected final static int STATE_VALUE_START = 1;
+    protected final static int STATE_UNQUOTED = 2;
+    protected final static int STATE_QUOTED = 3;
+    protected final static int STATE_QUOTE_IN_QUOTED = 4;
+    protected final static int STATE_AFTER_QUOTED = 5;
+    protected final static int STATE_COMMENT = 6;
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    protected final int _separatorChar;
+
+    protected final int _quoteChar;
+
+    protected final int _escapeChar;
+
+    protected final boolean _trimSpaces;
+
+    protected final boolean _allowComments;
+
+    protected final boolean _skipEmptyLines;
+
+    /*
+    /**********************************************************************
+    /* State
+    /**********************************************************************
+     */
+
+    protected int _state = STATE_RECORD_START;
+
+    /**
+     * Flag set if the last character was an escape character, so the
+     * next one is never special
+     */
+    protected boolean _escaped;
+
+    /**
+     * Flag set after a record ended with CR: needs to be checked
+     * for following LF
+     */
+    protected boolean _afterCR;
+
+    /**
+     * Flag set once current record has any content (is not blank)
+     */
+    protected boolean _recordHasContent;
+
+    protected boolean _lastRecordSkipped;
+
+    /**
+     * Offset right after the last value-ending character found by the
+     * latest call to {@link #findRecordEnd}, if any; {@code -1} if none
+     */
+    protected int _lastValueEnd = -1;
+
+    public CsvRecordScanner(CsvSchema schema, boolean trimSpaces, boolean allowComments,
+            boolean skipEmptyLines)
+    {
+        _separatorChar = schema.getColumnSeparator();
+        _quoteChar = schema.getQuoteChar();
+        _escapeChar = schema.getEscapeChar();
+        _trimSpaces = trimSpaces;
+        _allowComments = allowComments || schema.allowsComments();
+        _skipEmptyLines = skipEmptyLines;
+    }
+
+    /**
+     * Accessor for checking whether the record last found by
+     * {@link #findRecordEnd} is a comment or blank line that decoder
+     * skips, instead of exposing it as a record.
+     */
+    public boolean lastRecordSkipped() {
+        return _lastRecordSkipped;
+    }
+
+    /**
+     * Accessor for the offset right after the last character that ended a value
+     * (column separator, or linefeed outside quoted values) found by the latest
+     * call to {@link #findRecordEnd}, if any. Linefeeds ending comment or blank
+     * lines that decoder skips are not included, nor is LF of a CR+LF pair.
+     *
+     * @return Offset after the last value end found; {@code -1} if none
+     */
+    public int lastValueEnd() {
+        return _lastValueEnd;
+    }
+
+    /**
+     * Method for scanning given content (continuing from where the previous
+     * call left off) until the end of the next record.
+     * Note that a record ending with CR is only considered complete once
+     * the following character has been seen (to check for CR+LF).
+     *
+     * @return Offset right after the linefeed that ends the record, that is,
+     *    start of the next record, if one found; {@code -1} if more content
+     *    is needed
+     */
+    public int findRecordEnd(final byte[] buf, int ptr, final int end)
+    {
+        _lastValueEnd = -1;
+        for (; ptr < end; ++ptr) {
+            final int ch = buf[ptr] & 0xFF;
+            if (_escaped) { // escaped character is never special
+                _escaped = false;
+                continue;
+            }
+            if (_state == STATE_RECORD_START) {
+                if (_afterCR) {
+                    _afterCR = false;
+                    // CR+LF is a single linefeed; otherwise the next record has started
+                    return (ch == '\n') ? (ptr + 1) : ptr;
+                }
+                // Leading spaces skipped when skipping blank lines or comments, so
+                // quote after them still starts a quoted value
+                if (ch == ' ' && (_allowComments || _skipEmptyLines)) {
+                    continue;
+                }
+                if (ch == '#' && _allowComments) {
+                    _state = STATE_COMMENT;
+                    continue;
+                }
+                _state = STATE_VALUE_START;
+            }
+            switch (_state) {
+            case STATE_VALUE_START:
+                if (ch == _quoteChar) {
+                    _state = STATE_QUOTED;
+                } else if (ch == '\r' || ch == '\n') {
+                    if (_recordEnd(ch, ptr)) {
+                        return ptr + 1;
+                    }
+                    continue;
+                } else if (ch == _separatorChar) { // empty value, still at value start
+                    _lastValueEnd = ptr + 1;
+                } else {
+                    if (ch <= ' ' && _trimSpaces) {
+                        continue;
+                    }
+                    _escaped = (ch == _escapeChar);
+                    _state = STATE_UNQUOTED;
+                }
+                _recordHasContent = true;
+                break;
+            case STATE_UNQUOTED:
+            case STATE_AFTER_QUOTED:
+                if (ch == _separatorChar) {
+                    _state = STATE_VALUE_START;
+                    _lastValueEnd = ptr + 1;
+                } else if (ch == '\r' || ch == '\n') {
+                    if (_recordEnd(ch, ptr)) {
+                        return ptr + 1;
+                    }
+                } else if (ch == _escapeChar && _state == STATE_UNQUOTED) {
+                    _escaped = true;
+                }
+                break;
+            case STATE_QUOTE_IN_QUOTED:
+                if (ch == _quoteChar) { // doubled quote, still within value
+                    _state = STATE_QUOTED;
+                    break;
+                }
+                _state = STATE_AFTER_QUOTED;
+                // and need to re-process character
+                --ptr;
+                break;
+            case STATE_QUOTED:
+                if (ch == _quoteChar) {
+                    _state = STATE_QUOTE_IN_QUOTED;
+                } else if (ch == _escapeChar) {
+                    _escaped = true;
+                }
+                break;
+            case STATE_COMMENT:
+                if (ch == '\r' || ch == '\n') {
+                    if (_recordEnd(ch, ptr)) {
+                        return ptr + 1;
+                    }
+                }
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return True if record end is complete (LF); false if need to check
+     *   the next character (CR)
+     */
+    private boolean _recordEnd(int ch, int ptr)
+    {
+        _lastRecordSkipped = !_recordHasContent && (_allowComments || _skipEmptyLines);
+        if (!_lastRecordSkipped) {
+            _lastValueEnd = ptr + 1;
+        }
+        _recordHasContent = false;
+        _state = STATE_RECORD_START;
+        if (ch == '\r') {
+            _afterCR = true;
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Helper class used for splitting CSV content of a file into byte ranges
+ * that start and end at record boundaries, so that ranges may be parsed
+ * independently (and concurrently) of each other.
+ *<p>
+ * Finding boundaries requires a single pass over content, to keep track of
+ * whether linefeeds are within quoted values (which may span multiple lines)
+ * or not (see {@link CsvRecordScanner}); but this is much cheaper than
+ * actual decoding. Content is assumed to use an ASCII-compatible encoding
+ * (like UTF-8 or ISO-8859-1).
+ */
+public class CsvRecordSplitter
+{
+    protected final static int READ_BUFFER_SIZE = 64000;
+
+    protected final CsvSchema _schema;
+
+    protected final boolean _trimSpaces;
+
+    protected final boolean _allowComments;
+
+    protected final boolean _skipEmptyLines;
+
+    /**
+     * Number of leading (non-blank, non-comment) records that must be
+     * included in the first range: header line and/or skipped first data row.
+     */
+    protected final int _leadingRecords;
+
+    public CsvRecordSplitter(CsvSchema schema, boolean trimSpaces, boolean allowComments,
+            boolean skipEmptyLines, int leadingRecords)
+    {
+        _schema = schema;
+        _trimSpaces = trimSpaces;
+        _allowComments = allowComments;
+        _skipEmptyLines = skipEmptyLines;
+        _leadingRecords = leadingRecords;
+    }
+
+    /**
+     * Method for finding boundaries of ranges of approximately given size
+     * (ranges are extended to the next record boundary, so they are never
+     * shorter, except for the last one).
+     *
+     * @return Offsets of range boundaries: first entry is {@code 0} and
+     *    last one length of the content, so there is always one more entry
+     *    than there are ranges (and at least one range, possibly empty)
+     */
+    public long[] findBoundaries(FileChannel channel, long rangeSize) throws IOException
+    {
+        final long end = channel.size();
+        long[] result = new long[16];
+        int count = 0;
+        result[count++] = 0L;
+
+        final CsvRecordScanner scanner = new CsvRecordScanner(_schema,
+                _trimSpaces, _allowComments, _skipEmptyLines);
+        final ByteBuffer bbuf = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        final byte[] buf = bbuf.array();
+        long bufStart = 0L;
+        long nextBoundary = rangeSize;
+        int recordCount = 0;
+
+        while (bufStart < end) {
+            bbuf.clear();
+            int len = channel.read(bbuf, bufStart);
+            if (len <= 0) {
+                break;
+            }
+            int ptr = 0;
+            while ((ptr = scanner.findRecordEnd(buf, ptr, len)) >= 0) {
+                if (!scanner.lastRecordSkipped()) {
+                    ++recordCount;
+                }
+                // Potential boundary: only after leading records, however
+                final long offset = bufStart + ptr;
+                if (offset >= nextBoundary && offset < end && recordCount >= _leadingRecords) {
+                    if (count == result.length) {
+                        result = Arrays.copyOf(result, count + count);
+                    }
+                    result[count++] = offset;
+                    nextBoundary = offset + rangeSize;
+                }
+            }
+            bufStart += len;
+        }
+        // note: boundaries are only added before actual content, so last range is never empty
+        if (count == result.length) {
+            result = Arrays.copyOf(result, count + 1);
+        }
+        result[count++] = end;
+        return Arrays.copyOf(result, count);
+    }
+}
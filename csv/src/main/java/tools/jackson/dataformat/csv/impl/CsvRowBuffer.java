@@ -0,0 +1,217 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.util.Arrays;
+
+import tools.jackson.core.JacksonException;
+
+/**
+ * Helper class used for holding values of a single row for a while, until
+ * output can proceed in expected (schema) order. Values are stored in
+ * per-column slots of parallel primitive and {@link Object} arrays (with a
+ * type tag array indicating which one is used), and textual values given as
+ * {@code char[]} segments are copied into a shared character buffer; so once
+ * allocated (once per schema, by {@link CsvEncoder}), buffering values
+ * allocates nothing. Contents are cleared after each row has been written.
+ */
+public final class CsvRowBuffer
+{
+    private final static byte TYPE_NONE = 0;
+    private final static byte TYPE_STRING = 1;
+    private final static byte TYPE_CHARS = 2;
+    private final static byte TYPE_RAW = 3;
+    private final static byte TYPE_NUMBER = 4;
+    private final static byte TYPE_INT = 5;
+    private final static byte TYPE_LONG = 6;
+    private final static byte TYPE_FLOAT = 7;
+    private final static byte TYPE_DOUBLE = 8;
+    private final static byte TYPE_BOOLEAN = 9;
+    private final static byte TYPE_NULL = 10;
+
+    private byte[] _types;
+
+    /**
+     * Slots for integral values (and booleans); for {@code char[]} segments
+     * offset (upper 32 bits) and length (lower 32 bits) within {@link #_chars}.
+     */
+    private long[] _longs;
+
+    /**
+     * Slots for floating-point values
+     */
+    private double[] _doubles;
+
+    /**
+     * Slots for textual values (including pre-encoded numbers)
+     */
+    private Object[] _objects;
+
+    /**
+     * Buffer that contains contents of buffered {@code char[]} segments
+     */
+    private char[] _chars;
+
+    private int _charsEnd;
+
+    public CsvRowBuffer(int columnCount)
+    {
+        columnCount = Math.max(columnCount, 1);
+        _types = new byte[columnCount];
+        _longs = new long[columnCount];
+        _doubles = new double[columnCount];
+        _objects = new Object[columnCount];
+    }
+
+    /**
+     * Method for ensuring that there are slots for at least given number
+     * of columns: needed when writing columns not included in schema.
+     */
+    public void ensureCapacity(int columnCount)
+    {
+        if (columnCount > _types.length) {
+            _types = Arrays.copyOf(_types, columnCount);
+            _longs = Arrays.copyOf(_longs, columnCount);
+            _doubles = Arrays.copyOf(_doubles, columnCount);
+            _objects = Arrays.copyOf(_objects, columnCount);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Buffering values
+    /**********************************************************************
+     */
+
+    public void setString(int index, String v) {
+        _setObject(index, TYPE_STRING, v);
+    }
+
+    public void setRaw(int index, String v) {
+        _setObject(index, TYPE_RAW, v);
+    }
+
+    public void setNumber(int index, String numStr) {
+        _setObject(index, TYPE_NUMBER, numStr);
+    }
+
+    public void setChars(int index, char[] v, int offset, int len)
+    {
+        final int start = _charsEnd;
+        if (_chars == null) {
+            _chars = new char[Math.max(len, 256)];
+        } else if ((start + len) > _chars.length) {
+            _chars = Arrays.copyOf(_chars, Math.max(start + len, _chars.length << 1));
+        }
+        System.arraycopy(v, offset, _chars, start, len);
+        _charsEnd = start + len;
+        _types[index] = TYPE_CHARS;
+        _objects[index] = null;
+        _longs[index] = (((long) start) << 32) | len;
+    }
+
+    public void setInt(int index, int v) {
+        _types[index] = TYPE_INT;
+        _objects[index] = null;
+        _longs[index] = v;
+    }
+
+    public void setLong(int index, long v) {
+        _types[index] = TYPE_LONG;
+        _objects[index] = null;
+        _longs[index] = v;
+    }
+
+    public void setFloat(int index, float v) {
+        _types[index] = TYPE_FLOAT;
+        _objects[index] = null;
+        _doubles[index] = v;
+    }
+
+    public void setDouble(int index, double v) {
+        _types[index] = TYPE_DOUBLE;
+        _objects[index] = null;
+        _doubles[index] = v;
+    }
+
+    public void setBoolean(int index, boolean v) {
+        _types[index] = TYPE_BOOLEAN;
+        _objects[index] = null;
+        _longs[index] = v ? 1L : 0L;
+    }
+
+    public void setNull(int index) {
+        _types[index] = TYPE_NULL;
+        _objects[index] = null;
+    }
+
+    private void _setObject(int index, byte type, String v) {
+        _types[index] = type;
+        _objects[index] = v;
+    }
+
+    /*
+    /**********************************************************************
+    /* Writing buffered values
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to write value buffered for given column, if any,
+     * using given encoder.
+     *
+     * @return True if a value was buffered (and written); false if not
+     */
+    public boolean write(int index, CsvEncoder w) throws JacksonException
+    {
+        if (index >= _types.length) {
+            return false;
+        }
+        switch (_types[index]) {
+        case TYPE_STRING:
+            w.appendValue((String) _objects[index]);
+            return true;
+        case TYPE_CHARS:
+            {
+                final long l = _longs[index];
+                w.appendValue(_chars, (int) (l >>> 32), (int) l);
+            }
+            return true;
+        case TYPE_RAW:
+            w.appendRawValue((String) _objects[index]);
+            return true;
+        case TYPE_NUMBER:
+            w.appendNumberValue((String) _objects[index]);
+            return true;
+        case TYPE_INT:
+            w.appendValue((int) _longs[index]);
+            return true;
+        case TYPE_LONG:
+            w.appendValue(_longs[index]);
+            return true;
+        case TYPE_FLOAT:
+            w.appendValue((float) _doubles[index]);
+            return true;
+        case TYPE_DOUBLE:
+            w.appendValue(_doubles[index]);
+            return true;
+        case TYPE_BOOLEAN:
+            w.appendValue(_longs[index] != 0L);
+            return true;
+        case TYPE_NULL:
+            w.appendNull();
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Method called after a row has been written, to clear all buffered
+     * values (and release references to textual values).
+     */
+    public void reset()
+    {
+        Arrays.fill(_types, TYPE_NONE);
+        Arrays.fill(_objects, null);
+        _charsEnd = 0;
+    }
+}
@@ -0,0 +1,163 @@
+package tools.jackson.dataformat.csv.impl;
+
+/**
+ * Simple hash-based cache used for canonicalizing textual values of a single
+ * CSV column: for columns with low cardinality (like country or currency codes),
+ * a single shared {@link String} instance is returned for each distinct value,
+ * looked up by character contents, instead of constructing a new String
+ * for every cell. Somewhat similar to how property names are canonicalized
+ * by {@link tools.jackson.core.sym.CharsToNameCanonicalizer}.
+ *<p>
+ * Number of distinct values is bounded: once it is exceeded, column
+ * is considered to have high cardinality, and canonicalization is
+ * disabled (and cache contents dropped) for the rest of the content.
+ * Values longer than {@link #MAX_VALUE_LENGTH} are never cached.
+ *<p>
+ * Instances are not thread-safe, and are only used by a single parser.
+ */
+public final class CsvValueCanonicalizer
+{
+    /**
+     * Default maximum number of distinct values to cache per column.
+     */
+    public final static int DEFAULT_MAX_ENTRIES = 256;
+
+    /**
+     * Maximum length of values to cache: longer values are unlikely to
+     * repeat, and are not worth hashing.
+     */
+    public final static int MAX_VALUE_LENGTH = 64;
+
+    private final int _maxEntries;
+
+    /**
+     * Hash area for cached values, using linear probing; size is a power
+     * of two, at least twice the maximum number of entries, so that
+     * there is always an empty slot to terminate probing.
+     * {@code null} once canonicalization has been disabled.
+     */
+    private String[] _values;
+
+    private int[] _hashes;
+
+    private int _count;
+
+    public CsvValueCanonicalizer() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public CsvValueCanonicalizer(int maxEntries)
+    {
+        _maxEntries = maxEntries;
+        int size = 16;
+        while (size < (maxEntries << 1)) {
+            size += size;
+        }
+        _values = new String[size];
+        _hashes = new int[size];
+    }
+
+    /**
+     * Accessor for checking whether canonicalization is still enabled;
+     * false once maximum number of distinct values was exceeded.
+     */
+    public boolean isEnabled() {
+        return _values != null;
+    }
+
+    public int size() {
+        return _count;
+    }
+
+    /**
+     * Method for finding canonical String for given character sequence,
+     * constructing (and caching, if possible) a new String if none found.
+     */
+    public String canonicalize(char[] buf, int offset, int len)
+    {
+        if (len == 0) {
+            return "";
+        }
+        final String[] values = _values;
+        if ((values == null) || (len > MAX_VALUE_LENGTH)) {
+            return new String(buf, offset, len);
+        }
+        int hash = 0;
+        for (int i = offset, end = offset + len; i < end; ++i) {
+            hash = (hash * 31) + buf[i];
+        }
+        hash ^= (hash >>> 16);
+
+        final int mask = values.length - 1;
+        int ix = hash & mask;
+        String value;
+        while ((value = values[ix]) != null) {
+            if ((_hashes[ix] == hash) && _matches(value, buf, offset, len)) {
+                return value;
+            }
+            ix = (ix + 1) & mask;
+        }
+        value = new String(buf, offset, len);
+        _add(ix, hash, value);
+        return value;
+    }
+
+    /**
+     * Method for finding canonical String for given value that has already
+     * been constructed; either returns matching cached instance, or caches
+     * (if possible) and returns given value.
+     */
+    public String canonicalize(String str)
+    {
+        final int len = str.length();
+        if (len == 0) {
+            return "";
+        }
+        final String[] values = _values;
+        if ((values == null) || (len > MAX_VALUE_LENGTH)) {
+            return str;
+        }
+        int hash = 0;
+        for (int i = 0; i < len; ++i) {
+            hash = (hash * 31) + str.charAt(i);
+        }
+        hash ^= (hash >>> 16);
+
+        final int mask = values.length - 1;
+        int ix = hash & mask;
+        String value;
+        while ((value = values[ix]) != null) {
+            if ((_hashes[ix] == hash) && value.equals(str)) {
+                return value;
+            }
+            ix = (ix + 1) & mask;
+        }
+        _add(ix, hash, str);
+        return str;
+    }
+
+    private void _add(int ix, int hash, String value)
+    {
+        if (_count >= _maxEntries) { // too many distinct values, give up
+            _values = null;
+            _hashes = null;
+            return;
+        }
+        _values[ix] = value;
+        _hashes[ix] = hash;
+        ++_count;
+    }
+
+    private static boolean _matches(String value, char[] buf, int offset, int len)
+    {
+        if (value.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; ++i) {
+            if (value.charAt(i) != buf[offset+i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
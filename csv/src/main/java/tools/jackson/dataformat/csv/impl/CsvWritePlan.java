@@ -0,0 +1,168 @@
+package tools.jackson.dataformat.csv.impl;
+
+import tools.jackson.dataformat.csv.CsvSchema;
+import tools.jackson.dataformat.csv.CsvValueDecorator;
+import tools.jackson.dataformat.csv.CsvWriteFeature;
+
+/**
+ * Pre-computed ("compiled") per-column settings for writing CSV content using
+ * specific {@link CsvSchema} and set of {@link CsvWriteFeature}s: quoting
+ * strategy for textual values, value decorator and array element separator
+ * are resolved once per schema, instead of for every value written.
+ * Instances are immutable, and cached by {@link CsvSchema} (see
+ * {@link CsvSchema#writePlan(int)}).
+ */
+public final class CsvWritePlan
+{
+    /**
+     * Textual values are never quoted (schema has no quote character)
+     */
+    public final static int QUOTING_NONE = 0;
+
+    /**
+     * Textual values are always quoted
+     * (due to {@link CsvWriteFeature#ALWAYS_QUOTE_STRINGS})
+     */
+    public final static int QUOTING_ALWAYS = 1;
+
+    /**
+     * Textual values are quoted if (and only if) they contain characters
+     * that require quoting (due to {@link CsvWriteFeature#STRICT_CHECK_FOR_QUOTING})
+     */
+    public final static int QUOTING_STRICT = 2;
+
+    /**
+     * Same as {@link #QUOTING_STRICT}, but values starting with a hash
+     * character (comment marker) are also quoted: used for the first column
+     * when schema allows comments.
+     */
+    public final static int QUOTING_STRICT_WITH_COMMENTS = 3;
+
+    /**
+     * Textual values are quoted based on quick check that may quote
+     * some values that would not strictly require quoting.
+     */
+    public final static int QUOTING_LOOSE = 4;
+
+    private final static ColumnPlan[] NO_COLUMNS = new ColumnPlan[0];
+
+    private final int _features;
+
+    private final ColumnPlan[] _columns;
+
+    /**
+     * Quoting strategy for the first column, if not included in schema
+     */
+    private final int _firstColumnQuoting;
+
+    /**
+     * Quoting strategy for columns other than first one, if not included in schema
+     */
+    private final int _otherColumnQuoting;
+
+    private CsvWritePlan(int features, ColumnPlan[] columns,
+            int firstColumnQuoting, int otherColumnQuoting)
+    {
+        _features = features;
+        _columns = columns;
+        _firstColumnQuoting = firstColumnQuoting;
+        _otherColumnQuoting = otherColumnQuoting;
+    }
+
+    public static CsvWritePlan construct(CsvSchema schema, int csvFeatures)
+    {
+        final int size = schema.size();
+        final int firstQuoting = _quoting(schema, csvFeatures, 0);
+        final int otherQuoting = _quoting(schema, csvFeatures, 1);
+        ColumnPlan[] columns = (size == 0) ? NO_COLUMNS : new ColumnPlan[size];
+        for (int i = 0; i < size; ++i) {
+            CsvSchema.Column col = schema.column(i);
+            columns[i] = new ColumnPlan((i == 0) ? firstQuoting : otherQuoting,
+                    col.getValueDecorator(),
+                    col.isArray() ? col.getArrayElementSeparator() : CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR);
+        }
+        return new CsvWritePlan(csvFeatures, columns, firstQuoting, otherQuoting);
+    }
+
+    private static int _quoting(CsvSchema schema, int csvFeatures, int index)
+    {
+        if (CsvWriteFeature.ALWAYS_QUOTE_STRINGS.enabledIn(csvFeatures)) {
+            return QUOTING_ALWAYS;
+        }
+        if (!schema.usesQuoteChar()) {
+            return QUOTING_NONE;
+        }
+        if (CsvWriteFeature.STRICT_CHECK_FOR_QUOTING.enabledIn(csvFeatures)) {
+            // [dataformats-text#270]: only need to check first column for comments
+            if ((index == 0) && schema.allowsComments()) {
+                return QUOTING_STRICT_WITH_COMMENTS;
+            }
+            return QUOTING_STRICT;
+        }
+        return QUOTING_LOOSE;
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    /**
+     * @return Bitflags of {@link CsvWriteFeature}s this plan was constructed for
+     */
+    public int getFeatures() {
+        return _features;
+    }
+
+    public int size() {
+        return _columns.length;
+    }
+
+    /**
+     * @return Quoting strategy (one of {@code QUOTING_xxx} constants) for
+     *    textual values of column with given index
+     */
+    public int quoting(int index) {
+        if (index < _columns.length) {
+            return _columns[index]._quoting;
+        }
+        return (index == 0) ? _firstColumnQuoting : _otherColumnQuoting;
+    }
+
+    /**
+     * @return Value decorator of column with given index, if any; {@code null} if none
+     */
+    public CsvValueDecorator decorator(int index) {
+        return (index < _columns.length) ? _columns[index]._decorator : null;
+    }
+
+    /**
+     * @return Array element separator of column with given index, if column is
+     *    an array column; {@link CsvSchema#NO_ARRAY_ELEMENT_SEPARATOR} if not
+     */
+    public String arrayElementSeparator(int index) {
+        if ((index >= 0) && (index < _columns.length)) {
+            return _columns[index]._arrayElementSeparator;
+        }
+        return CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR;
+    }
+
+    /**
+     * Settings for a single column of schema
+     */
+    private final static class ColumnPlan
+    {
+        final int _quoting;
+
+        final CsvValueDecorator _decorator;
+
+        final String _arrayElementSeparator;
+
+        ColumnPlan(int quoting, CsvValueDecorator decorator, String arrayElementSeparator) {
+            _quoting = quoting;
+            _decorator = decorator;
+            _arrayElementSeparator = arrayElementSeparator;
+        }
+    }
+}
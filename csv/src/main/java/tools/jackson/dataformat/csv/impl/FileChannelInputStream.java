@@ -0,0 +1,78 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Simple {@link InputStream} implementation for reading a range of content
+ * of a {@link FileChannel}, using positional reads: this means that the
+ * position of the channel is not modified, and multiple streams may be
+ * used to read (different ranges of) the same channel concurrently.
+ *<p>
+ * Closing the stream does NOT close the underlying channel.
+ */
+public class FileChannelInputStream extends InputStream
+{
+    protected final FileChannel _channel;
+
+    /**
+     * Position of the next byte to read from the channel
+     */
+    protected long _position;
+
+    /**
+     * Position after the last byte of the range to read
+     */
+    protected final long _end;
+
+    public FileChannelInputStream(FileChannel channel, long start, long end) {
+        _channel = channel;
+        _position = start;
+        _end = end;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, _end - _position);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException
+    {
+        final long left = _end - _position;
+        if (left <= 0L) {
+            return -1;
+        }
+        if (len > left) {
+            len = (int) left;
+        }
+        int count = _channel.read(ByteBuffer.wrap(b, offset, len), _position);
+        if (count < 0) { // file truncated?
+            _position = _end;
+            return -1;
+        }
+        _position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        n = Math.max(0L, Math.min(n, _end - _position));
+        _position += n;
+        return n;
+    }
+
+    @Override
+    public void close() {
+        // Channel is owned by caller, nothing to do
+        _position = _end;
+    }
+}
@@ -0,0 +1,204 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link InputStream} implementation that reads content of a {@link FileChannel}
+ * by memory-mapping it, instead of using read calls: content is accessed
+ * directly from the OS page cache (which is shared by all readers of the
+ * same file). Content read using {@code read()} methods is copied, but
+ * mapped windows may also be accessed directly using {@link #nextWindow()},
+ * as {@link MappedUTF8CsvDecoder} does.
+ *<p>
+ * Since a single {@link MappedByteBuffer} is limited to 2 gigabytes, content
+ * is mapped in consecutive windows of (at most) {@link #DEFAULT_MAPPING_SIZE}
+ * bytes; mappings are released by GC once no longer referenced.
+ */
+public class MappedFileInputStream extends InputStream
+{
+    /**
+     * Default maximum size of a single mapped window: 1 gigabyte.
+     */
+    public final static long DEFAULT_MAPPING_SIZE = 1L << 30;
+
+    protected final FileChannel _channel;
+
+    /**
+     * Source of content to report for diagnostics: either the file
+     * (if opened by {@link #open}) or {@link #_channel}
+     */
+    protected final Object _source;
+
+    /**
+     * Whether {@link #_channel} is to be closed when this stream is closed
+     */
+    protected final boolean _closeChannel;
+
+    protected final long _maxMappingSize;
+
+    /**
+     * Position after the last byte of the range to read
+     */
+    protected final long _end;
+
+    /**
+     * Position of the first byte of {@link #_mapped} in the channel
+     */
+    protected long _mappingStart;
+
+    /**
+     * Currently mapped window, if any
+     */
+    protected MappedByteBuffer _mapped;
+
+    public MappedFileInputStream(FileChannel channel, boolean closeChannel)
+        throws IOException
+    {
+        this(channel, channel, 0L, channel.size(), closeChannel, DEFAULT_MAPPING_SIZE);
+    }
+
+    public MappedFileInputStream(FileChannel channel, long start, long end,
+            boolean closeChannel, long maxMappingSize)
+    {
+        this(channel, channel, start, end, closeChannel, maxMappingSize);
+    }
+
+    protected MappedFileInputStream(Object source, FileChannel channel, long start, long end,
+            boolean closeChannel, long maxMappingSize)
+    {
+        _source = source;
+        _channel = channel;
+        _closeChannel = closeChannel;
+        _maxMappingSize = maxMappingSize;
+        _mappingStart = start;
+        _end = end;
+    }
+
+    /**
+     * Factory method for opening given file for reading; file is closed
+     * when the stream is closed.
+     */
+    public static MappedFileInputStream open(Path file) throws IOException
+    {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedFileInputStream(file, channel, 0L, channel.size(),
+                    true, DEFAULT_MAPPING_SIZE);
+        } catch (IOException e) {
+            try {
+                channel.close();
+            } catch (IOException e2) {
+                e.addSuppressed(e2);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Accessor for the source of content (file or channel) to report for
+     * diagnostics, similar to
+     * {@link tools.jackson.core.io.ContentReference#getRawContent()}.
+     */
+    public Object getSource() {
+        return _source;
+    }
+
+    @Override
+    public int available() {
+        if (_mapped == null) { // nothing mapped yet, but can tell what is to be read
+            return (int) Math.min(Integer.MAX_VALUE, _end - _mappingStart);
+        }
+        return _mapped.remaining();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if ((_mapped == null || !_mapped.hasRemaining()) && !_mapNext()) {
+            return -1;
+        }
+        return _mapped.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if ((_mapped == null || !_mapped.hasRemaining()) && !_mapNext()) {
+            return -1;
+        }
+        final int count = Math.min(len, _mapped.remaining());
+        _mapped.get(b, offset, count);
+        return count;
+    }
+
+    /**
+     * Method for accessing remaining content of the current mapped window
+     * (or, if none, of the next window) directly, without copying: after
+     * the call, all of that content is considered read.
+     *
+     * @return Read-only buffer with remaining content of the window, indexed
+     *    from 0; or {@code null} if end of content has been reached
+     */
+    public ByteBuffer nextWindow() throws IOException
+    {
+        if ((_mapped == null || !_mapped.hasRemaining()) && !_mapNext()) {
+            return null;
+        }
+        final ByteBuffer window = _mapped.slice();
+        _mapped.position(_mapped.limit());
+        return window;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        long skipped = 0L;
+        while (skipped < n) {
+            if ((_mapped == null || !_mapped.hasRemaining()) && !_mapNext()) {
+                break;
+            }
+            final int count = (int) Math.min(n - skipped, _mapped.remaining());
+            _mapped.position(_mapped.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // can not explicitly unmap, but can at least release the reference
+        _mapped = null;
+        _mappingStart = _end;
+        if (_closeChannel) {
+            _channel.close();
+        }
+    }
+
+    /**
+     * Method called to map the next window of content, if any.
+     *
+     * @return True if there was more content to map; false if end of content
+     */
+    protected boolean _mapNext() throws IOException
+    {
+        long start = _mappingStart;
+        if (_mapped != null) {
+            start += _mapped.capacity();
+        }
+        if (start >= _end) {
+            return false;
+        }
+        final long size = Math.min(_maxMappingSize, _end - start);
+        _mapped = _channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        _mappingStart = start;
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.io.IOContext;
+import tools.jackson.core.util.TextBuffer;
+import tools.jackson.dataformat.csv.CsvParser;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Variant of {@link UTF8CsvDecoder} used for content of a {@link MappedFileInputStream}:
+ * instead of being copied into a {@code byte[]} buffer, content is tokenized
+ * directly from the mapped windows (see {@link MappedFileInputStream#nextWindow()}).
+ * Only bytes read before decoding starts (to detect encoding) are accessed
+ * from the regular input buffer.
+ */
+public class MappedUTF8CsvDecoder extends UTF8CsvDecoder
+{
+    protected MappedFileInputStream _mappedInput;
+
+    /**
+     * Buffer from which data is currently read (using absolute indexes only):
+     * either wraps the initial input buffer, or is a mapped window.
+     */
+    protected ByteBuffer _window;
+
+    public MappedUTF8CsvDecoder(IOContext ctxt, CsvParser owner, MappedFileInputStream in,
+            byte[] inputBuffer, int start, int end, boolean bufferRecyclable,
+            CsvSchema schema, TextBuffer textBuffer,
+            int stdFeatures, int csvFeatures)
+    {
+        super(ctxt, owner, in, inputBuffer, start, end, bufferRecyclable,
+                schema, textBuffer, stdFeatures, csvFeatures);
+        _mappedInput = in;
+        _window = ByteBuffer.wrap(inputBuffer);
+    }
+
+    @Override
+    public int releaseBuffered(Writer out) throws IOException {
+        int count = _inputEnd - _inputPtr;
+        if (count < 1) {
+            return 0;
+        }
+        String str = StandardCharsets.UTF_8.decode(
+                _window.duplicate().limit(_inputEnd).position(_inputPtr)).toString();
+        out.write(str);
+        return str.length();
+    }
+
+    @Override
+    protected void releaseBuffers() throws JacksonException {
+        super.releaseBuffers();
+        // Mapped window can only be unmapped once no longer referenced
+        _window = null;
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        super._closeInput();
+        _mappedInput = null;
+    }
+
+    @Override
+    protected int _readMore() throws IOException {
+        final ByteBuffer window = _mappedInput.nextWindow();
+        if (window == null) {
+            return -1;
+        }
+        _window = window;
+        return window.limit();
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to window contents
+    /**********************************************************************
+     */
+
+    @Override
+    protected int _byteAt(int ix) {
+        return _window.get(ix);
+    }
+
+    @Override
+    protected int _copyAscii(int ptr, final int end, final boolean[] specials,
+            final char[] outBuf, int outPtr)
+    {
+        final ByteBuffer buf = _window;
+        final int maxSpecial = specials.length;
+        for (; ptr < end; ++ptr) {
+            final int c = buf.get(ptr);
+            if ((c < 0) || ((c < maxSpecial) && specials[c])) {
+                break;
+            }
+            outBuf[outPtr++] = (char) c;
+        }
+        return ptr;
+    }
+
+    @Override
+    protected int _findSpecialByte(int ptr, final int end, final boolean[] specials)
+    {
+        final ByteBuffer buf = _window;
+        final int maxSpecial = specials.length;
+        for (; ptr < end; ++ptr) {
+            final int c = buf.get(ptr);
+            if ((c >= 0) && (c < maxSpecial) && specials[c]) {
+                break;
+            }
+        }
+        return ptr;
+    }
+}
@@ -0,0 +1,892 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.io.IOContext;
+import tools.jackson.core.util.TextBuffer;
+import tools.jackson.dataformat.csv.CsvParser;
+import tools.jackson.dataformat.csv.CsvReadFeature;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Variant of {@link CsvDecoder} that tokenizes UTF-8 encoded content directly
+ * from a {@code byte[]} buffer, instead of reading characters decoded by
+ * a {@link Reader}. Since all structural characters (column separator, quote,
+ * escape, linefeeds) must be 7-bit ASCII, and bytes of multi-byte UTF-8 characters
+ * are never in 7-bit range, these can be matched byte-by-byte: only contents of
+ * values need decoding, and this is done as they are copied into the text buffer.
+ *<p>
+ * Note that input offsets and columns of locations are byte-based, as opposed to
+ * character-based with the default {@link CsvDecoder}.
+ *<p>
+ * Content of a {@link MappedFileInputStream} is tokenized directly from the mapped
+ * windows by {@link MappedUTF8CsvDecoder}.
+ *<p>
+ * Used when {@link CsvReadFeature#USE_UTF8_BYTE_DECODER} is enabled.
+ */
+public class UTF8CsvDecoder extends CsvDecoder
+{
+    /**
+     * Input stream that can be used for reading more content, if one
+     * in use. May be null, if input comes just as a full buffer,
+     * or if the stream has been closed.
+     */
+    protected InputStream _inputStream;
+
+    /**
+     * Current buffer from which data is read; either read from the input
+     * stream, or handed as the full content.
+     */
+    protected byte[] _inputBytes;
+
+    /**
+     * Flag that indicates whether the input buffer was allocated using
+     * {@link IOContext} and needs to be returned once we are done.
+     */
+    protected final boolean _bytesRecyclable;
+
+    /**
+     * Flag set once end of input has been reached (or input closed);
+     * equivalent of {@code _inputReader} being {@code null} for the
+     * {@link Reader}-based base class.
+     */
+    protected boolean _endOfInput;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public UTF8CsvDecoder(IOContext ctxt, CsvParser owner, InputStream in,
+            byte[] inputBuffer, int start, int end, boolean bufferRecyclable,
+            CsvSchema schema, TextBuffer textBuffer,
+            int stdFeatures, int csvFeatures)
+    {
+        super(ctxt, owner, null, null, schema, textBuffer, stdFeatures, csvFeatures);
+        _inputStream = in;
+        _inputBytes = inputBuffer;
+        _inputPtr = start;
+        _inputEnd = end;
+        _bytesRecyclable = bufferRecyclable;
+        // Offsets are relative to the start of content (after possible BOM)
+        _currInputProcessed = -start;
+        _currInputRowStart = start;
+    }
+
+    /**
+     * Helper method for checking whether given schema can be handled by
+     * this decoder: this is the case if all structural characters are
+     * 7-bit ASCII characters.
+     */
+    public static boolean canDecode(CsvSchema schema) {
+        return (schema.getColumnSeparator() < 0x80)
+                && (schema.getQuoteChar() < 0x80)
+                && (schema.getEscapeChar() < 0x80);
+    }
+
+    @Override
+    public void setSchema(CsvSchema schema) {
+        if (!canDecode(schema)) {
+            throw new IllegalArgumentException(
+"Cannot decode UTF-8 bytes directly with non-ASCII column separator, quote or escape character");
+        }
+        super.setSchema(schema);
+    }
+
+    @Override
+    public Object getInputSource() {
+        return _inputStream;
+    }
+
+    @Override
+    public int releaseBuffered(Writer out) throws IOException {
+        int count = _inputEnd - _inputPtr;
+        if (count < 1) {
+            return 0;
+        }
+        String str = new String(_inputBytes, _inputPtr, count, StandardCharsets.UTF_8);
+        out.write(str);
+        return str.length();
+    }
+
+    @Override
+    protected void releaseBuffers() throws JacksonException {
+        super.releaseBuffers();
+        if (_bytesRecyclable) {
+            byte[] buf = _inputBytes;
+            if (buf != null) {
+                _inputBytes = null;
+                _ioContext.releaseReadIOBuffer(buf);
+            }
+        }
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        _pendingLF = 1; // just to ensure we'll also check _closed flag later on
+        _endOfInput = true;
+        if (_inputStream != null) {
+            if (_autoCloseInput || _ioContext.isResourceManaged()) {
+                _inputStream.close();
+            }
+            _inputStream = null;
+        }
+    }
+
+    @Override
+    protected boolean loadMore() throws JacksonException {
+        if (_inputStream == null) {
+            // All content given as buffer (or input already closed); just need
+            // to mark end-of-input the first time we get here
+            if (!_endOfInput) {
+                try {
+                    _closeInput();
+                } catch (IOException e) {
+                    throw _owner._wrapIOFailure(e);
+                }
+            }
+            return false;
+        }
+        _currInputProcessed += _inputEnd;
+        _currInputRowStart -= _inputEnd;
+        _inputPtr = 0;
+        _inputEnd = 0;
+
+        try {
+            int count = _readMore();
+            if (count > 0) {
+                _inputEnd = count;
+                return true;
+            }
+            // End of input; close here --  but note, do NOT yet call releaseBuffers()
+            // as there may be buffered input to handle
+            _closeInput();
+            // Should never return 0, so let's fail
+            if (count == 0) {
+                throw new IOException("InputStream.read() returned 0 bytes when trying to read "+_inputBytes.length+" bytes");
+            }
+        } catch (IOException e) {
+            throw _owner._wrapIOFailure(e);
+        }
+        return false;
+    }
+
+    /**
+     * Method called by {@link #loadMore} to read more content into the input
+     * buffer, starting at offset 0.
+     *
+     * @return Number of bytes read; -1 if end of content was reached
+     */
+    protected int _readMore() throws IOException {
+        return _inputStream.read(_inputBytes, 0, _inputBytes.length);
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, access methods
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean startNewLine() throws JacksonException {
+        // first: if pending LF, skip it
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        return skipLinesWhenNeeded();
+    }
+
+    @Override
+    public boolean skipLinesWhenNeeded() throws JacksonException {
+        if (_allowComments) {
+            return _skipCommentLines();
+        }
+        if (!_skipBlankLines) {
+            return hasMoreInput();
+        }
+
+        // only need to skip fully empty lines
+        while (hasMoreInput()) {
+            int ch = _byteAt(_inputPtr);
+            if (ch == '\r' || ch == '\n') {
+                ++_inputPtr;
+                _pendingLF = ch;
+                _handleLF();
+                continue;
+            }
+            if (ch != ' ') {
+                return true; // processing can go on
+            }
+            ++_inputPtr;
+        }
+        return false; // end of input
+    }
+
+    @Override
+    public boolean _skipCommentLines() throws JacksonException
+    {
+        while ((_inputPtr < _inputEnd) || loadMore()) {
+            int ch = _byteAt(_inputPtr);
+            switch (ch) {
+            case '#':
+                ++_inputPtr;
+                _skipCommentContents();
+                continue;
+            case '\r':
+            case '\n':
+                ++_inputPtr;
+                _pendingLF = ch;
+                _handleLF();
+                continue;
+            case ' ':
+                // skip all blanks (in both comments/blanks skip mode)
+                ++_inputPtr;
+                continue;
+            default:
+                return true;
+            }
+        }
+        return false; // end of input
+    }
+
+    private void _skipCommentContents() throws JacksonException
+    {
+        // NOTE: no need to decode multi-byte characters, none of their bytes
+        // can be mistaken for linefeeds
+        while ((_inputPtr < _inputEnd) || loadMore()) {
+            int ch = _byteAt(_inputPtr++);
+            if (ch == '\r' || ch == '\n') {
+                _pendingLF = ch;
+                _handleLF();
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean skipLine() throws JacksonException {
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        while (_inputPtr < _inputEnd || loadMore()) {
+            int c = _byteAt(_inputPtr++);
+            if (c == '\r' || c == '\n') {
+                // important: handle trailing linefeed now, so caller need not bother
+                _pendingLF = c;
+                _handleLF();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected boolean _checkRecordEnd() throws JacksonException {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) { // if closed, we just need to return null
+                _handleLF();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected String _nextString(int i) throws JacksonException {
+        // First, need to ensure we know the starting location of token
+        _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+        _tokenInputRow = _currInputRow;
+        _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+
+        if (i < 0) { // EOF at this point signifies empty value
+            _textBuffer.resetWithString("");
+            return "";
+        }
+
+        if (i == '\r' || i == '\n') { // end-of-line means end of record; but also need to handle LF later on
+            _pendingLF = i;
+            _textBuffer.resetWithString("");
+            return "";
+        }
+        // two modes: quoted, unquoted
+        _currInputQuoted = i == _quoteChar; // Keep track of quoting
+        if (_currInputQuoted) { // offline quoted case (longer)
+            return _nextQuotedString();
+        }
+        if (i == _separatorChar) {
+            _textBuffer.resetWithString("");
+            return "";
+        }
+        // Otherwise push back the first byte (can always do, was just read from
+        // current buffer) so that decoding of unquoted values is all in one place
+        --_inputPtr;
+        return _nextUnquotedString(_textBuffer.emptyAndGetCurrentSegment(), 0);
+    }
+
+    /**
+     * Since input is bytes, it can not be shared with the text buffer; but
+     * common case of 7-bit ASCII value contained within the input buffer
+     * is copied into the current segment without constructing a String.
+     */
+    @Override
+    protected boolean _tryStringInBuffer(final int ch) throws JacksonException
+    {
+        final int end = _inputEnd;
+        final boolean quoted = (ch == _quoteChar);
+        final boolean[] specials = quoted ? _quotedSpecials : _unquotedSpecials;
+        final char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+        int ptr = _inputPtr;
+
+        if (!quoted) {
+            if ((ch >= 0x80) || (ch == _separatorChar) || (ch == _escapeChar)
+                    || (ch == '\r') || (ch == '\n')) {
+                return false;
+            }
+            outBuf[outPtr++] = (char) ch;
+        }
+        final int max = Math.min(end, ptr + (outBuf.length - outPtr));
+        final int stop = _copyAscii(ptr, max, specials, outBuf, outPtr);
+        outPtr += (stop - ptr);
+        ptr = stop;
+        if (ptr >= max) {
+            return false;
+        }
+        int c = _byteAt(ptr);
+        if ((c < 0) || (c == _escapeChar)) {
+            return false;
+        }
+        if (quoted) {
+            if (c != _quoteChar) {
+                return false;
+            }
+            // Closing quote may only be followed by space, then separator or linefeed
+            // (doubled quote or anything else handled by regular decoding)
+            while (true) {
+                if (++ptr >= end) {
+                    return false;
+                }
+                c = _byteAt(ptr);
+                if ((c == _separatorChar) || (c == '\r') || (c == '\n')) {
+                    break;
+                }
+                if ((c < 0) || (c > ' ')) {
+                    return false;
+                }
+            }
+        } else if (_trimSpaces) {
+            while ((outPtr > 0) && (outBuf[outPtr-1] <= ' ')) {
+                --outPtr;
+            }
+        }
+        _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+        _tokenInputRow = _currInputRow;
+        _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+        _currInputQuoted = quoted;
+
+        if ((c == '\r') || (c == '\n')) {
+            _pendingLF = c;
+        }
+        _inputPtr = ptr+1;
+        _textBuffer.setCurrentLength(outPtr);
+        return true;
+    }
+
+    @Override
+    protected JsonToken _tryParseTypedValue(int ch, final boolean numbers)
+        throws JacksonException
+    {
+        // NOTE: all characters of numbers and literals are 7-bit ASCII, so
+        // any multi-byte character simply means we have something else.
+        // Textual representation needs to be copied anyway, so the value is
+        // widened into text buffer for classification (if it fits in a segment)
+        final int start = _inputPtr - 1;
+        final char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        final int end = Math.min(_inputEnd, start + outBuf.length);
+        int ptr = _inputPtr;
+        outBuf[0] = (char) ch;
+
+        while (true) {
+            if (ptr >= end) {
+                return null;
+            }
+            ch = _byteAt(ptr);
+            if ((ch == _separatorChar) || (ch == '\r') || (ch == '\n')) {
+                break;
+            }
+            if (ch < 0) {
+                return null;
+            }
+            outBuf[ptr - start] = (char) ch;
+            ++ptr;
+        }
+        int len = ptr - start;
+        while (outBuf[len-1] <= ' ') { // first char is not white space
+            --len;
+        }
+        _textBuffer.setCurrentLength(len);
+        final JsonToken t = _classifyTypedValue(outBuf, 0, len, numbers);
+        if (t != null) {
+            if (ch != _separatorChar) {
+                _pendingLF = ch;
+            }
+            _inputPtr = ptr+1;
+        }
+        return t;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, private helper methods
+    /**********************************************************************
+     */
+
+    @Override
+    protected String _nextUnquotedString(char[] outBuf, int outPtr) throws JacksonException {
+        final boolean[] specials = _unquotedSpecials;
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // ok to have end-of-input, are done
+                    break main_loop;
+                }
+                ptr = _inputPtr;
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+
+            // Copy 7-bit ASCII characters as-is until we hit something special
+            final int stop = _copyAscii(ptr, max, specials, outBuf, outPtr);
+            outPtr += (stop - ptr);
+            ptr = stop;
+            _inputPtr = ptr;
+            if (ptr >= max) {
+                continue main_loop;
+            }
+            int c = _byteAt(ptr);
+            _inputPtr = ++ptr;
+            if (c < 0) { // multi-byte UTF-8 character
+                c = _decodeMultiByte(c);
+            } else if (c == _separatorChar) { // end of value, yay!
+                break main_loop;
+            } else if (c == '\r' || c == '\n') { // end of line is end of value as well
+                _pendingLF = c;
+                break main_loop;
+            } else { // only escape character remains
+                c = _unescapeCodePoint();
+            }
+            if (c >= 0x10000) { // need surrogate pair
+                c -= 0x10000;
+                outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                c = 0xDC00 | (c & 0x03FF);
+                if (outPtr >= outBuf.length) {
+                    outBuf = _textBuffer.finishCurrentSegment();
+                    outPtr = 0;
+                }
+            }
+            outBuf[outPtr++] = (char) c;
+        }
+        return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+    }
+
+    @Override
+    protected String _nextQuotedString() throws JacksonException {
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+
+        final boolean[] specials = _quotedSpecials;
+        boolean checkLF = false; // marker for split CR+LF
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportError("Missing closing quote for value"); // should indicate start position?
+                }
+                ptr = _inputPtr;
+                if (checkLF) {
+                    checkLF = false; // better reset
+                    if (_byteAt(ptr) == '\n') {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
+                }
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+
+            while (true) {
+                // Copy 7-bit ASCII characters as-is until we hit something special
+                final int stop = _copyAscii(ptr, max, specials, outBuf, outPtr);
+                outPtr += (stop - ptr);
+                ptr = stop;
+                if (ptr >= max) {
+                    _inputPtr = ptr;
+                    continue main_loop;
+                }
+                int c = _byteAt(ptr++);
+                if (c == _quoteChar) {
+                    _inputPtr = ptr;
+                    break;
+                }
+                // Embedded linefeeds are fine
+                if (c == '\r') {
+                    // bit crappy check but has to do:
+                    if (ptr >= max) {
+                        checkLF = true; // will need to be checked in beginning of next loop
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    } else if (_byteAt(ptr) != '\n') {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    }
+                } else if (c == '\n') {
+                    ++_currInputRow;
+                    _currInputRowStart = ptr;
+                } else {
+                    // either multi-byte UTF-8 character, or escape character
+                    _inputPtr = ptr;
+                    if (c < 0) {
+                        c = _decodeMultiByte(c);
+                    } else {
+                        c = _unescapeCodePoint();
+                    }
+                    if (c >= 0x10000) { // need surrogate pair
+                        c -= 0x10000;
+                        outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                        c = 0xDC00 | (c & 0x03FF);
+                        if (outPtr >= outBuf.length) {
+                            outBuf = _textBuffer.finishCurrentSegment();
+                            outPtr = 0;
+                        }
+                    }
+                    outBuf[outPtr++] = (char) c;
+                    // May have passed input boundary, need to re-set
+                    continue main_loop;
+                }
+                outBuf[outPtr++] = (char) c;
+                if (ptr >= max) {
+                    _inputPtr = ptr;
+                    continue main_loop;
+                }
+            }
+            // We get here if we hit a quote: check if it's doubled up, or end of value:
+            if (_inputPtr < _inputEnd || loadMore()) {
+                if (_byteAt(_inputPtr) == _quoteChar) { // doubled up, append
+                    // note: should have enough room, is safe
+                    outBuf[outPtr++] = (char) _quoteChar;
+                    ++_inputPtr;
+                    continue main_loop;
+                }
+            }
+            // Not doubled; leave next char as is
+            break;
+        }
+        // note: do NOT trim from within quoted Strings
+        String result = _textBuffer.finishAndReturn(outPtr, false);
+        _skipQuotedValueEnd();
+        return result;
+    }
+
+    @Override
+    protected void _skipQuotedValueEnd() throws JacksonException {
+        while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
+            int ch = _byteAt(_inputPtr++);
+            if (ch == _separatorChar) { // common case, separator between columns
+                break;
+            }
+            if (ch < 0) { // decode for error message
+                ch = _decodeMultiByte(ch);
+            } else if (ch <= ' ') { // extra space, fine as well
+                if (ch == '\r' || ch == '\n') { // but end-of-line can't be yet skipped
+                    _pendingLF = ch;
+                    break;
+                }
+                continue;
+            }
+            _owner._reportUnexpectedCsvChar(ch, String.format(
+                    "Expected column separator character (%s) or end-of-line", _getCharDesc(_separatorChar)));
+        }
+    }
+
+    // Note: multi-byte characters need not be decoded when skipping, as
+    // none of their bytes can be mistaken for (7-bit ASCII) special characters
+
+    @Override
+    protected void _skipUnquotedValue() throws JacksonException {
+        while (_inputPtr < _inputEnd || loadMore()) { // ok to have end-of-input
+            final int ptr = _findSpecialByte(_inputPtr, _inputEnd, _unquotedSpecials);
+            if (ptr >= _inputEnd) {
+                _inputPtr = ptr;
+                continue;
+            }
+            final int c = _byteAt(ptr);
+            _inputPtr = ptr + 1;
+            if (c == _separatorChar) {
+                return;
+            }
+            if (c == '\r' || c == '\n') {
+                _pendingLF = c;
+                return;
+            }
+            // only escape character remains
+            _unescapeCodePoint();
+        }
+    }
+
+    @Override
+    protected void _skipQuotedValue() throws JacksonException {
+        boolean checkLF = false; // marker for split CR+LF
+
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    _owner._reportError("Missing closing quote for value");
+                }
+                if (checkLF) {
+                    checkLF = false;
+                    if (_byteAt(_inputPtr) == '\n') {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
+                }
+            }
+            final int ptr = _findSpecialByte(_inputPtr, _inputEnd, _quotedSpecials);
+            if (ptr >= _inputEnd) {
+                _inputPtr = ptr;
+                continue;
+            }
+            final int c = _byteAt(ptr);
+            _inputPtr = ptr + 1;
+            if (c == _quoteChar) {
+                // doubled-up quote is part of value, otherwise end of value
+                if ((_inputPtr < _inputEnd || loadMore())
+                        && (_byteAt(_inputPtr) == _quoteChar)) {
+                    ++_inputPtr;
+                    continue;
+                }
+                break;
+            }
+            if (c == '\r') {
+                if (_inputPtr >= _inputEnd) {
+                    checkLF = true;
+                    ++_currInputRow;
+                    _currInputRowStart = _inputPtr;
+                } else if (_byteAt(_inputPtr) != '\n') {
+                    ++_currInputRow;
+                    _currInputRowStart = _inputPtr;
+                }
+            } else if (c == '\n') {
+                ++_currInputRow;
+                _currInputRowStart = _inputPtr;
+            } else { // only escape character remains
+                _unescapeCodePoint();
+            }
+        }
+        _skipQuotedValueEnd();
+    }
+
+    /**
+     * Accessor for the byte at given offset of the current input buffer.
+     */
+    protected int _byteAt(int ix) {
+        return _inputBytes[ix];
+    }
+
+    /**
+     * Helper method for copying 7-bit ASCII bytes of the current input buffer,
+     * starting at {@code ptr}, into {@code outBuf} (at {@code outPtr}), up until
+     * the first byte that either starts a multi-byte UTF-8 character or is
+     * marked in {@code specials}. Caller must ensure that output buffer has room
+     * for {@code end - ptr} characters.
+     *
+     * @return Offset of the first byte not copied; {@code end} if all were copied
+     */
+    protected int _copyAscii(int ptr, final int end, final boolean[] specials,
+            final char[] outBuf, int outPtr)
+    {
+        final byte[] buf = _inputBytes;
+        final int maxSpecial = specials.length;
+        for (; ptr < end; ++ptr) {
+            final int c = buf[ptr];
+            if ((c < 0) || ((c < maxSpecial) && specials[c])) {
+                break;
+            }
+            outBuf[outPtr++] = (char) c;
+        }
+        return ptr;
+    }
+
+    /**
+     * Byte-based variant of {@link #_findSpecialChar}: bytes of multi-byte
+     * UTF-8 characters are never special.
+     */
+    protected int _findSpecialByte(int ptr, final int end, final boolean[] specials)
+    {
+        final byte[] buf = _inputBytes;
+        final int maxSpecial = specials.length;
+        for (; ptr < end; ++ptr) {
+            final int c = buf[ptr];
+            if ((c >= 0) && (c < maxSpecial) && specials[c]) {
+                break;
+            }
+        }
+        return ptr;
+    }
+
+    @Override
+    protected void _handleLF() throws JacksonException
+    {
+        // already skipped past first part; but may get \r\n so skip the other char too?
+        if (_pendingLF == '\r') {
+            if (_inputPtr < _inputEnd || loadMore()) {
+                if (_byteAt(_inputPtr) == '\n') {
+                    ++_inputPtr;
+                }
+            }
+        }
+        _pendingLF = 0;
+        ++_currInputRow;
+        _currInputRowStart = _inputPtr;
+    }
+
+    @Override
+    protected char _unescape() throws JacksonException {
+        return (char) _unescapeCodePoint();
+    }
+
+    /**
+     * Method called to decode character following escape character; unlike
+     * {@link #_unescape()}, may return a code point outside of Basic Multilingual
+     * Plane, if the escaped character is one.
+     */
+    protected int _unescapeCodePoint() throws JacksonException {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                _reportError("Unexpected EOF in escaped character");
+            }
+        }
+        // Some characters are more special than others, so:
+        int c = _byteAt(_inputPtr++);
+        switch (c) {
+            case '0':
+                return '\0';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+        }
+        if (c < 0) {
+            return _decodeMultiByte(c);
+        }
+        // others, return as is...
+        return c;
+    }
+
+    @Override
+    protected int _nextChar() throws JacksonException {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                return -1;
+            }
+        }
+        return _byteAt(_inputPtr++) & 0xFF;
+    }
+
+    @Override
+    protected int _skipLeadingSpace() throws JacksonException {
+        final int sep = _separatorChar;
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    return -1;
+                }
+            }
+            int ch = _byteAt(_inputPtr++) & 0xFF;
+            if ((ch > ' ') || (ch == sep)) {
+                return ch;
+            }
+            switch (ch) {
+                case '\r':
+                case '\n':
+                    return ch;
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, UTF-8 decoding
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to decode a multi-byte UTF-8 character, the first byte of
+     * which has already been read.
+     *
+     * @param c First byte of the character
+     *
+     * @return Unicode code point of the decoded character
+     */
+    protected final int _decodeMultiByte(int c) throws JacksonException
+    {
+        int needed;
+        if ((c & 0xE0) == 0xC0) { // 2 bytes (0x0080 - 0x07FF), from 110xxxxx
+            c &= 0x1F;
+            needed = 1;
+        } else if ((c & 0xF0) == 0xE0) { // 3 bytes (0x0800 - 0xFFFF), from 1110xxxx
+            c &= 0x0F;
+            needed = 2;
+        } else if ((c & 0xF8) == 0xF0) { // 4 bytes from 11110xxx (double-char w/ surrogates and all)
+            c &= 0x07;
+            needed = 3;
+        } else {
+            throw _constructDecodeException(String.format(
+"Invalid UTF-8 start byte 0x%s (at byte #%d): check content encoding, does not look like UTF-8",
+                    Integer.toHexString(c & 0xFF), _currInputProcessed + _inputPtr - 1));
+        }
+        for (int i = 1; i <= needed; ++i) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    throw _constructDecodeException(String.format(
+"Unexpected EOF in the middle of a multi-byte UTF-8 character: got %d, needed %d, at byte #%d",
+                            i, needed+1, _currInputProcessed + _inputPtr));
+                }
+            }
+            int d = _byteAt(_inputPtr++);
+            if ((d & 0xC0) != 0x080) {
+                throw _constructDecodeException(String.format(
+"Invalid UTF-8 middle byte 0x%s (at byte #%d): check content encoding, does not look like UTF-8",
+                        Integer.toHexString(d & 0xFF), _currInputProcessed + _inputPtr - 1));
+            }
+            c = (c << 6) | (d & 0x3F);
+        }
+        return c;
+    }
+
+    // Reported same way as decoding problems with `UTF8Reader`
+    protected JacksonException _constructDecodeException(String msg) {
+        return _owner._wrapIOFailure(new CharConversionException(msg));
+    }
+}
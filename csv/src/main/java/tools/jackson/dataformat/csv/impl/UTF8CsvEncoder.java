@@ -0,0 +1,675 @@
+package tools.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.io.CharacterEscapes;
+import tools.jackson.core.io.IOContext;
+import tools.jackson.core.io.NumberOutput;
+import tools.jackson.dataformat.csv.CsvSchema;
+import tools.jackson.dataformat.csv.CsvWriteFeature;
+
+/**
+ * {@link CsvEncoder} implementation that encodes output as UTF-8 directly into
+ * a (recycled) byte buffer which is written to an {@link OutputStream}, instead of
+ * first buffering characters and then encoding them using a {@link java.io.Writer}.
+ * 7-bit ASCII characters (the common case) are copied as is; column separator,
+ * quote, line separator and null value are encoded once during construction;
+ * and integral numbers are written directly as bytes.
+ *<p>
+ * Used when {@link CsvWriteFeature#USE_UTF8_BYTE_ENCODER} is enabled.
+ */
+public class UTF8CsvEncoder extends CsvEncoder
+{
+    private final static byte[] TRUE_BYTES = { 't', 'r', 'u', 'e' };
+    private final static byte[] FALSE_BYTES = { 'f', 'a', 'l', 's', 'e' };
+
+    private final static byte[] HEX_BYTES = new byte[HEX_CHARS.length];
+    static {
+        for (int i = 0; i < HEX_CHARS.length; ++i) {
+            HEX_BYTES[i] = (byte) HEX_CHARS[i];
+        }
+    }
+
+    /**
+     * Minimum amount of room to ensure before encoding a single character,
+     * enough for the longest possible encoding: either a surrogate pair,
+     * a doubled-up (escaped) quote or escape character, or a Unicode escape.
+     */
+    protected final static int MIN_ROOM_PER_CHAR = 8;
+
+    private final static int SURR1_FIRST = 0xD800;
+    private final static int SURR1_LAST = 0xDBFF;
+    private final static int SURR2_FIRST = 0xDC00;
+    private final static int SURR2_LAST = 0xDFFF;
+
+    /*
+    /**********************************************************************
+    /* Output state
+    /**********************************************************************
+     */
+
+    protected final OutputStream _outputStream;
+
+    /**
+     * Intermediate buffer in which encoded contents are buffered before
+     * being written using {@link #_outputStream}.
+     * Note that {@link #_outputTail} and {@link #_outputEnd} refer to this
+     * buffer, instead of {@link #_outputBuffer} (which is not used).
+     */
+    protected byte[] _outputBytes;
+
+    /**
+     * Number of bytes written to {@link #_outputStream} so far (not including
+     * bytes still in {@link #_outputBytes}).
+     */
+    protected int _bytesWritten;
+
+    /**
+     * First part of a surrogate pair written as the last character of preceding
+     * raw content, if any ({@code 0} if none): to be combined with the first
+     * character of the next write, same as {@link UTF8Writer} does.
+     */
+    protected int _surrogate;
+
+    /*
+    /**********************************************************************
+    /* Pre-encoded configuration
+    /**********************************************************************
+     */
+
+    protected final byte[] _cfgColumnSeparatorBytes;
+
+    protected final byte[] _cfgQuoteBytes;
+
+    protected final byte[] _cfgLineSeparatorBytes;
+
+    protected final byte[] _cfgNullValueBytes;
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    public UTF8CsvEncoder(IOContext ctxt, int csvFeatures, OutputStream out, CsvSchema schema,
+            CharacterEscapes esc, boolean useFastDoubleWriter)
+    {
+        super(ctxt, csvFeatures, null, null, schema, esc, useFastDoubleWriter);
+        _outputStream = out;
+        _outputBytes = ctxt.allocWriteEncodingBuffer();
+        _outputEnd = _outputBytes.length;
+        _cfgColumnSeparatorBytes = _encode(String.valueOf(_cfgColumnSeparator));
+        _cfgQuoteBytes = _encode(String.valueOf((char) _cfgQuoteCharacter));
+        _cfgLineSeparatorBytes = (_cfgLineSeparatorLength == 0) ? new byte[0]
+                : _encode(new String(_cfgLineSeparator, 0, _cfgLineSeparatorLength));
+        _cfgNullValueBytes = _encode(new String(_cfgNullValue));
+    }
+
+    public UTF8CsvEncoder(UTF8CsvEncoder base, CsvSchema newSchema)
+    {
+        super(base, newSchema);
+        _outputStream = base._outputStream;
+        _outputBytes = base._outputBytes;
+        _cfgColumnSeparatorBytes = _encode(String.valueOf(_cfgColumnSeparator));
+        _cfgQuoteBytes = _encode(String.valueOf((char) _cfgQuoteCharacter));
+        _cfgLineSeparatorBytes = (_cfgLineSeparatorLength == 0) ? new byte[0]
+                : _encode(new String(_cfgLineSeparator, 0, _cfgLineSeparatorLength));
+        _cfgNullValueBytes = _encode(new String(_cfgNullValue));
+    }
+
+    private static byte[] _encode(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public CsvEncoder withSchema(CsvSchema schema) {
+        return new UTF8CsvEncoder(this, schema);
+    }
+
+    @Override
+    public Object getOutputTarget() {
+        return _outputStream;
+    }
+
+    /*
+    /**********************************************************************
+    /* Writer API, writes from generator
+    /**********************************************************************
+     */
+
+    @Override
+    public void write(int columnIndex, int value) throws JacksonException
+    {
+        if (columnIndex == _nextColumnToWrite) {
+            appendValue(value);
+            ++_nextColumnToWrite;
+            return;
+        }
+        _buffer(columnIndex).setInt(columnIndex, value);
+    }
+
+    @Override
+    public void write(int columnIndex, long value) throws JacksonException
+    {
+        if (columnIndex == _nextColumnToWrite) {
+            appendValue(value);
+            ++_nextColumnToWrite;
+            return;
+        }
+        _buffer(columnIndex).setLong(columnIndex, value);
+    }
+
+    @Override
+    protected void _appendLineSeparator() throws JacksonException {
+        _writeBytes(_cfgLineSeparatorBytes);
+    }
+
+    /*
+    /**********************************************************************
+    /* Writer API, writes via buffered values
+    /**********************************************************************
+     */
+
+    @Override
+    protected void appendValue(int value) throws JacksonException
+    {
+        if (_surrogate != 0) { // rare: let the general path report broken pair
+            appendNumberValue(String.valueOf(value));
+            return;
+        }
+        // up to 10 digits and possible minus sign; separator and quotes up to 3 bytes each
+        if ((_outputTail + 20) > _outputEnd) {
+            _flushBuffer();
+        }
+        if (_nextColumnToWrite > 0) {
+            _appendBytes(_cfgColumnSeparatorBytes);
+        }
+        if (_cfgAlwaysQuoteNumbers) {
+            _appendBytes(_cfgQuoteBytes);
+            _outputTail = NumberOutput.outputInt(value, _outputBytes, _outputTail);
+            _appendBytes(_cfgQuoteBytes);
+        } else {
+            _outputTail = NumberOutput.outputInt(value, _outputBytes, _outputTail);
+        }
+    }
+
+    @Override
+    protected void appendValue(long value) throws JacksonException
+    {
+        if (_surrogate != 0) { // rare: let the general path report broken pair
+            appendNumberValue(String.valueOf(value));
+            return;
+        }
+        // up to 20 digits and possible minus sign; separator and quotes up to 3 bytes each
+        if ((_outputTail + 30) > _outputEnd) {
+            _flushBuffer();
+        }
+        if (_nextColumnToWrite > 0) {
+            _appendBytes(_cfgColumnSeparatorBytes);
+        }
+        if (_cfgAlwaysQuoteNumbers) {
+            _appendBytes(_cfgQuoteBytes);
+            _outputTail = NumberOutput.outputLong(value, _outputBytes, _outputTail);
+            _appendBytes(_cfgQuoteBytes);
+        } else {
+            _outputTail = NumberOutput.outputLong(value, _outputBytes, _outputTail);
+        }
+    }
+
+    @Override
+    protected void appendValue(float value) throws JacksonException {
+        appendNumberValue(NumberOutput.toString(value, _cfgUseFastDoubleWriter));
+    }
+
+    @Override
+    protected void appendValue(double value) throws JacksonException {
+        appendNumberValue(NumberOutput.toString(value, _cfgUseFastDoubleWriter));
+    }
+
+    @Override
+    protected void appendNumberValue(String numStr) throws JacksonException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        if (_cfgAlwaysQuoteNumbers) {
+            _writeBytes(_cfgQuoteBytes);
+            writeRaw(numStr);
+            _writeBytes(_cfgQuoteBytes);
+        } else {
+            writeRaw(numStr);
+        }
+    }
+
+    @Override
+    protected void appendValue(boolean value) throws JacksonException {
+        _appendValue(value ? TRUE_BYTES : FALSE_BYTES);
+    }
+
+    @Override
+    protected void appendNull() throws JacksonException {
+        _appendValue(_cfgNullValueBytes);
+    }
+
+    @Override
+    protected void _append(char[] ch) throws JacksonException {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        writeRaw(ch, 0, ch.length);
+    }
+
+    @Override
+    protected void appendColumnSeparator() throws JacksonException {
+        _writeBytes(_cfgColumnSeparatorBytes);
+    }
+
+    private void _appendValue(byte[] value) throws JacksonException {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        _writeBytes(value);
+    }
+
+    /*
+    /**********************************************************************
+    /* Output methods, unprocessed ("raw")
+    /**********************************************************************
+     */
+
+    @Override
+    public void writeRaw(String text) throws JacksonException {
+        _writeRaw(text, 0, text.length());
+    }
+
+    @Override
+    public void writeRaw(String text, int start, int len) throws JacksonException {
+        _writeRaw(text, start, start+len);
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws JacksonException {
+        _writeRaw(CharBuffer.wrap(text), offset, offset+len);
+    }
+
+    @Override
+    public void writeRaw(char c) throws JacksonException
+    {
+        if ((_outputTail + MIN_ROOM_PER_CHAR) > _outputEnd) {
+            _flushBuffer();
+        }
+        if (_surrogate != 0) {
+            _appendSurrogatePair(c);
+        } else if (c < 0x80) {
+            _outputBytes[_outputTail++] = (byte) c;
+        } else {
+            _appendMultiByte(c, -1);
+        }
+    }
+
+    private void _writeRaw(CharSequence text, int i, final int end) throws JacksonException
+    {
+        if ((_surrogate != 0) && (i < end)) { // complete pair started by preceding write
+            if ((_outputTail + MIN_ROOM_PER_CHAR) > _outputEnd) {
+                _flushBuffer();
+            }
+            _appendSurrogatePair(text.charAt(i++));
+        }
+        while (i < end) {
+            if ((_outputTail + MIN_ROOM_PER_CHAR) > _outputEnd) {
+                _flushBuffer();
+            }
+            // Fast loop for 7-bit ASCII, as far as there is room
+            final byte[] buf = _outputBytes;
+            int ptr = _outputTail;
+            final int max = Math.min(end, i + (_outputEnd - ptr));
+            char c = 0;
+            while (i < max) {
+                c = text.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buf[ptr++] = (byte) c;
+                ++i;
+            }
+            _outputTail = ptr;
+            if (i < max) {
+                ++i;
+                if ((_outputTail + MIN_ROOM_PER_CHAR) > _outputEnd) {
+                    _flushBuffer();
+                }
+                if (_appendMultiByte(c, (i < end) ? text.charAt(i) : -1)) {
+                    ++i;
+                }
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Output methods, with quoting and escaping
+    /**********************************************************************
+     */
+
+    @Override
+    protected void _writeQuoted(CharSequence text, int offset, int len) throws JacksonException {
+        _writeQuotedBytes(text, offset, offset+len, -1);
+    }
+
+    @Override
+    protected void _writeQuotedAndEscaped(CharSequence text, int offset, int len, char esc)
+        throws JacksonException
+    {
+        _writeQuotedBytes(text, offset, offset+len, esc);
+    }
+
+    /**
+     * Method for writing quoted value: quote characters within value are doubled
+     * up (or escaped), and if {@code esc} is not negative, escape characters
+     * as well.
+     */
+    private void _writeQuotedBytes(CharSequence text, int i, final int end, int esc)
+        throws JacksonException
+    {
+        final int[] escCodes = _outputEscapes;
+        final int escLen = escCodes.length;
+        // NOTE: caller should guarantee quote char is valid (not -1) at this point:
+        final char q = (char) _cfgQuoteCharacter;
+
+        _writeBytes(_cfgQuoteBytes);
+        while (i < end) {
+            if ((_outputTail + MIN_ROOM_PER_CHAR) > _outputEnd) {
+                _flushBuffer();
+            }
+            // Fast loop for 7-bit ASCII that needs no escaping, as far as there is room
+            final byte[] buf = _outputBytes;
+            int ptr = _outputTail;
+            final int max = Math.min(end, i + (_outputEnd - ptr));
+            char c = 0;
+            while (i < max) {
+                c = text.charAt(i);
+                if ((c >= 0x80) || (c == q) || (c == esc)
+                        || (c < escLen && escCodes[c] != 0)) {
+                    break;
+                }
+                buf[ptr++] = (byte) c;
+                ++i;
+            }
+            _outputTail = ptr;
+            if (i == max) {
+                continue;
+            }
+            ++i;
+            if ((_outputTail + MIN_ROOM_PER_CHAR) > _outputEnd) {
+                _flushBuffer();
+            }
+            if (c < escLen) {
+                int escCode = escCodes[c];
+                if (escCode != 0) { // for escape control and double quotes, c will be 0
+                    _appendCharacterEscape(c, escCode);
+                    continue;
+                }
+            }
+            if (c == q) { // double up
+                _appendChar(_cfgQuoteCharEscapeChar);
+            } else if (c == esc) { // double up
+                _appendChar(_cfgControlCharEscapeChar);
+            }
+            if (c < 0x80) {
+                _outputBytes[_outputTail++] = (byte) c;
+            } else if (_appendMultiByte(c, (i < end) ? text.charAt(i) : -1)) {
+                ++i;
+            }
+        }
+        _writeBytes(_cfgQuoteBytes);
+    }
+
+    /*
+    /**********************************************************************
+    /* Writer API, state changes
+    /**********************************************************************
+     */
+
+    @Override
+    public void flush(boolean flushStream) throws IOException
+    {
+        _flushBuffer();
+        if (flushStream) {
+            _outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close(boolean autoClose, boolean flushStream) throws IOException
+    {
+        // May need to remove the linefeed appended after the last row written
+        // (if not yet done)
+        if (!CsvWriteFeature.WRITE_LINEFEED_AFTER_LAST_ROW.enabledIn(_csvFeatures)
+                && !_trailingLFRemoved) {
+            _trailingLFRemoved = true;
+            // Remove trailing LF if (but only if) it appears to be in output
+            // buffer (may not be possible if `flush()` has been called)
+            _outputTail = Math.max(0, _outputTail - _cfgLineSeparatorBytes.length);
+        }
+        _flushBuffer();
+        if (autoClose) {
+            _outputStream.close();
+        } else if (flushStream) {
+            // If we can't close it, we should at least flush
+            _outputStream.flush();
+        }
+        // Internal buffer(s) generator has can now be released as well
+        _releaseBuffers();
+        // Same as with UTF8Writer, can only report orphan surrogate when closing
+        final int surr = _surrogate;
+        if ((surr != 0) && autoClose) {
+            _surrogate = 0;
+            throw new IOException("Unmatched first part of surrogate pair (0x"
+                    +Integer.toHexString(surr)+")");
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    @Override
+    protected void _flushBuffer() throws JacksonException
+    {
+        if (_outputTail > 0) {
+            _bytesWritten += _outputTail;
+            try {
+                _outputStream.write(_outputBytes, 0, _outputTail);
+            } catch (IOException e) {
+                throw _wrapIOFailure(e);
+            }
+            _outputTail = 0;
+        }
+    }
+
+    @Override
+    public void _releaseBuffers()
+    {
+        byte[] buf = _outputBytes;
+        if (buf != null) {
+            _outputBytes = null;
+            _ioContext.releaseWriteEncodingBuffer(buf);
+        }
+        super._releaseBuffers();
+    }
+
+    /**
+     * Method for appending given pre-encoded bytes, flushing buffer if necessary.
+     */
+    private void _writeBytes(byte[] bytes) throws JacksonException
+    {
+        if (_surrogate != 0) {
+            _reportBrokenSurrogate(bytes);
+        }
+        final int len = bytes.length;
+        if ((_outputTail + len) > _outputEnd) {
+            _flushBuffer();
+            if (len > _outputEnd) { // won't fit in buffer; write directly
+                _bytesWritten += len;
+                try {
+                    _outputStream.write(bytes, 0, len);
+                } catch (IOException e) {
+                    throw _wrapIOFailure(e);
+                }
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, _outputBytes, _outputTail, len);
+        _outputTail += len;
+    }
+
+    /**
+     * Method for appending given (short) pre-encoded bytes; caller must
+     * ensure there is enough room in the buffer.
+     */
+    private void _appendBytes(byte[] bytes) throws JacksonException
+    {
+        if (_surrogate != 0) {
+            _reportBrokenSurrogate(bytes);
+        }
+        final int len = bytes.length;
+        if (len == 1) {
+            _outputBytes[_outputTail++] = bytes[0];
+        } else {
+            System.arraycopy(bytes, 0, _outputBytes, _outputTail, len);
+            _outputTail += len;
+        }
+    }
+
+    /**
+     * Method for appending a single (non-surrogate) character; caller must
+     * ensure there is enough room in the buffer.
+     */
+    private void _appendChar(char c) throws JacksonException
+    {
+        if (c < 0x80) {
+            _outputBytes[_outputTail++] = (byte) c;
+        } else {
+            _appendMultiByte(c, -1);
+        }
+    }
+
+    /**
+     * Method for appending UTF-8 encoding of given non-ASCII character;
+     * caller must ensure there is enough room in the buffer.
+     *
+     * @param c Character to encode
+     * @param next Character following {@code c}, if any ({@code -1} if none):
+     *    needed if {@code c} is the first part of a surrogate pair; if none,
+     *    first part is retained to be combined with the next character written
+     *
+     * @return True if {@code next} was consumed as the second part of a surrogate pair
+     */
+    private boolean _appendMultiByte(int c, int next) throws JacksonException
+    {
+        if ((c >= SURR1_FIRST) && (c <= SURR2_LAST)) {
+            if ((next < 0) && (c <= SURR1_LAST)) {
+                _surrogate = c;
+                return false;
+            }
+            _appendCodePoint(_decodeSurrogate(c, next));
+            return true;
+        }
+        _appendCodePoint(c);
+        return false;
+    }
+
+    /**
+     * Method for combining pending first part of a surrogate pair with the
+     * given character; caller must ensure there is enough room in the buffer.
+     */
+    private void _appendSurrogatePair(int second) throws JacksonException
+    {
+        final int first = _surrogate;
+        _surrogate = 0;
+        _appendCodePoint(_decodeSurrogate(first, second));
+    }
+
+    private void _appendCodePoint(int c)
+    {
+        final byte[] buf = _outputBytes;
+        int ptr = _outputTail;
+        if (c < 0x800) {
+            buf[ptr++] = (byte) (0xC0 | (c >> 6));
+        } else {
+            if (c >= 0x10000) {
+                buf[ptr++] = (byte) (0xF0 | (c >> 18));
+                buf[ptr++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+            } else {
+                buf[ptr++] = (byte) (0xE0 | (c >> 12));
+            }
+            buf[ptr++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        }
+        buf[ptr++] = (byte) (0x80 | (c & 0x3F));
+        _outputTail = ptr;
+    }
+
+    /**
+     * Method called if pre-encoded content is to be written while first part
+     * of a surrogate pair is pending: fails the same way {@link UTF8Writer}
+     * would, given the first character of that content.
+     */
+    private void _reportBrokenSurrogate(byte[] bytes) throws JacksonException
+    {
+        if (bytes.length > 0) {
+            _decodeSurrogate(_surrogate, new String(bytes, StandardCharsets.UTF_8).charAt(0));
+        }
+    }
+
+    private int _decodeSurrogate(int first, int second) throws JacksonException
+    {
+        String msg;
+        if (first > SURR1_LAST) {
+            msg = "Unmatched second part of surrogate pair (0x"+Integer.toHexString(first)+")";
+        } else if (second < 0) {
+            msg = "Unmatched first part of surrogate pair (0x"+Integer.toHexString(first)+")";
+        } else if ((second < SURR2_FIRST) || (second > SURR2_LAST)) {
+            msg = "Broken surrogate pair: first char 0x"+Integer.toHexString(first)
+                +", second 0x"+Integer.toHexString(second)+"; illegal combination";
+        } else {
+            return 0x10000 + ((first - SURR1_FIRST) << 10) + (second - SURR2_FIRST);
+        }
+        throw _wrapIOFailure(new IOException(msg));
+    }
+
+    /**
+     * Method called to append escape sequence for given character; caller
+     * must ensure there is enough room in the buffer.
+     */
+    private void _appendCharacterEscape(char ch, int escCode) throws JacksonException
+    {
+        if (escCode >= 0) { // \\N (2 char)
+            _appendChar(_cfgControlCharEscapeChar);
+            _outputBytes[_outputTail++] = (byte) escCode;
+            return;
+        }
+        int ptr = _outputTail;
+        final byte[] buf = _outputBytes;
+        buf[ptr++] = '\\';
+        buf[ptr++] = 'u';
+        // We know it's a control char, so only the last 2 chars are non-0
+        if (ch > 0xFF) {
+            int hi = (ch >> 8) & 0xFF;
+            buf[ptr++] = HEX_BYTES[hi >> 4];
+            buf[ptr++] = HEX_BYTES[hi & 0xF];
+            ch &= 0xFF;
+        } else {
+            buf[ptr++] = '0';
+            buf[ptr++] = '0';
+        }
+        buf[ptr++] = HEX_BYTES[ch >> 4];
+        buf[ptr++] = HEX_BYTES[ch & 0xF];
+        _outputTail = ptr;
+    }
+}
@@ -0,0 +1,66 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.dataformat.csv.*;
+import tools.jackson.dataformat.csv.impl.CsvValueCanonicalizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for CsvReadFeature.CANONICALIZE_VALUES
+public class CanonicalizedValuesTest extends ModuleTestBase
+{
+    static class Row {
+        public String id;
+        public String country;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    @Test
+    public void testSharedInstances() throws Exception
+    {
+        final String CSV = "id,country\n1,FI\n2,\"FI\"\n3,SE\n4,F\\I\n";
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withEscapeChar('\\');
+        _verifyShared(MAPPER.readerFor(Row.class).with(schema)
+                .with(CsvReadFeature.CANONICALIZE_VALUES)
+                .<Row>readValues(CSV).readAll());
+        _verifyShared(MAPPER.readerFor(Row.class).with(schema)
+                .with(CsvReadFeature.CANONICALIZE_VALUES)
+                .with(CsvReadFeature.USE_UTF8_BYTE_DECODER)
+                .<Row>readValues(utf8(CSV)).readAll());
+    }
+
+    @Test
+    public void testCardinalityLimit() throws Exception
+    {
+        CsvValueCanonicalizer canonicalizer = new CsvValueCanonicalizer(3);
+        char[] buf = "abcd".toCharArray();
+        String a = canonicalizer.canonicalize(buf, 0, 1);
+        assertSame(a, canonicalizer.canonicalize(buf, 0, 1));
+        assertSame(a, canonicalizer.canonicalize("a"));
+        canonicalizer.canonicalize(buf, 1, 1);
+        canonicalizer.canonicalize("c");
+        assertEquals(3, canonicalizer.size());
+        assertTrue(canonicalizer.isEnabled());
+        // one more distinct value, and cache is dropped
+        assertEquals("d", canonicalizer.canonicalize(buf, 3, 1));
+        assertFalse(canonicalizer.isEnabled());
+        assertEquals("a", canonicalizer.canonicalize(buf, 0, 1));
+        assertNotSame(a, canonicalizer.canonicalize(buf, 0, 1));
+    }
+
+    private void _verifyShared(List<Row> rows)
+    {
+        assertEquals(4, rows.size());
+        assertEquals("FI", rows.get(0).country);
+        assertSame(rows.get(0).country, rows.get(1).country);
+        assertEquals("SE", rows.get(2).country);
+        // escaped value is decoded separately, but still canonicalized
+        assertSame(rows.get(0).country, rows.get(3).country);
+        assertEquals("4", rows.get(3).id);
+    }
+}
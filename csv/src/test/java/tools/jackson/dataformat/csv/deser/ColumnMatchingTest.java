@@ -0,0 +1,88 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for binding by column index (column names matched once per schema)
+public class ColumnMatchingTest extends ModuleTestBase
+{
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Wide {
+        public int a;
+        public String b;
+        public boolean c;
+        public double d;
+        public String e;
+    }
+
+    static class WithAny {
+        public String id;
+
+        protected Map<String, Object> extra = new LinkedHashMap<>();
+
+        @JsonAnySetter
+        public void set(String name, Object value) {
+            extra.put(name, value);
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    @Test
+    public void testBindingWithHeader() throws Exception
+    {
+        final String CSV = "e,unknown,a,b,c,d\n"
+                +"x,?,1,foo,true,0.5\n"
+                +"y,?,2,bar,false,1.25\n"
+                +"z,?,3\n";
+        List<Wide> result = MAPPER.readerFor(Wide.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .<Wide>readValues(CSV)
+                .readAll();
+        assertEquals(3, result.size());
+        assertEquals(1, result.get(0).a);
+        assertEquals("foo", result.get(0).b);
+        assertTrue(result.get(0).c);
+        assertEquals(0.5, result.get(0).d);
+        assertEquals("x", result.get(0).e);
+        assertEquals(2, result.get(1).a);
+        assertEquals("bar", result.get(1).b);
+        assertFalse(result.get(1).c);
+        assertEquals(1.25, result.get(1).d);
+        assertEquals("y", result.get(1).e);
+        assertEquals(3, result.get(2).a);
+        assertNull(result.get(2).b);
+        assertEquals("z", result.get(2).e);
+    }
+
+    @Test
+    public void testBindingWithAnyProperty() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("x")
+                .setAnyPropertyName("more")
+                .build();
+        List<WithAny> result = MAPPER.readerFor(WithAny.class)
+                .with(schema)
+                .<WithAny>readValues("1,a,b\n2,c\n")
+                .readAll();
+        assertEquals(2, result.size());
+        assertEquals("1", result.get(0).id);
+        assertEquals("a", result.get(0).extra.get("x"));
+        assertEquals("b", result.get(0).extra.get("more"));
+        assertEquals("2", result.get(1).id);
+        assertEquals("c", result.get(1).extra.get("x"));
+        assertEquals(1, result.get(1).extra.size());
+    }
+}
@@ -0,0 +1,114 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for skipping columns not included in column projection
+public class ColumnProjectionTest extends ModuleTestBase
+{
+    static class Pojo {
+        public int id;
+        public String name;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String CSV = "note,id,extra,name,last\n"
+            +"\"long\nquoted, \"\"note\"\"\",1,x,Bob,\"caf\u00E9\"\n"
+            +"n2,2,\"\",\"Jill\",\n";
+
+    @Test
+    public void testProjectionWithHeader() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withColumnProjection("id", "name");
+        _verifyPojos(MAPPER.readerFor(Pojo.class).with(schema)
+                .readValues(CSV));
+        _verifyPojos(MAPPER.readerFor(Pojo.class).with(schema)
+                .with(CsvReadFeature.USE_UTF8_BYTE_DECODER)
+                .readValues(utf8(CSV)));
+    }
+
+    @Test
+    public void testSkippedColumnsNotExposed() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addColumn("c")
+                .setColumnProjection(List.of("b"))
+                .build();
+        try (JsonParser p = MAPPER.reader(schema).createParser("1,2,3\n\"x\ny\",\"z\"\"\",w")) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertEquals("b", p.currentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("2", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertEquals("b", p.currentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("z\"", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    @Test
+    public void testMissingColumnsWithProjection() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addColumn("c")
+                .addColumn("d")
+                .build()
+                .withColumnProjection("a", "d");
+        MappingIterator<Map<String, String>> it = MAPPER.readerForMapOf(String.class)
+                .with(schema)
+                .with(CsvReadFeature.INSERT_NULLS_FOR_MISSING_COLUMNS)
+                .readValues("1,2\n");
+        Map<String, String> row = it.nextValue();
+        assertEquals(2, row.size());
+        assertEquals("1", row.get("a"));
+        assertTrue(row.containsKey("d"));
+        assertNull(row.get("d"));
+        assertFalse(it.hasNextValue());
+    }
+
+    @Test
+    public void testWithoutProjection() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withColumnProjection("a");
+        assertTrue(schema.hasColumnProjection());
+        assertTrue(schema.isProjectedColumn("a"));
+        assertFalse(schema.isProjectedColumn("b"));
+        // projection retained by other mutant factories, and builder
+        assertTrue(schema.withHeader().withColumnSeparator(';').hasColumnProjection());
+        assertTrue(schema.rebuild().build().hasColumnProjection());
+
+        schema = schema.withoutColumnProjection();
+        assertFalse(schema.hasColumnProjection());
+        assertTrue(schema.isProjectedColumn("b"));
+    }
+
+    private void _verifyPojos(MappingIterator<Pojo> it) throws Exception
+    {
+        List<Pojo> result = it.readAll();
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).id);
+        assertEquals("Bob", result.get(0).name);
+        assertEquals(2, result.get(1).id);
+        assertEquals("Jill", result.get(1).name);
+    }
+}
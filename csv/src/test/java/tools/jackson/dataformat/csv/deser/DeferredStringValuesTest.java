@@ -0,0 +1,121 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for CsvReadFeature.DEFER_STRING_VALUES
+public class DeferredStringValuesTest extends ModuleTestBase
+{
+    static class Pojo {
+        public String id;
+        public String name;
+        public List<String> tags;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String CSV = "abc,\"quoted\" ,\"x\"\"y\",\\n,\"caf\u00E9\",  \n"
+            +"\"long\nvalue\",,\"\"\n";
+
+    @Test
+    public void testCharactersWithoutSchema() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withEscapeChar('\\');
+        _verifyValues(MAPPER.reader(schema)
+                .with(CsvReadFeature.DEFER_STRING_VALUES)
+                .createParser(CSV));
+        _verifyValues(MAPPER.reader(schema)
+                .with(CsvReadFeature.DEFER_STRING_VALUES)
+                .with(CsvReadFeature.USE_UTF8_BYTE_DECODER)
+                .createParser(utf8(CSV)));
+    }
+
+    @Test
+    public void testNullValues() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addColumn("c")
+                .setNullValue("N")
+                .build();
+        try (JsonParser p = MAPPER.reader(schema)
+                .with(CsvReadFeature.DEFER_STRING_VALUES)
+                .with(CsvReadFeature.EMPTY_UNQUOTED_STRING_AS_NULL)
+                .createParser("N,,\"\"\n")) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("a", p.nextName());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertEquals("b", p.nextName());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertEquals("c", p.nextName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    @Test
+    public void testDatabindWithArrayColumn() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("name")
+                .addArrayColumn("tags", ";")
+                .build();
+        List<Pojo> result = MAPPER.readerFor(Pojo.class).with(schema)
+                .with(CsvReadFeature.DEFER_STRING_VALUES)
+                .<Pojo>readValues("1,Bob,a;b\n2,\"Jill\",\n")
+                .readAll();
+        assertEquals(2, result.size());
+        assertEquals("1", result.get(0).id);
+        assertEquals("Bob", result.get(0).name);
+        assertEquals(List.of("a", "b"), result.get(0).tags);
+        assertEquals("2", result.get(1).id);
+        assertEquals("Jill", result.get(1).name);
+        assertEquals(List.of(), result.get(1).tags);
+    }
+
+    private void _verifyValues(JsonParser p) throws Exception
+    {
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        // plain value, should be accessible as characters without constructing String
+        assertTrue(p.hasStringCharacters());
+        assertEquals("abc", new String(p.getStringCharacters(), p.getStringOffset(),
+                p.getStringLength()));
+        assertEquals("abc", p.getString());
+        _verifyValue(p, "quoted");
+        _verifyValue(p, "x\"y");
+        _verifyValue(p, "\n");
+        _verifyValue(p, "caf\u00E9");
+        _verifyValue(p, "  ");
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        _verifyValue(p, "long\nvalue");
+        _verifyValue(p, "");
+        assertEquals("", p.nextStringValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private void _verifyValue(JsonParser p, String exp) throws Exception
+    {
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(exp, new String(p.getStringCharacters(), p.getStringOffset(),
+                p.getStringLength()));
+        assertEquals(exp, p.getString());
+        // and accessing String must not change character access
+        assertEquals(exp, new String(p.getStringCharacters(), p.getStringOffset(),
+                p.getStringLength()));
+    }
+}
@@ -0,0 +1,84 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for reuse of schemas built from header lines, across parsers
+public class HeaderCacheTest extends ModuleTestBase
+{
+    static class Point {
+        public int x, y;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    @Test
+    public void testSameHeaderSharesSchema() throws Exception
+    {
+        CsvSchema s1 = _headerSchema("x,y\n1,2\n", CsvSchema.emptySchema().withHeader());
+        // separately constructed, but equal, base schema
+        CsvSchema s2 = _headerSchema("x,y\n3,4\n", CsvSchema.emptySchema().withHeader());
+        assertSame(s1, s2);
+        assertEquals(Arrays.asList("x", "y"), s1.getColumnNames());
+
+        // but different header, or base schema settings, do not
+        CsvSchema s3 = _headerSchema("y,x\n3,4\n", CsvSchema.emptySchema().withHeader());
+        assertNotSame(s1, s3);
+        assertEquals(Arrays.asList("y", "x"), s3.getColumnNames());
+        CsvSchema s4 = _headerSchema("x;y\n3;4\n", CsvSchema.emptySchema().withHeader()
+                .withColumnSeparator(';'));
+        assertNotSame(s1, s4);
+        assertEquals(';', s4.getColumnSeparator());
+    }
+
+    @Test
+    public void testReorderedColumns() throws Exception
+    {
+        final CsvSchema base = CsvSchema.builder()
+                .addColumn("x", CsvSchema.ColumnType.NUMBER)
+                .addColumn("y", CsvSchema.ColumnType.NUMBER)
+                .setUseHeader(true)
+                .setReorderColumns(true)
+                .build();
+        CsvSchema s1 = _headerSchema("y,x\n1,2\n", base);
+        assertSame(s1, _headerSchema("y,x\n3,4\n", base));
+        assertEquals(CsvSchema.ColumnType.NUMBER, s1.column("y").getType());
+
+        // different base schema with columns: not shared
+        final CsvSchema base2 = base.rebuild().build();
+        assertNotSame(s1, _headerSchema("y,x\n3,4\n", base2));
+    }
+
+    @Test
+    public void testDataBinding() throws Exception
+    {
+        for (int i = 0; i < 3; ++i) {
+            try (MappingIterator<Point> it = MAPPER.readerFor(Point.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues("y,x\n"+i+",7\n8,"+i+"\n")) {
+                List<Point> points = it.readAll();
+                assertEquals(2, points.size());
+                assertEquals(7, points.get(0).x);
+                assertEquals(i, points.get(0).y);
+                assertEquals(i, points.get(1).x);
+                assertEquals(8, points.get(1).y);
+            }
+        }
+    }
+
+    private CsvSchema _headerSchema(String csv, CsvSchema base) throws Exception
+    {
+        try (JsonParser p = MAPPER.reader(base).createParser(csv)) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            return ((CsvParser) p).getSchema();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.dataformat.csv.*;
+import tools.jackson.dataformat.csv.impl.MappedFileInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for reading memory-mapped files
+public class MappedFileReadTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperBuilder()
+            .enable(CsvReadFeature.WRAP_AS_ARRAY)
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReadValuesMapped() throws Exception
+    {
+        final String CSV = "a,b\n\"x\ny\",caf\u00E9\n1,2\n";
+        Path file = _writeFile(CSV);
+        try (MappingIterator<List<String>> it = MAPPER.readValuesMapped(
+                MAPPER.readerFor(List.class).with(CsvSchema.emptySchema()), file)) {
+            List<List<String>> rows = it.readAll();
+            assertEquals(3, rows.size());
+            assertEquals(List.of("a", "b"), rows.get(0));
+            assertEquals(List.of("x\ny", "caf\u00E9"), rows.get(1));
+            assertEquals(List.of("1", "2"), rows.get(2));
+            // parser constructed for the file, not some stream
+            assertEquals(file, it.currentLocation().contentReference().getRawContent());
+        }
+    }
+
+    @Test
+    public void testReadValuesMappedWithSchema() throws Exception
+    {
+        // reader configuration (schema, features) must be used
+        Path file = _writeFile("a,b\n1,2\n3,4\n");
+        try (FileChannel ch = FileChannel.open(file)) {
+            try (MappingIterator<Map<String, String>> it = MAPPER.readValuesMapped(
+                    MAPPER.readerFor(Map.class)
+                        .with(CsvSchema.emptySchema().withHeader())
+                        .without(CsvReadFeature.WRAP_AS_ARRAY), ch)) {
+                List<Map<String, String>> rows = it.readAll();
+                assertEquals(2, rows.size());
+                assertEquals(Map.of("a", "1", "b", "2"), rows.get(0));
+                assertEquals(Map.of("a", "3", "b", "4"), rows.get(1));
+            }
+            // channel not closed by iterator
+            assertTrue(ch.isOpen());
+        }
+    }
+
+    @Test
+    public void testAvailable() throws Exception
+    {
+        Path file = _writeFile("abc,def\n");
+        try (FileChannel ch = FileChannel.open(file)) {
+            try (MappedFileInputStream in = new MappedFileInputStream(ch, 2L, 8L, false, 4L)) {
+                assertEquals(6, in.available());
+                assertEquals('c', in.read());
+                assertEquals(3, in.available());
+            }
+        }
+    }
+
+    @Test
+    public void testMappedParser() throws Exception
+    {
+        Path file = _writeFile("abc,def\n");
+        try (CsvParser p = MAPPER.tokenStreamFactory().createMappedParser(ObjectReadContext.empty(), file)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("abc", p.getString());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("def", p.getString());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    @Test
+    public void testSmallMappingWindows() throws Exception
+    {
+        // Content split across multiple mappings, to verify window handling
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; ++i) {
+            sb.append(i).append(",\"value\u20AC").append(i).append("\"\n");
+        }
+        Path file = _writeFile(sb.toString());
+        try (FileChannel ch = FileChannel.open(file)) {
+            try (MappingIterator<List<String>> it = MAPPER.readerFor(List.class)
+                    .with(CsvSchema.emptySchema())
+                    .readValues(new MappedFileInputStream(ch, 0L, ch.size(), false, 7L))) {
+                List<List<String>> rows = it.readAll();
+                assertEquals(500, rows.size());
+                assertEquals(List.of("499", "value\u20AC499"), rows.get(499));
+            }
+            // channel not closed by stream
+            assertTrue(ch.isOpen());
+        }
+    }
+
+    @Test
+    public void testSmallMappingWindowsWithByteDecoder() throws Exception
+    {
+        // Content decoded directly from mapped windows: multi-byte characters,
+        // quoted values and CR+LF split across windows must all work
+        final CsvMapper mapper = mapperBuilder()
+                .enable(CsvReadFeature.WRAP_AS_ARRAY, CsvReadFeature.USE_UTF8_BYTE_DECODER)
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 300; ++i) {
+            sb.append(i).append(",caf\u00E9 \u20AC").append(i)
+                .append(",\"quoted, \"\"x\"\"\r\n\uD83D\uDE00").append(i).append("\"\r\n");
+        }
+        final String CSV = sb.toString();
+        Path file = _writeFile(CSV);
+        List<List<String>> expected;
+        try (MappingIterator<List<String>> it = mapper.readerFor(List.class)
+                .with(CsvSchema.emptySchema())
+                .readValues(utf8(CSV))) {
+            expected = it.readAll();
+        }
+        assertEquals(300, expected.size());
+        assertEquals(List.of("299", "caf\u00E9 \u20AC299", "quoted, \"x\"\r\n\uD83D\uDE00299"),
+                expected.get(299));
+
+        for (long window : new long[] { 1L, 2L, 3L, 7L, 64L }) {
+            try (FileChannel ch = FileChannel.open(file)) {
+                try (MappingIterator<List<String>> it = mapper.readerFor(List.class)
+                        .with(CsvSchema.emptySchema())
+                        .readValues(new MappedFileInputStream(ch, 0L, ch.size(), false, window))) {
+                    assertEquals(expected, it.readAll(), "Window size "+window);
+                }
+            }
+        }
+        try (MappingIterator<List<String>> it = mapper.readValuesMapped(
+                mapper.readerFor(List.class).with(CsvSchema.emptySchema()), file)) {
+            assertEquals(expected, it.readAll());
+        }
+    }
+
+    private Path _writeFile(String content) throws Exception
+    {
+        Path file = Files.createTempFile(tempDir, "mapped", ".csv");
+        Files.write(file, utf8(content));
+        return file;
+    }
+}
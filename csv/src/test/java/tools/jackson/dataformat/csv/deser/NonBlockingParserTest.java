@@ -0,0 +1,253 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.StreamReadConstraints;
+import tools.jackson.core.exc.StreamConstraintsException;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for non-blocking (feed-based) parsing
+public class NonBlockingParserTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    @Test
+    public void testCanParseAsync() throws Exception
+    {
+        assertTrue(MAPPER.tokenStreamFactory().canParseAsync());
+    }
+
+    @Test
+    public void testNotAvailableUntilValueComplete() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .build();
+        try (NonBlockingCsvParser p = _parser(schema)) {
+            assertTrue(p.needMoreInput());
+            assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+            _feed(p, "1");
+            // value may continue, so nothing yet
+            assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+            _feed(p, ",\"multi");
+            assertFalse(p.needMoreInput());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertEquals("a", p.currentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("1", p.getString());
+            // still within quoted value
+            assertTrue(p.needMoreInput());
+            assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+            _feed(p, "\nline\"\r");
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("multi\nline", p.getString());
+            // CR may be followed by LF, so need one more byte
+            assertTrue(p.needMoreInput());
+            assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+            _feed(p, "\n3");
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            // second record not started until its first value is complete
+            assertTrue(p.needMoreInput());
+            assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+            _feed(p, ",4");
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("3", p.getString());
+            // last value not complete until end-of-input
+            assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+            p.endOfInput();
+            assertFalse(p.needMoreInput());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("4", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    @Test
+    public void testByteByByteWithHeader() throws Exception
+    {
+        final String CSV = "\uFEFFid,\"desc\"\r\n"
+                +"1,\"quoted, with \"\"quotes\"\"\r\nand linefeed\"\n"
+                +"\n"
+                +"2,caf\u00E9 \u20AC\r\n"
+                +"3,\n";
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        final String exp = _blockingTokens(schema, CSV.substring(1));
+        assertEquals(exp, _asyncTokens(schema, CSV, 1));
+        assertEquals(exp, _asyncTokens(schema, CSV, 3));
+        assertEquals(exp, _asyncTokens(schema, CSV, 1000));
+    }
+
+    @Test
+    public void testWithoutSchema() throws Exception
+    {
+        final String CSV = "a,b,c\n\"x\"\"\",y\r\n# not a comment\n1,2\r";
+        CsvSchema schema = CsvSchema.emptySchema();
+        final String exp = _blockingTokens(schema, CSV);
+        assertEquals(exp, _asyncTokens(schema, CSV, 1));
+        assertEquals(exp, _asyncTokens(schema, CSV, 7));
+    }
+
+    @Test
+    public void testWithColumnFeatures() throws Exception
+    {
+        // Typed columns, projection and extra columns need whole records in some cases
+        final String CSV = "id,name,score,extra\n"
+                +"1,\"a, b\",1.5,x\r\n"
+                +"# comment\n"
+                +"2,c,true\n"
+                +"3,\"d\"\"\",-0.25,y,z\n";
+        CsvSchema schema = CsvSchema.builder()
+                .addNumberColumn("id")
+                .addColumn("name")
+                .addColumn("score", CsvSchema.ColumnType.NUMBER_OR_STRING)
+                .build()
+                .withSkipFirstDataRow(true)
+                .withComments();
+        for (int chunk : new int[] { 1, 2, 5, 1000 }) {
+            final String exp = _blockingTokens(schema, CSV,
+                    CsvReadFeature.USE_COLUMN_TYPES, CsvReadFeature.IGNORE_TRAILING_UNMAPPABLE);
+            assertEquals(exp, _asyncTokens(schema, CSV, chunk,
+                    CsvReadFeature.USE_COLUMN_TYPES, CsvReadFeature.IGNORE_TRAILING_UNMAPPABLE));
+        }
+    }
+
+    @Test
+    public void testIncompleteValueLength() throws Exception
+    {
+        CsvMapper mapper = CsvMapper.builder(CsvFactory.builder()
+                .streamReadConstraints(StreamReadConstraints.builder().maxStringLength(100).build())
+                .build()).build();
+        try (NonBlockingCsvParser p = (NonBlockingCsvParser) mapper.reader(CsvSchema.emptySchema())
+                .createNonBlockingByteArrayParser()) {
+            // complete values do not count against limit, however much is buffered
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 50; ++i) {
+                sb.append("abcdefghij,");
+            }
+            _feed(p, sb.toString());
+            _feed(p, "\"" + "x".repeat(90));
+            try {
+                _feed(p, "x".repeat(20));
+                fail("Should not pass");
+            } catch (StreamConstraintsException e) {
+                verifyException(e, "String value length");
+            }
+        }
+    }
+
+    @Test
+    public void testByteBufferFeeding() throws Exception
+    {
+        try (NonBlockingCsvParser p = MAPPER.tokenStreamFactory()
+                .createNonBlockingByteBufferParser(ObjectReadContext.empty())) {
+            p.feedInput(ByteBuffer.wrap(utf8("abc,def\n")));
+            p.endOfInput();
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("abc", p.getString());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("def", p.getString());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    @Test
+    public void testFeedAfterEndOfInput() throws Exception
+    {
+        try (NonBlockingCsvParser p = _parser(CsvSchema.emptySchema())) {
+            p.endOfInput();
+            try {
+                _feed(p, "abc");
+                fail("Should not pass");
+            } catch (Exception e) {
+                verifyException(e, "Already closed");
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private NonBlockingCsvParser _parser(CsvSchema schema) {
+        return (NonBlockingCsvParser) MAPPER.reader(schema)
+                .with(CsvReadFeature.SKIP_EMPTY_LINES)
+                .createNonBlockingByteArrayParser();
+    }
+
+    private void _feed(NonBlockingCsvParser p, String content) {
+        byte[] b = utf8(content);
+        p.feedInput(b, 0, b.length);
+    }
+
+    private String _blockingTokens(CsvSchema schema, String content,
+            CsvReadFeature... features) throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        try (JsonParser p = MAPPER.reader(schema).with(CsvReadFeature.SKIP_EMPTY_LINES)
+                .withFeatures(features)
+                .createParser(content)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                _append(sb, p, t);
+            }
+        }
+        return sb.toString();
+    }
+
+    private String _asyncTokens(CsvSchema schema, String content, int chunkSize,
+            CsvReadFeature... features) throws Exception
+    {
+        final byte[] input = utf8(content);
+        StringBuilder sb = new StringBuilder();
+        try (NonBlockingCsvParser p = (NonBlockingCsvParser) MAPPER.reader(schema)
+                .with(CsvReadFeature.SKIP_EMPTY_LINES)
+                .withFeatures(features)
+                .createNonBlockingByteArrayParser()) {
+            int offset = 0;
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.NOT_AVAILABLE) {
+                    if (offset < input.length) {
+                        int end = Math.min(input.length, offset + chunkSize);
+                        p.feedInput(input, offset, end);
+                        offset = end;
+                    } else {
+                        p.endOfInput();
+                    }
+                    continue;
+                }
+                _append(sb, p, t);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void _append(StringBuilder sb, JsonParser p, JsonToken t)
+    {
+        sb.append(t);
+        if (t == JsonToken.PROPERTY_NAME) {
+            sb.append('=').append(p.currentName());
+        } else if (t.isScalarValue()) {
+            sb.append('=').append(p.getString());
+        }
+        sb.append('\n');
+    }
+}
@@ -0,0 +1,162 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for `CsvMapper.readValuesInParallel()`
+public class ParallelReadTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "note" })
+    static class Entry {
+        public int id;
+        public String name;
+        public String note;
+
+        @Override
+        public String toString() {
+            return id+"/"+name+"/"+note;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    @TempDir
+    Path tempDir;
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    @Test
+    public void testOrderedWithHeader() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        Path file = _writeFile(_generate(2000, true));
+        List<Entry> exp = _readSequentially(schema, file);
+        assertEquals(2000, exp.size());
+
+        try (FileChannel ch = FileChannel.open(file)) {
+            // use small chunks to get plenty of ranges, some starting next to quoted linefeeds
+            List<Entry> act;
+            try (Stream<Entry> stream = MAPPER.readValuesInParallel(MAPPER.readerFor(Entry.class),
+                    schema, ch, 500L, true)) {
+                act = stream.collect(Collectors.toList());
+            }
+            assertEquals(exp.toString(), act.toString());
+        }
+    }
+
+    @Test
+    public void testUnorderedWithoutHeader() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Entry.class);
+        Path file = _writeFile(_generate(1000, false));
+        List<Entry> exp = _readSequentially(schema, file);
+
+        try (FileChannel ch = FileChannel.open(file)) {
+            Set<String> act;
+            try (Stream<Entry> stream = MAPPER.readValuesInParallel(MAPPER.readerFor(Entry.class),
+                    schema, ch, 200L, false)) {
+                act = stream.map(Entry::toString).collect(Collectors.toSet());
+            }
+            assertEquals(exp.size(), act.size());
+            for (Entry e : exp) {
+                assertTrue(act.contains(e.toString()));
+            }
+        }
+    }
+
+    @Test
+    public void testHeaderReordering() throws Exception
+    {
+        // Header determines column order, which must be used for all ranges
+        StringBuilder sb = new StringBuilder("note,id,name\n");
+        for (int i = 0; i < 300; ++i) {
+            sb.append("n").append(i).append(',').append(i).append(",name").append(i).append('\n');
+        }
+        CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader().withColumnReordering(true);
+        try (FileChannel ch = FileChannel.open(_writeFile(sb.toString()))) {
+            try (Stream<Entry> stream = MAPPER.readValuesInParallel(MAPPER.readerFor(Entry.class),
+                    schema, ch, 100L, true)) {
+                List<Entry> result = stream.collect(Collectors.toList());
+                assertEquals(300, result.size());
+                assertEquals("299/name299/n299", result.get(299).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        try (Stream<Entry> stream = MAPPER.readValuesInParallel(Entry.class, schema,
+                _writeFile(""), true)) {
+            assertEquals(0L, stream.count());
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private String _generate(int rows, boolean header)
+    {
+        StringBuilder sb = new StringBuilder();
+        if (header) {
+            sb.append("id,name,note\r\n");
+        }
+        for (int i = 0; i < rows; ++i) {
+            sb.append(i).append(',');
+            sb.append("name").append(i).append(',');
+            switch (i % 4) {
+            case 0:
+                sb.append("plain");
+                break;
+            case 1: // quoted value with linefeeds, and with things that look like records
+                sb.append("\"multi\nline, \"\"quoted\"\"\n").append(i+1).append(",x,y\"");
+                break;
+            case 2:
+                sb.append("\"\"");
+                break;
+            default:
+                sb.append("caf\u00E9");
+            }
+            sb.append((i % 3 == 0) ? "\r\n" : "\n");
+        }
+        return sb.toString();
+    }
+
+    private Path _writeFile(String content) throws Exception
+    {
+        Path file = Files.createTempFile(tempDir, "parallel", ".csv");
+        Files.write(file, utf8(content));
+        return file;
+    }
+
+    private List<Entry> _readSequentially(CsvSchema schema, Path file) throws Exception
+    {
+        try (MappingIterator<Entry> it = MAPPER.readerFor(Entry.class)
+                .with(schema)
+                .readValues(file.toFile())) {
+            return it.readAll();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonParser.NumberType;
+import tools.jackson.core.JsonToken;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for reading with `CsvReadFeature.USE_COLUMN_TYPES` enabled
+public class TypedColumnValuesTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "x", "y", "z", "valid", "name" })
+    static class Point {
+        public int x;
+        public long y;
+        public double z;
+        public Boolean valid;
+        public String name;
+    }
+
+    private final CsvSchema SCHEMA = CsvSchema.builder()
+            .addNumberColumn("int")
+            .addNumberColumn("long")
+            .addNumberColumn("big")
+            .addNumberColumn("float")
+            .addColumn("mixed", CsvSchema.ColumnType.NUMBER_OR_STRING)
+            .addBooleanColumn("bool")
+            .addColumn("str")
+            .build();
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    @Test
+    public void testTypedTokens() throws Exception
+    {
+        _testTypedTokens(false);
+        _testTypedTokens(true);
+    }
+
+    private void _testTypedTokens(boolean byteDecoder) throws Exception
+    {
+        CsvMapper mapper = _mapper(byteDecoder);
+        final String CSV = "12,-9876543210,12345678901234567890, -2.5e3 ,abc,true,42\n"
+                +"\"7\",,null,0.25,,false,x\n";
+        try (JsonParser p = mapper.reader(SCHEMA).createParser(utf8(CSV))) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertEquals("int", p.currentName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(NumberType.INT, p.getNumberType());
+            assertEquals(12, p.getIntValue());
+            assertEquals("12", p.getString());
+
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(NumberType.LONG, p.getNumberType());
+            assertEquals(-9876543210L, p.getLongValue());
+
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(NumberType.BIG_INTEGER, p.getNumberType());
+            assertEquals(new BigInteger("12345678901234567890"), p.getBigIntegerValue());
+
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(-2500.0, p.getDoubleValue());
+            assertEquals("-2.5e3", p.getString());
+
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("abc", p.getString());
+
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+
+            // String columns are not affected
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("42", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(7, p.getIntValue());
+            // empty number is null
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(0.25, p.getDoubleValue());
+            // but empty number-or-String is empty String
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("", p.getString());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_FALSE, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("x", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception
+    {
+        try (JsonParser p = mapperForCsv().reader(SCHEMA).createParser("12,3")) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("12", p.getString());
+        }
+    }
+
+    @Test
+    public void testNullValue() throws Exception
+    {
+        try (JsonParser p = _mapper(false).reader(SCHEMA.withNullValue("-1"))
+                .createParser("-1,3")) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(3, p.getIntValue());
+        }
+    }
+
+    @Test
+    public void testTypedStringValuesTrimmed() throws Exception
+    {
+        // Unquoted values of typed columns are trimmed even without TRIM_SPACES
+        try (JsonParser p = _mapper(false).reader(SCHEMA)
+                .createParser("1,2,3,4,  abc ,\" true \", x \n")) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            for (int i = 0; i < 4; ++i) {
+                assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            }
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("abc", p.getString());
+            // but quoted ones are not
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(" true ", p.getString());
+            // nor values of String columns
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(" x ", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+    }
+
+    @Test
+    public void testSameClassificationForAllPaths() throws Exception
+    {
+        // Values parsed directly from input buffer (unquoted), and ones decoded
+        // the long way (quoted), by either decoder, must be classified the same
+        final CsvSchema schema = CsvSchema.builder()
+                .addColumn("value", CsvSchema.ColumnType.NUMBER_OR_STRING)
+                .build();
+        final String[] VALUES = { "1.", "+1", ".5", "-.5", "-0", "007", "1e5", "1.e-5", "+2.5E+3",
+                "1e", "1.2.3", "-", "+", ".", "e5", "0x1F", "1 2", "truex", "nul", "false" };
+        final JsonToken[] EXP = { JsonToken.VALUE_NUMBER_FLOAT, JsonToken.VALUE_NUMBER_INT,
+                JsonToken.VALUE_NUMBER_FLOAT, JsonToken.VALUE_NUMBER_FLOAT,
+                JsonToken.VALUE_NUMBER_INT, JsonToken.VALUE_NUMBER_INT,
+                JsonToken.VALUE_NUMBER_FLOAT, JsonToken.VALUE_NUMBER_FLOAT,
+                JsonToken.VALUE_NUMBER_FLOAT };
+        for (int i = 0; i < VALUES.length; ++i) {
+            final String value = VALUES[i];
+            final JsonToken exp = (i < EXP.length) ? EXP[i]
+                    : (value.equals("false") ? JsonToken.VALUE_FALSE : JsonToken.VALUE_STRING);
+            for (boolean byteDecoder : new boolean[] { false, true }) {
+                for (String doc : new String[] { value + "\n", "\"" + value + "\"\n" }) {
+                    try (JsonParser p = _mapper(byteDecoder).reader(schema).createParser(utf8(doc))) {
+                        assertToken(JsonToken.START_OBJECT, p.nextToken());
+                        assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+                        assertToken(exp, p.nextToken());
+                        assertEquals(value, p.getString());
+                        if (exp == JsonToken.VALUE_NUMBER_FLOAT) {
+                            assertEquals(Double.parseDouble(value), p.getDoubleValue());
+                        } else if (exp == JsonToken.VALUE_NUMBER_INT) {
+                            assertEquals(Integer.parseInt(value), p.getIntValue());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDatabinding() throws Exception
+    {
+        _testDatabinding(false);
+        _testDatabinding(true);
+    }
+
+    private void _testDatabinding(boolean byteDecoder) throws Exception
+    {
+        CsvMapper mapper = _mapper(byteDecoder);
+        CsvSchema schema = mapper.typedSchemaFor(Point.class).withHeader();
+        final String CSV = "x,y,z,valid,name\n"
+                +"1,-2,0.5,true,a\n";
+        Point p = mapper.readerFor(Point.class)
+                .with(schema)
+                .readValue(utf8(CSV));
+        assertEquals(1, p.x);
+        assertEquals(-2L, p.y);
+        assertEquals(0.5, p.z);
+        assertEquals(Boolean.TRUE, p.valid);
+        assertEquals("a", p.name);
+
+        // and untyped binding should see numbers, too
+        Map<?,?> map = mapper.readerFor(Map.class)
+                .with(schema)
+                .readValue(utf8(CSV));
+        assertEquals(Integer.valueOf(1), map.get("x"));
+        assertEquals(Double.valueOf(0.5), map.get("z"));
+        assertEquals(Boolean.TRUE, map.get("valid"));
+        assertEquals("a", map.get("name"));
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private CsvMapper _mapper(boolean byteDecoder)
+    {
+        CsvMapper.Builder b = mapperBuilder()
+                .enable(CsvReadFeature.USE_COLUMN_TYPES);
+        if (byteDecoder) {
+            b = b.enable(CsvReadFeature.USE_UTF8_BYTE_DECODER);
+        }
+        return b.build();
+    }
+}
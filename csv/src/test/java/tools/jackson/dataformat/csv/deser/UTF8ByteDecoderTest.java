@@ -0,0 +1,127 @@
+package tools.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for reading with `CsvReadFeature.USE_UTF8_BYTE_DECODER` enabled
+public class UTF8ByteDecoderTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperBuilder()
+            .enable(CsvReadFeature.USE_UTF8_BYTE_DECODER)
+            .enable(CsvReadFeature.WRAP_AS_ARRAY)
+            .build();
+
+    private final CsvMapper DEFAULT_MAPPER = mapperBuilder()
+            .enable(CsvReadFeature.WRAP_AS_ARRAY)
+            .build();
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    @Test
+    public void testMultiByteValues() throws Exception
+    {
+        // 2-, 3- and 4-byte UTF-8 characters, unquoted, quoted and escaped
+        final String CSV = "caf\u00E9,\"\u20AC 5,00\",\uD834\uDD1E\r\n"
+                +"\"a \"\"\u00E9\"\" b\",x\\\u20ACy,z\n"
+                +"\u00E9\u00E9\u00E9\n";
+        final CsvSchema schema = CsvSchema.emptySchema().withEscapeChar('\\');
+        List<List<String>> rows = _readRows(MAPPER, schema, CSV);
+        assertEquals(3, rows.size());
+        assertEquals(List.of("caf\u00E9", "\u20AC 5,00", "\uD834\uDD1E"), rows.get(0));
+        assertEquals(List.of("a \"\u00E9\" b", "x\u20ACy", "z"), rows.get(1));
+        assertEquals(List.of("\u00E9\u00E9\u00E9"), rows.get(2));
+
+        // and should match results of Reader-based decoding
+        assertEquals(_readRows(DEFAULT_MAPPER, schema, CSV), rows);
+    }
+
+    @Test
+    public void testLongValues() throws Exception
+    {
+        // Long enough to span multiple input buffers and text buffer segments
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; ++i) {
+            sb.append((char) ('a' + (i % 26)));
+            if ((i % 7) == 0) {
+                sb.append("\u00E9\u20AC\uD834\uDD1E");
+            }
+        }
+        final String value = sb.toString();
+        final String CSV = value+",\""+value+"\"\n"+value+"\n";
+        List<List<String>> rows = _readRows(MAPPER, CsvSchema.emptySchema(), CSV);
+        assertEquals(2, rows.size());
+        assertEquals(List.of(value, value), rows.get(0));
+        assertEquals(List.of(value), rows.get(1));
+    }
+
+    @Test
+    public void testCommentsAndEmptyLines() throws Exception
+    {
+        CsvMapper mapper = mapperBuilder()
+                .enable(CsvReadFeature.USE_UTF8_BYTE_DECODER)
+                .enable(CsvReadFeature.WRAP_AS_ARRAY)
+                .enable(CsvReadFeature.ALLOW_COMMENTS)
+                .enable(CsvReadFeature.SKIP_EMPTY_LINES)
+                .build();
+        final String CSV = "# comment \u00E9\u20AC\n\n\u00E9,b\n  \n# more\nc,\u20AC\n";
+        List<List<String>> rows = _readRows(mapper, CsvSchema.emptySchema(), CSV);
+        assertEquals(2, rows.size());
+        assertEquals(List.of("\u00E9", "b"), rows.get(0));
+        assertEquals(List.of("c", "\u20AC"), rows.get(1));
+    }
+
+    @Test
+    public void testBrokenUTF8() throws Exception
+    {
+        // Latin-1 bytes, read as UTF-8
+        final byte[] DOC = "1,2\nabc,\u00A0\n".getBytes("ISO-8859-1");
+        try (JsonParser p = MAPPER.reader(CsvSchema.emptySchema())
+                .createParser(DOC)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("abc", p.getString());
+            try {
+                p.nextToken();
+                fail("Should trigger exception for invalid UTF-8 char");
+            } catch (JacksonIOException e) {
+                verifyException(e, "Invalid UTF-8 start byte");
+                verifyException(e, "0xa0");
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private List<List<String>> _readRows(CsvMapper mapper, CsvSchema schema, String csv)
+        throws Exception
+    {
+        try (MappingIterator<List<String>> it = mapper.readerFor(List.class)
+                .with(schema)
+                .readValues(new ByteArrayInputStream(utf8(csv)))) {
+            return it.readAll();
+        }
+    }
+}
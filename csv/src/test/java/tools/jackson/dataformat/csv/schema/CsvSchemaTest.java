@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
+import tools.jackson.core.io.SerializedString;
 import tools.jackson.dataformat.csv.*;
 import tools.jackson.dataformat.csv.CsvSchema.Column;
 
@@ -162,6 +163,33 @@ public class CsvSchemaTest extends ModuleTestBase
         assertEquals("[]", schema.getColumnDesc());
     }
 
+    @Test
+    public void testColumnLookupByName() throws Exception
+    {
+        CsvSchema.Builder b = CsvSchema.builder();
+        for (int i = 0; i < 40; ++i) {
+            b.addColumn("column"+i);
+        }
+        CsvSchema schema = b.build();
+        for (int i = 0; i < 40; ++i) {
+            // use non-interned names to verify equality checks too
+            String name = new String("column"+i);
+            assertEquals(i, schema.column(name).getIndex());
+            assertEquals(i, schema.column(name, 0).getIndex());
+            assertEquals(i, schema.withColumnSeparator(';').column(name, i+1).getIndex());
+        }
+        assertNull(schema.column("column40"));
+        assertNull(schema.column("x", 3));
+        assertNull(CsvSchema.emptySchema().column("column0"));
+        assertNull(schema.column(null));
+        assertNull(schema.column((String) null, 0));
+        assertEquals(7, schema.column(new SerializedString("column7"), 0).getIndex());
+
+        // and last column wins with duplicate names
+        schema = CsvSchema.builder().addColumn("a").addColumn("b").addColumn("a").build();
+        assertEquals(2, schema.column("a").getIndex());
+    }
+
     private void _verifyLinks(CsvSchema schema)
     {
         List<Column> all = new ArrayList<Column>();
@@ -0,0 +1,103 @@
+package tools.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for writing CSV content to a WritableByteChannel
+public class ByteChannelWriteTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    static class Entry {
+        public int id;
+        public String name;
+
+        public Entry(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWriteValuesToFileChannel() throws Exception
+    {
+        final ObjectWriter w = MAPPER.writer(MAPPER.schemaFor(Entry.class).withHeader());
+        final List<Entry> entries = new ArrayList<>();
+        // enough content to fill all buffers multiple times
+        for (int i = 0; i < 50000; ++i) {
+            entries.add(new Entry(i, "name, \"quoted\" R\u00F6ck #"+i));
+        }
+        Path file = tempDir.resolve("test.csv");
+        try (FileChannel ch = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            try (SequenceWriter sw = MAPPER.writeValues(w, ch)) {
+                for (Entry entry : entries) {
+                    sw.write(entry);
+                }
+            }
+            // closed by default (AUTO_CLOSE_TARGET)
+            assertFalse(ch.isOpen());
+        }
+        assertEquals(w.writeValueAsString(entries),
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testGeneratorWithoutAutoClose() throws Exception
+    {
+        final CsvFactory f = CsvFactory.builder()
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel ch = Channels.newChannel(bytes);
+        try (CsvGenerator g = f.createGenerator(ObjectWriteContext.empty(), ch)) {
+            g.writeStartArray();
+            g.writeString("a");
+            g.writeNumber(1);
+            g.writeString("b,c");
+            g.writeEndArray();
+        }
+        // all content written out, but channel left open
+        assertTrue(ch.isOpen());
+        assertEquals("a,1,\"b,c\"\n", new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteValuesWithoutAutoClose() throws Exception
+    {
+        final ObjectWriter w = MAPPER.writer(MAPPER.schemaFor(Entry.class))
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel ch = Channels.newChannel(bytes);
+        try (SequenceWriter sw = MAPPER.writeValues(w, ch)) {
+            sw.write(new Entry(1, "a"));
+            sw.write(new Entry(2, "b"));
+        }
+        assertTrue(ch.isOpen());
+        assertEquals("1,a\n2,b\n", new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -76,4 +76,41 @@ public class CSVGeneratorQuotingTest extends ModuleTestBase
                 .writeValueAsString(value);
         assertEquals("\"12-3\",Foo-", csv);
     }
+
+    // Strict checks must be exact for long values too: quote (and escape)
+    // only when needed
+    @Test
+    public void testStrictQuotingOfLongValues() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(IdDesc.class);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; ++i) {
+            sb.append("abc def \u00E9 ");
+        }
+        final String plain = sb.toString();
+        final String comma = plain + ",";
+        final String quote = "\"" + plain;
+
+        String csv = MAPPER.writer(schema)
+                .with(CsvWriteFeature.STRICT_CHECK_FOR_QUOTING)
+                .writeValueAsString(new IdDesc(plain, comma));
+        assertEquals(plain + ",\"" + comma + "\"\n", csv);
+
+        csv = MAPPER.writer(schema)
+                .with(CsvWriteFeature.STRICT_CHECK_FOR_QUOTING)
+                .writeValueAsString(new IdDesc(quote, "x"));
+        assertEquals("\"\"" + quote + "\",x\n", csv);
+
+        csv = MAPPER.writer(schema.withEscapeChar('|'))
+                .with(CsvWriteFeature.STRICT_CHECK_FOR_QUOTING)
+                .writeValueAsString(new IdDesc(plain + "|", "x"));
+        assertEquals("\"" + plain + "||\",x\n", csv);
+
+        // and same with UTF-8 byte encoder
+        byte[] bytes = MAPPER.writer(schema)
+                .with(CsvWriteFeature.STRICT_CHECK_FOR_QUOTING)
+                .with(CsvWriteFeature.USE_UTF8_BYTE_ENCODER)
+                .writeValueAsBytes(new IdDesc(plain, comma));
+        assertEquals(plain + ",\"" + comma + "\"\n", new String(bytes, "UTF-8"));
+    }
 }
@@ -0,0 +1,95 @@
+package tools.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Tests for writing String values from char[] segments, without constructing Strings
+public class CharArrayWriteTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String[] VALUES = {
+            "plain", "with,comma", "quote \"here\"", "line\nfeed", "",
+            "#hash", "back\\slash", "R\u00F6ck \uD83D\uDE00"
+    };
+
+    @Test
+    public void testInOrder() throws Exception
+    {
+        CsvSchema.Builder builder = CsvSchema.builder();
+        for (int i = 0; i < VALUES.length; ++i) {
+            builder.addColumn("c"+i);
+        }
+        final CsvSchema schema = builder.build();
+        _verifySame(schema, false);
+        _verifySame(schema.withEscapeChar('\\'), false);
+        _verifySame(schema.withQuoteChar('\''), false);
+    }
+
+    @Test
+    public void testOutOfOrder() throws Exception
+    {
+        CsvSchema.Builder builder = CsvSchema.builder();
+        for (int i = VALUES.length; --i >= 0; ) {
+            builder.addColumn("c"+i);
+        }
+        final CsvSchema schema = builder.build();
+        _verifySame(schema, false);
+        _verifySame(schema.withEscapeChar('\\'), false);
+    }
+
+    @Test
+    public void testWithUTF8Encoder() throws Exception
+    {
+        CsvSchema.Builder builder = CsvSchema.builder();
+        for (int i = 0; i < VALUES.length; ++i) {
+            builder.addColumn("c"+i);
+        }
+        _verifySame(builder.build(), true);
+        _verifySame(builder.build().withEscapeChar('\\'), true);
+    }
+
+    private void _verifySame(CsvSchema schema, boolean useBytes) throws Exception
+    {
+        assertEquals(_write(schema, useBytes, false), _write(schema, useBytes, true));
+    }
+
+    private String _write(CsvSchema schema, boolean useBytes, boolean useChars) throws Exception
+    {
+        StringWriter sw = new StringWriter();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (CsvWriteFeature f : new CsvWriteFeature[] { null,
+                CsvWriteFeature.STRICT_CHECK_FOR_QUOTING, CsvWriteFeature.ALWAYS_QUOTE_STRINGS }) {
+            ObjectWriter w = MAPPER.writer(schema);
+            if (f != null) {
+                w = w.with(f);
+            }
+            if (useBytes) {
+                w = w.with(CsvWriteFeature.USE_UTF8_BYTE_ENCODER);
+            }
+            try (JsonGenerator g = useBytes ? w.createGenerator(bytes) : w.createGenerator(sw)) {
+                g.writeStartObject();
+                for (int i = 0; i < VALUES.length; ++i) {
+                    g.writeName("c"+i);
+                    if (useChars) {
+                        // value surrounded by other content, to verify offsets are honored
+                        char[] buf = ("\"\""+VALUES[i]+"\"").toCharArray();
+                        g.writeString(buf, 2, VALUES[i].length());
+                    } else {
+                        g.writeString(VALUES[i]);
+                    }
+                }
+                g.writeEndObject();
+            }
+        }
+        return useBytes ? bytes.toString("UTF-8") : sw.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package tools.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for `CsvMapper.writeValuesInParallel()`
+public class ParallelWriteTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "note" })
+    static class Entry {
+        public int id;
+        public String name;
+        public String note;
+
+        public Entry(int id, String name, String note) {
+            this.id = id;
+            this.name = name;
+            this.note = note;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    @Test
+    public void testWithHeader() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        final List<Entry> entries = _generate(2000);
+        final ObjectWriter w = MAPPER.writerFor(Entry.class);
+        final String exp = _writeSequentially(w, schema, entries);
+
+        for (int batchSize : new int[] { 1, 7, 100, 1999, 2000, 5000 }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            MAPPER.writeValuesInParallel(w, schema, bytes, entries.stream(), batchSize);
+            assertEquals(exp, bytes.toString("UTF-8"), "Batch size "+batchSize);
+        }
+        // and with default batch size
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MAPPER.writeValuesInParallel(w, schema, bytes, entries);
+        assertEquals(exp, bytes.toString("UTF-8"));
+    }
+
+    @Test
+    public void testWithoutTrailingLinefeed() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Entry.class);
+        final List<Entry> entries = _generate(300);
+        // Trailing linefeed can only be removed if not yet flushed, so
+        // need to disable flushing after each value for it to have effect
+        ObjectWriter w = MAPPER.writerFor(Entry.class)
+                .without(CsvWriteFeature.WRITE_LINEFEED_AFTER_LAST_ROW)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        String exp = _writeSequentially(w, schema, entries);
+        assertFalse(exp.endsWith("\n"));
+        _verifyParallel(w, schema, entries, exp);
+
+        // but with flushing (default) it is retained, for sequential and parallel
+        w = MAPPER.writerFor(Entry.class)
+                .without(CsvWriteFeature.WRITE_LINEFEED_AFTER_LAST_ROW);
+        exp = _writeSequentially(w, schema, entries);
+        assertTrue(exp.endsWith("\n"));
+        _verifyParallel(w, schema, entries, exp);
+    }
+
+    @Test
+    public void testEmpty() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        final ObjectWriter w = MAPPER.writerFor(Entry.class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MAPPER.writeValuesInParallel(w, schema, bytes, Collections.emptyList());
+        assertEquals(_writeSequentially(w, schema, Collections.emptyList()),
+                bytes.toString("UTF-8"));
+    }
+
+    @Test
+    public void testInvalidBatchSize() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Entry.class);
+        assertThrows(IllegalArgumentException.class,
+                () -> MAPPER.writeValuesInParallel(MAPPER.writer(), schema,
+                        new ByteArrayOutputStream(), _generate(3).spliterator(), 0));
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private void _verifyParallel(ObjectWriter w, CsvSchema schema, List<Entry> entries,
+            String exp) throws Exception
+    {
+        // last batch partial, full, or the only one
+        for (int batchSize : new int[] { 1, 16, 100, 299, 300, 301 }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            MAPPER.writeValuesInParallel(w, schema, bytes, entries.spliterator(), batchSize);
+            assertEquals(exp, bytes.toString("UTF-8"), "Batch size "+batchSize);
+        }
+    }
+
+    private List<Entry> _generate(int count)
+    {
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            entries.add(new Entry(i, "name #"+i,
+                    (i % 5 == 0) ? "multi\nline, \"quoted\"" : "n"+i));
+        }
+        return entries;
+    }
+
+    private String _writeSequentially(ObjectWriter w, CsvSchema schema, List<?> values)
+        throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SequenceWriter sw = w.with(schema).writeValues(bytes)) {
+            for (Object value : values) {
+                sw.write(value);
+            }
+        }
+        return bytes.toString("UTF-8");
+    }
+}
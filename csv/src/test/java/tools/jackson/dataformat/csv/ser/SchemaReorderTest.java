@@ -1,9 +1,12 @@
 package tools.jackson.dataformat.csv.ser;
 
+import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.dataformat.csv.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -40,4 +43,46 @@ public class SchemaReorderTest extends ModuleTestBase
 
 //        _verifyLinks(schema);
     }
+
+    // Values of all types, buffered over multiple rows
+    @Test
+    public void testOutOfOrderValuesOfAllTypes() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("str")
+                .addColumn("chars")
+                .addColumn("i")
+                .addColumn("l")
+                .addColumn("f")
+                .addColumn("d")
+                .addColumn("big")
+                .addColumn("bool")
+                .addColumn("nil")
+                .addColumn("last")
+                .build();
+        StringWriter sw = new StringWriter();
+        try (JsonGenerator g = MAPPER.writer(schema).createGenerator(sw)) {
+            for (int row = 0; row < 2; ++row) {
+                g.writeStartObject();
+                g.writeStringProperty("last", "x"+row);
+                g.writeNullProperty("nil");
+                g.writeBooleanProperty("bool", row == 0);
+                g.writeNumberProperty("big", new BigDecimal("1.50"));
+                g.writeNumberProperty("d", 0.25);
+                g.writeNumberProperty("f", 1.5f);
+                g.writeNumberProperty("l", Long.MAX_VALUE - row);
+                g.writeNumberProperty("i", -row);
+                g.writeName("chars");
+                char[] buf = ("..a,b"+row+"..").toCharArray();
+                g.writeString(buf, 2, 4);
+                if (row == 0) {
+                    g.writeStringProperty("str", "abc");
+                }
+                g.writeEndObject();
+            }
+        }
+        assertEquals("abc,\"a,b0\",0,"+Long.MAX_VALUE+",1.5,0.25,1.50,true,,x0\n"
+                +",\"a,b1\",-1,"+(Long.MAX_VALUE-1)+",1.5,0.25,1.50,false,,x1\n",
+                sw.toString());
+    }
 }
@@ -0,0 +1,188 @@
+package tools.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.csv.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for CsvWriteFeature.USE_UTF8_BYTE_ENCODER: output must be identical
+// to that of Writer-based encoding
+public class UTF8ByteEncoderTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "count", "total", "ratio", "amount", "active", "note" })
+    static class Row {
+        public int id;
+        public String name;
+        public long count;
+        public double total;
+        public float ratio;
+        public BigDecimal amount;
+        public Boolean active;
+        public String note;
+
+        protected Row() { }
+
+        public Row(int id, String name, long count, double total, float ratio,
+                BigDecimal amount, Boolean active, String note) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+            this.total = total;
+            this.ratio = ratio;
+            this.amount = amount;
+            this.active = active;
+            this.note = note;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static List<Row> ROWS = Arrays.asList(
+            new Row(1, "plain", 12L, 0.25, 1.5f, new BigDecimal("10.00"), true, "x"),
+            new Row(-7, "with,comma", Long.MIN_VALUE, -1e300, 0f, null, false, null),
+            new Row(Integer.MAX_VALUE, "quote \"here\"", 0L, 3.0, -2.5f,
+                    new BigDecimal("-1E+5"), null, "line\nfeed"),
+            new Row(3, "R\u00F6ck \u263A \uD83D\uDE00", 5L, 0.5, 0.5f, BigDecimal.ONE, true,
+                    "back\\slash \u00E9"),
+            new Row(4, "", 1L, 1.0, 1f, BigDecimal.ZERO, null, "#hash\ttab \u0001")
+    );
+
+    @Test
+    public void testDefaultSchema() throws Exception
+    {
+        _verifySame(MAPPER.schemaFor(Row.class).withHeader());
+    }
+
+    @Test
+    public void testCustomSchema() throws Exception
+    {
+        _verifySame(MAPPER.schemaFor(Row.class)
+                .withColumnSeparator(';')
+                .withQuoteChar('\'')
+                .withEscapeChar('\\')
+                .withLineSeparator("\r\n")
+                .withNullValue("\u2205"));
+        _verifySame(MAPPER.schemaFor(Row.class)
+                .withColumnSeparator('\u00A6')
+                .withoutQuoteChar()
+                .withNullValue("NULL"));
+    }
+
+    @Test
+    public void testFeatures() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Row.class).withEscapeChar('\\');
+        _verifySame(schema, CsvWriteFeature.ALWAYS_QUOTE_STRINGS,
+                CsvWriteFeature.ALWAYS_QUOTE_NUMBERS);
+        _verifySame(schema, CsvWriteFeature.STRICT_CHECK_FOR_QUOTING,
+                CsvWriteFeature.ESCAPE_CONTROL_CHARS_WITH_ESCAPE_CHAR,
+                CsvWriteFeature.ESCAPE_QUOTE_CHAR_WITH_ESCAPE_CHAR);
+        _verifySame(schema, CsvWriteFeature.OMIT_MISSING_TAIL_COLUMNS);
+        _verifySame(schema.withHeader());
+    }
+
+    @Test
+    public void testLongValues() throws Exception
+    {
+        // values that span (multiple) output buffer boundaries
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            sb.append("ab\u00E9\"\uD83D\uDE00,");
+        }
+        final String longValue = sb.toString();
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            // vary offsets, including ones that split a surrogate pair
+            rows.add(new Row(i, longValue.substring(i), i, i, i, null, null,
+                    (i % 3 == 0) ? longValue : "n"+i));
+        }
+        final CsvSchema schema = MAPPER.schemaFor(Row.class);
+        // verify rows one by one, as those with split pairs fail (on both paths)
+        int failed = 0;
+        for (Row row : rows) {
+            if (!_verifySame(schema, Arrays.asList(row))) {
+                ++failed;
+            }
+            _verifySame(schema.withEscapeChar('\\'), Arrays.asList(row));
+        }
+        assertTrue(failed > 0);
+        assertTrue(failed < rows.size());
+    }
+
+    @Test
+    public void testSurrogatePairSplitAcrossRawWrites() throws Exception
+    {
+        for (boolean useBytes : new boolean[] { false, true }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CsvFactory f = CsvFactory.builder()
+                    .configure(CsvWriteFeature.USE_UTF8_BYTE_ENCODER, useBytes)
+                    .build();
+            try (JsonGenerator g = f.createGenerator(ObjectWriteContext.empty(), bytes)) {
+                g.writeRaw("a\uD83D");
+                g.writeRaw(new char[] { '\uDE00', 'b' }, 0, 2);
+                g.writeRaw('\uD83D');
+                g.writeRaw("\uDE01c");
+            }
+            assertEquals("a\uD83D\uDE00b\uD83D\uDE01c", bytes.toString("UTF-8"));
+        }
+    }
+
+    @Test
+    public void testNoTrailingLineFeed() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Row.class).withLineSeparator("\u2028");
+        _verifySame(schema, CsvWriteFeature.ALWAYS_QUOTE_STRINGS);
+        ObjectWriter w = MAPPER.writer(schema)
+                .without(CsvWriteFeature.WRITE_LINEFEED_AFTER_LAST_ROW)
+                .with(CsvWriteFeature.USE_UTF8_BYTE_ENCODER);
+        String csv = new String(w.writeValueAsBytes(ROWS.get(0)), "UTF-8");
+        // with line separator above all "safe" characters, String values get quoted
+        assertEquals("1,\"plain\",12,0.25,1.5,10.00,true,\"x\"", csv);
+    }
+
+    private void _verifySame(CsvSchema schema, CsvWriteFeature... features) throws Exception
+    {
+        _verifySame(schema, ROWS, features);
+    }
+
+    /**
+     * @return True if rows could be written; false if both encoders failed
+     *    the same way
+     */
+    private boolean _verifySame(CsvSchema schema, List<Row> rows,
+            CsvWriteFeature... features) throws Exception
+    {
+        ObjectWriter w = MAPPER.writer(schema);
+        for (CsvWriteFeature f : features) {
+            w = w.with(f);
+        }
+        final ObjectWriter utf8W = w.with(CsvWriteFeature.USE_UTF8_BYTE_ENCODER);
+        final byte[] exp;
+        try {
+            exp = w.writeValueAsBytes(rows);
+        } catch (JacksonException e) {
+            JacksonException e2 = assertThrows(JacksonException.class,
+                    () -> utf8W.writeValueAsBytes(rows));
+            assertEquals(e.getClass(), e2.getClass());
+            assertEquals(e.getOriginalMessage(), e2.getOriginalMessage());
+            return false;
+        }
+        byte[] act = utf8W.writeValueAsBytes(rows);
+        assertEquals(new String(exp, "UTF-8"), new String(act, "UTF-8"));
+        assertArrayEquals(exp, act);
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package tools.jackson.dataformat.csv.ser;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.dataformat.csv.*;
+import tools.jackson.dataformat.csv.impl.CsvWritePlan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for per-schema write settings, CsvSchema.writePlan()
+public class WritePlanTest extends ModuleTestBase
+{
+    @Test
+    public void testPlanCaching() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addArrayColumn("b", "|")
+                .build();
+        final int defaults = CsvWriteFeature.collectDefaults();
+        CsvWritePlan plan = schema.writePlan(defaults);
+        assertSame(plan, schema.writePlan(defaults));
+        assertEquals(2, plan.size());
+        assertEquals(CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR, plan.arrayElementSeparator(0));
+        assertEquals("|", plan.arrayElementSeparator(1));
+        assertEquals(CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR, plan.arrayElementSeparator(2));
+        assertNull(plan.decorator(0));
+
+        // different features, different plan
+        final int strict = defaults | CsvWriteFeature.STRICT_CHECK_FOR_QUOTING.getMask();
+        CsvWritePlan strictPlan = schema.writePlan(strict);
+        assertNotSame(plan, strictPlan);
+        assertEquals(CsvWritePlan.QUOTING_STRICT, strictPlan.quoting(0));
+        assertEquals(CsvWritePlan.QUOTING_STRICT, strictPlan.quoting(5));
+    }
+
+    @Test
+    public void testQuotingStrategies() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .build();
+        final int defaults = CsvWriteFeature.collectDefaults();
+        assertEquals(CsvWritePlan.QUOTING_LOOSE, schema.writePlan(defaults).quoting(0));
+        assertEquals(CsvWritePlan.QUOTING_NONE,
+                schema.withoutQuoteChar().writePlan(defaults).quoting(1));
+        assertEquals(CsvWritePlan.QUOTING_ALWAYS,
+                schema.writePlan(defaults | CsvWriteFeature.ALWAYS_QUOTE_STRINGS.getMask()).quoting(1));
+
+        CsvWritePlan plan = schema.withComments()
+                .writePlan(defaults | CsvWriteFeature.STRICT_CHECK_FOR_QUOTING.getMask());
+        assertEquals(CsvWritePlan.QUOTING_STRICT_WITH_COMMENTS, plan.quoting(0));
+        assertEquals(CsvWritePlan.QUOTING_STRICT, plan.quoting(1));
+    }
+}
@@ -9,6 +9,7 @@ module tools.jackson.dataformat.yaml
 
     exports tools.jackson.dataformat.yaml;
     exports tools.jackson.dataformat.yaml.util;
+    // exports tools.jackson.dataformat.yaml.impl;
 
     provides tools.jackson.core.TokenStreamFactory with
         tools.jackson.dataformat.yaml.YAMLFactory;
@@ -0,0 +1,1140 @@
+package tools.jackson.dataformat.yaml;
+
+import java.io.*;
+import java.util.Arrays;
+
+import org.snakeyaml.engine.v2.common.Anchor;
+import org.snakeyaml.engine.v2.common.ScalarStyle;
+
+import tools.jackson.core.*;
+import tools.jackson.core.io.IOContext;
+
+import tools.jackson.dataformat.yaml.util.StringQuotingChecker;
+
+/**
+ * {@link YAMLGenerator} variant that writes block-style YAML directly into
+ * a recycled output buffer (a {@code byte[]} with UTF-8 encoded content
+ * when writing to an {@link OutputStream}, {@code char[]} when writing to
+ * a {@link Writer}), without constructing SnakeYAML-engine {@code Event}s
+ * for every token and passing them through its {@code Emitter}.
+ *<p>
+ * Output is the same as that produced by SnakeYAML-engine with settings
+ * {@link YAMLGenerator} uses by default: layout rules (indentation, simple
+ * and complex keys, empty collections written as {@code []} and
+ * {@code {}}) and scalar style selection and formatting (including line
+ * splitting) follow those of {@code Emitter}.
+ * Only configurations that do not need other features are supported:
+ * {@link YAMLFactory} uses this generator only if no custom
+ * {@code DumpSettings} or YAML version to write are configured, and
+ * none of {@link YAMLWriteFeature#CANONICAL_OUTPUT},
+ * {@link YAMLWriteFeature#INDENT_ARRAYS} or
+ * {@link YAMLWriteFeature#INDENT_ARRAYS_WITH_INDICATOR} is enabled.
+ * Note that since no SnakeYAML-engine {@code DumpSettings} are used,
+ * {@link #_outputOptions} is {@code null} for instances of this class.
+ *<p>
+ * Enabled using {@link YAMLWriteFeature#USE_NATIVE_EMITTER}.
+ *
+ * @since 3.0
+ */
+public class NativeYAMLGenerator extends YAMLGenerator
+{
+    private final static int BEST_INDENT = 2;
+    private final static int BEST_WIDTH = 80;
+
+    private final static int DEFAULT_MAX_SIMPLE_KEY_LENGTH = 128;
+    private final static int LONG_MAX_SIMPLE_KEY_LENGTH = 1024;
+
+    private final static String TAG_PREFIX_DEFAULT = "tag:yaml.org,2002:";
+
+    // Things expected next within open block collections
+    private final static int STATE_SEQUENCE_ITEM = 0;
+    private final static int STATE_MAPPING_KEY = 1;
+    private final static int STATE_MAPPING_SIMPLE_VALUE = 2;
+    private final static int STATE_MAPPING_VALUE = 3;
+
+    // Types of collections
+    private final static int COLLECTION_NONE = 0;
+    private final static int COLLECTION_SEQUENCE = 1;
+    private final static int COLLECTION_MAPPING = 2;
+
+    // Results of scalar analysis
+    private final static int SCALAR_MULTILINE = 0x01;
+    private final static int SCALAR_ALLOW_PLAIN = 0x02;
+    private final static int SCALAR_ALLOW_SINGLE_QUOTED = 0x04;
+    private final static int SCALAR_ALLOW_BLOCK = 0x08;
+
+    private final static char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Stream to write UTF-8 encoded content to, if constructed for
+     * an {@link OutputStream}; {@code null} if writing to {@link #_writer}
+     */
+    protected OutputStream _outputStream;
+
+    protected final boolean _cfgSplitLines;
+
+    protected final boolean _cfgExplicitDocStart;
+
+    protected final int _maxSimpleKeyLength;
+
+    /*
+    /**********************************************************************
+    /* Output buffering
+    /**********************************************************************
+     */
+
+    /**
+     * Output buffer used when writing to {@link #_writer}
+     */
+    protected char[] _outputBuffer;
+
+    /**
+     * Output buffer used when writing to {@link #_outputStream}
+     */
+    protected byte[] _outputBytes;
+
+    /**
+     * Pointer to the next available location in output buffer
+     */
+    protected int _outputTail;
+
+    /**
+     * Offset to index after the last valid index in output buffer.
+     */
+    protected final int _outputEnd;
+
+    /*
+    /**********************************************************************
+    /* Emitter state
+    /**********************************************************************
+     */
+
+    // Indentation of the current level; -1 for none (at root)
+    private int _indent = -1;
+
+    private int[] _indents = new int[16];
+
+    private int _indentDepth;
+
+    // What is expected next in each of open block collections
+    private int[] _states = new int[16];
+
+    private int _stateDepth;
+
+    // Collection started, but not yet known whether it is empty
+    // (and written using flow style) or not
+    private int _pendingCollection = COLLECTION_NONE;
+
+    private boolean _pendingDocStart;
+
+    private boolean _firstDocument = true;
+
+    private int _column;
+
+    private boolean _whitespace = true;
+
+    private boolean _indention = true;
+
+    private boolean _mappingContext;
+
+    private boolean _simpleKeyContext;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NativeYAMLGenerator(ObjectWriteContext writeContext, IOContext ioCtxt,
+            int streamWriteFeatures, int yamlFeatures,
+            StringQuotingChecker quotingChecker, Writer out)
+    {
+        super(writeContext, ioCtxt, streamWriteFeatures, yamlFeatures,
+                quotingChecker, out, null);
+        _outputBuffer = ioCtxt.allocConcatBuffer();
+        _outputEnd = _outputBuffer.length;
+        _cfgSplitLines = YAMLWriteFeature.SPLIT_LINES.enabledIn(yamlFeatures);
+        _cfgExplicitDocStart = YAMLWriteFeature.WRITE_DOC_START_MARKER.enabledIn(yamlFeatures);
+        _maxSimpleKeyLength = YAMLWriteFeature.ALLOW_LONG_KEYS.enabledIn(yamlFeatures)
+                ? LONG_MAX_SIMPLE_KEY_LENGTH : DEFAULT_MAX_SIMPLE_KEY_LENGTH;
+        _emitStartDocument();
+    }
+
+    public NativeYAMLGenerator(ObjectWriteContext writeContext, IOContext ioCtxt,
+            int streamWriteFeatures, int yamlFeatures,
+            StringQuotingChecker quotingChecker, OutputStream out)
+    {
+        super(writeContext, ioCtxt, streamWriteFeatures, yamlFeatures,
+                quotingChecker, null, null);
+        _outputStream = out;
+        _outputBytes = ioCtxt.allocWriteEncodingBuffer();
+        _outputEnd = _outputBytes.length;
+        _cfgSplitLines = YAMLWriteFeature.SPLIT_LINES.enabledIn(yamlFeatures);
+        _cfgExplicitDocStart = YAMLWriteFeature.WRITE_DOC_START_MARKER.enabledIn(yamlFeatures);
+        _maxSimpleKeyLength = YAMLWriteFeature.ALLOW_LONG_KEYS.enabledIn(yamlFeatures)
+                ? LONG_MAX_SIMPLE_KEY_LENGTH : DEFAULT_MAX_SIMPLE_KEY_LENGTH;
+        _emitStartDocument();
+    }
+
+    /*
+    /**********************************************************************
+    /* Overridden methods, configuration
+    /**********************************************************************
+     */
+
+    @Override
+    public Object streamWriteOutputTarget() {
+        return (_outputStream == null) ? _writer : _outputStream;
+    }
+
+    @Override
+    public int streamWriteOutputBuffered() {
+        return _outputTail;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API: low-level I/O
+    /**********************************************************************
+     */
+
+    @Override
+    public void flush()
+    {
+        _flushBuffer();
+        if (isEnabled(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)) {
+            try {
+                if (_outputStream != null) {
+                    _outputStream.flush();
+                } else if (_writer != null) {
+                    _writer.flush();
+                }
+            } catch (IOException e) {
+                throw _wrapIOFailure(e);
+            }
+        }
+    }
+
+    @Override
+    protected void _closeInput() throws IOException
+    {
+        if (_outputStream == null) {
+            super._closeInput();
+            return;
+        }
+        if (_ioContext.isResourceManaged() || isEnabled(StreamWriteFeature.AUTO_CLOSE_TARGET)) {
+            _outputStream.close();
+        } else if (isEnabled(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)) {
+            _outputStream.flush();
+        }
+    }
+
+    @Override
+    protected void _releaseBuffers()
+    {
+        char[] buf = _outputBuffer;
+        if (buf != null) {
+            _outputBuffer = null;
+            _ioContext.releaseConcatBuffer(buf);
+        }
+        byte[] bytes = _outputBytes;
+        if (bytes != null) {
+            _outputBytes = null;
+            _ioContext.releaseWriteEncodingBuffer(bytes);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API: structural output
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonGenerator writeStartArray() throws JacksonException
+    {
+        _verifyValueWrite("start an array");
+        _streamWriteContext = _streamWriteContext.createChildArrayContext(null);
+        _streamWriteConstraints.validateNestingDepth(_streamWriteContext.getNestingDepth());
+        _emitCollectionStart(COLLECTION_SEQUENCE, _nextAnchor(), _typeId);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndArray() throws JacksonException
+    {
+        if (!_streamWriteContext.inArray()) {
+            _reportError("Current context not Array but "+_streamWriteContext.typeDesc());
+        }
+        // just to make sure we don't "leak" type ids
+        _typeId = null;
+        _streamWriteContext = _streamWriteContext.getParent();
+        _emitCollectionEnd(COLLECTION_SEQUENCE);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() throws JacksonException
+    {
+        _verifyValueWrite("start an object");
+        _streamWriteContext = _streamWriteContext.createChildObjectContext(null);
+        _streamWriteConstraints.validateNestingDepth(_streamWriteContext.getNestingDepth());
+        _emitCollectionStart(COLLECTION_MAPPING, _nextAnchor(), _typeId);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEndObject() throws JacksonException
+    {
+        if (!_streamWriteContext.inObject()) {
+            _reportError("Current context not Object but "+_streamWriteContext.typeDesc());
+        }
+        // just to make sure we don't "leak" type ids
+        _typeId = null;
+        _streamWriteContext = _streamWriteContext.getParent();
+        _emitCollectionEnd(COLLECTION_MAPPING);
+        return this;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, write methods, Native Ids
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonGenerator writeObjectRef(Object id)
+        throws JacksonException
+    {
+        _verifyValueWrite("write Object reference");
+        _emitAlias(new Anchor(String.valueOf(id)).getValue());
+        return this;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, overrides
+    /**********************************************************************
+     */
+
+    @Override
+    protected void _writeScalar(String value, String type, ScalarStyle style) throws JacksonException
+    {
+        String yamlTag = _typeId;
+        if (yamlTag != null) {
+            _typeId = null;
+        }
+        // Type id is not written for scalars (see YAMLGenerator._scalarEvent()),
+        // but it does count towards length of simple keys
+        _emitScalar(value, style, _nextAnchor(), yamlTag, true);
+    }
+
+    @Override
+    protected void _writeScalarBinary(Base64Variant b64variant,
+            byte[] data) throws JacksonException
+    {
+        if (b64variant == Base64Variants.getDefaultVariant()) {
+            b64variant = Base64Variants.MIME;
+        }
+        String encoded = b64variant.encode(data, false, _lf());
+        _emitScalar(encoded, ScalarStyle.LITERAL, null, TAG_BINARY, false);
+    }
+
+    @Override
+    protected String _lf() {
+        return "\n";
+    }
+
+    @Override
+    protected void _emitStartDocument() throws JacksonException {
+        _pendingDocStart = true;
+    }
+
+    @Override
+    protected void _emitEndDocument() throws JacksonException
+    {
+        _emitDocumentEnd();
+        // As with SnakeYAML-engine, flush at the end of each document
+        _flushBuffer();
+        try {
+            if (_outputStream != null) {
+                _outputStream.flush();
+            } else if (_writer != null) {
+                _writer.flush();
+            }
+        } catch (IOException e) {
+            throw _wrapIOFailure(e);
+        }
+    }
+
+    @Override
+    protected void _emitEndStream() throws JacksonException {
+        _flushBuffer();
+    }
+
+    private String _nextAnchor()
+    {
+        String id = _objectId;
+        if (id == null) {
+            return null;
+        }
+        _objectId = null;
+        // for validation
+        return new Anchor(id).getValue();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, emitting
+    /**********************************************************************
+     */
+
+    private void _emitScalar(String value, ScalarStyle style, String anchor, String tag,
+            boolean implicit) throws JacksonException
+    {
+        _startPendingCollection();
+        final int analysis = _analyzeScalar(value);
+        final boolean empty = value.isEmpty();
+        boolean simpleKey = true;
+        if (_currentState() == STATE_MAPPING_KEY) {
+            int length = value.length();
+            if (anchor != null) {
+                length += anchor.length();
+            }
+            if (tag != null) {
+                length += _prepareTag(tag).length();
+            }
+            simpleKey = (length < _maxSimpleKeyLength)
+                    && !empty && (analysis & SCALAR_MULTILINE) == 0;
+        }
+        _beforeNode(simpleKey, empty && (anchor == null) && (tag == null));
+        if (anchor != null) {
+            _writeIndicator("&" + anchor, true, false, false);
+        }
+        style = _chooseScalarStyle(style, analysis, empty, implicit);
+        if (!implicit) {
+            _writeIndicator(_prepareTag(tag), true, false, false);
+        }
+        _increaseIndent(true, false);
+        final boolean split = !_simpleKeyContext && _cfgSplitLines;
+        switch (style) {
+        case DOUBLE_QUOTED:
+            _writeDoubleQuoted(value, split);
+            break;
+        case SINGLE_QUOTED:
+            _writeSingleQuoted(value, split);
+            break;
+        case LITERAL:
+            _writeLiteral(value);
+            break;
+        default:
+            _writePlain(value, split);
+        }
+        _indent = _indents[--_indentDepth];
+    }
+
+    private void _emitAlias(String anchor) throws JacksonException
+    {
+        _startPendingCollection();
+        _beforeNode(true, false);
+        _writeIndicator("*" + anchor, true, false, false);
+    }
+
+    private void _emitCollectionStart(int type, String anchor, String tag) throws JacksonException
+    {
+        _startPendingCollection();
+        _beforeNode(true, false);
+        if (anchor != null) {
+            _writeIndicator("&" + anchor, true, false, false);
+        }
+        if (tag != null) {
+            _writeIndicator(_prepareTag(tag), true, false, false);
+        }
+        // Cannot yet decide between block and flow (empty) style
+        _pendingCollection = type;
+    }
+
+    private void _emitCollectionEnd(int type) throws JacksonException
+    {
+        if (_pendingCollection == type) {
+            _pendingCollection = COLLECTION_NONE;
+            if (type == COLLECTION_SEQUENCE) {
+                _writeIndicator("[", true, true, false);
+                _writeIndicator("]", false, false, false);
+            } else {
+                _writeIndicator("{", true, true, false);
+                _writeIndicator("}", false, false, false);
+            }
+            return;
+        }
+        _indent = _indents[--_indentDepth];
+        --_stateDepth;
+    }
+
+    private void _emitDocumentEnd() throws JacksonException
+    {
+        // Nothing written for the document? Nothing to output either
+        if (_pendingDocStart) {
+            return;
+        }
+        _writeIndent();
+    }
+
+    private void _startPendingCollection()
+    {
+        switch (_pendingCollection) {
+        case COLLECTION_SEQUENCE:
+            _increaseIndent(false, _mappingContext && !_indention);
+            _pushState(STATE_SEQUENCE_ITEM);
+            break;
+        case COLLECTION_MAPPING:
+            _increaseIndent(false, false);
+            _pushState(STATE_MAPPING_KEY);
+            break;
+        default:
+            return;
+        }
+        _pendingCollection = COLLECTION_NONE;
+    }
+
+    /**
+     * Method called before writing a node (scalar, alias or collection) to
+     * write document start marker or indicators needed within enclosing
+     * block collection, and update state accordingly.
+     *
+     * @param simpleKey Whether node can be written as a simple (implicit)
+     *    key, if it is a mapping key
+     * @param emptyScalar Whether node is an empty scalar without anchor and
+     *    tag (which requires explicit document start marker at root level)
+     */
+    private void _beforeNode(boolean simpleKey, boolean emptyScalar) throws JacksonException
+    {
+        _mappingContext = false;
+        _simpleKeyContext = false;
+        if (_stateDepth == 0) {
+            if (_pendingDocStart) {
+                _pendingDocStart = false;
+                if (!_firstDocument || _cfgExplicitDocStart || emptyScalar) {
+                    _writeIndent();
+                    _writeIndicator("---", true, false, false);
+                }
+                _firstDocument = false;
+            }
+            return;
+        }
+        final int ix = _stateDepth - 1;
+        switch (_states[ix]) {
+        case STATE_SEQUENCE_ITEM:
+            _writeIndent();
+            _writeIndicator("-", true, false, true);
+            break;
+        case STATE_MAPPING_KEY:
+            _writeIndent();
+            _mappingContext = true;
+            if (simpleKey) {
+                _simpleKeyContext = true;
+                _states[ix] = STATE_MAPPING_SIMPLE_VALUE;
+            } else {
+                _writeIndicator("?", true, false, true);
+                _states[ix] = STATE_MAPPING_VALUE;
+            }
+            break;
+        case STATE_MAPPING_SIMPLE_VALUE:
+            _writeIndicator(":", false, false, false);
+            _mappingContext = true;
+            _states[ix] = STATE_MAPPING_KEY;
+            break;
+        default: // STATE_MAPPING_VALUE
+            _writeIndent();
+            _writeIndicator(":", true, false, true);
+            _mappingContext = true;
+            _states[ix] = STATE_MAPPING_KEY;
+        }
+    }
+
+    private int _currentState() {
+        return (_stateDepth == 0) ? -1 : _states[_stateDepth-1];
+    }
+
+    private void _pushState(int state)
+    {
+        if (_stateDepth == _states.length) {
+            _states = Arrays.copyOf(_states, _stateDepth << 1);
+        }
+        _states[_stateDepth++] = state;
+    }
+
+    private void _increaseIndent(boolean flow, boolean indentless)
+    {
+        if (_indentDepth == _indents.length) {
+            _indents = Arrays.copyOf(_indents, _indentDepth << 1);
+        }
+        _indents[_indentDepth++] = _indent;
+        if (_indent < 0) {
+            _indent = flow ? BEST_INDENT : 0;
+        } else if (!indentless) {
+            _indent += BEST_INDENT;
+        }
+    }
+
+    private String _prepareTag(String tag) throws JacksonException
+    {
+        if (tag.isEmpty()) {
+            _reportError("Cannot write an empty YAML tag");
+        }
+        if ("!".equals(tag)) {
+            return tag;
+        }
+        if (tag.startsWith(TAG_PREFIX_DEFAULT) && tag.length() > TAG_PREFIX_DEFAULT.length()) {
+            return "!!" + tag.substring(TAG_PREFIX_DEFAULT.length());
+        }
+        if (tag.charAt(0) == '!') {
+            return tag;
+        }
+        return "!<" + tag + ">";
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, scalar analysis
+    /**********************************************************************
+     */
+
+    /**
+     * Method for determining which styles can be used for given scalar
+     * value (in block context), using same rules as SnakeYAML-engine.
+     *
+     * @return Bit flags; combination of {@code SCALAR_xxx} constants
+     */
+    private static int _analyzeScalar(String scalar)
+    {
+        final int len = scalar.length();
+        if (len == 0) {
+            return SCALAR_ALLOW_PLAIN | SCALAR_ALLOW_SINGLE_QUOTED;
+        }
+        boolean blockIndicators = scalar.startsWith("---") || scalar.startsWith("...");
+        boolean lineBreaks = false;
+        boolean specialCharacters = false;
+        boolean leadingSpace = false;
+        boolean leadingBreak = false;
+        boolean trailingSpace = false;
+        boolean trailingBreak = false;
+        boolean breakSpace = false;
+        boolean spaceBreak = false;
+
+        boolean precededByWhitespace = true;
+        boolean followedByWhitespace = (len == 1) || _isBlankOrBreak(scalar.codePointAt(1));
+        boolean previousSpace = false;
+        boolean previousBreak = false;
+
+        int index = 0;
+        while (index < len) {
+            final int c = scalar.codePointAt(index);
+            if (index == 0) {
+                switch (c) {
+                case '#': case ',': case '[': case ']': case '{': case '}':
+                case '&': case '*': case '!': case '|': case '>': case '\'':
+                case '"': case '%': case '@': case '`':
+                    blockIndicators = true;
+                    break;
+                case '?': case ':': case '-':
+                    if (followedByWhitespace) {
+                        blockIndicators = true;
+                    }
+                    break;
+                }
+            } else if ((c == ':' && followedByWhitespace) || (c == '#' && precededByWhitespace)) {
+                blockIndicators = true;
+            }
+            final boolean isLineBreak = (c == '\n');
+            if (isLineBreak) {
+                lineBreaks = true;
+            } else if (c < 0x20 || c > 0x7E) {
+                if (!(c == 0x85 || (c >= 0xA0 && c <= 0xD7FF)
+                        || (c >= 0xE000 && c <= 0xFFFD) || (c >= 0x10000 && c <= 0x10FFFF))) {
+                    specialCharacters = true;
+                }
+            }
+            if (c == ' ') {
+                if (index == 0) {
+                    leadingSpace = true;
+                }
+                if (index == len - 1) {
+                    trailingSpace = true;
+                }
+                if (previousBreak) {
+                    breakSpace = true;
+                }
+                previousSpace = true;
+                previousBreak = false;
+            } else if (isLineBreak) {
+                if (index == 0) {
+                    leadingBreak = true;
+                }
+                if (index == len - 1) {
+                    trailingBreak = true;
+                }
+                if (previousSpace) {
+                    spaceBreak = true;
+                }
+                previousSpace = false;
+                previousBreak = true;
+            } else {
+                previousSpace = false;
+                previousBreak = false;
+            }
+
+            index += Character.charCount(c);
+            precededByWhitespace = (c == 0) || (c == ' ') || (c == '\t') || isLineBreak;
+            followedByWhitespace = true;
+            if (index + 1 < len) {
+                int nextIndex = index + Character.charCount(scalar.codePointAt(index));
+                if (nextIndex < len) {
+                    int next = scalar.codePointAt(nextIndex);
+                    followedByWhitespace = (next == 0) || (next == ' ') || (next == '\t')
+                            || isLineBreak;
+                }
+            }
+        }
+
+        boolean allowPlain = true;
+        boolean allowSingleQuoted = true;
+        boolean allowBlock = true;
+        if (leadingSpace || leadingBreak || trailingSpace || trailingBreak) {
+            allowPlain = false;
+        }
+        if (trailingSpace) {
+            allowBlock = false;
+        }
+        if (breakSpace) {
+            allowPlain = allowSingleQuoted = false;
+        }
+        if (spaceBreak || specialCharacters) {
+            allowPlain = allowSingleQuoted = allowBlock = false;
+        }
+        if (blockIndicators) {
+            allowPlain = false;
+        }
+        int flags = 0;
+        if (lineBreaks) {
+            flags |= SCALAR_MULTILINE;
+        }
+        if (allowPlain) {
+            flags |= SCALAR_ALLOW_PLAIN;
+        }
+        if (allowSingleQuoted) {
+            flags |= SCALAR_ALLOW_SINGLE_QUOTED;
+        }
+        if (allowBlock) {
+            flags |= SCALAR_ALLOW_BLOCK;
+        }
+        return flags;
+    }
+
+    private static boolean _isBlankOrBreak(int c) {
+        return (c == 0) || (c == ' ') || (c == '\t') || (c == '\r') || (c == '\n');
+    }
+
+    private ScalarStyle _chooseScalarStyle(ScalarStyle style, int analysis, boolean empty,
+            boolean implicit)
+    {
+        if (style == ScalarStyle.DOUBLE_QUOTED) {
+            return style;
+        }
+        final boolean multiline = (analysis & SCALAR_MULTILINE) != 0;
+        final boolean plain = (style == ScalarStyle.PLAIN);
+        if (plain && implicit
+                && !(_simpleKeyContext && (empty || multiline))
+                && (analysis & SCALAR_ALLOW_PLAIN) != 0) {
+            return style;
+        }
+        if (style == ScalarStyle.LITERAL
+                && !_simpleKeyContext && (analysis & SCALAR_ALLOW_BLOCK) != 0) {
+            return style;
+        }
+        if ((plain || style == ScalarStyle.SINGLE_QUOTED)
+                && (analysis & SCALAR_ALLOW_SINGLE_QUOTED) != 0
+                && !(_simpleKeyContext && multiline)) {
+            return ScalarStyle.SINGLE_QUOTED;
+        }
+        return ScalarStyle.DOUBLE_QUOTED;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, writing scalars
+    /**********************************************************************
+     */
+
+    private void _writeDoubleQuoted(String text, boolean split) throws JacksonException
+    {
+        _writeIndicator("\"", true, false, false);
+        final int len = text.length();
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            final int ch = (end < len) ? text.charAt(end) : -1;
+            if (ch < 0x20 || ch > 0x7E || ch == '"' || ch == '\\') {
+                if (start < end) {
+                    _column += end - start;
+                    _writeRaw(text, start, end - start);
+                }
+                if (ch >= 0) {
+                    final char esc = _escapeFor(ch);
+                    if (esc != 0) {
+                        _writeAscii('\\');
+                        _writeAscii(esc);
+                        _column += 2;
+                    } else {
+                        int codePoint = ch;
+                        if (Character.isHighSurrogate((char) ch) && (end + 1 < len)
+                                && Character.isLowSurrogate(text.charAt(end + 1))) {
+                            codePoint = Character.toCodePoint((char) ch, text.charAt(end + 1));
+                        }
+                        final int count = Character.charCount(codePoint);
+                        if (_isPrintable(codePoint)) {
+                            _writeRaw(text, end, count);
+                            _column += count;
+                        } else if (ch <= 0xFF) {
+                            _writeHexEscape('x', ch, 2);
+                        } else if (count == 2) {
+                            _writeHexEscape('U', codePoint, 8);
+                        } else {
+                            _writeHexEscape('u', ch, 4);
+                        }
+                        end += count - 1;
+                    }
+                    start = end + 1;
+                }
+            }
+            if ((0 < end && end < len - 1) && (ch == ' ' || start >= end)
+                    && (_column + (end - start)) > BEST_WIDTH && split) {
+                if (start < end) {
+                    _column += end - start;
+                    _writeRaw(text, start, end - start);
+                    start = end;
+                }
+                _writeAscii('\\');
+                ++_column;
+                _writeIndent();
+                _whitespace = false;
+                _indention = false;
+                if (text.charAt(start) == ' ') {
+                    _writeAscii('\\');
+                    ++_column;
+                }
+            }
+        }
+        _writeIndicator("\"", false, false, false);
+    }
+
+    private static char _escapeFor(int ch)
+    {
+        switch (ch) {
+        case 0: return '0';
+        case 0x07: return 'a';
+        case 0x08: return 'b';
+        case 0x09: return 't';
+        case 0x0A: return 'n';
+        case 0x0B: return 'v';
+        case 0x0C: return 'f';
+        case 0x0D: return 'r';
+        case 0x1B: return 'e';
+        case '"': return '"';
+        case '\\': return '\\';
+        case 0x85: return 'N';
+        case 0xA0: return '_';
+        }
+        return 0;
+    }
+
+    private static boolean _isPrintable(int c) {
+        return (c >= 0x20 && c <= 0x7E) || c == 0x9 || c == 0xA || c == 0xD || c == 0x85
+                || (c >= 0xA0 && c <= 0xD7FF) || (c >= 0xE000 && c <= 0xFFFD)
+                || (c >= 0x10000 && c <= 0x10FFFF);
+    }
+
+    private void _writeHexEscape(char type, int value, int digits) throws JacksonException
+    {
+        _writeAscii('\\');
+        _writeAscii(type);
+        for (int shift = (digits - 1) << 2; shift >= 0; shift -= 4) {
+            _writeAscii(HEX_CHARS[(value >> shift) & 0xF]);
+        }
+        _column += digits + 2;
+    }
+
+    private void _writeSingleQuoted(String text, boolean split) throws JacksonException
+    {
+        _writeIndicator("'", true, false, false);
+        final int len = text.length();
+        boolean spaces = false;
+        boolean breaks = false;
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            final char ch = (end < len) ? text.charAt(end) : 0;
+            if (spaces) {
+                if (ch != ' ') {
+                    if (start + 1 == end && _column > BEST_WIDTH && split
+                            && start != 0 && end != len) {
+                        _writeIndent();
+                    } else {
+                        _column += end - start;
+                        _writeRaw(text, start, end - start);
+                    }
+                    start = end;
+                }
+            } else if (breaks) {
+                if (ch != '\n') {
+                    _writeLineBreaks(end - start + 1);
+                    _writeIndent();
+                    start = end;
+                }
+            } else if (ch == 0 || ch == ' ' || ch == '\'' || ch == '\n') {
+                if (start < end) {
+                    _column += end - start;
+                    _writeRaw(text, start, end - start);
+                    start = end;
+                }
+            }
+            if (ch == '\'') {
+                _column += 2;
+                _writeAscii('\'');
+                _writeAscii('\'');
+                start = end + 1;
+            }
+            if (ch != 0) {
+                spaces = (ch == ' ');
+                breaks = (ch == '\n');
+            }
+        }
+        _writeIndicator("'", false, false, false);
+    }
+
+    private void _writeLiteral(String text) throws JacksonException
+    {
+        // Block hints: explicit indentation if needed, and chomping indicator
+        final int len = text.length();
+        String hints = "|";
+        final char first = text.charAt(0);
+        if (first == ' ' || first == '\n') {
+            hints += BEST_INDENT;
+        }
+        if (text.charAt(len - 1) != '\n') {
+            hints += "-";
+        } else if (len == 1 || text.charAt(len - 2) == '\n') {
+            hints += "+";
+        }
+        _writeIndicator(hints, true, false, false);
+        _writeLineBreak();
+        boolean breaks = true;
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            final char ch = (end < len) ? text.charAt(end) : 0;
+            if (breaks) {
+                if (ch != '\n') {
+                    _writeLineBreaks(end - start);
+                    if (ch != 0) {
+                        _writeIndent();
+                    }
+                    start = end;
+                }
+            } else if (ch == 0 || ch == '\n') {
+                _writeRaw(text, start, end - start);
+                if (ch == 0) {
+                    _writeLineBreak();
+                }
+                start = end;
+            }
+            if (ch != 0) {
+                breaks = (ch == '\n');
+            }
+        }
+    }
+
+    private void _writePlain(String text, boolean split) throws JacksonException
+    {
+        final int len = text.length();
+        if (len == 0) {
+            return;
+        }
+        if (!_whitespace) {
+            ++_column;
+            _writeAscii(' ');
+        }
+        _whitespace = false;
+        _indention = false;
+        boolean spaces = false;
+        boolean breaks = false;
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            final char ch = (end < len) ? text.charAt(end) : 0;
+            if (spaces) {
+                if (ch != ' ') {
+                    if (start + 1 == end && _column > BEST_WIDTH && split) {
+                        _writeIndent();
+                        _whitespace = false;
+                        _indention = false;
+                    } else {
+                        _column += end - start;
+                        _writeRaw(text, start, end - start);
+                    }
+                    start = end;
+                }
+            } else if (breaks) {
+                if (ch != '\n') {
+                    _writeLineBreaks(end - start + 1);
+                    _writeIndent();
+                    _whitespace = false;
+                    _indention = false;
+                    start = end;
+                }
+            } else if (ch == 0 || ch == ' ' || ch == '\n') {
+                _column += end - start;
+                _writeRaw(text, start, end - start);
+                start = end;
+            }
+            if (ch != 0) {
+                spaces = (ch == ' ');
+                breaks = (ch == '\n');
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, layout
+    /**********************************************************************
+     */
+
+    private void _writeIndicator(String indicator, boolean needWhitespace,
+            boolean whitespace, boolean indentation) throws JacksonException
+    {
+        if (needWhitespace && !_whitespace) {
+            _writeAscii(' ');
+            ++_column;
+        }
+        _writeRaw(indicator, 0, indicator.length());
+        _column += indicator.length();
+        _whitespace = whitespace;
+        _indention = _indention && indentation;
+    }
+
+    private void _writeIndent() throws JacksonException
+    {
+        final int indent = Math.max(_indent, 0);
+        if (!_indention || _column > indent || (_column == indent && !_whitespace)) {
+            _writeLineBreak();
+        }
+        if (indent > _column) {
+            _whitespace = true;
+            for (int i = _column; i < indent; ++i) {
+                _writeAscii(' ');
+            }
+            _column = indent;
+        }
+    }
+
+    private void _writeLineBreak() throws JacksonException
+    {
+        _whitespace = true;
+        _indention = true;
+        _column = 0;
+        _writeAscii('\n');
+    }
+
+    private void _writeLineBreaks(int count) throws JacksonException
+    {
+        for (int i = 0; i < count; ++i) {
+            _writeLineBreak();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, low-level output
+    /**********************************************************************
+     */
+
+    private void _writeAscii(char c) throws JacksonException
+    {
+        if (_outputTail >= _outputEnd) {
+            _flushBuffer();
+        }
+        if (_outputBytes != null) {
+            _outputBytes[_outputTail++] = (byte) c;
+        } else {
+            _outputBuffer[_outputTail++] = c;
+        }
+    }
+
+    private void _writeRaw(String text, int offset, int len) throws JacksonException
+    {
+        if (_outputBytes == null) {
+            while (len > 0) {
+                if (_outputTail >= _outputEnd) {
+                    _flushBuffer();
+                }
+                final int count = Math.min(len, _outputEnd - _outputTail);
+                text.getChars(offset, offset + count, _outputBuffer, _outputTail);
+                _outputTail += count;
+                offset += count;
+                len -= count;
+            }
+            return;
+        }
+        final byte[] buf = _outputBytes;
+        final int end = offset + len;
+        while (offset < end) {
+            // need room for up to 4 bytes per character
+            if (_outputTail + 4 > _outputEnd) {
+                _flushBuffer();
+            }
+            int c = text.charAt(offset++);
+            if (c < 0x80) {
+                buf[_outputTail++] = (byte) c;
+                continue;
+            }
+            if (c < 0x800) {
+                buf[_outputTail++] = (byte) (0xc0 | (c >> 6));
+            } else {
+                if (Character.isSurrogate((char) c)) {
+                    // Only well-formed pairs are written as-is (others are escaped),
+                    // except within type and object ids
+                    if (!Character.isHighSurrogate((char) c) || (offset >= end)
+                            || !Character.isLowSurrogate(text.charAt(offset))) {
+                        _reportError(String.format("Invalid surrogate character (code 0x%04X) in output", c));
+                    }
+                    c = Character.toCodePoint((char) c, text.charAt(offset++));
+                    buf[_outputTail++] = (byte) (0xf0 | (c >> 18));
+                    buf[_outputTail++] = (byte) (0x80 | ((c >> 12) & 0x3f));
+                } else {
+                    buf[_outputTail++] = (byte) (0xe0 | (c >> 12));
+                }
+                buf[_outputTail++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            }
+            buf[_outputTail++] = (byte) (0x80 | (c & 0x3f));
+        }
+    }
+
+    protected void _flushBuffer() throws JacksonException
+    {
+        if (_outputTail > 0) {
+            try {
+                if (_outputBytes != null) {
+                    _outputStream.write(_outputBytes, 0, _outputTail);
+                } else {
+                    _writer.write(_outputBuffer, 0, _outputTail);
+                }
+            } catch (IOException e) {
+                throw _wrapIOFailure(e);
+            }
+            _outputTail = 0;
+        }
+    }
+}
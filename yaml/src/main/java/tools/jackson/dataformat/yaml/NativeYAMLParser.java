@@ -0,0 +1,1318 @@
+package tools.jackson.dataformat.yaml;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.snakeyaml.engine.v2.api.LoadSettings;
+import org.snakeyaml.engine.v2.common.Anchor;
+import org.snakeyaml.engine.v2.scanner.StreamReader;
+
+import tools.jackson.core.*;
+import tools.jackson.core.io.IOContext;
+import tools.jackson.core.util.BufferRecycler;
+
+/**
+ * {@link YAMLParser} variant that tokenizes commonly used subset of YAML
+ * directly, without constructing SnakeYAML-engine {@code Event}s (and
+ * associated objects) for every token: block and flow mappings and
+ * sequences, plain (single-line) and quoted scalars, anchors and aliases,
+ * comments and document markers.
+ *<p>
+ * Since tokenization has to be done before any tokens are returned (to be
+ * able to fall back), whole content is read in memory when the first token
+ * is requested; and if it contains any other constructs (tags, block scalars,
+ * multi-line scalars, complex keys, directives and so on) or is not
+ * valid YAML, parsing falls back to using SnakeYAML-engine for the whole
+ * content. Results are the same either way, except for locations of
+ * end markers (which may differ slightly), and that locations are
+ * based on {@code char} offsets instead of code points.
+ *<p>
+ * Enabled using {@link YAMLReadFeature#USE_NATIVE_TOKENIZER}.
+ *
+ * @since 3.0
+ */
+public class NativeYAMLParser extends YAMLParser
+{
+    private final static int EV_MAP_START = 1;
+    private final static int EV_MAP_END = 2;
+    private final static int EV_SEQ_START = 3;
+    private final static int EV_SEQ_END = 4;
+    private final static int EV_PLAIN = 5;
+    private final static int EV_QUOTED = 6;
+    private final static int EV_ALIAS = 7;
+
+    /**
+     * Maximum length of implicit keys, as per YAML specification
+     */
+    private final static int MAX_SIMPLE_KEY_LENGTH = 1024;
+
+    /**
+     * Exception used to signal need to fall back to SnakeYAML-engine:
+     * never exposed to callers
+     */
+    private final static class FallbackException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        FallbackException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final static FallbackException FALLBACK = new FallbackException();
+
+    /*
+    /**********************************************************************
+    /* Configuration, content
+    /**********************************************************************
+     */
+
+    protected final int _codePointLimit;
+
+    /**
+     * Reader SnakeYAML-engine parser reads content from, if we need to
+     * fall back to it: serves buffered content
+     */
+    protected final BufferedContentReader _contentReader;
+
+    /**
+     * Whole content, read when the first token is requested
+     */
+    protected char[] _content;
+
+    protected int _contentEnd;
+
+    /*
+    /**********************************************************************
+    /* Tokenization results
+    /**********************************************************************
+     */
+
+    /**
+     * Whether content has been tokenized yet
+     */
+    protected boolean _tokenized;
+
+    /**
+     * Whether tokenization failed and SnakeYAML-engine is used instead
+     */
+    protected boolean _fallback;
+
+    /**
+     * Offsets of starts of lines, for calculating locations
+     */
+    protected int[] _lineStarts;
+
+    protected int _lineCount;
+
+    protected int[] _evKinds, _evStarts, _evEnds, _evData;
+
+    protected int _evCount;
+
+    /**
+     * Decoded (unescaped) values of double-quoted scalars, and anchor names,
+     * referenced from {@link #_evData}
+     */
+    protected ArrayList<String> _strings;
+
+    /**
+     * Index of the next event to return
+     */
+    protected int _evIndex;
+
+    /**
+     * Index of the event current token was created from; -1 if none
+     */
+    protected int _currEvent = -1;
+
+    // Tokenizer state
+
+    /**
+     * Column (indentation) of the content line last located by
+     * {@link #_findContent}; -1 at end of content
+     */
+    private int _contentIndent;
+
+    private int _keyEnd, _keyColon;
+
+    private int _depth;
+
+    private int _maxDepth;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NativeYAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt, BufferRecycler br,
+            int streamReadFeatures, int formatFeatures,
+            LoadSettings loadSettings, Reader reader)
+    {
+        this(readCtxt, ioCtxt, br, streamReadFeatures, formatFeatures,
+                _defaultLoadSettings(loadSettings, formatFeatures),
+                reader, new BufferedContentReader());
+    }
+
+    private NativeYAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt, BufferRecycler br,
+            int streamReadFeatures, int formatFeatures,
+            LoadSettings loadSettings, Reader reader, BufferedContentReader contentReader)
+    {
+        super(readCtxt, ioCtxt, br, streamReadFeatures, formatFeatures, reader,
+                loadSettings, new StreamReader(loadSettings, contentReader));
+        _codePointLimit = loadSettings.getCodePointLimit();
+        _contentReader = contentReader;
+    }
+
+    /**
+     * Method that reads content to tokenize: stops as soon as content is known
+     * to exceed code point limit, in which case remaining content is left
+     * for SnakeYAML-engine parser to read (and enforce the limit for).
+     */
+    protected void _readContent() throws JacksonException
+    {
+        char[] buf = new char[4000];
+        int len = 0;
+        try {
+            int count;
+            while ((count = _reader.read(buf, len, buf.length - len)) >= 0) {
+                len += count;
+                if (len > _codePointLimit) {
+                    break;
+                }
+                if (len == buf.length) {
+                    buf = Arrays.copyOf(buf, len + (len >> 1));
+                }
+            }
+        } catch (IOException e) {
+            // decoding problems are content errors, same as with SnakeYAML-engine
+            throw new JacksonYAMLParseException(this, e.getMessage(), e);
+        }
+        _content = buf;
+        _contentEnd = len;
+        _contentReader.setContent(buf, len, _reader);
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+        super._releaseBuffers();
+        _content = null;
+        _evKinds = _evStarts = _evEnds = _evData = null;
+        _strings = null;
+    }
+
+    /**
+     * Method that can be called to check whether parser is using
+     * SnakeYAML-engine (due to content not being supported by native
+     * tokenizer) or not. Only accurate after first call to {@link #nextToken}.
+     */
+    public boolean usesFallback() {
+        return _fallback;
+    }
+
+    /*
+    /**********************************************************************
+    /* Location info
+    /**********************************************************************
+     */
+
+    @Override
+    public TokenStreamLocation currentTokenLocation()
+    {
+        if (_fallback) {
+            return super.currentTokenLocation();
+        }
+        if (_currEvent < 0) {
+            return TokenStreamLocation.NA;
+        }
+        return _locationFor(_evStarts[_currEvent]);
+    }
+
+    @Override
+    public TokenStreamLocation currentLocation()
+    {
+        if (_fallback) {
+            return super.currentLocation();
+        }
+        if (_currEvent < 0) {
+            return TokenStreamLocation.NA;
+        }
+        return _locationFor(_evEnds[_currEvent]);
+    }
+
+    protected TokenStreamLocation _locationFor(int offset)
+    {
+        // find the last line that starts at or before offset
+        int ix = Arrays.binarySearch(_lineStarts, 0, _lineCount, offset);
+        if (ix < 0) {
+            ix = -(ix + 1) - 1;
+        }
+        return new TokenStreamLocation(_ioContext.contentReference(),
+                offset, ix + 1, offset - _lineStarts[ix] + 1);
+    }
+
+    /*
+    /**********************************************************************
+    /* Parsing
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws JacksonException
+    {
+        if (_fallback) {
+            return super.nextToken();
+        }
+        _currentIsAlias = false;
+        _binaryValue = null;
+        if (_closed) {
+            return null;
+        }
+        if (!_tokenized) {
+            _tokenized = true;
+            _readContent();
+            if (!_tokenize()) {
+                _fallback = true;
+                return super.nextToken();
+            }
+        }
+        if (_evIndex >= _evCount) { // end-of-input
+            _currentAnchor = Optional.empty();
+            close();
+            return _updateTokenToNull();
+        }
+        final int ix = _evIndex++;
+        final int kind = _evKinds[ix];
+        _currEvent = ix;
+
+        // Property names only inferred from being in Object context (see YAMLParser)
+        if (_streamReadContext.inObject()) {
+            if (_currToken != JsonToken.PROPERTY_NAME) {
+                if (kind == EV_MAP_END) {
+                    _currentAnchor = Optional.empty();
+                    _streamReadContext = _streamReadContext.getParent();
+                    return _updateToken(JsonToken.END_OBJECT);
+                }
+                // keys are always scalars; and can not have anchors, so
+                // only need to retain anchor of Object for the first entry
+                if (_currToken != JsonToken.START_OBJECT) {
+                    _currentAnchor = Optional.empty();
+                }
+                final String name = _scalarValue(ix, kind);
+                _currentName = name;
+                _streamReadContext.setCurrentName(name);
+                return _updateToken(JsonToken.PROPERTY_NAME);
+            }
+        } else if (_streamReadContext.inArray()) {
+            _streamReadContext.valueRead();
+        }
+        _currentAnchor = Optional.empty();
+
+        switch (kind) {
+        case EV_PLAIN:
+            return _updateToken(_decodeUntaggedScalar(_scalarValue(ix, kind), true));
+        case EV_QUOTED:
+            return _updateToken(_decodeUntaggedScalar(_scalarValue(ix, kind), false));
+        case EV_MAP_START:
+            _currentAnchor = _anchor(ix);
+            _streamReadContext = _streamReadContext.createChildObjectContext(
+                    _lineOf(_evStarts[ix]), _columnOf(_evStarts[ix]));
+            _streamReadConstraints.validateNestingDepth(_streamReadContext.getNestingDepth());
+            return _updateToken(JsonToken.START_OBJECT);
+        case EV_SEQ_START:
+            _currentAnchor = _anchor(ix);
+            _streamReadContext = _streamReadContext.createChildArrayContext(
+                    _lineOf(_evStarts[ix]), _columnOf(_evStarts[ix]));
+            _streamReadConstraints.validateNestingDepth(_streamReadContext.getNestingDepth());
+            return _updateToken(JsonToken.START_ARRAY);
+        case EV_SEQ_END:
+            _streamReadContext = _streamReadContext.getParent();
+            return _updateToken(JsonToken.END_ARRAY);
+        case EV_ALIAS:
+            _currentIsAlias = true;
+            _textValue = new String(_content, _evStarts[ix] + 1, _evEnds[ix] - _evStarts[ix] - 1);
+            _cleanedTextValue = null;
+            return _updateToken(JsonToken.VALUE_STRING);
+        default: // EV_MAP_END never expected here
+            _reportError("Not expecting END_OBJECT but a value");
+            return null;
+        }
+    }
+
+    private String _scalarValue(int ix, int kind)
+    {
+        final int start = _evStarts[ix];
+        final int end = _evEnds[ix];
+        if (kind == EV_PLAIN) {
+            return (start == end) ? "" : new String(_content, start, end - start);
+        }
+        final int data = _evData[ix];
+        if (data >= 0) {
+            return _strings.get(data);
+        }
+        return new String(_content, start + 1, end - start - 2);
+    }
+
+    private Optional<Anchor> _anchor(int ix)
+    {
+        final int data = _evData[ix];
+        return (data < 0) ? Optional.empty() : Optional.of(new Anchor(_strings.get(data)));
+    }
+
+    private int _lineOf(int offset)
+    {
+        int ix = Arrays.binarySearch(_lineStarts, 0, _lineCount, offset);
+        return (ix < 0) ? (-(ix + 1) - 1) : ix;
+    }
+
+    private int _columnOf(int offset) {
+        return offset - _lineStarts[_lineOf(offset)];
+    }
+
+    /*
+    /**********************************************************************
+    /* Tokenization, document level
+    /**********************************************************************
+     */
+
+    /**
+     * @return True if content was tokenized successfully; false if parser
+     *    needs to fall back to SnakeYAML-engine
+     */
+    protected boolean _tokenize()
+    {
+        if (_contentEnd > _codePointLimit) {
+            return false;
+        }
+        _maxDepth = _streamReadConstraints.getMaxNestingDepth();
+        final int initialSize = Math.max(16, Math.min(_contentEnd >> 3, 64 * 1024));
+        _evKinds = new int[initialSize];
+        _evStarts = new int[initialSize];
+        _evEnds = new int[initialSize];
+        _evData = new int[initialSize];
+        _strings = new ArrayList<>();
+        try {
+            _scanLines();
+            _tokenizeDocuments();
+            return true;
+        } catch (FallbackException e) {
+            _evKinds = _evStarts = _evEnds = _evData = null;
+            _strings = null;
+            _evCount = 0;
+            return false;
+        }
+    }
+
+    /**
+     * Method that verifies that content only contains characters that need no
+     * special handling, and finds starts of all lines.
+     */
+    private void _scanLines()
+    {
+        final char[] buf = _content;
+        final int end = _contentEnd;
+        int[] starts = new int[Math.max(16, end >> 5)];
+        starts[0] = 0;
+        int count = 1;
+
+        for (int i = 0; i < end; ++i) {
+            final char c = buf[i];
+            if (c >= 0x20) {
+                if (c < 0x7F) {
+                    continue;
+                }
+                if (c < 0xA0 || c == 0x2028 || c == 0x2029 || c >= 0xFFFE || c == 0xFEFF) {
+                    throw FALLBACK;
+                }
+                if (c >= 0xD800 && c <= 0xDFFF) {
+                    // must be a valid surrogate pair
+                    if (c > 0xDBFF || (i + 1) == end
+                            || buf[i+1] < 0xDC00 || buf[i+1] > 0xDFFF) {
+                        throw FALLBACK;
+                    }
+                    ++i;
+                }
+                continue;
+            }
+            // No support for tabs (or other control characters)
+            if (c != '\n' && c != '\r') {
+                throw FALLBACK;
+            }
+            if (c == '\r' && (i + 1) < end && buf[i+1] == '\n') {
+                ++i;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count + (count >> 1));
+            }
+            starts[count++] = i + 1;
+        }
+        _lineStarts = starts;
+        _lineCount = count;
+    }
+
+    private void _tokenizeDocuments()
+    {
+        int p = _findContentFromLineStart(0);
+        while (p < _contentEnd) {
+            if (_contentIndent == 0 && _content[p] == '%') { // directives
+                throw FALLBACK;
+            }
+            if (_isDocMarker(p)) {
+                if (_content[p] == '.') {
+                    throw FALLBACK;
+                }
+                final int q = _skipSpaces(p + 3);
+                if (_isEndOfLine(q)) {
+                    p = _findContent(q);
+                    // no support for empty documents
+                    if (p >= _contentEnd || _isDocMarker(p)) {
+                        throw FALLBACK;
+                    }
+                    p = _blockNode(p, _contentIndent, -1, -1, -1);
+                } else { // value on the same line as marker
+                    p = _inlineValue(q, -1, -1, -1);
+                }
+            } else {
+                p = _blockNode(p, _contentIndent, -1, -1, -1);
+            }
+            if (p < _contentEnd) {
+                // anything other than document start/end marker here is an error
+                if (!_isDocMarker(p)) {
+                    throw FALLBACK;
+                }
+                if (_content[p] == '.') {
+                    p = _findContent(p + 3);
+                    // only support explicit documents after end marker
+                    if (p < _contentEnd && !_isDocMarker(p)) {
+                        throw FALLBACK;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Tokenization, block context
+    /**********************************************************************
+     */
+
+    /**
+     * Method for tokenizing block node that starts at given offset, which is
+     * the first non-space character on its line (in column {@code indent})
+     *
+     * @return Offset of the next content line after the node (see {@link #_findContent})
+     */
+    private int _blockNode(int p, int indent, int anchor, int anchorStart, int parentIndent)
+    {
+        if (_isSeqIndicator(p)) {
+            return _blockSequence(p, indent, anchor, anchorStart);
+        }
+        if (_isKeyLine(p)) {
+            return _blockMapping(p, indent, anchor, anchorStart);
+        }
+        return _inlineValue(p, parentIndent, anchor, anchorStart);
+    }
+
+    private int _blockMapping(int p, final int indent, int anchor, int anchorStart)
+    {
+        _addEvent(EV_MAP_START, (anchorStart < 0) ? p : anchorStart, p, anchor);
+        _push();
+        while (true) {
+            if (!_isKeyLine(p)) {
+                throw FALLBACK;
+            }
+            // first, key
+            final int colon = _keyColon;
+            if (_content[p] == '"' || _content[p] == '\'') {
+                _quotedScalar(p);
+            } else {
+                _addEvent(EV_PLAIN, p, _keyEnd, -1);
+            }
+            // then value
+            p = _skipSpaces(colon + 1);
+            if (_isEndOfLine(p)) {
+                p = _blockValueOnNextLines(p, indent, -1, -1, true);
+            } else {
+                p = _inlineValue(p, indent, -1, -1);
+            }
+            if (p >= _contentEnd || _isDocMarker(p) || _contentIndent < indent) {
+                break;
+            }
+            if (_contentIndent > indent) {
+                throw FALLBACK;
+            }
+        }
+        _addEvent(EV_MAP_END, p, p, -1);
+        --_depth;
+        return p;
+    }
+
+    private int _blockSequence(int p, final int indent, int anchor, int anchorStart)
+    {
+        _addEvent(EV_SEQ_START, (anchorStart < 0) ? p : anchorStart, p, anchor);
+        _push();
+        while (true) {
+            // at '-' indicator
+            final int q = _skipSpaces(p + 1);
+            if (_isEndOfLine(q)) {
+                p = _blockValueOnNextLines(q, indent, -1, -1, false);
+            } else {
+                final int itemIndent = _columnOf(q);
+                if (_isSeqIndicator(q)) {
+                    p = _blockSequence(q, itemIndent, -1, -1);
+                } else if (_isKeyLine(q)) {
+                    p = _blockMapping(q, itemIndent, -1, -1);
+                } else {
+                    p = _inlineValue(q, indent, -1, -1);
+                }
+            }
+            if (p >= _contentEnd || _isDocMarker(p) || _contentIndent < indent) {
+                break;
+            }
+            if (_contentIndent > indent) {
+                throw FALLBACK;
+            }
+            // same indentation: either next entry, or next key of enclosing Mapping
+            if (!_isSeqIndicator(p)) {
+                break;
+            }
+        }
+        _addEvent(EV_SEQ_END, p, p, -1);
+        --_depth;
+        return p;
+    }
+
+    /**
+     * Method called when value of a block mapping entry or sequence item is
+     * not on the same line as key or sequence indicator
+     */
+    private int _blockValueOnNextLines(int p, int indent, int anchor, int anchorStart,
+            boolean allowIndentlessSeq)
+    {
+        final int next = _findContent(p);
+        if (next < _contentEnd && !_isDocMarker(next)) {
+            if (_contentIndent > indent) {
+                return _blockNode(next, _contentIndent, anchor, anchorStart, indent);
+            }
+            // Sequences as mapping values need not be indented
+            if (allowIndentlessSeq && _contentIndent == indent && _isSeqIndicator(next)) {
+                return _blockSequence(next, indent, anchor, anchorStart);
+            }
+        }
+        // otherwise empty value (null)
+        _addEvent(EV_PLAIN, p, p, -1);
+        return next;
+    }
+
+    /**
+     * Method for tokenizing scalar, alias or flow collection that starts at
+     * given offset: may be preceded by an anchor.
+     *
+     * @param indent Indentation of enclosing collection, used to detect
+     *    (unsupported) multi-line values
+     */
+    private int _inlineValue(int p, final int indent, int anchor, int anchorStart)
+    {
+        char c = _content[p];
+        if (c == '&') {
+            if (anchor >= 0) {
+                throw FALLBACK;
+            }
+            anchorStart = p;
+            int end = _anchorName(p + 1, false);
+            anchor = _addString(new String(_content, p + 1, end - p - 1));
+            p = _skipSpaces(end);
+            if (_isEndOfLine(p)) {
+                return _blockValueOnNextLines(p, indent, anchor, anchorStart, false);
+            }
+            c = _content[p];
+        }
+        int end;
+        switch (c) {
+        case '*':
+            if (anchor >= 0) {
+                throw FALLBACK;
+            }
+            end = _anchorName(p + 1, false);
+            _addEvent(EV_ALIAS, p, end, -1);
+            break;
+        case '[':
+        case '{':
+            end = _flowCollection(p, indent, anchor, anchorStart);
+            break;
+        case '"':
+        case '\'':
+            end = _quotedScalar(p);
+            break;
+        default:
+            if (!_isPlainStart(p, false)) {
+                throw FALLBACK;
+            }
+            end = _plainBlockEnd(p);
+            // key indicator in value position is an error
+            if (end < 0) {
+                throw FALLBACK;
+            }
+            _addEvent(EV_PLAIN, p, end, -1);
+        }
+        final int next = _findContent(end);
+        // more-indented line would be continuation of multi-line scalar (or an error)
+        if (next < _contentEnd && _contentIndent > indent && !_isDocMarker(next)) {
+            throw FALLBACK;
+        }
+        return next;
+    }
+
+    /**
+     * Method for checking whether the line starting at given offset starts
+     * with an implicit mapping key; if so, offsets of the end of key and
+     * the colon are stored in {@link #_keyEnd} and {@link #_keyColon}.
+     */
+    private boolean _isKeyLine(int p)
+    {
+        final char[] buf = _content;
+        final char c = buf[p];
+        if (c == '"' || c == '\'') {
+            int end = _quotedEnd(p);
+            if (end < 0) { // not closed on this line, can not be a key
+                return false;
+            }
+            int i = _skipSpaces(end);
+            if (i < _contentEnd && buf[i] == ':' && _isBlankOrEnd(i + 1)) {
+                if (end - p > MAX_SIMPLE_KEY_LENGTH) {
+                    throw FALLBACK;
+                }
+                _keyEnd = end;
+                _keyColon = i;
+                return true;
+            }
+            return false;
+        }
+        if (_isPlainStart(p, false)) {
+            int end = _plainBlockEnd(p);
+            if (end >= 0) {
+                return false;
+            }
+            int colon = -(end + 1);
+            int keyEnd = colon;
+            while (buf[keyEnd - 1] == ' ') {
+                --keyEnd;
+            }
+            if (keyEnd - p > MAX_SIMPLE_KEY_LENGTH) {
+                throw FALLBACK;
+            }
+            _keyEnd = keyEnd;
+            _keyColon = colon;
+            return true;
+        }
+        // Others (sequence entries, flow collections, anchors, aliases, tags, complex
+        // keys) are not supported as keys: if one is followed by key indicator, callers
+        // fall back when checking that nothing follows value on the same line
+        return false;
+    }
+
+    /**
+     * Method for finding end of plain scalar in block context
+     *
+     * @return End offset of the scalar (excluding trailing spaces), if it
+     *    ends at the end of line or comment; or, if it ends at key
+     *    indicator, negative value {@code -(offset of colon) - 1}
+     */
+    private int _plainBlockEnd(int p)
+    {
+        final char[] buf = _content;
+        final int end = _contentEnd;
+        int last = p;
+        for (int i = p; i < end; ++i) {
+            final char c = buf[i];
+            if (c == ' ') {
+                continue;
+            }
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+            if (c == '#' && buf[i-1] == ' ') {
+                break;
+            }
+            if (c == ':' && _isBlankOrEnd(i + 1)) {
+                return -(i + 1);
+            }
+            last = i + 1;
+        }
+        return last;
+    }
+
+    /*
+    /**********************************************************************
+    /* Tokenization, flow context
+    /**********************************************************************
+     */
+
+    private int _flowCollection(int p, final int blockIndent, int anchor, int anchorStart)
+    {
+        final char[] buf = _content;
+        final boolean isSeq = (buf[p] == '[');
+        final char close = isSeq ? ']' : '}';
+        _addEvent(isSeq ? EV_SEQ_START : EV_MAP_START,
+                (anchorStart < 0) ? p : anchorStart, p + 1, anchor);
+        _push();
+        p = _flowSkip(p + 1, blockIndent);
+        while (buf[p] != close) {
+            if (isSeq) {
+                p = _flowNode(p, blockIndent);
+            } else {
+                p = _flowMapEntry(p, blockIndent);
+            }
+            p = _flowSkip(p, blockIndent);
+            if (buf[p] == ',') {
+                p = _flowSkip(p + 1, blockIndent);
+            } else if (buf[p] != close) {
+                throw FALLBACK;
+            }
+        }
+        _addEvent(isSeq ? EV_SEQ_END : EV_MAP_END, p, p + 1, -1);
+        --_depth;
+        return p + 1;
+    }
+
+    private int _flowMapEntry(int p, final int blockIndent)
+    {
+        final char[] buf = _content;
+        final char c = buf[p];
+        int end;
+        // Key first: only scalar keys supported
+        if (c == '"' || c == '\'') {
+            end = _quotedScalar(p);
+            // JSON-like adjacent colon allowed after quoted keys
+            end = _skipSpaces(end);
+            if (end >= _contentEnd || buf[end] != ':') {
+                throw FALLBACK;
+            }
+        } else {
+            if (!_isPlainStart(p, true)) {
+                throw FALLBACK;
+            }
+            end = _plainFlowEnd(p);
+            _addEvent(EV_PLAIN, p, end, -1);
+            end = _skipSpaces(end);
+            // must have value indicator on the same line
+            if (end >= _contentEnd || buf[end] != ':') {
+                throw FALLBACK;
+            }
+        }
+        p = _flowSkip(end + 1, blockIndent);
+        if (buf[p] == ',' || buf[p] == '}') { // empty value
+            _addEvent(EV_PLAIN, p, p, -1);
+            return p;
+        }
+        return _flowNode(p, blockIndent);
+    }
+
+    private int _flowNode(int p, final int blockIndent)
+    {
+        final char[] buf = _content;
+        char c = buf[p];
+        int anchor = -1;
+        int anchorStart = -1;
+        if (c == '&') {
+            anchorStart = p;
+            int end = _anchorName(p + 1, true);
+            anchor = _addString(new String(buf, p + 1, end - p - 1));
+            p = _flowSkip(end, blockIndent);
+            c = buf[p];
+        }
+        switch (c) {
+        case '[':
+        case '{':
+            return _flowCollection(p, blockIndent, anchor, anchorStart);
+        case '*':
+            if (anchor >= 0) {
+                throw FALLBACK;
+            }
+            int end = _anchorName(p + 1, true);
+            _addEvent(EV_ALIAS, p, end, -1);
+            return end;
+        case '"':
+        case '\'':
+            return _quotedScalar(p);
+        default:
+            if (!_isPlainStart(p, true)) {
+                throw FALLBACK;
+            }
+            end = _plainFlowEnd(p);
+            _addEvent(EV_PLAIN, p, end, -1);
+            return end;
+        }
+    }
+
+    /**
+     * Method for finding end of plain scalar in flow context: does not allow
+     * value to continue on the next line.
+     */
+    private int _plainFlowEnd(int p)
+    {
+        final char[] buf = _content;
+        final int end = _contentEnd;
+        int last = p;
+        for (int i = p; i < end; ++i) {
+            final char c = buf[i];
+            switch (c) {
+            case ' ':
+                continue;
+            case '\n': case '\r':
+            case ',': case '[': case ']': case '{': case '}':
+                return last;
+            case '?':
+                throw FALLBACK;
+            case '#':
+                if (buf[i-1] == ' ') {
+                    return last;
+                }
+                break;
+            case ':':
+                if (_isBlankOrEnd(i + 1)) {
+                    return last;
+                }
+                if (i + 1 < end) {
+                    switch (buf[i+1]) {
+                    case ',': case '[': case ']': case '{': case '}':
+                        return last;
+                    }
+                }
+                throw FALLBACK;
+            }
+            last = i + 1;
+        }
+        return last;
+    }
+
+    /**
+     * Method for skipping white space, line breaks and comments within
+     * flow collections
+     *
+     * @return Offset of the next non-white-space character
+     */
+    private int _flowSkip(int p, final int blockIndent)
+    {
+        final char[] buf = _content;
+        final int end = _contentEnd;
+        while (p < end) {
+            final char c = buf[p];
+            if (c == ' ') {
+                ++p;
+            } else if (c == '\n' || c == '\r') {
+                int ls = _nextLineStart(p);
+                int i = ls;
+                while (i < end && buf[i] == ' ') {
+                    ++i;
+                }
+                if (i < end && !_isLineBreak(buf[i]) && buf[i] != '#') {
+                    // continuation lines must be indented; and can not contain document markers
+                    if ((i - ls) <= blockIndent
+                            || ((i == ls) && (buf[i] == '-' || buf[i] == '.') && _isDocMarkerAt(i))) {
+                        throw FALLBACK;
+                    }
+                }
+                p = i;
+            } else if (c == '#' && (buf[p-1] == ' ' || _isLineBreak(buf[p-1]))) {
+                while (p < end && !_isLineBreak(buf[p])) {
+                    ++p;
+                }
+            } else {
+                return p;
+            }
+        }
+        // unclosed flow collection
+        throw FALLBACK;
+    }
+
+    /*
+    /**********************************************************************
+    /* Tokenization, scalars and anchors
+    /**********************************************************************
+     */
+
+    /**
+     * Method for tokenizing single- or double-quoted scalar that starts at
+     * given offset, and ends on the same line
+     *
+     * @return Offset after the closing quote
+     */
+    private int _quotedScalar(int p)
+    {
+        final char[] buf = _content;
+        final int end = _contentEnd;
+        final char quote = buf[p];
+        int i = p + 1;
+        // Fast path: scan until closing quote, or anything that needs decoding
+        for (; i < end; ++i) {
+            final char c = buf[i];
+            if (c == quote) {
+                if (quote == '\'' && (i + 1) < end && buf[i+1] == '\'') {
+                    break; // escaped single quote
+                }
+                _addEvent(EV_QUOTED, p, i + 1, -1);
+                return i + 1;
+            }
+            if (c == '\\' && quote == '"') {
+                break;
+            }
+            if (c == '\n' || c == '\r') {
+                throw FALLBACK;
+            }
+        }
+        if (i >= end) {
+            throw FALLBACK;
+        }
+        // Slow path: need to decode
+        final StringBuilder sb = new StringBuilder((i - p) + 16);
+        sb.append(buf, p + 1, i - p - 1);
+        while (i < end) {
+            char c = buf[i++];
+            if (c == quote) {
+                if (quote == '\'' && i < end && buf[i] == '\'') {
+                    sb.append('\'');
+                    ++i;
+                    continue;
+                }
+                _addEvent(EV_QUOTED, p, i, _addString(sb.toString()));
+                return i;
+            }
+            if (c == '\n' || c == '\r') {
+                throw FALLBACK;
+            }
+            if (c == '\\' && quote == '"') {
+                if (i >= end) {
+                    throw FALLBACK;
+                }
+                i = _decodeEscape(buf, i, sb);
+                continue;
+            }
+            sb.append(c);
+        }
+        throw FALLBACK;
+    }
+
+    /**
+     * @return Offset after the closing quote of quoted scalar starting at given
+     *    offset, if closed on the same line; -1 if not
+     */
+    private int _quotedEnd(int p)
+    {
+        final char[] buf = _content;
+        final char quote = buf[p];
+        for (int i = p + 1; i < _contentEnd; ++i) {
+            final char c = buf[i];
+            if (c == quote) {
+                if (quote == '\'' && (i + 1) < _contentEnd && buf[i+1] == '\'') {
+                    ++i;
+                    continue;
+                }
+                return i + 1;
+            }
+            if (c == '\\' && quote == '"') {
+                ++i;
+                continue;
+            }
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private int _decodeEscape(char[] buf, int i, StringBuilder sb)
+    {
+        final char c = buf[i++];
+        int digits;
+        switch (c) {
+        case '0': sb.append('\0'); return i;
+        case 'a': sb.append('\u0007'); return i;
+        case 'b': sb.append('\b'); return i;
+        case 't': sb.append('\t'); return i;
+        case 'n': sb.append('\n'); return i;
+        case 'v': sb.append('\u000B'); return i;
+        case 'f': sb.append('\f'); return i;
+        case 'r': sb.append('\r'); return i;
+        case 'e': sb.append('\u001B'); return i;
+        case ' ': sb.append(' '); return i;
+        case '"': sb.append('"'); return i;
+        case '/': sb.append('/'); return i;
+        case '\\': sb.append('\\'); return i;
+        case 'N': sb.append('\u0085'); return i;
+        case '_': sb.append('\u00A0'); return i;
+        case 'L': sb.append('\u2028'); return i;
+        case 'P': sb.append('\u2029'); return i;
+        case 'x': digits = 2; break;
+        case 'u': digits = 4; break;
+        case 'U': digits = 8; break;
+        default: // including escaped line breaks
+            throw FALLBACK;
+        }
+        if (i + digits > _contentEnd) {
+            throw FALLBACK;
+        }
+        int value = 0;
+        for (int end = i + digits; i < end; ++i) {
+            int d = Character.digit(buf[i], 16);
+            if (d < 0) {
+                throw FALLBACK;
+            }
+            value = (value << 4) | d;
+        }
+        if (value < 0 || value > Character.MAX_CODE_POINT
+                || (value >= 0xD800 && value <= 0xDFFF)) {
+            throw FALLBACK;
+        }
+        sb.appendCodePoint(value);
+        return i;
+    }
+
+    /**
+     * Method for finding end of anchor (or alias) name that starts at
+     * given offset: only names that consist of ASCII letters, digits,
+     * hyphens and underscores are supported.
+     */
+    private int _anchorName(int p, boolean flow)
+    {
+        final char[] buf = _content;
+        int i = p;
+        for (; i < _contentEnd; ++i) {
+            final char c = buf[i];
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9') || c == '-' || c == '_') {
+                continue;
+            }
+            if (c == ' ' || c == '\n' || c == '\r') {
+                break;
+            }
+            if (flow && (c == ',' || c == ']' || c == '}')) {
+                break;
+            }
+            throw FALLBACK;
+        }
+        if (i == p) {
+            throw FALLBACK;
+        }
+        return i;
+    }
+
+    /*
+    /**********************************************************************
+    /* Tokenization, low-level helpers
+    /**********************************************************************
+     */
+
+    /**
+     * Method for skipping rest of the current line (which may only contain
+     * white space and comment), as well as following empty and comment lines.
+     *
+     * @return Offset of the first non-space character of the next content line,
+     *   with its column in {@link #_contentIndent}; or end of content
+     */
+    private int _findContent(int p)
+    {
+        final char[] buf = _content;
+        final int end = _contentEnd;
+        int i = _skipSpaces(p);
+        if (i < end && !_isLineBreak(buf[i])) {
+            if (buf[i] != '#' || !(buf[i-1] == ' ' || _isLineBreak(buf[i-1]))) {
+                throw FALLBACK;
+            }
+            while (i < end && !_isLineBreak(buf[i])) {
+                ++i;
+            }
+        }
+        if (i >= end) {
+            _contentIndent = -1;
+            return end;
+        }
+        return _findContentFromLineStart(_nextLineStart(i));
+    }
+
+    private int _findContentFromLineStart(int ls)
+    {
+        final char[] buf = _content;
+        final int end = _contentEnd;
+        while (ls < end) {
+            int i = _skipSpaces(ls);
+            if (i >= end) {
+                break;
+            }
+            final char c = buf[i];
+            if (c == '#') {
+                while (i < end && !_isLineBreak(buf[i])) {
+                    ++i;
+                }
+            } else if (!_isLineBreak(c)) {
+                _contentIndent = i - ls;
+                return i;
+            }
+            if (i >= end) {
+                break;
+            }
+            ls = _nextLineStart(i);
+        }
+        _contentIndent = -1;
+        return end;
+    }
+
+    /**
+     * @param p Offset of a line break character
+     */
+    private int _nextLineStart(int p)
+    {
+        if (_content[p] == '\r' && (p + 1) < _contentEnd && _content[p+1] == '\n') {
+            return p + 2;
+        }
+        return p + 1;
+    }
+
+    private int _skipSpaces(int p)
+    {
+        final char[] buf = _content;
+        while (p < _contentEnd && buf[p] == ' ') {
+            ++p;
+        }
+        return p;
+    }
+
+    private boolean _isEndOfLine(int p) {
+        return (p >= _contentEnd) || _isLineBreak(_content[p])
+                || (_content[p] == '#' && _content[p-1] == ' ');
+    }
+
+    private static boolean _isLineBreak(char c) {
+        return (c == '\n') || (c == '\r');
+    }
+
+    private boolean _isBlankOrEnd(int p) {
+        if (p >= _contentEnd) {
+            return true;
+        }
+        final char c = _content[p];
+        return (c == ' ') || _isLineBreak(c);
+    }
+
+    private boolean _isSeqIndicator(int p) {
+        return (_content[p] == '-') && _isBlankOrEnd(p + 1);
+    }
+
+    /**
+     * Method for checking whether content line at given offset is a document
+     * start or end marker
+     */
+    private boolean _isDocMarker(int p) {
+        return (_contentIndent == 0) && _isDocMarkerAt(p);
+    }
+
+    private boolean _isDocMarkerAt(int p) {
+        final char[] buf = _content;
+        final char c = buf[p];
+        return (c == '-' || c == '.')
+                && (p + 3 <= _contentEnd) && buf[p+1] == c && buf[p+2] == c
+                && _isBlankOrEnd(p + 3);
+    }
+
+    private boolean _isPlainStart(int p, boolean flow)
+    {
+        final char c = _content[p];
+        switch (c) {
+        case '-': case '?': case ':':
+            {
+                if (_isBlankOrEnd(p + 1)) {
+                    return false;
+                }
+                if (flow) {
+                    switch (_content[p+1]) {
+                    case ',': case '[': case ']': case '{': case '}':
+                        return false;
+                    }
+                }
+                // '?' as the first character is not supported even if followed by non-space
+                return (c != '?');
+            }
+        case ',': case '[': case ']': case '{': case '}':
+        case '#': case '&': case '*': case '!': case '|': case '>':
+        case '\'': case '"': case '%': case '@': case '`':
+            return false;
+        }
+        return true;
+    }
+
+    private void _push() {
+        if (++_depth > _maxDepth) {
+            // let regular processing report the problem
+            throw FALLBACK;
+        }
+    }
+
+    private int _addString(String str) {
+        _strings.add(str);
+        return _strings.size() - 1;
+    }
+
+    private void _addEvent(int kind, int start, int end, int data)
+    {
+        int ix = _evCount;
+        if (ix == _evKinds.length) {
+            final int newSize = ix + (ix >> 1);
+            _evKinds = Arrays.copyOf(_evKinds, newSize);
+            _evStarts = Arrays.copyOf(_evStarts, newSize);
+            _evEnds = Arrays.copyOf(_evEnds, newSize);
+            _evData = Arrays.copyOf(_evData, newSize);
+        }
+        _evKinds[ix] = kind;
+        _evStarts[ix] = start;
+        _evEnds[ix] = end;
+        _evData[ix] = data;
+        _evCount = ix + 1;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * {@link Reader} that serves content buffered by parser, followed by
+     * anything not yet read from the underlying reader: needed since
+     * SnakeYAML-engine parser has to be constructed before content is read.
+     */
+    protected final static class BufferedContentReader extends Reader
+    {
+        private char[] _buffer;
+
+        private int _ptr, _end;
+
+        private Reader _rest;
+
+        void setContent(char[] buffer, int end, Reader rest) {
+            _buffer = buffer;
+            _end = end;
+            _rest = rest;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException
+        {
+            if (_ptr >= _end) {
+                return (_rest == null) ? -1 : _rest.read(cbuf, off, len);
+            }
+            len = Math.min(len, _end - _ptr);
+            System.arraycopy(_buffer, _ptr, cbuf, off, len);
+            _ptr += len;
+            return len;
+        }
+
+        @Override
+        public void close() {
+            _buffer = null;
+            _rest = null;
+            _ptr = _end = 0;
+        }
+    }
+}
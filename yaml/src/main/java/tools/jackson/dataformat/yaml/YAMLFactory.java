@@ -1,6 +1,7 @@
 package tools.jackson.dataformat.yaml;
 
 import java.io.*;
+import java.nio.channels.WritableByteChannel;
 
 import org.snakeyaml.engine.v2.api.DumpSettings;
 import org.snakeyaml.engine.v2.api.LoadSettings;
@@ -10,6 +11,7 @@ import tools.jackson.core.*;
 import tools.jackson.core.base.TextualTSFactory;
 import tools.jackson.core.io.IOContext;
 
+import tools.jackson.dataformat.yaml.impl.ByteChannelOutputStream;
 import tools.jackson.dataformat.yaml.util.StringQuotingChecker;
 
 @SuppressWarnings("resource")
@@ -227,6 +229,43 @@ public class YAMLFactory
         return (_formatWriteFeatures & f.getMask()) != 0;
     }
 
+    /*
+    /**********************************************************************
+    /* Extended generator factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing a generator that writes UTF-8 encoded content
+     * to given channel (like {@link java.nio.channels.FileChannel} or
+     * {@link java.nio.channels.SocketChannel}), using pooled direct buffers
+     * (see {@link ByteChannelOutputStream}).
+     * Content is encoded directly into bytes by {@link NativeYAMLGenerator}
+     * (regardless of {@link YAMLWriteFeature#USE_NATIVE_EMITTER}), unless
+     * configuration requires SnakeYAML-engine.
+     * Channel is handled like an {@link OutputStream} target: it is closed
+     * when generator is closed only if
+     * {@link StreamWriteFeature#AUTO_CLOSE_TARGET} is enabled.
+     */
+    public YAMLGenerator createGenerator(ObjectWriteContext writeCtxt, WritableByteChannel channel)
+        throws JacksonException
+    {
+        // Stream is always closed along with generator, to release its buffers;
+        // channel itself only if AUTO_CLOSE_TARGET is enabled
+        final IOContext ioCtxt = _createContext(_createContentReference(channel), true);
+        final int streamFeatures = writeCtxt.getStreamWriteFeatures(_streamWriteFeatures);
+        final int formatFeatures = writeCtxt.getFormatWriteFeatures(_formatWriteFeatures);
+        final OutputStream out = new ByteChannelOutputStream(channel,
+                StreamWriteFeature.AUTO_CLOSE_TARGET.enabledIn(streamFeatures));
+        // Encode directly into bytes unless configuration requires SnakeYAML-engine
+        if (_canUseNativeEmitter(formatFeatures)) {
+            return new NativeYAMLGenerator(writeCtxt, ioCtxt, streamFeatures, formatFeatures,
+                    _quotingChecker, out);
+        }
+        return _createGenerator(writeCtxt, ioCtxt,
+                _createWriter(ioCtxt, out, JsonEncoding.UTF8));
+    }
+
     /*
     /**********************************************************************
     /* Factory methods: parsers
@@ -236,44 +275,44 @@ public class YAMLFactory
     @Override
     protected YAMLParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             InputStream in) {
-        return new YAMLParser(readCtxt, ioCtxt,
-                _getBufferRecycler(),
-                readCtxt.getStreamReadFeatures(_streamReadFeatures),
-                readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _loadSettings,
-                _createReader(in, null, ioCtxt));
+        return _newParser(readCtxt, ioCtxt, _createReader(in, null, ioCtxt));
     }
 
     @Override
     protected YAMLParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             Reader r) {
-        return new YAMLParser(readCtxt, ioCtxt,
-                _getBufferRecycler(), 
-                readCtxt.getStreamReadFeatures(_streamReadFeatures),
-                readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _loadSettings,
-                r);
+        return _newParser(readCtxt, ioCtxt, r);
     }
 
     @Override
     protected YAMLParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             char[] data, int offset, int len,
             boolean recyclable) {
-        return new YAMLParser(readCtxt, ioCtxt, _getBufferRecycler(),
-                readCtxt.getStreamReadFeatures(_streamReadFeatures),
-                readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _loadSettings,
-                new CharArrayReader(data, offset, len));
+        return _newParser(readCtxt, ioCtxt, new CharArrayReader(data, offset, len));
     }
 
     @Override
     protected YAMLParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             byte[] data, int offset, int len) {
+        return _newParser(readCtxt, ioCtxt, _createReader(data, offset, len, null, ioCtxt));
+    }
+
+    /**
+     * Helper method for constructing parser to use for given input:
+     * either {@link YAMLParser} or, if {@link YAMLReadFeature#USE_NATIVE_TOKENIZER}
+     * is enabled, {@link NativeYAMLParser}.
+     */
+    protected YAMLParser _newParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            Reader r)
+    {
+        final int streamFeatures = readCtxt.getStreamReadFeatures(_streamReadFeatures);
+        final int formatFeatures = readCtxt.getFormatReadFeatures(_formatReadFeatures);
+        if (YAMLReadFeature.USE_NATIVE_TOKENIZER.enabledIn(formatFeatures)) {
+            return new NativeYAMLParser(readCtxt, ioCtxt, _getBufferRecycler(),
+                    streamFeatures, formatFeatures, _loadSettings, r);
+        }
         return new YAMLParser(readCtxt, ioCtxt, _getBufferRecycler(),
-                readCtxt.getStreamReadFeatures(_streamReadFeatures),
-                readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _loadSettings,
-                _createReader(data, offset, len, null, ioCtxt));
+                streamFeatures, formatFeatures, _loadSettings, r);
     }
 
     @Override
@@ -292,9 +331,13 @@ public class YAMLFactory
     protected YAMLGenerator _createGenerator(ObjectWriteContext writeCtxt,
             IOContext ioCtxt, Writer out)
     {
-        return new YAMLGenerator(writeCtxt, ioCtxt,
-                writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
-                writeCtxt.getFormatWriteFeatures(_formatWriteFeatures),
+        final int streamFeatures = writeCtxt.getStreamWriteFeatures(_streamWriteFeatures);
+        final int formatFeatures = writeCtxt.getFormatWriteFeatures(_formatWriteFeatures);
+        if (_useNativeEmitter(formatFeatures)) {
+            return new NativeYAMLGenerator(writeCtxt, ioCtxt, streamFeatures, formatFeatures,
+                    _quotingChecker, out);
+        }
+        return new YAMLGenerator(writeCtxt, ioCtxt, streamFeatures, formatFeatures,
                 _quotingChecker,
                 out, _version, _dumpSettings);
     }
@@ -303,10 +346,41 @@ public class YAMLFactory
     protected YAMLGenerator _createUTF8Generator(ObjectWriteContext writeCtxt,
             IOContext ioCtxt, OutputStream out)
     {
+        final int formatFeatures = writeCtxt.getFormatWriteFeatures(_formatWriteFeatures);
+        if (_useNativeEmitter(formatFeatures)) {
+            return new NativeYAMLGenerator(writeCtxt, ioCtxt,
+                    writeCtxt.getStreamWriteFeatures(_streamWriteFeatures), formatFeatures,
+                    _quotingChecker, out);
+        }
         return _createGenerator(writeCtxt, ioCtxt,
                 _createWriter(ioCtxt, out, JsonEncoding.UTF8));
     }
 
+    /**
+     * Helper method for checking whether {@link NativeYAMLGenerator} is to be
+     * used with given features: requires {@link YAMLWriteFeature#USE_NATIVE_EMITTER}
+     * to be enabled, and no settings that only SnakeYAML-engine supports.
+     */
+    protected boolean _useNativeEmitter(int formatFeatures) {
+        return YAMLWriteFeature.USE_NATIVE_EMITTER.enabledIn(formatFeatures)
+                && _canUseNativeEmitter(formatFeatures);
+    }
+
+    /**
+     * Helper method for checking whether {@link NativeYAMLGenerator} supports
+     * configured settings and given features (ones that only SnakeYAML-engine
+     * supports are not enabled).
+     */
+    protected boolean _canUseNativeEmitter(int formatFeatures)
+    {
+        if ((_dumpSettings != null) || (_version != null)) {
+            return false;
+        }
+        return !YAMLWriteFeature.CANONICAL_OUTPUT.enabledIn(formatFeatures)
+                && !YAMLWriteFeature.INDENT_ARRAYS.enabledIn(formatFeatures)
+                && !YAMLWriteFeature.INDENT_ARRAYS_WITH_INDICATOR.enabledIn(formatFeatures);
+    }
+
     @Override
     protected Writer _createWriter(IOContext ioCtxt, OutputStream out, JsonEncoding enc) {
         if (enc == JsonEncoding.UTF8) {
@@ -209,6 +209,11 @@ public class YAMLFactoryBuilder
      *     it is recommended that you provide a LoaderOptions instance where
      *     you set the Codepoint Limit to a larger value than its 3Mb default.
      * </p>
+     * <p>
+     *     Note that {@link YAMLReadFeature#LAZY_LOCATION_TRACKING} does not
+     *     change settings given here: use {@code setUseMarks(false)} when
+     *     building them instead.
+     * </p>
      *
      * @param settings the {@code SnakeYAML} configuration to use when parsing YAML
      * @return This builder instance, to allow chaining
@@ -37,6 +37,10 @@ public class YAMLGenerator extends GeneratorBase
 
     protected final static long MIN_INT_AS_LONG = (long) Integer.MIN_VALUE;
     protected final static long MAX_INT_AS_LONG = (long) Integer.MAX_VALUE;
+    /**
+     * @deprecated Since 3.0 not used by the generator: see {@link #_isPlainNumber}
+     */
+    @Deprecated
     protected final static Pattern PLAIN_NUMBER_P = Pattern.compile("[+-]?[0-9]*(\\.[0-9]*)?");
     protected final static String TAG_BINARY = Tag.BINARY.toString();
 
@@ -113,6 +117,31 @@ public class YAMLGenerator extends GeneratorBase
             StringQuotingChecker quotingChecker,
             Writer out, SpecVersion version,
             DumpSettings dumpOptions)
+    {
+        this(writeContext, ioCtxt, streamWriteFeatures, yamlFeatures,
+                quotingChecker, out, version);
+        if (dumpOptions == null) {
+            dumpOptions = buildDumperOptions(streamWriteFeatures, yamlFeatures, version);
+        }
+        _outputOptions = dumpOptions;
+
+        _emitter = new Emitter(_outputOptions, new WriterWrapper(_writer));
+        // should we start output now, or try to defer?
+        _emit(new StreamStartEvent());
+        _emitStartDocument();
+    }
+
+    /**
+     * Constructor for sub-classes that do not use SnakeYAML-engine
+     * {@link Emitter} for output: neither {@link #_outputOptions} nor
+     * {@link #_emitter} is assigned, and nothing is emitted.
+     *
+     * @since 3.0
+     */
+    protected YAMLGenerator(ObjectWriteContext writeContext, IOContext ioCtxt,
+            int streamWriteFeatures, int yamlFeatures,
+            StringQuotingChecker quotingChecker,
+            Writer out, SpecVersion version)
     {
         super(writeContext, ioCtxt, streamWriteFeatures);
         final DupDetector dups = StreamWriteFeature.STRICT_DUPLICATE_DETECTION.enabledIn(streamWriteFeatures)
@@ -124,16 +153,6 @@ public class YAMLGenerator extends GeneratorBase
         _quotingChecker = quotingChecker;
         _writer = out;
         _docVersion = version;
-
-        if (dumpOptions == null) {
-            dumpOptions = buildDumperOptions(streamWriteFeatures, yamlFeatures, version);
-        }
-        _outputOptions = dumpOptions;
-
-        _emitter = new Emitter(_outputOptions, new WriterWrapper(_writer));
-        // should we start output now, or try to defer?
-        _emit(new StreamStartEvent());
-        _emitStartDocument();
     }
 
     protected DumpSettings buildDumperOptions(int streamWriteFeatures, int yamlFeatures,
@@ -295,7 +314,7 @@ public class YAMLGenerator extends GeneratorBase
      */
 
     @Override
-    public final void flush()
+    public void flush()
     {
         if (isEnabled(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)) {
             try {
@@ -313,7 +332,7 @@ public class YAMLGenerator extends GeneratorBase
             // 11-Dec-2019, tatu: Should perhaps check if content is to be auto-closed...
             //   but need END_DOCUMENT regardless
             _emitEndDocument();
-            _emit(new StreamEndEvent());
+            _emitEndStream();
             super.close();
         }
     }
@@ -445,7 +464,7 @@ public class YAMLGenerator extends GeneratorBase
             // If one of reserved values ("true", "null"), or, number, preserve quoting:
             } else if (_quotingChecker.needToQuoteValue(text)
                 || (YAMLWriteFeature.ALWAYS_QUOTE_NUMBERS_AS_STRINGS.enabledIn(_formatWriteFeatures)
-                        && PLAIN_NUMBER_P.matcher(text).matches())
+                        && _isPlainNumber(text))
                 ) {
                 style = STYLE_QUOTED;
             } else {
@@ -463,6 +482,39 @@ public class YAMLGenerator extends GeneratorBase
         return this;
     }
 
+    /**
+     * Helper method for checking whether given text would match pattern
+     * {@code [+-]?[0-9]*(\.[0-9]*)?}: hand-written equivalent of
+     * matching against {@link #PLAIN_NUMBER_P}.
+     *
+     * @since 3.0
+     */
+    protected static boolean _isPlainNumber(String text)
+    {
+        final int end = text.length();
+        int i = 0;
+        if (i < end) {
+            char c = text.charAt(i);
+            if (c == '+' || c == '-') {
+                ++i;
+            }
+        }
+        while (i < end && _isAsciiDigit(text.charAt(i))) {
+            ++i;
+        }
+        if (i < end && text.charAt(i) == '.') {
+            ++i;
+            while (i < end && _isAsciiDigit(text.charAt(i))) {
+                ++i;
+            }
+        }
+        return (i == end);
+    }
+
+    private static boolean _isAsciiDigit(char c) {
+        return (c >= '0') && (c <= '9');
+    }
+
     @Override
     public JsonGenerator writeString(char[] text, int offset, int len) throws JacksonException
     {
@@ -742,7 +794,7 @@ public class YAMLGenerator extends GeneratorBase
         _emit(_scalarEvent(value, style));
     }
 
-    private void _writeScalarBinary(Base64Variant b64variant,
+    protected void _writeScalarBinary(Base64Variant b64variant,
             byte[] data) throws JacksonException
     {
         // 15-Dec-2017, tatu: as per [dataformats-text#62], can not use SnakeYAML's internal
@@ -787,6 +839,10 @@ public class YAMLGenerator extends GeneratorBase
         _emit(new DocumentEndEvent(false));
     }
 
+    protected void _emitEndStream() throws JacksonException {
+        _emit(new StreamEndEvent());
+    }
+
     protected final void _emit(Event e) {
         _emitter.emit(e);
     }
@@ -1,5 +1,8 @@
 package tools.jackson.dataformat.yaml;
 
+import java.nio.channels.WritableByteChannel;
+
+import tools.jackson.core.JacksonException;
 import tools.jackson.core.Version;
 
 import tools.jackson.databind.ObjectMapper;
@@ -197,6 +200,29 @@ public class YAMLMapper extends ObjectMapper
         return (YAMLFactory) _streamFactory;
     }
 
+    /*
+    /**********************************************************
+    /* Extended write methods
+    /**********************************************************
+     */
+
+    /**
+     * Method for serializing given value as YAML content written to given
+     * channel, using pooled direct buffers (see {@link tools.jackson.dataformat.yaml.impl.ByteChannelOutputStream})
+     * instead of going through an intermediate {@link java.io.OutputStream}.
+     * Channel is closed afterwards only if
+     * {@link tools.jackson.core.StreamWriteFeature#AUTO_CLOSE_TARGET} is enabled.
+     */
+    public void writeValue(WritableByteChannel target, Object value) throws JacksonException
+    {
+        if (target == null) {
+            throw new IllegalArgumentException("Can not pass `null` target");
+        }
+        try (YAMLGenerator g = tokenStreamFactory().createGenerator(_serializationContext(), target)) {
+            writeValue(g, value);
+        }
+    }
+
     /*
     /**********************************************************
     /* Helper class(es)
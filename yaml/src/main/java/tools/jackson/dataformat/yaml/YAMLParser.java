@@ -12,6 +12,7 @@ import tools.jackson.core.json.DupDetector;
 import tools.jackson.core.util.BufferRecycler;
 import tools.jackson.core.util.JacksonFeatureSet;
 import tools.jackson.core.util.SimpleStreamReadContext;
+import tools.jackson.dataformat.yaml.util.ImplicitScalarResolver;
 
 import org.snakeyaml.engine.v2.api.LoadSettings;
 import org.snakeyaml.engine.v2.common.Anchor;
@@ -22,10 +23,7 @@ import org.snakeyaml.engine.v2.events.MappingStartEvent;
 import org.snakeyaml.engine.v2.events.NodeEvent;
 import org.snakeyaml.engine.v2.events.ScalarEvent;
 import org.snakeyaml.engine.v2.exceptions.Mark;
-import org.snakeyaml.engine.v2.nodes.Tag;
 import org.snakeyaml.engine.v2.parser.ParserImpl;
-import org.snakeyaml.engine.v2.resolver.JsonScalarResolver;
-import org.snakeyaml.engine.v2.resolver.ScalarResolver;
 import org.snakeyaml.engine.v2.scanner.StreamReader;
 
 /**
@@ -59,7 +57,20 @@ public class YAMLParser extends ParserBase
     protected final Reader _reader;
 
     protected final ParserImpl _yamlParser;
-    protected final ScalarResolver _yamlResolver = new JsonScalarResolver();
+
+    /**
+     * Reader {@link #_yamlParser} reads content through, if known: used for
+     * determining locations if {@link YAMLReadFeature#LAZY_LOCATION_TRACKING}
+     * is enabled (and events have no marks).
+     */
+    protected StreamReader _yamlReader;
+
+    /**
+     * Resolver used for determining types of plain scalars: equivalent to
+     * SnakeYAML-engine's {@code JsonScalarResolver}, but without regular
+     * expressions.
+     */
+    protected final ImplicitScalarResolver _yamlResolver = ImplicitScalarResolver.std;
 
     /*
     /**********************************************************************
@@ -124,10 +135,30 @@ public class YAMLParser extends ParserBase
             LoadSettings loadSettings, Reader reader)
     {
         this(readCtxt, ioCtxt, br, streamReadFeatures, formatFeatures,
-                        reader,
-                        _defaultParserImpl(loadSettings, reader));
+                reader, _defaultLoadSettings(loadSettings, formatFeatures));
     }
-    
+
+    private YAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt, BufferRecycler br,
+            int streamReadFeatures, int formatFeatures,
+            Reader reader, LoadSettings loadSettings)
+    {
+        this(readCtxt, ioCtxt, br, streamReadFeatures, formatFeatures,
+                reader, loadSettings, new StreamReader(loadSettings, reader));
+    }
+
+    /**
+     * Constructor for sub-classes that read content from a different
+     * source than {@code reader}.
+     */
+    protected YAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt, BufferRecycler br,
+            int streamReadFeatures, int formatFeatures,
+            Reader reader, LoadSettings loadSettings, StreamReader yamlReader)
+    {
+        this(readCtxt, ioCtxt, br, streamReadFeatures, formatFeatures,
+                reader, new ParserImpl(loadSettings, yamlReader));
+        _yamlReader = yamlReader;
+    }
+
     protected YAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt, BufferRecycler br,
             int streamReadFeatures, int formatFeatures,
             Reader reader,
@@ -143,11 +174,21 @@ public class YAMLParser extends ParserBase
         _streamReadContext = SimpleStreamReadContext.createRootContext(dups);
     }
 
-    private static ParserImpl _defaultParserImpl(LoadSettings settings, Reader r) {
+    /**
+     * Helper method for determining {@link LoadSettings} to use: if none
+     * configured, default settings; without marks if
+     * {@link YAMLReadFeature#LAZY_LOCATION_TRACKING} is enabled.
+     */
+    protected static LoadSettings _defaultLoadSettings(LoadSettings settings,
+            int formatFeatures)
+    {
         if (settings == null) {
+            if (YAMLReadFeature.LAZY_LOCATION_TRACKING.enabledIn(formatFeatures)) {
+                return LoadSettings.builder().setUseMarks(false).build();
+            }
             settings = LoadSettings.builder().build();
         }
-        return new ParserImpl(settings, new StreamReader(settings, r));
+        return settings;
     }
 
     /*
@@ -272,6 +313,14 @@ public class YAMLParser extends ParserBase
     protected TokenStreamLocation _locationFor(Optional<Mark> option)
     {
         if (!option.isPresent()) {
+            // No marks if disabled; can only report position of the reader,
+            // which may be ahead of current token
+            if (_yamlReader != null) {
+                return new TokenStreamLocation(_ioContext.contentReference(),
+                        _yamlReader.getIndex(),
+                        _yamlReader.getLine() + 1,
+                        _yamlReader.getColumn() + 1);
+            }
             return new TokenStreamLocation(_ioContext.contentReference(),
                     -1, -1, -1);
         }
@@ -375,11 +424,12 @@ public class YAMLParser extends ParserBase
                     return _updateToken(t);
                 case MappingStart:
                     // followed by maps, then arrays
-                    Optional<Mark> m = evt.getStartMark();
+                    Mark m = evt.getStartMark().orElse(null);
                     MappingStartEvent map = (MappingStartEvent) evt;
                     _currentAnchor = map.getAnchor();
-                    _streamReadContext = _streamReadContext.createChildObjectContext(
-                            m.map(mark -> mark.getLine()).orElse(0), m.map(mark -> mark.getColumn()).orElse(0));
+                    _streamReadContext = (m == null)
+                            ? _streamReadContext.createChildObjectContext(0, 0)
+                            : _streamReadContext.createChildObjectContext(m.getLine(), m.getColumn());
                     _streamReadConstraints.validateNestingDepth(_streamReadContext.getNestingDepth());
                     return _updateToken(JsonToken.START_OBJECT);
 
@@ -388,10 +438,11 @@ public class YAMLParser extends ParserBase
                     _reportError("Not expecting END_OBJECT but a value");
 
                 case SequenceStart:
-                    Optional<Mark> mrk = evt.getStartMark();
+                    Mark mrk = evt.getStartMark().orElse(null);
                     _currentAnchor = ((NodeEvent) evt).getAnchor();
-                    _streamReadContext = _streamReadContext.createChildArrayContext(
-                            mrk.map(mark -> mark.getLine()).orElse(0), mrk.map(mark -> mark.getColumn()).orElse(0));
+                    _streamReadContext = (mrk == null)
+                            ? _streamReadContext.createChildArrayContext(0, 0)
+                            : _streamReadContext.createChildArrayContext(mrk.getLine(), mrk.getColumn());
                     _streamReadConstraints.validateNestingDepth(_streamReadContext.getNestingDepth());
                     return _updateToken(JsonToken.START_ARRAY);
 
@@ -449,6 +500,12 @@ public class YAMLParser extends ParserBase
     {
         String value = scalar.getValue();
 
+        // we may get an explicit tag, if so, use for corroborating...
+        Optional<String> typeTagOptional = scalar.getTag();
+        if (!typeTagOptional.isPresent() || typeTagOptional.get().equals("!")) { // no, implicit
+            return _decodeUntaggedScalar(value, scalar.getImplicit().canOmitTagInPlainScalar());
+        }
+
         _textValue = value;
         _cleanedTextValue = null;
 
@@ -458,81 +515,99 @@ public class YAMLParser extends ParserBase
             return JsonToken.VALUE_STRING;
         }
 
-        // we may get an explicit tag, if so, use for corroborating...
-        Optional<String> typeTagOptional = scalar.getTag();
+        // yes, got type tag
         final int len = value.length();
-        if (!typeTagOptional.isPresent() || typeTagOptional.get().equals("!")) { // no, implicit
-            Tag nodeTag = _yamlResolver.resolve(value, scalar.getImplicit().canOmitTagInPlainScalar());
-            if (nodeTag == Tag.STR) {
-                return JsonToken.VALUE_STRING;
+        String typeTag = typeTagOptional.get();
+        if (typeTag.startsWith("tag:yaml.org,2002:")) {
+            typeTag = typeTag.substring("tag:yaml.org,2002:".length());
+            if (typeTag.contains(",")) {
+                final String[] tags = typeTag.split(",");
+                typeTag = (tags.length == 0) ? "" : tags[0];
             }
-            if (nodeTag == Tag.INT) {
-                return _decodeNumberScalar(value, len);
+        }
+        // [dataformats-text#39]: support binary type
+        if ("binary".equals(typeTag)) {
+            // 15-Dec-2017, tatu: 2.9.4 uses Jackson's codec because SnakeYAML does
+            //    not export its codec via OSGi (breaking 2.9.3). Note that trailing
+            //    whitespace is ok with core 2.9.4, but not earlier, so we'll trim
+            //    on purpose here
+            value = value.trim();
+            try {
+                _binaryValue = Base64Variants.MIME.decode(value);
+            } catch (IllegalArgumentException e) {
+                _reportError(e.getMessage());
             }
-            if (nodeTag == Tag.FLOAT) {
-                _numTypesValid = 0;
-                return _cleanYamlFloat(value);
+            return JsonToken.VALUE_EMBEDDED_OBJECT;
+        }
+        // canonical values by YAML are actually 'y' and 'n'; but plenty more unofficial:
+        if ("bool".equals(typeTag)) { // must be "true" or "false"
+            Boolean B = _matchYAMLBoolean(value, len);
+            if (B != null) {
+                return B ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
             }
-            if (nodeTag == Tag.BOOL) {
-                Boolean B = _matchYAMLBoolean(value, len);
-                if (B != null) {
-                    return B ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
+        } else {
+            // 17-Sep-2022, tatu: empty String value is not valid number;
+            //    so we could indicate exception or... for now, report as
+            //    String value?
+            if (len > 0) {
+                if ("int".equals(typeTag)) {
+                    return _decodeNumberScalar(value, len);
                 }
-            } else if (nodeTag == Tag.NULL) {
-                return JsonToken.VALUE_NULL;
-            } else {
-                // what to do with timestamp and binary and merge etc.
-                return JsonToken.VALUE_STRING;
-            }
-        } else { // yes, got type tag
-            String typeTag = typeTagOptional.get();
-            if (typeTag.startsWith("tag:yaml.org,2002:")) {
-                typeTag = typeTag.substring("tag:yaml.org,2002:".length());
-                if (typeTag.contains(",")) {
-                    final String[] tags = typeTag.split(",");
-                    typeTag = (tags.length == 0) ? "" : tags[0];
+                if ("float".equals(typeTag)) {
+                    _numTypesValid = 0;
+                    return _cleanYamlFloat(value);
                 }
-            }
-            // [dataformats-text#39]: support binary type
-            if ("binary".equals(typeTag)) {
-                // 15-Dec-2017, tatu: 2.9.4 uses Jackson's codec because SnakeYAML does
-                //    not export its codec via OSGi (breaking 2.9.3). Note that trailing
-                //    whitespace is ok with core 2.9.4, but not earlier, so we'll trim
-                //    on purpose here
-                value = value.trim();
-                try {
-                    _binaryValue = Base64Variants.MIME.decode(value);
-                } catch (IllegalArgumentException e) {
-                    _reportError(e.getMessage());
+                if ("null".equals(typeTag)) {
+                    return JsonToken.VALUE_NULL;
                 }
-                return JsonToken.VALUE_EMBEDDED_OBJECT;
             }
-            // canonical values by YAML are actually 'y' and 'n'; but plenty more unofficial:
-            if ("bool".equals(typeTag)) { // must be "true" or "false"
+        }
+
+        // any way to figure out actual type? No?
+        return JsonToken.VALUE_STRING;
+    }
+
+    /**
+     * Method called to decode scalar value that has no explicit type tag:
+     * type of plain scalars is resolved from value; other (quoted, block)
+     * scalars are always Strings.
+     */
+    protected JsonToken _decodeUntaggedScalar(String value, boolean plain) throws JacksonException
+    {
+        _textValue = value;
+        _cleanedTextValue = null;
+
+        // [dataformats-text#130]: Allow determining whether empty String is
+        // coerced into null or not
+        if (!_cfgEmptyStringsToNull && value.isEmpty()) {
+            return JsonToken.VALUE_STRING;
+        }
+        // quoted scalars are always Strings
+        if (!plain) {
+            return JsonToken.VALUE_STRING;
+        }
+        final int len = value.length();
+        switch (_yamlResolver.classify(value)) {
+        case ImplicitScalarResolver.SCALAR_INT:
+            return _decodeImplicitInt(value, len);
+        case ImplicitScalarResolver.SCALAR_FLOAT:
+            // no underscores (or plus signs) to clean with implicit floats
+            _numTypesValid = 0;
+            _cleanedTextValue = value;
+            return JsonToken.VALUE_NUMBER_FLOAT;
+        case ImplicitScalarResolver.SCALAR_BOOL:
+            {
                 Boolean B = _matchYAMLBoolean(value, len);
                 if (B != null) {
                     return B ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
                 }
-            } else {
-                // 17-Sep-2022, tatu: empty String value is not valid number;
-                //    so we could indicate exception or... for now, report as
-                //    String value?
-                if (len > 0) {
-                    if ("int".equals(typeTag)) {
-                        return _decodeNumberScalar(value, len);
-                    }
-                    if ("float".equals(typeTag)) {
-                        _numTypesValid = 0;
-                        return _cleanYamlFloat(value);
-                    }
-                    if ("null".equals(typeTag)) {
-                        return JsonToken.VALUE_NULL;
-                    }
-                }
             }
+            break;
+        case ImplicitScalarResolver.SCALAR_NULL:
+            return JsonToken.VALUE_NULL;
+        default:
+            // what to do with env variables etc.
         }
-
-        // any way to figure out actual type? No?
         return JsonToken.VALUE_STRING;
     }
 
@@ -550,6 +625,25 @@ public class YAMLParser extends ParserBase
         return null;
     }
 
+    /**
+     * Method called to decode integer value resolved from plain scalar: such
+     * values have already been validated to consist of optional minus sign
+     * and decimal digits (without leading zeroes), so only need to check
+     * for zero value; others are decoded lazily.
+     */
+    protected JsonToken _decodeImplicitInt(String value, final int len)
+    {
+        _numberNegative = (value.charAt(0) == '-');
+        if (value.charAt(len-1) == '0' && (len == (_numberNegative ? 2 : 1))) {
+            _numberInt = 0;
+            _numTypesValid = NR_INT;
+            return JsonToken.VALUE_NUMBER_INT;
+        }
+        _numTypesValid = 0;
+        _cleanedTextValue = value;
+        return JsonToken.VALUE_NUMBER_INT;
+    }
+
     protected JsonToken _decodeNumberScalar(String value, final int len)
         throws JacksonException
     {
@@ -991,6 +1085,15 @@ public class YAMLParser extends ParserBase
         if (_currToken == JsonToken.VALUE_NUMBER_FLOAT) {
             // strip out optional underscores, if any:
             final String numStr = _cleanedTextValue;
+            // special values (".inf", "-.inf", ".nan") only have `double` representation
+            if (expType != NR_BIGDECIMAL) {
+                final double special = _decodeSpecialFloat(numStr);
+                if (special != 0.0) {
+                    _numberDouble = special;
+                    _numTypesValid = NR_DOUBLE;
+                    return;
+                }
+            }
             try {
                 streamReadConstraints().validateFPLength(numStr.length());
                 if (expType == NR_BIGDECIMAL) {
@@ -1015,6 +1118,25 @@ public class YAMLParser extends ParserBase
         _reportError("Current token (" + _currToken + ") not numeric, can not use numeric value accessors");
     }
 
+    /**
+     * Helper method for decoding special floating-point values resolved by
+     * {@link ImplicitScalarResolver}: returns matching infinity or NaN value,
+     * or {@code 0.0} if value is a regular number.
+     */
+    protected static double _decodeSpecialFloat(String value)
+    {
+        switch (value) {
+        case ".inf":
+            return Double.POSITIVE_INFINITY;
+        case "-.inf":
+            return Double.NEGATIVE_INFINITY;
+        case ".nan":
+            return Double.NaN;
+        default:
+            return 0.0;
+        }
+    }
+
     @Override
     protected int _parseIntValue() throws JacksonException
     {
@@ -16,7 +16,58 @@ public enum YAMLReadFeature implements FormatFeature
      *<p>
      * Feature is enabled by default for backwards-compatibility reasons.
      */
-    EMPTY_STRING_AS_NULL(true)
+    EMPTY_STRING_AS_NULL(true),
+
+    /**
+     * Feature that determines whether parser uses native tokenizer
+     * ({@link NativeYAMLParser}) that handles commonly used subset of YAML
+     * (block and flow collections, single-line plain and quoted scalars,
+     * anchors and aliases, comments) directly, instead of building
+     * SnakeYAML-engine events for every token.
+     * Whole content is read in memory before the first token is returned,
+     * and if it contains anything else (like tags, block scalars or
+     * multi-line scalars), SnakeYAML-engine is used for the whole document.
+     * Note, too, that token locations are based on {@code char} offsets,
+     * not code points.
+     *<p>
+     * Feature is disabled by default.
+     *
+     * @since 3.0
+     */
+    USE_NATIVE_TOKENIZER(false),
+
+    /**
+     * Feature that determines whether SnakeYAML-engine is configured to
+     * not create location marks for events ({@code LoadSettings.useMarks}),
+     * to reduce allocations when parsing large documents.
+     * If enabled, locations are only calculated when requested (like when
+     * reporting an error), based on the current position of the underlying
+     * reader.
+     *<p>
+     * Feature has two limitations:
+     *<ul>
+     * <li>Reported locations are not those of the current token: the reader
+     *   usually has read past the token, so location may be ahead of it
+     *   (possibly by multiple lines). Locations are still useful for error
+     *   messages, but not for locating tokens.
+     *  </li>
+     * <li>Feature has no effect if custom {@code LoadSettings} are configured
+     *   for {@link YAMLFactory} (see {@link YAMLFactoryBuilder#loadSettings}):
+     *   marks are then created as specified by those settings, so
+     *   {@code LoadSettingsBuilder.setUseMarks(false)} needs to be called
+     *   for them instead.
+     *  </li>
+     *</ul>
+     *<p>
+     * Feature has no effect on {@link #USE_NATIVE_TOKENIZER native tokenizer},
+     * which always reports exact token locations (unless it has to fall back
+     * to SnakeYAML-engine).
+     *<p>
+     * Feature is disabled by default.
+     *
+     * @since 3.0
+     */
+    LAZY_LOCATION_TRACKING(false)
     ;
 
     private final boolean _defaultState;
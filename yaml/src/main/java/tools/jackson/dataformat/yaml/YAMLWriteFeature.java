@@ -120,6 +120,24 @@ public enum YAMLWriteFeature implements FormatFeature
      * </p>
      */
     ALLOW_LONG_KEYS(false),
+
+    /**
+     * Feature that determines whether block-style YAML is written directly
+     * by {@link NativeYAMLGenerator} (into a recycled buffer), instead of
+     * building SnakeYAML-engine events for every token and passing them
+     * to its {@code Emitter}. Output is the same either way.
+     * SnakeYAML-engine is still used if custom {@code DumpSettings} or
+     * YAML version to write are configured, or if any of
+     * {@link #CANONICAL_OUTPUT}, {@link #INDENT_ARRAYS} or
+     * {@link #INDENT_ARRAYS_WITH_INDICATOR} is enabled.
+     * Generators for {@link java.nio.channels.WritableByteChannel}s use native
+     * emitter whenever possible, regardless of this feature.
+     *<p>
+     * Feature is disabled by default.
+     *
+     * @since 3.0
+     */
+    USE_NATIVE_EMITTER(false),
     ;
 
     private final boolean _defaultState;
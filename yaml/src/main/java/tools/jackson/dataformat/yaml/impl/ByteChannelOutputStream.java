@@ -0,0 +1,230 @@
+package tools.jackson.dataformat.yaml.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link OutputStream} implementation for writing content to a
+ * {@link WritableByteChannel} (like {@link java.nio.channels.FileChannel} or
+ * {@link java.nio.channels.SocketChannel}): content is copied into direct
+ * {@link ByteBuffer}s, which are written to the channel once all of them
+ * are full (or when stream is flushed or closed); using a single gathering
+ * write if channel is a {@link GatheringByteChannel}.
+ * Since direct buffers are expensive to allocate, buffers of default size
+ * are pooled by default: they are shared by all streams, and returned to
+ * the pool when stream is closed.
+ *<p>
+ * Channel must be in blocking mode. Closing the stream closes the
+ * underlying channel as well, if so specified when constructing the stream.
+ */
+public class ByteChannelOutputStream extends OutputStream
+{
+    public final static int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    public final static int DEFAULT_BUFFER_COUNT = 4;
+
+    /**
+     * Maximum number of released buffers retained by the pool
+     */
+    private final static int MAX_POOLED_BUFFERS = 16;
+
+    private final static ConcurrentLinkedQueue<ByteBuffer> _bufferPool = new ConcurrentLinkedQueue<>();
+
+    private final static AtomicInteger _pooledCount = new AtomicInteger();
+
+    protected final WritableByteChannel _channel;
+
+    protected final boolean _closeChannel;
+
+    protected final boolean _pooled;
+
+    /**
+     * Buffers to fill: allocated lazily, as needed; {@code null} once
+     * stream has been closed
+     */
+    protected ByteBuffer[] _buffers;
+
+    /**
+     * Index of buffer currently being filled
+     */
+    protected int _current;
+
+    public ByteChannelOutputStream(WritableByteChannel channel, boolean closeChannel) {
+        this(channel, closeChannel, DEFAULT_BUFFER_COUNT, true);
+    }
+
+    /**
+     * @param channel Channel to write content to
+     * @param closeChannel Whether to close channel when stream is closed
+     * @param bufferCount Number of buffers to fill before writing to channel:
+     *    more than one is only useful with {@link GatheringByteChannel}s
+     * @param pooled Whether to use (and release) buffers from the shared pool
+     *    or not
+     */
+    public ByteChannelOutputStream(WritableByteChannel channel, boolean closeChannel,
+            int bufferCount, boolean pooled)
+    {
+        if (bufferCount <= 0) {
+            throw new IllegalArgumentException("Buffer count must be positive, was: "+bufferCount);
+        }
+        _channel = channel;
+        _closeChannel = closeChannel;
+        _pooled = pooled;
+        _buffers = new ByteBuffer[bufferCount];
+    }
+
+    /*
+    /**********************************************************************
+    /* OutputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public void write(int b) throws IOException {
+        _buffer().put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int offset, int len) throws IOException
+    {
+        while (len > 0) {
+            final ByteBuffer buf = _buffer();
+            final int count = Math.min(len, buf.remaining());
+            buf.put(b, offset, count);
+            offset += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        if (_buffers != null) {
+            _writeBuffers();
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        final ByteBuffer[] buffers = _buffers;
+        if (buffers == null) {
+            return;
+        }
+        try {
+            _writeBuffers();
+        } finally {
+            _buffers = null;
+            if (_pooled) {
+                for (ByteBuffer buf : buffers) {
+                    if (buf != null) {
+                        _releaseBuffer(buf);
+                    }
+                }
+            }
+            if (_closeChannel) {
+                _channel.close();
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method for accessing buffer to write content to: will write out
+     * buffered content if all buffers are full.
+     */
+    protected ByteBuffer _buffer() throws IOException
+    {
+        final ByteBuffer[] buffers = _buffers;
+        if (buffers == null) {
+            throw new ClosedChannelException();
+        }
+        ByteBuffer buf = buffers[_current];
+        if (buf == null) {
+            buf = buffers[_current] = _allocBuffer();
+        } else if (!buf.hasRemaining()) {
+            if (++_current == buffers.length) {
+                _writeBuffers();
+            }
+            buf = buffers[_current];
+            if (buf == null) {
+                buf = buffers[_current] = _allocBuffer();
+            }
+        }
+        return buf;
+    }
+
+    /**
+     * Method called to write out all buffered content, and to reset
+     * buffers for reuse.
+     */
+    protected void _writeBuffers() throws IOException
+    {
+        final ByteBuffer[] buffers = _buffers;
+        int count = Math.min(_current + 1, buffers.length);
+        if ((buffers[count-1] == null) || (buffers[count-1].position() == 0)) {
+            --count;
+        }
+        if (count == 0) {
+            _current = 0;
+            return;
+        }
+        for (int i = 0; i < count; ++i) {
+            buffers[i].flip();
+        }
+        if ((count > 1) && (_channel instanceof GatheringByteChannel)) {
+            final GatheringByteChannel gathering = (GatheringByteChannel) _channel;
+            int first = 0;
+            while (first < count) {
+                gathering.write(buffers, first, count - first);
+                while ((first < count) && !buffers[first].hasRemaining()) {
+                    ++first;
+                }
+            }
+        } else {
+            for (int i = 0; i < count; ++i) {
+                final ByteBuffer buf = buffers[i];
+                while (buf.hasRemaining()) {
+                    _channel.write(buf);
+                }
+            }
+        }
+        for (int i = 0; i < count; ++i) {
+            buffers[i].clear();
+        }
+        _current = 0;
+    }
+
+    protected ByteBuffer _allocBuffer()
+    {
+        if (_pooled) {
+            ByteBuffer buf = _bufferPool.poll();
+            if (buf != null) {
+                _pooledCount.decrementAndGet();
+                return buf;
+            }
+        }
+        return ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+    }
+
+    private static void _releaseBuffer(ByteBuffer buf)
+    {
+        if (_pooledCount.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            buf.clear();
+            _bufferPool.offer(buf);
+        } else {
+            _pooledCount.decrementAndGet();
+        }
+    }
+}
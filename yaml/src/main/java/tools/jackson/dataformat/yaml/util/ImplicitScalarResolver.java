@@ -0,0 +1,261 @@
+package tools.jackson.dataformat.yaml.util;
+
+import org.snakeyaml.engine.v2.nodes.Tag;
+import org.snakeyaml.engine.v2.resolver.JsonScalarResolver;
+import org.snakeyaml.engine.v2.resolver.ScalarResolver;
+
+/**
+ * {@link ScalarResolver} implementation that resolves implicit tags of plain
+ * scalars exactly like SnakeYAML-engine's {@link JsonScalarResolver}
+ * (JSON schema: {@code null}, {@code true}/{@code false}, decimal integers
+ * and floating-point numbers, plus environment variable references),
+ * but using a hand-written single-pass check instead of a sequence of
+ * regular expression matches.
+ *<p>
+ * In addition to {@link #resolve} this class exposes {@link #classify},
+ * used by {@link tools.jackson.dataformat.yaml.YAMLParser}: since
+ * classification verifies exact syntax of numbers, caller can rely on
+ * it (for example, {@link #SCALAR_INT} values consist of an optional minus
+ * sign followed by decimal digits, without leading zeroes) and need not
+ * re-scan values.
+ *
+ * @since 3.0
+ */
+public class ImplicitScalarResolver
+    implements ScalarResolver
+{
+    /**
+     * Value is a String (or anything else that resolves to {@link Tag#STR})
+     */
+    public final static int SCALAR_STR = 0;
+
+    /**
+     * Value is {@code null} or empty String
+     */
+    public final static int SCALAR_NULL = 1;
+
+    /**
+     * Value is {@code true} or {@code false}
+     */
+    public final static int SCALAR_BOOL = 2;
+
+    /**
+     * Value is a decimal integer number: optional minus sign, followed by
+     * either a single {@code 0} or digits without leading zeroes
+     */
+    public final static int SCALAR_INT = 3;
+
+    /**
+     * Value is a floating-point number (including {@code .inf},
+     * {@code -.inf} and {@code .nan}); never contains underscores
+     */
+    public final static int SCALAR_FLOAT = 4;
+
+    /**
+     * Value is a reference to environment variable, like {@code ${HOME}}
+     */
+    public final static int SCALAR_ENV = 5;
+
+    public final static ImplicitScalarResolver std = new ImplicitScalarResolver();
+
+    /*
+    /**********************************************************************
+    /* ScalarResolver implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public Tag resolve(String value, Boolean implicit)
+    {
+        if (!implicit) {
+            return Tag.STR;
+        }
+        switch (classify(value)) {
+        case SCALAR_NULL:
+            return Tag.NULL;
+        case SCALAR_BOOL:
+            return Tag.BOOL;
+        case SCALAR_INT:
+            return Tag.INT;
+        case SCALAR_FLOAT:
+            return Tag.FLOAT;
+        case SCALAR_ENV:
+            return Tag.ENV_TAG;
+        default:
+            return Tag.STR;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Classification
+    /**********************************************************************
+     */
+
+    /**
+     * Method for determining type of a plain (unquoted) scalar value.
+     *
+     * @return Type of the value: one of {@code SCALAR_xxx} constants
+     */
+    public int classify(String value)
+    {
+        final int len = value.length();
+        if (len == 0) {
+            return SCALAR_NULL;
+        }
+        switch (value.charAt(0)) {
+        case 't':
+            return "true".equals(value) ? SCALAR_BOOL : SCALAR_STR;
+        case 'f':
+            return "false".equals(value) ? SCALAR_BOOL : SCALAR_STR;
+        case 'n':
+            return "null".equals(value) ? SCALAR_NULL : SCALAR_STR;
+        case '$':
+            return _isEnvReference(value, len) ? SCALAR_ENV : SCALAR_STR;
+        case '-':
+            if (len == 1) {
+                return SCALAR_STR;
+            }
+            return _classifyNumber(value, 1, len, true);
+        case '.':
+        case '0': case '1': case '2': case '3': case '4':
+        case '5': case '6': case '7': case '8': case '9':
+            return _classifyNumber(value, 0, len, false);
+        default:
+            return SCALAR_STR;
+        }
+    }
+
+    // Check equivalent to matching INT pattern {@code -?(0|[1-9][0-9]*)},
+    // then FLOAT pattern
+    // {@code -?(0|[1-9][0-9]*)(\.[0-9]*)?([eE][-+]?[0-9]+)?|-?\.inf|\.nan}
+    private static int _classifyNumber(String value, int i, final int len, boolean negative)
+    {
+        char c = value.charAt(i);
+        if (c == '.') { // no leading dot, except for special values
+            if ((len - i) == 4) {
+                if (value.startsWith("inf", i+1)) {
+                    return SCALAR_FLOAT;
+                }
+                if (!negative && value.startsWith("nan", i+1)) {
+                    return SCALAR_FLOAT;
+                }
+            }
+            return SCALAR_STR;
+        }
+        if (c == '0') { // no leading zeroes for integral part
+            ++i;
+        } else if (c >= '1' && c <= '9') {
+            while (++i < len) {
+                c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+            }
+        } else {
+            return SCALAR_STR;
+        }
+        if (i == len) {
+            return SCALAR_INT;
+        }
+        c = value.charAt(i);
+        // Optional fraction, possibly without digits
+        if (c == '.') {
+            while (++i < len) {
+                c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+            }
+            if (i == len) {
+                return SCALAR_FLOAT;
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            return _classifyExponent(value, i+1, len);
+        }
+        return SCALAR_STR;
+    }
+
+    // Exponent after 'e' or 'E': optional sign, at least one digit
+    private static int _classifyExponent(String value, int i, final int len)
+    {
+        if (i < len) {
+            char c = value.charAt(i);
+            if (c == '-' || c == '+') {
+                ++i;
+            }
+        }
+        if (i == len) {
+            return SCALAR_STR;
+        }
+        for (; i < len; ++i) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return SCALAR_STR;
+            }
+        }
+        return SCALAR_FLOAT;
+    }
+
+    /**
+     * Check equivalent to matching against
+     * {@code ^\$\{\s*(?:(\w+)(?:(:?[-?])(\w+)?)?)\s*\}$}
+     * (environment variable reference, with optional default value or
+     * error message)
+     */
+    private static boolean _isEnvReference(String value, final int len)
+    {
+        if (len < 4 || value.charAt(1) != '{' || value.charAt(len-1) != '}') {
+            return false;
+        }
+        final int end = len-1;
+        int i = _skipSpace(value, 2, end);
+        // Variable name is required
+        int start = i;
+        i = _skipWordChars(value, i, end);
+        if (i == start) {
+            return false;
+        }
+        if (i < end) {
+            char c = value.charAt(i);
+            if (c == ':') {
+                if (++i == end) {
+                    return false;
+                }
+                c = value.charAt(i);
+            }
+            if (c == '-' || c == '?') {
+                i = _skipWordChars(value, i+1, end);
+            } else if (value.charAt(i-1) == ':') {
+                return false;
+            }
+        }
+        return _skipSpace(value, i, end) == end;
+    }
+
+    private static int _skipSpace(String value, int i, final int end)
+    {
+        for (; i < end; ++i) {
+            switch (value.charAt(i)) {
+            case ' ': case '\t': case '\n': case '\u000B': case '\f': case '\r':
+                continue;
+            default:
+                return i;
+            }
+        }
+        return i;
+    }
+
+    private static int _skipWordChars(String value, int i, final int end)
+    {
+        for (; i < end; ++i) {
+            char c = value.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9') || (c == '_'))) {
+                break;
+            }
+        }
+        return i;
+    }
+}
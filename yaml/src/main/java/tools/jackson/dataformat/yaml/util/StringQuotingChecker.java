@@ -3,6 +3,7 @@ package tools.jackson.dataformat.yaml.util;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Helper class that defines API used by
@@ -211,9 +212,38 @@ public abstract class StringQuotingChecker
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Maximum number of property names for which quoting decision is
+         * cached; cache is simply cleared when this is exceeded (similar to
+         * how {@code InternCache} of {@code jackson-core} works).
+         *
+         * @since 3.0
+         */
+        protected final static int MAX_CACHED_NAMES = 500;
+
+        /**
+         * Longest property name for which quoting decision is cached.
+         *
+         * @since 3.0
+         */
+        protected final static int MAX_CACHED_NAME_LENGTH = 64;
+
         private final static Default INSTANCE = new Default();
 
-        public Default() { }
+        /**
+         * Cache of quoting decisions for property names: names are typically
+         * drawn from a small set of (shared) {@link String} instances so
+         * lookups are cheap compared to re-checking the name.
+         * Not serialized; will be {@code null} for deserialized instances
+         * in which case no caching is done.
+         *
+         * @since 3.0
+         */
+        protected final transient ConcurrentHashMap<String, Boolean> _nameQuoting;
+
+        public Default() {
+            _nameQuoting = new ConcurrentHashMap<>(64, 0.8f, 4);
+        }
 
         public static Default instance() { return INSTANCE; }
 
@@ -221,10 +251,28 @@ public abstract class StringQuotingChecker
          * Default implementation will call
          * {@link #isReservedKeyword(String)} and
          * {@link #looksLikeYAMLNumber(String)} to determine
-         * if quoting should be applied.
+         * if quoting should be applied; decisions for short names are cached.
          */
         @Override
         public boolean needToQuoteName(String name)
+        {
+            final ConcurrentHashMap<String, Boolean> cache = _nameQuoting;
+            if ((cache == null) || (name.length() > MAX_CACHED_NAME_LENGTH)) {
+                return _needToQuoteName(name);
+            }
+            Boolean b = cache.get(name);
+            if (b == null) {
+                b = _needToQuoteName(name);
+                if (cache.size() >= MAX_CACHED_NAMES) {
+                    cache.clear();
+                }
+                cache.put(name, b);
+            }
+            return b.booleanValue();
+        }
+
+        // @since 3.0
+        protected boolean _needToQuoteName(String name)
         {
             return isReservedKeyword(name) || looksLikeYAMLNumber(name)
                     // 31-Jan-2022, tatu: as per [dataformats-text#306] may also
@@ -244,5 +292,13 @@ public abstract class StringQuotingChecker
             // Only consider reserved keywords but not numbers?
             return isReservedKeyword(value) || valueHasQuotableChar(value);
         }
+
+        // Return shared instance instead of one without name cache
+        protected Object readResolve() {
+            if (getClass() == Default.class) {
+                return INSTANCE;
+            }
+            return this;
+        }
     }
 }
@@ -64,6 +64,14 @@ public abstract class ModuleTestBase
         }
     }
     
+    /**
+     * Whether factories and mappers constructed using helper methods should
+     * enable {@link YAMLReadFeature#USE_NATIVE_TOKENIZER}: set with system
+     * property {@code jackson.yaml.nativeTokenizer} to run the test suite
+     * against both tokenizers.
+     */
+    protected final static boolean USE_NATIVE_TOKENIZER = Boolean.getBoolean("jackson.yaml.nativeTokenizer");
+
     protected ModuleTestBase() { }
 
     /*
@@ -73,7 +81,8 @@ public abstract class ModuleTestBase
      */
 
     protected YAMLFactoryBuilder streamFactoryBuilder() {
-        return YAMLFactory.builder();
+        return YAMLFactory.builder()
+                .configure(YAMLReadFeature.USE_NATIVE_TOKENIZER, USE_NATIVE_TOKENIZER);
     }
 
     protected YAMLMapper newObjectMapper() {
@@ -81,7 +90,8 @@ public abstract class ModuleTestBase
     }
 
     protected YAMLMapper.Builder mapperBuilder() {
-        return YAMLMapper.builder();
+        return YAMLMapper.builder()
+                .configure(YAMLReadFeature.USE_NATIVE_TOKENIZER, USE_NATIVE_TOKENIZER);
     }
     
     protected YAMLMapper.Builder mapperBuilder(YAMLFactory f) {
@@ -23,7 +23,7 @@ public class DeeplyNestedYAMLReadWriteTest
     extends ModuleTestBase
 {
     private final YAMLMapper YAML_MAPPER = new YAMLMapper(
-            YAMLFactory.builder()
+            streamFactoryBuilder()
             // Use higher limit for writing to simplify testing setup
                 .streamReadConstraints(StreamReadConstraints.builder()
                     .maxNestingDepth(10).build())
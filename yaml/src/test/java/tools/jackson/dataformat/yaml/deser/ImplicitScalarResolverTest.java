@@ -0,0 +1,110 @@
+package tools.jackson.dataformat.yaml.deser;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.snakeyaml.engine.v2.resolver.JsonScalarResolver;
+import org.snakeyaml.engine.v2.resolver.ScalarResolver;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.dataformat.yaml.ModuleTestBase;
+import tools.jackson.dataformat.yaml.YAMLMapper;
+import tools.jackson.dataformat.yaml.util.ImplicitScalarResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests to verify that regex-free resolution of plain scalars works
+// same as that of SnakeYAML-engine
+public class ImplicitScalarResolverTest extends ModuleTestBase
+{
+    private final YAMLMapper MAPPER = newObjectMapper();
+
+    private final ScalarResolver JSON_RESOLVER = new JsonScalarResolver();
+
+    @Test
+    public void testSameAsJsonResolver() throws Exception
+    {
+        final String[] values = new String[] {
+                "", "true", "false", "null", "True", "FALSE", "Null", "nul", "truex",
+                "-", "+", ".", "-.", "0", "-0", "+0", "00", "01", "-01", "0.", "0.5", ".5",
+                "-.5", "-.5e3", "1.", "1.e5", "1e5", "1e", "1e+", "1e-3", "1E5", "-0.5e-3", "0e5",
+                "123", "-123", "12345678901234567890", "1_000", "0x1F", "0b101", "0o17",
+                "1.2.3", "1e5.0", ".inf", "-.inf", "+.inf", ".nan", "-.nan", ".Inf", ".NaN",
+                "${HOME}", "${ HOME }", "${A:-b}", "${A-b}", "${A:?err}", "${A?}", "${A:}",
+                "${A:b}", "${}", "${A B}", "$HOME", "${A", "abc", "12:30", "1,000"
+        };
+        for (String value : values) {
+            _verify(value);
+        }
+        final String chars = "-+.0123456789e_xinfatrulsn${}:? ";
+        final Random rnd = new Random(123);
+        for (int i = 0; i < 100_000; ++i) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0, len = rnd.nextInt(8); j < len; ++j) {
+                sb.append(chars.charAt(rnd.nextInt(chars.length())));
+            }
+            _verify(sb.toString());
+        }
+    }
+
+    @Test
+    public void testNonImplicit() throws Exception
+    {
+        assertSame(JSON_RESOLVER.resolve("123", false),
+                ImplicitScalarResolver.std.resolve("123", false));
+    }
+
+    @Test
+    public void testScalarTokens() throws Exception
+    {
+        try (JsonParser p = MAPPER.createParser(
+                "[ 0, -0, 42, -1234567890123, 0.25, -0.5E3, .inf, true, false, null, '17', 017, 1_000 ]")) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(Integer.valueOf(0), p.getNumberValueDeferred());
+            assertEquals(0, p.getIntValue());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(0, p.getIntValue());
+            assertEquals("-0", p.getString());
+
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            // decoding is lazy for other values
+            assertEquals("42", p.getNumberValueDeferred());
+            assertEquals(42, p.getIntValue());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(JsonParser.NumberType.LONG, p.getNumberType());
+            assertEquals(-1234567890123L, p.getLongValue());
+
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(0.25, p.getDoubleValue());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(-500.0, p.getDoubleValue());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(".inf", p.getString());
+
+            assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+            assertToken(JsonToken.VALUE_FALSE, p.nextToken());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+
+            // quoted, so String
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("17", p.getString());
+            // not valid JSON-schema numbers, so Strings too
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("017", p.getString());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("1_000", p.getString());
+
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+    }
+
+    private void _verify(String value)
+    {
+        assertSame(JSON_RESOLVER.resolve(value, true),
+                ImplicitScalarResolver.std.resolve(value, true),
+                "Different tag for '"+value+"'");
+    }
+}
@@ -0,0 +1,150 @@
+package tools.jackson.dataformat.yaml.deser;
+
+import java.io.StringReader;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.TokenStreamLocation;
+import tools.jackson.dataformat.yaml.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests to verify that native tokenizer produces same tokens as
+// SnakeYAML-engine backed parser, and falls back to it when needed
+public class NativeTokenizerTest extends ModuleTestBase
+{
+    // reference mapper: always uses SnakeYAML-engine
+    private final YAMLMapper MAPPER = mapperBuilder()
+            .disable(YAMLReadFeature.USE_NATIVE_TOKENIZER)
+            .build();
+
+    private final YAMLMapper NATIVE_MAPPER = mapperBuilder()
+            .enable(YAMLReadFeature.USE_NATIVE_TOKENIZER)
+            .build();
+
+    private final static String[] SUPPORTED_DOCS = {
+        "a: 1\nb: [1, 2.5, x]\nc:\n  - a\n  - 'b'\n  - \"c\\td\\u00e9\"\n",
+        "key: value\nnested:\n  x: 1\n  y:\n    z: true\nlist:\n- a\n- b\nafter: -.5e3\n",
+        "- a\n- - b\n  - c\n- k: v\n  k2: v2\n- \n- {a: 1, b: [x, y]}\n",
+        "anchor: &A\n  x: 1\nref: *A\nseq: &S [1, 2]\nval: &V str\nr2: *V\n",
+        "---\na: 1\n...\n---\n- b\n",
+        "# comment\na: 1 # trailing\n\n  # indented comment\nb: 'it''s'\n",
+        "a:\nb: \nc: null\nd: ''\n",
+        "flow: {a: 1,\n  b: [2,\n    3]}\n",
+        "url: http://x.com/a:b\nt: a#b\n",
+        "\"quoted key\": 1\n'single': 2\n",
+        "just a scalar\n",
+        "--- [1, 2, 3]",
+        "a: [a, [b, {c: d}], {}]\nb: []\n",
+        "\r\na: 1\r\nb: \"x\\\"y\"\r\n",
+        "values: [0, -0, 42, 12345678901234567890, 0.5e-3, .inf, -.inf, .nan, TRUE, ~, 0x1F]\n",
+        "text: \"\\x41\\u00e9\\U0001F600\"\n"
+    };
+
+    private final static String[] FALLBACK_DOCS = {
+        "a: !!str 1\nb: 2\n",
+        "a: |\n  x\n  y\nb: 2\n",
+        "a: plain\n  multi-line\n",
+        "a: 'quoted\n  multi-line'\n",
+        "? complex\n: key\n",
+        "%YAML 1.2\n---\na: 1\n",
+        "a: x\tb\n",
+        "!!map\na: 1\n",
+        "&a key: value\n"
+    };
+
+    @Test
+    public void testFactoryConfig() throws Exception
+    {
+        YAMLFactory f = YAMLFactory.builder()
+                .enable(YAMLReadFeature.USE_NATIVE_TOKENIZER)
+                .build();
+        try (JsonParser p = mapperBuilder(f).build().createParser("a: 1")) {
+            assertEquals(NativeYAMLParser.class, p.getClass());
+        }
+        try (JsonParser p = MAPPER.createParser("a: 1")) {
+            assertEquals(YAMLParser.class, p.getClass());
+        }
+    }
+
+    @Test
+    public void testSameTokensAsDefault() throws Exception
+    {
+        for (String doc : SUPPORTED_DOCS) {
+            _verifySame(doc, false);
+        }
+    }
+
+    @Test
+    public void testFallback() throws Exception
+    {
+        for (String doc : FALLBACK_DOCS) {
+            _verifySame(doc, true);
+        }
+    }
+
+    @Test
+    public void testLocations() throws Exception
+    {
+        final String doc = "# header\nroot:\n  name: \"value\"\n  list:\n  - 12\n  - {x: [a, 'b']}\n";
+        try (JsonParser p1 = MAPPER.createParser(doc);
+                JsonParser p2 = NATIVE_MAPPER.createParser(doc)) {
+            JsonToken t;
+            while ((t = p1.nextToken()) != null) {
+                assertToken(t, p2.nextToken());
+                if (t.isScalarValue() || t == JsonToken.PROPERTY_NAME) {
+                    TokenStreamLocation exp = p1.currentTokenLocation();
+                    TokenStreamLocation act = p2.currentTokenLocation();
+                    assertEquals(exp.getCharOffset(), act.getCharOffset());
+                    assertEquals(exp.getLineNr(), act.getLineNr());
+                    assertEquals(exp.getColumnNr(), act.getColumnNr());
+                    assertEquals(p1.currentLocation().getCharOffset(),
+                            p2.currentLocation().getCharOffset());
+                }
+            }
+            assertNull(p2.nextToken());
+            assertFalse(((NativeYAMLParser) p2).usesFallback());
+        }
+    }
+
+    @Test
+    public void testDatabind() throws Exception
+    {
+        final String doc = "id: 3\nname: \"Bob\"\ntags: [a, b]\nnested:\n  flag: true\n";
+        assertEquals(MAPPER.readTree(doc), NATIVE_MAPPER.readTree(doc));
+        assertEquals(MAPPER.readValue(doc, Map.class),
+                NATIVE_MAPPER.readValue(new StringReader(doc), Map.class));
+        assertEquals(MAPPER.readTree(doc),
+                NATIVE_MAPPER.readTree(doc.getBytes("UTF-8")));
+    }
+
+    private void _verifySame(String doc, boolean expFallback) throws Exception
+    {
+        try (JsonParser p1 = MAPPER.createParser(doc);
+                JsonParser p2 = NATIVE_MAPPER.createParser(doc)) {
+            assertEquals(NativeYAMLParser.class, p2.getClass());
+            JsonToken t;
+            while ((t = p1.nextToken()) != null) {
+                assertToken(t, p2.nextToken());
+                final YAMLParser yp1 = (YAMLParser) p1;
+                final YAMLParser yp2 = (YAMLParser) p2;
+                assertEquals(yp1.isCurrentAlias(), yp2.isCurrentAlias(), doc);
+                assertEquals(p1.getObjectId(), p2.getObjectId(), doc);
+                assertEquals(p1.getTypeId(), p2.getTypeId(), doc);
+                if (t == JsonToken.PROPERTY_NAME) {
+                    assertEquals(p1.currentName(), p2.currentName(), doc);
+                } else if (t.isNumeric()) {
+                    assertEquals(p1.getNumberType(), p2.getNumberType(), doc);
+                    assertEquals(p1.getNumberValue(), p2.getNumberValue(), doc);
+                } else if (t.isScalarValue()) {
+                    assertEquals(p1.getString(), p2.getString(), doc);
+                }
+            }
+            assertNull(p2.nextToken());
+            assertEquals(expFallback, ((NativeYAMLParser) p2).usesFallback(), doc);
+        }
+    }
+}
@@ -96,6 +96,22 @@ public class NumberDeserWithYAMLTest extends ModuleTestBase
         assertEquals(Double.valueOf(Double.NEGATIVE_INFINITY), result);
     }
 
+    // YAML special values, as plain (unquoted) scalars
+    @Test
+    public void testSpecialFloatValues() throws Exception
+    {
+        assertEquals(Double.valueOf(Double.POSITIVE_INFINITY),
+                MAPPER.readValue(".inf", Double.class));
+        assertEquals(Double.valueOf(Double.NEGATIVE_INFINITY),
+                MAPPER.readValue("-.inf", Double.class));
+        assertEquals(Double.valueOf(Double.NaN),
+                MAPPER.readValue(".nan", Double.class));
+        assertEquals(Double.valueOf(Double.NaN),
+                MAPPER.readValue(".nan", Number.class));
+        assertEquals(Float.valueOf(Float.POSITIVE_INFINITY),
+                MAPPER.readValue(".inf", Float.class));
+    }
+
     // 01-Mar-2017, tatu: This is bit tricky... in some ways, mapping to "empty value"
     //    would be best; but due to legacy reasons becomes `null` at this point
     @Test
@@ -25,7 +25,7 @@ public class ParseBooleanLikeWordsAsStringsTest extends ModuleTestBase
 
     public void testParseBooleanLikeWordsAsStringDefault() throws Exception
     {
-        YAMLFactory f = new YAMLFactory();
+        YAMLFactory f = streamFactoryBuilder().build();
         ObjectMapper mapper = new ObjectMapper(f);
 
         JsonNode root = mapper.readTree(YAML);
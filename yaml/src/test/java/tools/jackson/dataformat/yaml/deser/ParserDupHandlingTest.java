@@ -22,7 +22,7 @@ public class ParserDupHandlingTest extends ModuleTestBase
 
     public void testDupChecksDisabled() throws Exception
     {
-        YAMLFactory f = new YAMLFactory();
+        YAMLFactory f = streamFactoryBuilder().build();
         assertFalse(f.isEnabled(StreamReadFeature.STRICT_DUPLICATE_DETECTION));
 
         ObjectMapper mapper = new ObjectMapper(f);
@@ -32,7 +32,7 @@ public class ParserDupHandlingTest extends ModuleTestBase
 
     public void testDupChecksEnabled() throws Exception
     {
-        YAMLFactory f = YAMLFactory.builder()
+        YAMLFactory f = streamFactoryBuilder()
                 .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
                 .build();
         ObjectMapper mapper = new ObjectMapper(f);
@@ -45,7 +45,7 @@ public class ParserDupHandlingTest extends ModuleTestBase
         LoadSettings loadSettings = LoadSettings.builder()
                 .setAllowDuplicateKeys(false)
                 .build();
-        YAMLFactory f = YAMLFactory.builder().loadSettings(loadSettings).build();
+        YAMLFactory f = streamFactoryBuilder().loadSettings(loadSettings).build();
 
         ObjectMapper mapper = new ObjectMapper(f);
         _verifyDupsFail(mapper, YAML_WITH_DUPS, false);
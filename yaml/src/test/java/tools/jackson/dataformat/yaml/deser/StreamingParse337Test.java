@@ -38,7 +38,7 @@ public class StreamingParse337Test extends ModuleTestBase
         LoadSettings loaderOptions = LoadSettings.builder()
                 .setCodePointLimit(5)
                 .build();
-        YAMLFactory yamlFactory = YAMLFactory.builder()
+        YAMLFactory yamlFactory = streamFactoryBuilder()
                 .loadSettings(loaderOptions)
                 .build();
         final YAMLMapper mapper = new YAMLMapper(yamlFactory);
@@ -16,6 +16,7 @@ import tools.jackson.dataformat.yaml.ModuleTestBase;
 import tools.jackson.dataformat.yaml.YAMLFactory;
 import tools.jackson.dataformat.yaml.YAMLMapper;
 import tools.jackson.dataformat.yaml.YAMLParser;
+import tools.jackson.dataformat.yaml.YAMLReadFeature;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -649,7 +650,7 @@ public class StreamingYAMLParseTest extends ModuleTestBase
         LoadSettings loadSettings = LoadSettings.builder()
                 .setCodePointLimit(5) //5 bytes
                 .build();
-        YAMLFactory yamlFactory = YAMLFactory.builder()
+        YAMLFactory yamlFactory = streamFactoryBuilder()
                 .loadSettings(loadSettings)
                 .build();
         YAMLMapper mapper = new YAMLMapper(yamlFactory);
@@ -660,4 +661,65 @@ public class StreamingYAMLParseTest extends ModuleTestBase
             assertTrue(e.getMessage().startsWith("The incoming YAML document exceeds the limit: 5 code points."));
         }
     }
+
+    @Test
+    public void testLazyLocationTracking() throws Exception
+    {
+        final YAMLMapper mapper = mapperBuilder()
+                .enable(YAMLReadFeature.LAZY_LOCATION_TRACKING)
+                .build();
+        final String YAML = "a:\n  b: [1, 2]\n  c: 'text'\n";
+        try (JsonParser p = mapper.createParser(YAML)) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            // location is that of the reader, at or after current token
+            TokenStreamLocation loc = p.currentTokenLocation();
+            assertTrue(loc.getCharOffset() >= 9);
+            assertTrue(loc.getLineNr() >= 2);
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("text", p.getString());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+        }
+
+        // but errors still need to have location
+        try (JsonParser p = mapper.createParser("a: [1, 2\nb: 3\n")) {
+            while (p.nextToken() != null) { }
+            fail("Should not pass");
+        } catch (JacksonYAMLParseException e) {
+            assertNotNull(e.getLocation());
+            assertTrue(e.getLocation().getLineNr() > 0);
+        }
+    }
+
+    // Feature does not change custom LoadSettings: locations still exact
+    @Test
+    public void testLazyLocationTrackingWithLoadSettings() throws Exception
+    {
+        final YAMLMapper mapper = mapperBuilder(streamFactoryBuilder()
+                    .loadSettings(LoadSettings.builder().build())
+                    .build())
+                .enable(YAMLReadFeature.LAZY_LOCATION_TRACKING)
+                .build();
+        try (JsonParser p = mapper.createParser("a:\n  b: [1, 2]\n")) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.PROPERTY_NAME, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            TokenStreamLocation loc = p.currentTokenLocation();
+            assertEquals(9, loc.getCharOffset());
+            assertEquals(2, loc.getLineNr());
+            assertEquals(7, loc.getColumnNr());
+        }
+    }
 }
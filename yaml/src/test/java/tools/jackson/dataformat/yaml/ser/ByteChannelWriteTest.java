@@ -0,0 +1,94 @@
+package tools.jackson.dataformat.yaml.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.dataformat.yaml.ModuleTestBase;
+import tools.jackson.dataformat.yaml.YAMLMapper;
+import tools.jackson.dataformat.yaml.YAMLWriteFeature;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for writing YAML content to a WritableByteChannel
+public class ByteChannelWriteTest extends ModuleTestBase
+{
+    private final YAMLMapper MAPPER = newObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWriteToChannel() throws Exception
+    {
+        final Map<String, Object> value = _value(20);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MAPPER.writeValue(Channels.newChannel(bytes), value);
+        assertEquals(MAPPER.writeValueAsString(value),
+                new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteLongContentToFileChannel() throws Exception
+    {
+        // enough content to fill all buffers multiple times
+        final Map<String, Object> value = _value(40000);
+        Path file = tempDir.resolve("test.yaml");
+        try (FileChannel ch = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            MAPPER.writeValue(ch, value);
+            // closed by default (AUTO_CLOSE_TARGET)
+            assertFalse(ch.isOpen());
+        }
+        assertEquals(MAPPER.writeValueAsString(value),
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteWithoutAutoClose() throws Exception
+    {
+        final Map<String, Object> value = _value(20);
+        final YAMLMapper mapper = YAMLMapper.builder()
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel ch = Channels.newChannel(bytes);
+        mapper.writeValue(ch, value);
+        // all content written out, but channel left open
+        assertTrue(ch.isOpen());
+        assertEquals(MAPPER.writeValueAsString(value),
+                new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteWithSnakeYAMLOnlyFeature() throws Exception
+    {
+        final Map<String, Object> value = _value(20);
+        final YAMLMapper mapper = YAMLMapper.builder()
+                .enable(YAMLWriteFeature.INDENT_ARRAYS)
+                .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        mapper.writeValue(Channels.newChannel(bytes), value);
+        assertEquals(mapper.writeValueAsString(value),
+                new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Object> _value(int count)
+    {
+        Map<String, Object> value = new LinkedHashMap<>();
+        for (int i = 0; i < count; ++i) {
+            value.put("key"+i, Arrays.asList(i, "value #"+i, "R\u00F6ck \u263A"));
+        }
+        return value;
+    }
+}
@@ -229,6 +229,18 @@ public class GeneratorWithMinimizeTest extends ModuleTestBase
         yaml = mapper.writeValueAsString(Collections.singletonMap("key", "+125")).trim();
         assertEquals("---\n" +
                 "key: \"+125\"", yaml);
+
+        yaml = mapper.writeValueAsString(Collections.singletonMap("key", ".5")).trim();
+        assertEquals("---\n" +
+                "key: \".5\"", yaml);
+
+        yaml = mapper.writeValueAsString(Collections.singletonMap("key", "1e5")).trim();
+        assertEquals("---\n" +
+                "key: 1e5", yaml);
+
+        yaml = mapper.writeValueAsString(Collections.singletonMap("key", "12.5x")).trim();
+        assertEquals("---\n" +
+                "key: 12.5x", yaml);
     }
 
     @Test
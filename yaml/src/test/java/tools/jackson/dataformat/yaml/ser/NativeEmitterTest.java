@@ -0,0 +1,207 @@
+package tools.jackson.dataformat.yaml.ser;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.dataformat.yaml.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests to verify that native emitter produces same output as
+// SnakeYAML-engine backed generator
+public class NativeEmitterTest extends ModuleTestBase
+{
+    private final static YAMLWriteFeature[][] FEATURE_SETS = {
+        { },
+        { YAMLWriteFeature.MINIMIZE_QUOTES },
+        { YAMLWriteFeature.MINIMIZE_QUOTES, YAMLWriteFeature.ALWAYS_QUOTE_NUMBERS_AS_STRINGS },
+        { YAMLWriteFeature.LITERAL_BLOCK_STYLE },
+        { YAMLWriteFeature.ALLOW_LONG_KEYS },
+    };
+
+    private final static YAMLWriteFeature[][] DISABLED_FEATURE_SETS = {
+        { YAMLWriteFeature.WRITE_DOC_START_MARKER },
+        { YAMLWriteFeature.SPLIT_LINES },
+    };
+
+    private static String _longText(String word, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(word).append(i);
+        }
+        return sb.toString();
+    }
+
+    private final static Map<String, Object> CONTENT = new LinkedHashMap<>();
+    static {
+        CONTENT.put("name", "Bob");
+        CONTENT.put("age", 39);
+        CONTENT.put("ratio", 0.25);
+        CONTENT.put("big", new BigDecimal("12345678901234567890.5"));
+        CONTENT.put("flag", true);
+        CONTENT.put("missing", null);
+        CONTENT.put("", "empty key");
+        CONTENT.put("empty", "");
+        CONTENT.put("true", "false");
+        CONTENT.put("123", "456");
+        CONTENT.put("multi\nline key", "x");
+        CONTENT.put(_longText("key", 40), "long key");
+        CONTENT.put("text", "Hello\nWorld\n");
+        CONTENT.put("trailing", "two lines\n\n");
+        CONTENT.put("indented", "  leading spaces\nsecond");
+        CONTENT.put("long", _longText("word", 50));
+        CONTENT.put("special", "tab\there, quote \" and \\ and \u00e9 \uFEFF \uD83D\uDE00 \u0001");
+        CONTENT.put("indicators", Arrays.asList("- a", "a: b", "#c", "c #d", "[x]", "'q'", "a ", "..."));
+        CONTENT.put("emptyList", Collections.emptyList());
+        CONTENT.put("emptyMap", Collections.emptyMap());
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("list", Arrays.asList(1, Arrays.asList(2, 3), Collections.singletonMap("k", "v")));
+        nested.put("map", Collections.singletonMap("inner", Arrays.asList("a", "b")));
+        nested.put("binary", new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+        CONTENT.put("nested", nested);
+    }
+
+    @Test
+    public void testFactoryConfig() throws Exception
+    {
+        YAMLMapper mapper = mapperBuilder()
+                .enable(YAMLWriteFeature.USE_NATIVE_EMITTER)
+                .build();
+        try (JsonGenerator g = mapper.createGenerator(new StringWriter())) {
+            assertEquals(NativeYAMLGenerator.class, g.getClass());
+            g.writeString("x");
+        }
+        // but not with features only SnakeYAML-engine supports
+        mapper = mapperBuilder()
+                .enable(YAMLWriteFeature.USE_NATIVE_EMITTER, YAMLWriteFeature.INDENT_ARRAYS)
+                .build();
+        try (JsonGenerator g = mapper.createGenerator(new StringWriter())) {
+            assertEquals(YAMLGenerator.class, g.getClass());
+            // (SnakeYAML-engine emitter fails to close empty document)
+            g.writeString("x");
+        }
+        try (JsonGenerator g = newObjectMapper().createGenerator(new StringWriter())) {
+            assertEquals(YAMLGenerator.class, g.getClass());
+            g.writeString("x");
+        }
+    }
+
+    @Test
+    public void testSameOutputAsDefault() throws Exception
+    {
+        for (YAMLWriteFeature[] features : FEATURE_SETS) {
+            YAMLMapper mapper = mapperBuilder().enable(features).build();
+            YAMLMapper nativeMapper = mapperBuilder().enable(features)
+                    .enable(YAMLWriteFeature.USE_NATIVE_EMITTER).build();
+            _verifySame(mapper, nativeMapper);
+        }
+        for (YAMLWriteFeature[] features : DISABLED_FEATURE_SETS) {
+            YAMLMapper mapper = mapperBuilder().disable(features).build();
+            YAMLMapper nativeMapper = mapperBuilder().disable(features)
+                    .enable(YAMLWriteFeature.USE_NATIVE_EMITTER).build();
+            _verifySame(mapper, nativeMapper);
+        }
+    }
+
+    // Unicode line and paragraph separators are written as-is, not escaped
+    @Test
+    public void testLineSeparators() throws Exception
+    {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("line", "a\u2028b");
+        content.put("para", "a\u2029b");
+        content.put("leading", "\u2028a");
+        content.put("trailing", "a\u2029");
+        content.put("only", "\u2028");
+        content.put("mixed", "a\u2028\nb\u2029\tc");
+        content.put("key\u2028with\u2029separators", "x");
+        content.put("list", Arrays.asList("\u2029", "a \u2028 b"));
+        for (YAMLWriteFeature[] features : FEATURE_SETS) {
+            YAMLMapper mapper = mapperBuilder().enable(features).build();
+            YAMLMapper nativeMapper = mapperBuilder().enable(features)
+                    .enable(YAMLWriteFeature.USE_NATIVE_EMITTER).build();
+            final String exp = mapper.writeValueAsString(content);
+            assertEquals(exp, nativeMapper.writeValueAsString(content));
+            assertEquals(exp, new String(nativeMapper.writeValueAsBytes(content), "UTF-8"));
+        }
+    }
+
+    @Test
+    public void testMultipleDocuments() throws Exception
+    {
+        YAMLMapper nativeMapper = mapperBuilder()
+                .enable(YAMLWriteFeature.USE_NATIVE_EMITTER)
+                .build();
+        StringWriter w = new StringWriter();
+        try (SequenceWriter seqW = nativeMapper.writer().writeValues(w)) {
+            seqW.write(Collections.singletonMap("value", 42));
+            seqW.write(Arrays.asList(28, 12));
+            seqW.write("text");
+        }
+        assertEquals("---\nvalue: 42\n---\n- 28\n- 12\n--- \"text\"\n", w.toString());
+    }
+
+    @Test
+    public void testNativeIds() throws Exception
+    {
+        final byte[] data = new byte[100];
+        Consumer<JsonGenerator> writer = g -> {
+            g.writeStartObject();
+            g.writeName("first");
+            g.writeObjectId("1");
+            g.writeTypeId("impl");
+            g.writeStartObject();
+            g.writeName("a");
+            g.writeNumber(13);
+            g.writeEndObject();
+            g.writeName("second");
+            g.writeObjectRef("1");
+            g.writeName("list");
+            g.writeObjectId("2");
+            g.writeTypeId("!list");
+            g.writeStartArray();
+            g.writeObjectId("3");
+            g.writeString("value");
+            g.writeEndArray();
+            g.writeName("emptyTagged");
+            g.writeTypeId("tag:yaml.org,2002:map");
+            g.writeStartObject();
+            g.writeEndObject();
+            g.writeName("data");
+            g.writeBinary(data);
+            g.writeEndObject();
+        };
+        YAMLMapper mapper = newObjectMapper();
+        YAMLMapper nativeMapper = mapperBuilder()
+                .enable(YAMLWriteFeature.USE_NATIVE_EMITTER)
+                .build();
+        assertEquals(_write(mapper, writer), _write(nativeMapper, writer));
+    }
+
+    private void _verifySame(YAMLMapper mapper, YAMLMapper nativeMapper) throws Exception
+    {
+        final String exp = mapper.writeValueAsString(CONTENT);
+        assertEquals(exp, nativeMapper.writeValueAsString(CONTENT));
+        assertEquals(exp, new String(nativeMapper.writeValueAsBytes(CONTENT), "UTF-8"));
+        assertEquals(mapper.writeValueAsString(CONTENT.get("long")),
+                nativeMapper.writeValueAsString(CONTENT.get("long")));
+    }
+
+    private String _write(YAMLMapper mapper, Consumer<JsonGenerator> writer)
+    {
+        StringWriter w = new StringWriter();
+        try (JsonGenerator g = mapper.createGenerator(w)) {
+            writer.accept(g);
+        }
+        return w.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package tools.jackson.dataformat.yaml.ser;
+
+import java.io.*;
+
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.dataformat.yaml.ModuleTestBase;
+import tools.jackson.dataformat.yaml.util.StringQuotingChecker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests for caching of property name quoting decisions by default checker
+public class StringQuotingCheckerTest extends ModuleTestBase
+{
+    static class CustomChecker extends StringQuotingChecker.Default
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean isReservedKeyword(String value) {
+            return "reserved".equals(value) || super.isReservedKeyword(value);
+        }
+    }
+
+    private final static String[] QUOTED_NAMES = {
+        "", "true", "No", "null", "~", "123", "-1", ".5", "a\nb"
+    };
+
+    private final static String[] UNQUOTED_NAMES = {
+        "name", "value", "truely", "a b", "a:b", "x123"
+    };
+
+    @Test
+    public void testCachedNameDecisions() throws Exception
+    {
+        StringQuotingChecker checker = new StringQuotingChecker.Default();
+        // check twice, second time from cache
+        for (int i = 0; i < 2; ++i) {
+            for (String name : QUOTED_NAMES) {
+                assertTrue(checker.needToQuoteName(name), name);
+            }
+            for (String name : UNQUOTED_NAMES) {
+                assertFalse(checker.needToQuoteName(name), name);
+            }
+        }
+        // and overflow cache (which gets cleared) without changing results
+        for (int i = 0; i < 2000; ++i) {
+            assertFalse(checker.needToQuoteName("prop" + i));
+            assertTrue(checker.needToQuoteName(String.valueOf(i)));
+        }
+        for (String name : QUOTED_NAMES) {
+            assertTrue(checker.needToQuoteName(name), name);
+        }
+        // long names are not cached but still checked
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            sb.append('x');
+        }
+        assertFalse(checker.needToQuoteName(sb.toString()));
+        assertTrue(checker.needToQuoteName("1" + sb));
+    }
+
+    @Test
+    public void testJDKSerialization() throws Exception
+    {
+        StringQuotingChecker checker = StringQuotingChecker.Default.instance();
+        assertTrue(checker.needToQuoteName("true"));
+        assertSame(checker, _jdkRoundTrip(checker));
+
+        StringQuotingChecker custom = new CustomChecker();
+        assertTrue(custom.needToQuoteName("reserved"));
+        assertFalse(checker.needToQuoteName("reserved"));
+        StringQuotingChecker result = _jdkRoundTrip(custom);
+        assertNotSame(custom, result);
+        assertTrue(result.needToQuoteName("reserved"));
+        assertTrue(result.needToQuoteName("true"));
+        assertFalse(result.needToQuoteName("name"));
+    }
+
+    private StringQuotingChecker _jdkRoundTrip(StringQuotingChecker checker) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(checker);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (StringQuotingChecker) in.readObject();
+        }
+    }
+}